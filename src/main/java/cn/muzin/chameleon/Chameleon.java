@@ -1,16 +1,33 @@
 package cn.muzin.chameleon;
 
+import cn.muzin.chameleon.convert.TypeConverter;
+import cn.muzin.chameleon.convert.TypeConverterRegistry;
+import cn.muzin.chameleon.exception.ChameleonTrainException;
 import cn.muzin.chameleon.exception.ChameleonTransformException;
 import cn.muzin.chameleon.pair.StructPair;
-import cn.muzin.chameleon.pair.StructToMultiPair;
-import cn.muzin.chameleon.pair.StructToOnePair;
+import cn.muzin.chameleon.pair.TransformPair;
+import cn.muzin.chameleon.registry.EnvironmentRegistry;
 import cn.muzin.chameleon.selector.EnvironmentAdaptSelector;
 import cn.muzin.chameleon.trainer.EnvironmentAdaptTrainer;
-import cn.muzin.chameleon.trainer.code.ClassReaderUtil;
-
+import cn.muzin.chameleon.trainer.ReflectEnvironment;
+import cn.muzin.chameleon.trainer.TrainFailure;
+import cn.muzin.chameleon.trainer.TrainProgressListener;
+import cn.muzin.chameleon.trainer.TrainReport;
+import cn.muzin.chameleon.trainer.TrainScheduler;
+import cn.muzin.chameleon.trainer.code.ClassDefineStrategy;
+import cn.muzin.chameleon.trainer.code.CloneConversions;
+import cn.muzin.chameleon.trainer.code.CodeBackend;
+import cn.muzin.chameleon.trainer.code.PrimitiveNullPolicy;
+
+import java.lang.reflect.Array;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -26,13 +43,41 @@ import java.util.stream.Collectors;
  * @author sirius
  * @since 2021/10/22
  */
-public class Chameleon {
+public class Chameleon implements AutoCloseable {
 
     private static final String SYSTEM_TMP_DIR = System.getProperty("java.io.tmpdir");
 
     private static final String DEFAULT_TRANSFORM_PACKAGE_PREFIX = "cn.muzin.chameleon.transform";
 
-    private volatile Map<Class, Map<Class, Environment>> environments = new ConcurrentHashMap<>();
+    private final EnvironmentRegistry environments = new EnvironmentRegistry();
+
+    /**
+     * 正在训练的 类型转换，同一个 转换对 同时只训练一次，其他调用方 等待同一个结果
+     */
+    private final Map<TransformPair, CompletableFuture<Environment>> trainings = new ConcurrentHashMap<>();
+
+    /**
+     * 关闭 的 次数，关闭 之前 开始的 训练 不再 写回 结果，写回 与 关闭 使用 同一个 锁
+     */
+    private volatile long closeCount = 0;
+
+    private final Object closeLock = new Object();
+
+    /**
+     * 链接 版本：替换 已注册的 Environment（重新训练、后台训练 完成）或 关闭 时 加一，
+     * 生成的 Environment 发现 版本 变化 时 重新 链接 嵌套结构 的 Environment
+     */
+    private volatile long linkGeneration = 0;
+
+    /**
+     * 训练失败的 类型转换，重试之前 直接失败，不再重新训练
+     */
+    private final Map<TransformPair, TrainFailure> trainFailures = new ConcurrentHashMap<>();
+
+    /**
+     * 训练失败后 重新训练 的间隔（毫秒），小于 0 时 不重试，需要调用 `readapt` 或 `clearTrainFailure`
+     */
+    private volatile long trainFailureRetryInterval = NEVER_RETRY_TRAIN;
 
     private volatile EnvironmentAdaptTrainer environmentAdaptTrainer = null;
 
@@ -40,6 +85,66 @@ public class Chameleon {
 
     private volatile String packagePrefix = DEFAULT_TRANSFORM_PACKAGE_PREFIX;
 
+    /**
+     * 生成 transform 方法 的方式，默认 直接生成 字节码
+     */
+    private volatile CodeBackend codeBackend = CodeBackend.BYTECODE;
+
+    /**
+     * 定义 生成的 Environment 类 的方式，默认 按 JDK 版本 选择
+     */
+    private volatile ClassDefineStrategy classDefineStrategy = ClassDefineStrategy.AUTO;
+
+    /**
+     * 是否 直接访问 public 字段，getter、setter 有其他逻辑的字段 仍然使用 getter、setter
+     */
+    private volatile boolean directFieldAccess = false;
+
+    /**
+     * 包装类型（或 Map 中的值） 为 null，目标 是 基本类型 时 的处理方式，默认 跳过
+     */
+    private volatile PrimitiveNullPolicy primitiveNullPolicy = PrimitiveNullPolicy.SKIP;
+
+    /**
+     * 自定义 类型转换，训练时 解析 并 保存到 生成的 Environment 中
+     */
+    private final TypeConverterRegistry typeConverterRegistry = new TypeConverterRegistry();
+
+    /**
+     * 同类型 的数组 是否 直接共享，默认 复制 一份
+     */
+    private volatile boolean shareArrays = false;
+
+    /**
+     * 默认 训练 两个方向 的转换
+     */
+    private volatile boolean oneWay = false;
+
+    /**
+     * 是否 在后台 训练 未适应的类型转换，训练完成前 使用 反射 进行转换
+     */
+    private volatile boolean backgroundTrain = false;
+
+    /**
+     * 后台训练 使用的 Executor
+     */
+    private volatile Executor trainExecutor = null;
+
+    /**
+     * ready 并行训练 使用的 Executor，默认 ForkJoinPool.commonPool()
+     */
+    private volatile Executor readyExecutor = null;
+
+    /**
+     * ready 训练进度 监听
+     */
+    private volatile TrainProgressListener trainProgressListener = null;
+
+    /**
+     * ready 优先训练 的 转换对
+     */
+    private final Set<TransformPair> hotPairs = Collections.synchronizedSet(new LinkedHashSet<>());
+
     /**
      * 默认 不进行 结构不匹配的适配
      */
@@ -50,6 +155,11 @@ public class Chameleon {
      */
     public static final boolean DEFAULT_SKIP_NULL = false;
 
+    /**
+     * 训练失败后 不再重试
+     */
+    public static final long NEVER_RETRY_TRAIN = -1L;
+
     /**
      * 记录 预加载 类转换的选择器，如果有 按照选择器的规则进行预定义转换类
      */
@@ -59,29 +169,34 @@ public class Chameleon {
         environmentAdaptTrainer = new EnvironmentAdaptTrainer(this);
         environmentAdaptTrainer.setTmpDir(getTmpdir());
         environmentAdaptTrainer.setPackagePrefix(getPackagePrefix());
+        environmentAdaptTrainer.setCodeBackend(getCodeBackend());
+        environmentAdaptTrainer.setClassDefineStrategy(getClassDefineStrategy());
+        environmentAdaptTrainer.setDirectFieldAccess(isDirectFieldAccess());
+        environmentAdaptTrainer.setPrimitiveNullPolicy(getPrimitiveNullPolicy());
+        environmentAdaptTrainer.setTypeConverterRegistry(getTypeConverterRegistry());
+        environmentAdaptTrainer.setShareArrays(isShareArrays());
     }
 
     public void readapt(Class tClass, Class rClass){
-        if(tClass == rClass){
-            return;
-        }
+        readapt(tClass, rClass, this.oneWay);
+    }
 
-        if(!environments.containsKey(tClass)) {
-            synchronized (environments) {
-                if(!environments.containsKey(tClass)) {
-                    environments.put(tClass, new ConcurrentHashMap<>());
-                }
-            }
+    /**
+     * 重新适应 类型的转换
+     *
+     * @param tClass 源Class
+     * @param rClass 目标Class
+     * @param oneWay 是否 只适应 源Class 到 目标Class 一个方向
+     */
+    public void readapt(Class tClass, Class rClass, boolean oneWay){
+        // 同类型 的 Environment 为 深拷贝，只有一个方向
+        if(tClass == rClass){
+            oneWay = true;
         }
 
-        Map<Class, Environment> environmentMap = environments.get(tClass);
-
-        synchronized (environmentMap) {
-            Map<Class, Environment> classEnvironmentMap = environmentAdaptTrainer.train(tClass, rClass);
-            Environment tClassToRClassEnvironment = classEnvironmentMap.get(tClass);
-            Environment rClassToTClassEnvironment = classEnvironmentMap.get(rClass);
-            adaptEnvironment(tClass, rClass, tClassToRClassEnvironment);
-            adaptEnvironment(rClass, tClass, rClassToTClassEnvironment);
+        trainEnvironment(tClass, rClass, true);
+        if(!oneWay) {
+            trainEnvironment(rClass, tClass, true);
         }
     }
 
@@ -95,33 +210,253 @@ public class Chameleon {
      * @param rClass 目标Class
      */
     public void adapt(Class tClass, Class rClass){
-        if(existsEnvironment(tClass, rClass)){
+        adapt(tClass, rClass, this.oneWay);
+    }
+
+    /**
+     * 适应类型的转换
+     *
+     * 只训练 还不存在的方向，单向时 反方向 在第一次使用时才会训练
+     *
+     * @param tClass 源Class
+     * @param rClass 目标Class
+     * @param oneWay 是否 只适应 源Class 到 目标Class 一个方向
+     */
+    public void adapt(Class tClass, Class rClass, boolean oneWay){
+        // 同类型 的 Environment 为 深拷贝，只有一个方向
+        if(tClass == rClass){
+            oneWay = true;
+        }
+        if(existsEnvironment(tClass, rClass)
+                && (oneWay || existsEnvironment(rClass, tClass))){
             return;
         }
-        readapt(tClass, rClass);
+
+        if(!existsEnvironment(tClass, rClass)){
+            trainEnvironment(tClass, rClass, false);
+        }
+        if(!oneWay && !existsEnvironment(rClass, tClass)){
+            trainEnvironment(rClass, tClass, false);
+        }
+    }
+
+    /**
+     * 训练 源Class 到 目标Class 一个方向的 类型转换 并注册
+     *
+     * 同一个 转换对 同时只有第一个调用方 进行训练，并发的调用方 等待 同一个 训练结果；
+     * 重新训练 不加入 正在进行的 训练（可能 使用了 修改之前的 配置），等待 其结束 后 再 训练。
+     *
+     * @param tClass 源Class
+     * @param rClass 目标Class
+     * @param retrain 已经存在 生成的 Environment 时 是否 重新训练
+     * @return Environment
+     */
+    private Environment trainEnvironment(Class tClass, Class rClass, boolean retrain){
+        TransformPair transformPair = new TransformPair(tClass, rClass);
+        long trainCloseCount = closeCount;
+
+        // 之前训练失败 且 还不能重试 时 直接失败
+        TrainFailure trainFailure = trainFailures.get(transformPair);
+        if(trainFailure != null){
+            if(retrain){
+                trainFailures.remove(transformPair, trainFailure);
+            }else if(!trainFailure.isRetryable(trainFailureRetryInterval)){
+                throw new ChameleonTrainException("Environment of structure conversion training failed: "
+                        + transformPair, trainFailure.getCause());
+            }
+        }
+
+        CompletableFuture<Environment> future = new CompletableFuture<>();
+        CompletableFuture<Environment> training;
+        while((training = trainings.putIfAbsent(transformPair, future)) != null){
+            if(!retrain){
+                return joinTraining(training);
+            }
+            // 正在进行的 训练 成功 或 失败 都 重新训练
+            try {
+                training.join();
+            } catch (CompletionException | CancellationException e) {
+                // ignore
+            }
+        }
+
+        try {
+            // 抢到训练之前 可能已经被其他调用方 训练完成
+            Environment environment = environments.get(tClass, rClass);
+            if(retrain || environment == null || environment instanceof ReflectEnvironment){
+                environment = environmentAdaptTrainer.trainEnvironment(tClass, rClass);
+            }
+            synchronized (closeLock) {
+                // 训练期间 被关闭 时 只返回 结果，不写回
+                if(trainCloseCount == closeCount){
+                    adaptEnvironment(tClass, rClass, environment);
+                    trainFailures.remove(transformPair);
+                }
+            }
+            future.complete(environment);
+            return environment;
+        } catch (RuntimeException | Error e) {
+            // Error 也要 完成 future，否则 等待 同一个训练 的 调用方 会 一直阻塞
+            Throwable cause = e instanceof ChameleonTrainException && e.getCause() != null ? e.getCause() : e;
+            synchronized (closeLock) {
+                if(trainCloseCount == closeCount){
+                    trainFailures.merge(transformPair, new TrainFailure(transformPair, cause),
+                            (previous, current) -> previous.fail(cause));
+                }
+            }
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            trainings.remove(transformPair, future);
+        }
+    }
+
+    private Environment joinTraining(CompletableFuture<Environment> training){
+        try {
+            return training.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if(cause instanceof RuntimeException){
+                throw (RuntimeException) cause;
+            }
+            throw new ChameleonTrainException(cause);
+        }
     }
 
     private <T, R> void adaptEnvironment(Class<T> tClass, Class<R> rClass, Environment environment){
-        Map<Class, Environment> tClassEnvironmentMap = null;
-        if(!environments.containsKey(tClass)){
-            tClassEnvironmentMap = new ConcurrentHashMap<>();
-            environments.put(tClass, tClassEnvironmentMap);
-        }else{
-            tClassEnvironmentMap = environments.get(tClass);
+        Environment previous = environments.put(tClass, rClass, environment);
+        if(previous != null && previous != environment){
+            linkGeneration++;
         }
-        tClassEnvironmentMap.put(rClass, environment);
     }
 
     private <T, R> Boolean existsEnvironment(Class<T> tClass, Class<R> rClass){
-        if(environments.containsKey(tClass)){
-            Map<Class, Environment> tClassEnvironmentMap = environments.get(tClass);
-            if(tClassEnvironmentMap == null){
-                return false;
+        return environments.contains(tClass, rClass);
+    }
+
+    /**
+     * 设置 默认 是否 只适应 一个方向
+     *
+     * 单向时 `adapt` 只训练 源Class 到 目标Class，反方向 在第一次转换时才会训练
+     *
+     * @param oneWay 是否 单向
+     */
+    public void setOneWay(boolean oneWay){
+        this.oneWay = oneWay;
+    }
+
+    public boolean isOneWay(){
+        return this.oneWay;
+    }
+
+    /**
+     * 设置 是否 在后台 训练 未适应的类型转换
+     *
+     * 开启后，第一次转换 未适应的类型时，不再阻塞等待 javassist 生成代码，
+     * 而是交给 后台 训练，训练完成前 使用 {@link ReflectEnvironment} 进行转换，
+     * 训练完成后 自动切换为 生成的 Environment。
+     *
+     * `adapt`、`readapt`、`ready` 仍然是同步训练。
+     *
+     * @param backgroundTrain 是否 后台训练
+     */
+    public void setBackgroundTrain(boolean backgroundTrain){
+        this.backgroundTrain = backgroundTrain;
+    }
+
+    public boolean isBackgroundTrain(){
+        return this.backgroundTrain;
+    }
+
+    /**
+     * 设置 后台训练 使用的 Executor，默认 使用 一个 名为 chameleon-trainer 的 守护线程
+     * @param trainExecutor Executor
+     */
+    public void setTrainExecutor(Executor trainExecutor){
+        this.trainExecutor = trainExecutor;
+    }
+
+    public Executor getTrainExecutor(){
+        if(trainExecutor == null){
+            synchronized (this) {
+                if(trainExecutor == null){
+                    trainExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "chameleon-trainer");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
             }
-            return tClassEnvironmentMap.containsKey(rClass);
-        }else{
-            return false;
         }
+        return trainExecutor;
+    }
+
+    /**
+     * 设置 ready 并行训练 使用的 Executor
+     *
+     * <p>每个 单方向的 转换对 是 一个任务，训练 的 读取类结构、生成代码、定义类 都在 该 Executor 的线程 上 执行。</p>
+     *
+     * @param readyExecutor Executor，为 null 时 使用 ForkJoinPool.commonPool()
+     */
+    public void setReadyExecutor(Executor readyExecutor){
+        this.readyExecutor = readyExecutor;
+    }
+
+    public Executor getReadyExecutor(){
+        return readyExecutor != null ? readyExecutor : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * 设置 ready 训练进度 监听，每个 转换对 完成后 在 训练线程 上 调用
+     * @param trainProgressListener 进度监听
+     */
+    public void setTrainProgressListener(TrainProgressListener trainProgressListener){
+        this.trainProgressListener = trainProgressListener;
+    }
+
+    public TrainProgressListener getTrainProgressListener(){
+        return trainProgressListener;
+    }
+
+    /**
+     * 设置 训练失败后 重新训练 的间隔
+     *
+     * 重试间隔内 同一个 转换对 直接抛出 {@link ChameleonTrainException}，不再重新训练；
+     * 默认 {@link #NEVER_RETRY_TRAIN} 不重试，需要调用 `readapt` 或 `clearTrainFailure`。
+     *
+     * @param trainFailureRetryInterval 重试间隔（毫秒）
+     */
+    public void setTrainFailureRetryInterval(long trainFailureRetryInterval){
+        this.trainFailureRetryInterval = trainFailureRetryInterval;
+    }
+
+    public long getTrainFailureRetryInterval(){
+        return this.trainFailureRetryInterval;
+    }
+
+    /**
+     * 获取 训练失败的 类型转换
+     * @return TrainFailure 集合
+     */
+    public Collection<TrainFailure> getTrainFailures(){
+        return Collections.unmodifiableCollection(trainFailures.values());
+    }
+
+    public TrainFailure getTrainFailure(Class<?> sourceClass, Class<?> destClass){
+        return trainFailures.get(new TransformPair(sourceClass, destClass));
+    }
+
+    /**
+     * 清除 训练失败 记录，下次使用时 重新训练
+     * @param sourceClass 源Class
+     * @param destClass 目标Class
+     */
+    public void clearTrainFailure(Class<?> sourceClass, Class<?> destClass){
+        trainFailures.remove(new TransformPair(sourceClass, destClass));
+    }
+
+    public void clearTrainFailures(){
+        trainFailures.clear();
     }
 
     public void setTmpdir(String tmpdir){
@@ -142,12 +477,196 @@ public class Chameleon {
         environmentAdaptTrainer.setPackagePrefix(packagePrefix);
     }
 
+    public CodeBackend getCodeBackend() {
+        return codeBackend;
+    }
+
+    /**
+     * 设置 生成 transform 方法 的方式，只影响 之后训练 的类型转换
+     *
+     * <p>两种方式 生成的 Environment 行为 相同；SOURCE 需要 javassist 编译 每个 {@link cn.muzin.chameleon.trainer.code.TransformVariant} 的 源码，
+     * 训练 更慢，默认 使用 BYTECODE。</p>
+     *
+     * @param codeBackend SOURCE 编译 Java 源码，BYTECODE 直接生成 字节码（默认）
+     */
+    public void setCodeBackend(CodeBackend codeBackend) {
+        this.codeBackend = codeBackend;
+        environmentAdaptTrainer.setCodeBackend(codeBackend);
+    }
+
+    public ClassDefineStrategy getClassDefineStrategy() {
+        return classDefineStrategy;
+    }
+
+    /**
+     * 设置 定义 生成的 Environment 类 的方式，只影响 之后训练 的类型转换
+     *
+     * <p>HIDDEN_CLASS、CLASS_LOADER 定义的类 在 Environment 被 readapt 替换 或 Chameleon 不再使用 后 可以被卸载，
+     * 避免 长时间运行 时 metaspace 持续增长。</p>
+     *
+     * @param classDefineStrategy AUTO 按 JDK 版本 选择，HIDDEN_CLASS、LOOKUP、CLASS_LOADER
+     */
+    public void setClassDefineStrategy(ClassDefineStrategy classDefineStrategy) {
+        this.classDefineStrategy = classDefineStrategy;
+        environmentAdaptTrainer.setClassDefineStrategy(classDefineStrategy);
+    }
+
+    public boolean isDirectFieldAccess() {
+        return directFieldAccess;
+    }
+
+    /**
+     * 设置 是否 直接访问字段，只影响 之后训练 的类型转换
+     *
+     * <p>开启后，训练时 按字段 判断：字段 和 所在类 是 public，并且 getter、setter 只是读写该字段，
+     * 生成的代码 直接读写字段，减少 transform 方法中的调用；其他字段 仍然使用 getter、setter。</p>
+     *
+     * @param directFieldAccess 是否 直接访问字段
+     */
+    public void setDirectFieldAccess(boolean directFieldAccess) {
+        this.directFieldAccess = directFieldAccess;
+        environmentAdaptTrainer.setDirectFieldAccess(directFieldAccess);
+    }
+
+    public PrimitiveNullPolicy getPrimitiveNullPolicy() {
+        return primitiveNullPolicy;
+    }
+
+    /**
+     * 设置 包装类型（或 Map 中的值） 为 null，目标 是 基本类型 时 的处理方式，只影响 之后训练 的类型转换
+     * @param primitiveNullPolicy SKIP 跳过，DEFAULT_VALUE 赋值为 0、false，FAIL 抛出 ChameleonTransformException
+     */
+    public void setPrimitiveNullPolicy(PrimitiveNullPolicy primitiveNullPolicy) {
+        this.primitiveNullPolicy = primitiveNullPolicy;
+        environmentAdaptTrainer.setPrimitiveNullPolicy(primitiveNullPolicy);
+    }
+
+    public boolean isShareArrays() {
+        return shareArrays;
+    }
+
+    /**
+     * 设置 同类型 的数组 是否 直接共享，只影响 之后训练 的类型转换
+     *
+     * <p>默认 通过 Arrays.copyOf 复制 一份，修改 目标对象 的数组 不影响 源对象；
+     * 开启后 和 其他 同类型的字段 一样 直接赋值。`deepClone` 总是 复制 数组。</p>
+     *
+     * @param shareArrays 是否 直接共享
+     */
+    public void setShareArrays(boolean shareArrays) {
+        this.shareArrays = shareArrays;
+        environmentAdaptTrainer.setShareArrays(shareArrays);
+    }
+
+    public TypeConverterRegistry getTypeConverterRegistry() {
+        return typeConverterRegistry;
+    }
+
+    /**
+     * 注册 源类型 到 目标类型 的 自定义转换，只影响 之后训练 的类型转换
+     *
+     * <p>训练时 转换器 保存到 生成的 Environment 的 static final 字段 中，转换时 直接调用。
+     * 字段上的 {@link cn.muzin.chameleon.annotation.ChameleonConverter} 优先于 注册的 转换器。</p>
+     *
+     * @param sourceType 源类型
+     * @param destType 目标类型
+     * @param converter 转换器，只会 传入 不为 null 的值
+     */
+    public <S, T> void registerConverter(Class<S> sourceType, Class<T> destType, TypeConverter<S, T> converter) {
+        typeConverterRegistry.register(sourceType, destType, converter);
+    }
+
     public Environment getEnvironment(Class<?> sourceClass, Class<?> destClass){
-        Map<Class, Environment> environmentMap = this.environments.get(sourceClass);
-        if(environmentMap == null){
-            return null;
+        return environments.get(sourceClass, destClass);
+    }
+
+    /**
+     * 获取 绑定了 源Class 和 目标Class 的 Mapper
+     *
+     * <p>不存在转换环境时，先进行适应；Mapper 持有解析好的 Environment，
+     * 转换时不再进行类型检查和 Environment 查找。</p>
+     *
+     * @param sourceClass 源Class
+     * @param destClass 目标Class
+     * @param <T> 源类型
+     * @param <R> 目标类型
+     * @return Mapper
+     */
+    public <T, R> Mapper<T, R> mapper(Class<T> sourceClass, Class<R> destClass){
+        Environment environment = resolveEnvironment(sourceClass, destClass);
+        return new Mapper<>(sourceClass, destClass, environment);
+    }
+
+    /**
+     * 链接 嵌套结构 的 Environment
+     *
+     * <p>由生成的 Environment 在首次转换嵌套结构时调用，返回的 Environment 会保存在生成类的字段中，
+     * 之后的转换直接调用，不再经过 chameleon 查找；{@link #getLinkGeneration()} 变化 后 重新链接。</p>
+     *
+     * @param sourceClass 源Class
+     * @param destClass 目标Class
+     * @return Environment
+     */
+    public Environment linkEnvironment(Class<?> sourceClass, Class<?> destClass){
+        return resolveEnvironment(sourceClass, destClass);
+    }
+
+    /**
+     * 链接 版本，readapt 替换 已注册的 Environment 或 close 后 变化
+     *
+     * <p>生成的 Environment 链接 之前 记录 版本，之后 每次 使用 链接的 Environment 前 比较，
+     * 不同 时 重新 {@link #linkEnvironment(Class, Class)}，使用 新注册的 Environment。</p>
+     *
+     * @return 链接 版本
+     */
+    public long getLinkGeneration(){
+        return linkGeneration;
+    }
+
+    /**
+     * 获取 源Class 到 目标Class 的 Environment，不存在时进行适应
+     * @param sourceClass 源Class
+     * @param destClass 目标Class
+     * @return Environment
+     */
+    private Environment resolveEnvironment(Class<?> sourceClass, Class<?> destClass){
+        Environment environment = environments.get(sourceClass, destClass);
+        if(environment == null){
+            if(backgroundTrain && sourceClass != destClass){
+                return adaptInBackground(sourceClass, destClass);
+            }
+            adapt(sourceClass, destClass);
+            environment = environments.get(sourceClass, destClass);
+            if(environment == null){
+                throw new ChameleonTransformException("Environment of structure conversion not found");
+            }
+        }
+        return environment;
+    }
+
+    /**
+     * 先注册 反射 实现的 Environment，再交给 后台 训练，训练完成后 替换为 生成的 Environment
+     * @param sourceClass 源Class
+     * @param destClass 目标Class
+     * @return 当前可以使用的 Environment
+     */
+    private Environment adaptInBackground(Class<?> sourceClass, Class<?> destClass){
+        ReflectEnvironment reflectEnvironment = new ReflectEnvironment(sourceClass, destClass, this);
+        Environment existsEnvironment = environments.putIfAbsent(sourceClass, destClass, reflectEnvironment);
+        if(existsEnvironment != null){
+            return existsEnvironment;
         }
-        return environmentMap.get(destClass);
+
+        getTrainExecutor().execute(() -> {
+            try {
+                Environment environment = trainEnvironment(sourceClass, destClass, false);
+                reflectEnvironment.setTrainedEnvironment(environment);
+            } catch (Exception e) {
+                // 训练失败时 继续使用 反射 进行转换
+                e.printStackTrace();
+            }
+        });
+        return reflectEnvironment;
     }
 
     /**
@@ -166,68 +685,102 @@ public class Chameleon {
         return this.selectors;
     }
 
+    /**
+     * 添加 优先训练 的 转换对
+     *
+     * <p>`readyAsync`、`ready` 先训练 这些 转换对，再训练 {@link cn.muzin.chameleon.annotation.ChameleonTransform#hot()}
+     * 标记的 转换对，最后 训练 其他 转换对；没有被 选择器 选中的 也会训练。</p>
+     *
+     * @param sourceClass 源Class
+     * @param destClass 目标Class
+     */
+    public void addHotPair(Class<?> sourceClass, Class<?> destClass){
+        hotPairs.add(new TransformPair(sourceClass, destClass));
+    }
+
+    public Set<TransformPair> getHotPairs(){
+        return hotPairs;
+    }
+
     /**
      * 配置了 环境适应 选择器 等信息后，
      * 需要调用 ready 方法进行加载。
+     *
+     * <p>选择器 给出的 结构对 展开为 单方向的 转换对 并 去重 后，交给 {@link #getReadyExecutor()} 并行训练，
+     * 全部完成后 返回；有 转换对 训练失败 时 抛出 {@link ChameleonTrainException}。</p>
+     *
+     * @return 训练结果，包含 转换对 数量 和 总耗时
+     */
+    public TrainReport ready(){
+        TrainReport trainReport = readyAsync().join();
+        if(!trainReport.isSuccess()){
+            TrainFailure trainFailure = trainReport.getFailures().get(0);
+            throw new ChameleonTrainException("Environment of structure conversion training failed: "
+                    + trainFailure.getTransformPair() + ", " + trainReport, trainFailure.getCause());
+        }
+        return trainReport;
+    }
+
+    /**
+     * 不阻塞 调用方 的 ready
+     *
+     * <p>选择器 的 扫描 和 训练 都在 {@link #getReadyExecutor()} 上 执行，按 hot 转换对、其他 转换对 的顺序 开始训练。
+     * 完成之前 可以 正常转换：还没有 开始训练 的 转换对 在 第一次转换 时 由 调用方 直接训练，
+     * 正在训练 的 转换对 等待 同一个 训练结果，之后 后台任务 跳过 已经训练的 转换对。</p>
+     *
+     * @return 全部完成后 完成的 future，训练失败的 转换对 记录在 {@link TrainReport#getFailures()} 中
      */
-    public void ready(){
-        readyEnvironmentAdaptSelectors();
+    public CompletableFuture<TrainReport> readyAsync(){
+        Executor readyExecutor = getReadyExecutor();
+        return CompletableFuture.supplyAsync(this::readyTransformPairs, readyExecutor)
+                .thenCompose(transformPairs -> new TrainScheduler(readyExecutor, trainProgressListener)
+                        .train(transformPairs, transformPair -> {
+                            if(!existsEnvironment(transformPair.getSourceClass(), transformPair.getDestClass())){
+                                trainEnvironment(transformPair.getSourceClass(), transformPair.getDestClass(), false);
+                            }
+                        }))
+                .whenComplete((trainReport, e) -> {
+                    // 预加载 完成后 释放 ClassPool 中 缓存的 CtClass，之后 惰性训练 使用 新的 ClassPool
+                    environmentAdaptTrainer.releaseClassPool();
+                });
     }
 
-    private void readyEnvironmentAdaptSelectors(){
+    /**
+     * @return 需要 预加载 的 转换对，按 优先级 排序
+     */
+    private Set<TransformPair> readyTransformPairs(){
+        List<StructPair> structPairs = new ArrayList<>();
         List<EnvironmentAdaptSelector> environmentAdaptSelectors = this.getEnvironmentAdaptSelectors();
-        if(environmentAdaptSelectors != null && environmentAdaptSelectors.size() > 0){
-            Map<Class, StructToMultiPair> structToMultiPairMap = new HashMap<>();
+        if(environmentAdaptSelectors != null){
             for(EnvironmentAdaptSelector environmentAdaptSelector : environmentAdaptSelectors){
-                List<StructPair> structPairs = environmentAdaptSelector.selector();
-                for(StructPair structPair : structPairs){
-                    Class mainStruct = structPair.getMainStruct();
-                    StructToMultiPair tmpPair = null;
-                    if(!structToMultiPairMap.containsKey(mainStruct)){
-                        tmpPair = new StructToMultiPair(mainStruct);
-                        structToMultiPairMap.put(mainStruct, tmpPair);
-                    }else{
-                        tmpPair = structToMultiPairMap.get(mainStruct);
-                    }
-
-                    if(structPairs instanceof StructToOnePair){
-                        StructToOnePair tmpStructToOnePair = (StructToOnePair) structPair;
-                        Class tmpStruct = tmpStructToOnePair.getStruct();
-                        if(tmpStruct != null) {
-                            tmpPair.addStruct(tmpStruct);
-                        }
-                    }else if(structPair instanceof StructToMultiPair){
-                        StructToMultiPair tmpStructToMultiPair = (StructToMultiPair) structPair;
-                        Set<Class> tmpStructSet = tmpStructToMultiPair.getStructSet();
-                        if(tmpStructSet != null) {
-                            tmpPair.addStructs(tmpStructSet);
-                        }
-                    }
-                }
+                structPairs.addAll(environmentAdaptSelector.selector());
             }
+        }
 
-            Collection<StructToMultiPair> structToMultiPairs = structToMultiPairMap.values();
-
-            CountDownLatch countDownLatch = new CountDownLatch(structToMultiPairs.size());
-            structToMultiPairs.parallelStream().forEach(structToMultiPair->{
-                Class mainStruct = structToMultiPair.getMainStruct();
-                Set<Class> structSet = structToMultiPair.getStructSet();
-
-                for(Class structClass : structSet){
-                    this.adapt(mainStruct, structClass);
-                }
-
-                countDownLatch.countDown();
-
-            });
-
-            try {
-                countDownLatch.await();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
+        Set<TransformPair> transformPairs = new LinkedHashSet<>(hotPairs);
+        transformPairs.addAll(TrainScheduler.transformPairs(structPairs));
+        return transformPairs;
+    }
 
+    /**
+     * 释放 生成的 Environment 和 训练使用的 ClassPool
+     *
+     * <p>已经取得的 Mapper 仍然可以使用；生成的类 不再被引用 后 随 Environment 一起 卸载
+     * （LOOKUP 定义的类 随 所在包的 ClassLoader 卸载）。关闭后 再次转换 会 重新训练。</p>
+     *
+     * <p>同时 清除 hot 转换对；正在进行的 训练 完成后 不再 写回 结果，等待 它的 调用方 仍然 得到 训练结果。</p>
+     */
+    @Override
+    public void close(){
+        synchronized (closeLock) {
+            closeCount++;
+            linkGeneration++;
+            trainings.clear();
+            hotPairs.clear();
+            environments.clear();
+            trainFailures.clear();
         }
+        environmentAdaptTrainer.releaseClassPool();
     }
 
     public <T, R> void transform(T source, R dest){
@@ -242,18 +795,7 @@ public class Chameleon {
     public <T, R> void transform(T source, R dest, boolean adaptationStructureMismatch, boolean skipNull){
         if(source == null || dest == null){ return; }
 
-        Class<?> sourceClass = source.getClass();
-        Class<?> destClass = dest.getClass();
-
-        Boolean exists = existsEnvironment(sourceClass, destClass);
-        if(!exists) {
-            adapt(sourceClass, destClass);
-        }
-
-        Environment environment = getEnvironment(sourceClass, destClass);
-        if(environment == null){
-            throw new ChameleonTransformException("Environment of structure conversion not found");
-        }
+        Environment environment = resolveEnvironment(source.getClass(), dest.getClass());
 
         environment.transform(source, dest, adaptationStructureMismatch, skipNull);
     }
@@ -267,7 +809,7 @@ public class Chameleon {
     }
 
     public <T, R> List<R> transform(Collection<T> source, Class<R> destClass, boolean adaptationStructureMismatch, boolean skipNull){
-        ArrayList<R> list = new ArrayList<>();
+        ArrayList<R> list = new ArrayList<>(source != null ? source.size() : 0);
 
         if(source == null
                 || (source != null && source.size() == 0)
@@ -284,42 +826,124 @@ public class Chameleon {
 
         Class<?> sourceGenericClass = first.getClass();
 
-        Boolean exists = existsEnvironment(sourceGenericClass, destClass);
-        if(!exists) {
-            adapt(sourceGenericClass, destClass);
-        }
+        Environment environment = resolveEnvironment(sourceGenericClass, destClass);
 
-        Environment environment = getEnvironment(sourceGenericClass, destClass);
-        if(environment == null){
-            throw new ChameleonTransformException("Environment of structure conversion not found");
+        // 由 Environment 直接创建 目标对象 并 填充
+        for(T item : source) {
+            list.add(item != null ? (R) environment.transform(item, adaptationStructureMismatch, skipNull) : null);
         }
+        return list;
+    }
 
-        boolean destClassIsMap = false;
-        if(destClass.isAssignableFrom(Map.class) || ClassReaderUtil.isExtends(destClass, Map.class)){
-            destClassIsMap = true;
-        }
 
-        for(T item : source) {
-            R destInstance = null;
-            try {
-                if(destClassIsMap){
-                    destInstance = (R) new LinkedHashMap();
-                }else{
-                    destInstance = destClass.newInstance();
-                }
-            } catch (InstantiationException e) {
-                e.printStackTrace();
-                break;
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
+    public <T, R> R[] transform(T[] source, Class<R> destClass){
+        return transform(source, destClass, DEFAULT_ADAPTATION_STRUCTURE_MISMATCH);
+    }
+
+    public <T, R> R[] transform(T[] source, Class<R> destClass, boolean adaptationStructureMismatch){
+        return transform(source, destClass, adaptationStructureMismatch, DEFAULT_SKIP_NULL);
+    }
+
+    /**
+     * 数组 的 每个元素 转换为 destClass，结果 写入 预先分配大小 的 数组
+     *
+     * <p>按 第一个 不为 null 的元素 查找 Environment，之后的元素 直接使用 该 Environment。</p>
+     */
+    public <T, R> R[] transform(T[] source, Class<R> destClass, boolean adaptationStructureMismatch, boolean skipNull){
+        if(destClass == null){ return null; }
+
+        R[] array = (R[]) Array.newInstance(destClass, source != null ? source.length : 0);
+        if(source == null){ return array; }
+
+        Class<?> sourceGenericClass = null;
+        for(T item : source){
+            if(item != null){
+                sourceGenericClass = item.getClass();
                 break;
             }
-            environment.transform(item, destInstance, adaptationStructureMismatch, skipNull);
-            list.add(destInstance);
         }
-        return list;
+        if(sourceGenericClass == null){ return array; }
+
+        if(sourceGenericClass == destClass){
+            System.arraycopy(source, 0, array, 0, source.length);
+            return array;
+        }
+
+        Environment environment = resolveEnvironment(sourceGenericClass, destClass);
+
+        // 由 Environment 直接创建 目标对象 并 填充
+        for(int i = 0; i < source.length; i++){
+            T item = source[i];
+            array[i] = item != null ? (R) environment.transform(item, adaptationStructureMismatch, skipNull) : null;
+        }
+        return array;
+    }
+
+    /**
+     * 深拷贝：嵌套结构、List、数组、Map 等 通过 同类型 Environment 递归复制，
+     * 嵌套结构 按 运行时类型 复制，Date、Calendar 通过 clone 复制，
+     * String、包装类型、BigDecimal、java.time 等 不可变类型 直接共享
+     *
+     * <p>`transform` 在 源Class 与 目标Class 相同 时 直接返回 源对象，需要 隔离 对象 时 使用 `deepClone`。
+     * 不支持 循环引用。</p>
+     *
+     * @param source 源对象
+     * @return 复制的 对象，source 为 null 时 为 null
+     */
+    public <T> T deepClone(T source){
+        if(source == null){ return null; }
+
+        Class<?> sourceClass = source.getClass();
+        if(sourceClass.isArray() || CloneConversions.isMutableValue(sourceClass)){
+            return (T) cloneValue(source, true, DEFAULT_SKIP_NULL);
+        }
+
+        Environment environment = resolveEnvironment(sourceClass, sourceClass);
+
+        return (T) environment.transform(source, true, DEFAULT_SKIP_NULL);
     }
 
+    /**
+     * 按 运行时类型 复制 嵌套的值，由 同类型 的 Environment 调用
+     *
+     * <p>数组 按元素 复制，Date、Calendar 通过 clone 复制，可以直接创建 的 嵌套结构 通过 运行时类型 的 Environment 复制，
+     * 其他值 直接共享。</p>
+     *
+     * @param value 值
+     * @param adaptationStructureMismatch 是否适配 结构不匹配
+     * @param skipNull 是否跳过 空值
+     * @return 复制的 值，value 为 null 时 为 null
+     */
+    public Object cloneValue(Object value, boolean adaptationStructureMismatch, boolean skipNull){
+        if(value == null){ return null; }
+
+        Class<?> valueClass = value.getClass();
+        if(valueClass.isArray()){
+            return CloneConversions.cloneArray(value, item -> cloneValue(item, adaptationStructureMismatch, skipNull));
+        }
+        if(CloneConversions.isMutableValue(valueClass)){
+            return CloneConversions.cloneMutableValue(value);
+        }
+        if(!CloneConversions.isCloneable(valueClass)){
+            return value;
+        }
+        return resolveEnvironment(valueClass, valueClass).transform(value, adaptationStructureMismatch, skipNull);
+    }
+
+    /**
+     * 深拷贝 集合 中的 每个元素
+     * @param source 源集合
+     * @return 复制的 元素 组成的 List，source 为 null 时 为 空List
+     */
+    public <T> List<T> deepClone(Collection<T> source){
+        List<T> list = new ArrayList<>(source != null ? source.size() : 0);
+        if(source == null){ return list; }
+
+        for(T item : source){
+            list.add(deepClone(item));
+        }
+        return list;
+    }
 
     public <T, R> R transform(T source, Class<R> destClass){
         return transform(source, destClass, DEFAULT_ADAPTATION_STRUCTURE_MISMATCH);
@@ -335,27 +959,8 @@ public class Chameleon {
             return (R) source;
         }
 
-        boolean destClassIsMap = false;
-        if(destClass.isAssignableFrom(Map.class) || ClassReaderUtil.isExtends(destClass, Map.class)){
-            destClassIsMap = true;
-        }
+        Environment environment = resolveEnvironment(source.getClass(), destClass);
 
-        try {
-            R destInstance = null;
-
-            if(destClassIsMap){
-                destInstance = (R) new LinkedHashMap();
-            }else{
-                destInstance = destClass.newInstance();
-            }
-
-            transform(source, destInstance, adaptationStructureMismatch, skipNull);
-            return destInstance;
-        } catch (InstantiationException e) {
-            e.printStackTrace();
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
-        }
-        return null;
+        return (R) environment.transform(source, adaptationStructureMismatch, skipNull);
     }
 }
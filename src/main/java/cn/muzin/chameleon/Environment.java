@@ -1,6 +1,10 @@
 package cn.muzin.chameleon;
 
+import cn.muzin.chameleon.exception.ChameleonTransformException;
+
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author sirius
@@ -20,6 +24,46 @@ public interface Environment {
 
     void setDestClass(Class sourceClass);
 
+    /**
+     * 创建 目标类型 对象
+     *
+     * <p>生成的 Environment 会重写该方法，直接 new 出目标对象；
+     * 目标类型不能直接创建时（如没有 public 无参构造函数），使用反射创建。</p>
+     *
+     * @return 目标类型对象
+     */
+    default Object newInstance(){
+        Class destClass = getDestClass();
+        if(destClass.isInterface() && Map.class.isAssignableFrom(destClass)){
+            return new LinkedHashMap();
+        }
+        try {
+            return destClass.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new ChameleonTransformException("Cannot create instance of " + destClass.getName(), e);
+        }
+    }
+
+    default Object transform(Object source){
+        return transform(source, Chameleon.DEFAULT_ADAPTATION_STRUCTURE_MISMATCH, Chameleon.DEFAULT_SKIP_NULL);
+    }
+
+    /**
+     * 创建 目标类型 对象，并 将 源类型对象 转换到 目标对象
+     *
+     * <p>生成的 Environment 会重写该方法，直接 new 出目标对象后 填充，不再使用反射创建。</p>
+     *
+     * @param source 源类型对象
+     * @param adaptationStructureMismatch 适配结构不匹配的情况
+     * @param skipNull 跳过空值
+     * @return 目标类型对象
+     */
+    default Object transform(Object source, boolean adaptationStructureMismatch, boolean skipNull){
+        Object dest = newInstance();
+        transform(source, dest, adaptationStructureMismatch, skipNull);
+        return dest;
+    }
+
     default void transform(Object source, Object dest, boolean adaptationStructureMismatch){
         transform(source, dest, adaptationStructureMismatch, false);
     }
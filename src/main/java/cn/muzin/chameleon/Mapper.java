@@ -0,0 +1,99 @@
+package cn.muzin.chameleon;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Mapper
+ *
+ * <p>绑定了 源类型 和 目标类型 的转换句柄，通过 {@link Chameleon#mapper(Class, Class)} 获取。</p>
+ * <p>获取时已经解析好了 Environment，转换时不再进行类型检查和 Environment 查找，
+ * 目标对象由生成的 Environment 直接创建。</p>
+ *
+ * <p>建议保存在 static final 字段中重复使用：</p>
+ * <pre>
+ * private static final Mapper&lt;AStruct, BStruct&gt; A_TO_B = chameleon.mapper(AStruct.class, BStruct.class);
+ *
+ * BStruct bStruct = A_TO_B.transform(aStruct);
+ * </pre>
+ *
+ * <p>注意：调用 `readapt` 重新适应后，需要重新获取 Mapper。</p>
+ *
+ * @param <T> 源类型
+ * @param <R> 目标类型
+ * @author sirius
+ * @since 2026/10/18
+ */
+public final class Mapper<T, R> {
+
+    private final Class<T> sourceClass;
+
+    private final Class<R> destClass;
+
+    private final Environment environment;
+
+    Mapper(Class<T> sourceClass, Class<R> destClass, Environment environment){
+        this.sourceClass = sourceClass;
+        this.destClass = destClass;
+        this.environment = environment;
+    }
+
+    public Class<T> getSourceClass() {
+        return sourceClass;
+    }
+
+    public Class<R> getDestClass() {
+        return destClass;
+    }
+
+    public Environment getEnvironment() {
+        return environment;
+    }
+
+    public R transform(T source){
+        return transform(source, Chameleon.DEFAULT_ADAPTATION_STRUCTURE_MISMATCH, Chameleon.DEFAULT_SKIP_NULL);
+    }
+
+    public R transform(T source, boolean adaptationStructureMismatch){
+        return transform(source, adaptationStructureMismatch, Chameleon.DEFAULT_SKIP_NULL);
+    }
+
+    public R transform(T source, boolean adaptationStructureMismatch, boolean skipNull){
+        if(source == null){ return null; }
+        return (R) environment.transform(source, adaptationStructureMismatch, skipNull);
+    }
+
+    public void transform(T source, R dest){
+        transform(source, dest, Chameleon.DEFAULT_ADAPTATION_STRUCTURE_MISMATCH, Chameleon.DEFAULT_SKIP_NULL);
+    }
+
+    public void transform(T source, R dest, boolean adaptationStructureMismatch){
+        transform(source, dest, adaptationStructureMismatch, Chameleon.DEFAULT_SKIP_NULL);
+    }
+
+    public void transform(T source, R dest, boolean adaptationStructureMismatch, boolean skipNull){
+        if(source == null || dest == null){ return; }
+        environment.transform(source, dest, adaptationStructureMismatch, skipNull);
+    }
+
+    public List<R> transform(Collection<? extends T> source){
+        return transform(source, Chameleon.DEFAULT_ADAPTATION_STRUCTURE_MISMATCH, Chameleon.DEFAULT_SKIP_NULL);
+    }
+
+    public List<R> transform(Collection<? extends T> source, boolean adaptationStructureMismatch){
+        return transform(source, adaptationStructureMismatch, Chameleon.DEFAULT_SKIP_NULL);
+    }
+
+    public List<R> transform(Collection<? extends T> source, boolean adaptationStructureMismatch, boolean skipNull){
+        if(source == null){
+            return new ArrayList<>();
+        }
+        ArrayList<R> list = new ArrayList<>(source.size());
+        for(T item : source){
+            list.add(transform(item, adaptationStructureMismatch, skipNull));
+        }
+        return list;
+    }
+
+}
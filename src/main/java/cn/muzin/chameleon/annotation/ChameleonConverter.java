@@ -0,0 +1,26 @@
+package cn.muzin.chameleon.annotation;
+
+import cn.muzin.chameleon.convert.TypeConverter;
+
+import java.lang.annotation.*;
+
+/**
+ * 使用 ChameleonConverter 指定 字段 的 类型转换
+ *
+ * 可以标注在 源字段 或 目标字段 上，两者都有时 使用 目标字段 的转换器；
+ * 转换器 的 泛型类型 和 字段类型 不匹配时 忽略（例如 双向转换 的 反方向）
+ * @author sirius
+ * @since 2026/10/18
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Target(ElementType.FIELD)
+public @interface ChameleonConverter {
+
+    /**
+     * 转换器，需要 public 无参构造函数，同一个 Chameleon 中 每个转换器类 只创建 一个实例
+     * @return 转换器类
+     */
+    Class<? extends TypeConverter> value();
+
+}
@@ -0,0 +1,25 @@
+package cn.muzin.chameleon.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 使用 ChameleonCreator 指定 创建 目标对象 的 构造函数
+ *
+ * 转换时 先读取 所有 源值，再 通过 该构造函数 一次 创建 目标对象，目标 可以是 没有 setter 的 不可变类型；
+ * 有 无参构造函数 的类型 标注后 同样 使用 该构造函数 创建，不再 逐个 调用 setter
+ * @author sirius
+ * @since 2026/10/18
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Target(ElementType.CONSTRUCTOR)
+public @interface ChameleonCreator {
+
+    /**
+     * 每个参数 对应的 属性名，为空 时 使用 编译时 保留的 参数名（-parameters），
+     * 没有保留 时 按 字段 的 声明顺序 对应
+     * @return 属性名
+     */
+    String[] value() default {};
+
+}
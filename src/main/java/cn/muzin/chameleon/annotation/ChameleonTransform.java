@@ -20,4 +20,20 @@ public @interface ChameleonTransform {
      */
     Class[] dest();
 
+    /**
+     * 是否 只生成 当前类型 到 对应类型 一个方向的转化
+     *
+     * 单向时 反方向的转化 在第一次使用时才会生成
+     * @return 是否单向
+     */
+    boolean oneWay() default false;
+
+    /**
+     * 是否 优先训练
+     *
+     * `readyAsync`、`ready` 先训练 标记为 hot 的类型，启动后 马上要用到 的转换 可以 尽早完成
+     * @return 是否优先
+     */
+    boolean hot() default false;
+
 }
@@ -0,0 +1,227 @@
+package cn.muzin.chameleon.convert;
+
+import cn.muzin.chameleon.exception.ChameleonTransformException;
+import cn.muzin.chameleon.trainer.code.PrimitiveConversions;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 内置的 类型转换
+ *
+ * <p>String 与 数值、BigDecimal、BigInteger 之间，以及 BigDecimal、BigInteger 与 数值 之间 的转换。
+ * 训练时 通过 {@link #find(Class, Class)} 找到 转换方法，生成的代码 直接调用 该静态方法，不经过 反射 和 查找。</p>
+ *
+ * <p>转换方法 只处理 不为 null 的值，null 由 生成的代码 处理。
+ * 转换方法 返回 基本类型 时，再通过 {@link PrimitiveConversions} 转换为 目标类型（例如 long -> Long）。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public final class BuiltinConverters {
+
+    /**
+     * 参数类型 -> 返回类型 -> 转换方法
+     */
+    private static final Map<Class, Map<Class, Method>> CONVERTERS = new HashMap<>();
+
+    static {
+        for(Method method : BuiltinConverters.class.getDeclaredMethods()){
+            if(Modifier.isPublic(method.getModifiers()) && Modifier.isStatic(method.getModifiers())
+                    && method.getName().startsWith("to") && method.getParameterTypes().length == 1){
+                CONVERTERS.computeIfAbsent(method.getParameterTypes()[0], key -> new HashMap<>())
+                        .put(method.getReturnType(), method);
+            }
+        }
+    }
+
+    private BuiltinConverters(){}
+
+    /**
+     * 查找 from 类型 转换为 to 类型 的 内置转换方法
+     *
+     * <p>源 是 整数 时 按 long 查找，是 float 时 先按 float 再按 double 查找，是 double 时 按 double 查找，
+     * 是 其他 Number 时 先按 本身 再按 Number 查找；
+     * 目标 是 包装类型 时 按 基本类型 查找。</p>
+     *
+     * @param from 源类型
+     * @param to 目标类型
+     * @return 转换方法，没有 时 为 null
+     */
+    public static Method find(Class from, Class to){
+        Class toPrimitive = PrimitiveConversions.primitiveOf(to);
+        Class returnType = toPrimitive != null ? toPrimitive : to;
+
+        Class fromPrimitive = PrimitiveConversions.primitiveOf(from);
+        if(fromPrimitive != null){
+            if(!PrimitiveConversions.isNumeric(fromPrimitive)){
+                return null;
+            }
+            if(fromPrimitive == float.class){
+                return find(float.class, returnType, double.class);
+            }
+            return find(fromPrimitive == double.class ? double.class : long.class, returnType, null);
+        }
+        return find(from, returnType, Number.class.isAssignableFrom(from) ? Number.class : null);
+    }
+
+    private static Method find(Class parameterType, Class returnType, Class superParameterType){
+        Map<Class, Method> converters = CONVERTERS.get(parameterType);
+        Method converter = converters != null ? converters.get(returnType) : null;
+        if(converter == null && superParameterType != null){
+            return find(superParameterType, returnType, null);
+        }
+        return converter;
+    }
+
+    // String -> 数值
+
+    public static byte toByte(String value){
+        try {
+            return Byte.parseByte(value.trim());
+        } catch (NumberFormatException e) {
+            throw cannotConvert(value, byte.class, e);
+        }
+    }
+
+    public static short toShort(String value){
+        try {
+            return Short.parseShort(value.trim());
+        } catch (NumberFormatException e) {
+            throw cannotConvert(value, short.class, e);
+        }
+    }
+
+    public static int toInt(String value){
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw cannotConvert(value, int.class, e);
+        }
+    }
+
+    public static long toLong(String value){
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw cannotConvert(value, long.class, e);
+        }
+    }
+
+    public static float toFloat(String value){
+        try {
+            return Float.parseFloat(value.trim());
+        } catch (NumberFormatException e) {
+            throw cannotConvert(value, float.class, e);
+        }
+    }
+
+    public static double toDouble(String value){
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw cannotConvert(value, double.class, e);
+        }
+    }
+
+    /**
+     * 只接受 true、false（忽略大小写），其他值（例如 yes、1）不转换为 false，而是 抛出异常
+     */
+    public static boolean toBoolean(String value){
+        String trimmed = value.trim();
+        if("true".equalsIgnoreCase(trimmed)){
+            return true;
+        }
+        if("false".equalsIgnoreCase(trimmed)){
+            return false;
+        }
+        throw cannotConvert(value, boolean.class, null);
+    }
+
+    public static BigDecimal toBigDecimal(String value){
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw cannotConvert(value, BigDecimal.class, e);
+        }
+    }
+
+    public static BigInteger toBigInteger(String value){
+        try {
+            return new BigInteger(value.trim());
+        } catch (NumberFormatException e) {
+            throw cannotConvert(value, BigInteger.class, e);
+        }
+    }
+
+    // BigDecimal、BigInteger 等 Number -> 数值
+
+    public static byte toByte(Number value){
+        return value.byteValue();
+    }
+
+    public static short toShort(Number value){
+        return value.shortValue();
+    }
+
+    public static int toInt(Number value){
+        return value.intValue();
+    }
+
+    public static long toLong(Number value){
+        return value.longValue();
+    }
+
+    public static float toFloat(Number value){
+        return value.floatValue();
+    }
+
+    public static double toDouble(Number value){
+        return value.doubleValue();
+    }
+
+    // 数值 -> BigDecimal、BigInteger
+
+    public static BigDecimal toBigDecimal(long value){
+        return BigDecimal.valueOf(value);
+    }
+
+    /**
+     * 使用 Double.toString 的 十进制表示，0.1 转换为 0.1，而不是 0.1000000000000000055...
+     */
+    public static BigDecimal toBigDecimal(double value){
+        return BigDecimal.valueOf(value);
+    }
+
+    /**
+     * 使用 Float.toString 的 十进制表示，0.1f 转换为 0.1，而不是 先扩展为 double 的 0.10000000149011612
+     */
+    public static BigDecimal toBigDecimal(float value){
+        return new BigDecimal(Float.toString(value));
+    }
+
+    public static BigDecimal toBigDecimal(BigInteger value){
+        return new BigDecimal(value);
+    }
+
+    public static BigInteger toBigInteger(long value){
+        return BigInteger.valueOf(value);
+    }
+
+    public static BigInteger toBigInteger(double value){
+        return BigDecimal.valueOf(value).toBigInteger();
+    }
+
+    public static BigInteger toBigInteger(BigDecimal value){
+        return value.toBigInteger();
+    }
+
+    private static ChameleonTransformException cannotConvert(String value, Class to, Throwable cause){
+        return new ChameleonTransformException("cannot convert '" + value + "' to " + to.getName(), cause);
+    }
+
+}
@@ -0,0 +1,27 @@
+package cn.muzin.chameleon.convert;
+
+/**
+ * 自定义 类型转换
+ *
+ * <p>通过 {@link cn.muzin.chameleon.Chameleon#registerConverter(Class, Class, TypeConverter)} 按 类型 注册，
+ * 或者 在字段上 使用 {@link cn.muzin.chameleon.annotation.ChameleonConverter} 指定。
+ * 训练时 解析出 转换器，保存在 生成的 Environment 的 static final 字段 中，transform 直接调用，不再按 类型 查找。</p>
+ *
+ * <p>只会传入 不为 null 的值，源值 为 null 时 和 其他字段 一样 处理。</p>
+ *
+ * @param <S> 源类型
+ * @param <T> 目标类型
+ * @author sirius
+ * @since 2026/10/18
+ */
+@FunctionalInterface
+public interface TypeConverter<S, T> {
+
+    /**
+     * 转换
+     * @param source 不为 null 的 源值
+     * @return 目标值
+     */
+    T convert(S source);
+
+}
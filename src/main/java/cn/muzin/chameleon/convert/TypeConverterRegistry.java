@@ -0,0 +1,106 @@
+package cn.muzin.chameleon.convert;
+
+import cn.muzin.chameleon.annotation.ChameleonConverter;
+import cn.muzin.chameleon.exception.ChameleonTrainException;
+import cn.muzin.chameleon.util.ClassUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 自定义 类型转换 的 注册表，每个 Chameleon 一个
+ *
+ * <p>按 源类型 -> 目标类型 两级 Map 保存，训练时 每个字段 查找一次，和 注册的 转换器数量 无关。
+ * 基本类型 按 包装类型 注册 和 查找。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class TypeConverterRegistry {
+
+    /**
+     * 源类型 -> 目标类型 -> 转换器
+     */
+    private final Map<Class, Map<Class, TypeConverter>> converters = new ConcurrentHashMap<>();
+
+    /**
+     * {@link ChameleonConverter} 指定的 转换器类 -> 实例
+     */
+    private final Map<Class, TypeConverter> annotatedConverters = new ConcurrentHashMap<>();
+
+    /**
+     * 注册 源类型 到 目标类型 的 转换器，已有时 替换
+     * @param sourceType 源类型
+     * @param destType 目标类型
+     * @param converter 转换器
+     */
+    public <S, T> void register(Class<S> sourceType, Class<T> destType, TypeConverter<S, T> converter){
+        converters.computeIfAbsent(ClassUtils.resolvePrimitiveIfNecessary(sourceType), key -> new ConcurrentHashMap<>())
+                .put(ClassUtils.resolvePrimitiveIfNecessary(destType), converter);
+    }
+
+    /**
+     * 查找 源类型 到 目标类型 的 转换器
+     * @param sourceType 源类型
+     * @param destType 目标类型
+     * @return 转换器，没有 时 为 null
+     */
+    public TypeConverter find(Class sourceType, Class destType){
+        Map<Class, TypeConverter> destConverters = converters.get(ClassUtils.resolvePrimitiveIfNecessary(sourceType));
+        return destConverters != null ? destConverters.get(ClassUtils.resolvePrimitiveIfNecessary(destType)) : null;
+    }
+
+    /**
+     * 训练时 解析 字段 的 转换器：先 目标字段、源字段 上的 {@link ChameleonConverter}，再 注册的 转换器
+     * @param sourceField 源字段
+     * @param destField 目标字段
+     * @param sourceType 源 读取的类型
+     * @param destType 目标 写入的类型
+     * @return 转换器，没有 时 为 null
+     */
+    public TypeConverter resolve(Field sourceField, Field destField, Class sourceType, Class destType){
+        for(Field field : new Field[]{ destField, sourceField }){
+            ChameleonConverter chameleonConverter = field != null ? field.getAnnotation(ChameleonConverter.class) : null;
+            if(chameleonConverter == null){ continue; }
+
+            Class<? extends TypeConverter> converterClass = chameleonConverter.value();
+            if(accepts(converterClass, sourceType, destType)){
+                return annotatedConverters.computeIfAbsent(converterClass, this::newConverter);
+            }
+        }
+        return find(sourceType, destType);
+    }
+
+    private TypeConverter newConverter(Class converterClass){
+        try {
+            return (TypeConverter) converterClass.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new ChameleonTrainException("Cannot create converter " + converterClass.getName(), e);
+        }
+    }
+
+    /**
+     * 转换器 的 泛型类型 是否 和 字段类型 匹配，泛型类型 无法确定 时 认为 匹配
+     */
+    private static boolean accepts(Class converterClass, Class sourceType, Class destType){
+        for(Class clazz = converterClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()){
+            for(Type genericInterface : clazz.getGenericInterfaces()){
+                if(!(genericInterface instanceof ParameterizedType)
+                        || ((ParameterizedType) genericInterface).getRawType() != TypeConverter.class){
+                    continue;
+                }
+                Type[] typeArguments = ((ParameterizedType) genericInterface).getActualTypeArguments();
+                if(!(typeArguments[0] instanceof Class) || !(typeArguments[1] instanceof Class)){
+                    return true;
+                }
+                return ((Class) typeArguments[0]).isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(sourceType))
+                        && ClassUtils.resolvePrimitiveIfNecessary(destType).isAssignableFrom((Class) typeArguments[1]);
+            }
+        }
+        return true;
+    }
+
+}
@@ -8,6 +8,16 @@ public abstract class StructPair {
 
     private Class mainStruct;
 
+    /**
+     * 是否 只适应 mainStruct 到 其他结构 一个方向
+     */
+    private boolean oneWay = false;
+
+    /**
+     * 是否 优先训练
+     */
+    private boolean hot = false;
+
     public void setMainStruct(Class mainStruct) {
         this.mainStruct = mainStruct;
     }
@@ -16,4 +26,20 @@ public abstract class StructPair {
         return mainStruct;
     }
 
+    public void setOneWay(boolean oneWay) {
+        this.oneWay = oneWay;
+    }
+
+    public boolean isOneWay() {
+        return oneWay;
+    }
+
+    public void setHot(boolean hot) {
+        this.hot = hot;
+    }
+
+    public boolean isHot() {
+        return hot;
+    }
+
 }
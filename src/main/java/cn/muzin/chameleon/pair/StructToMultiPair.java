@@ -17,6 +17,11 @@ public class StructToMultiPair extends StructPair {
         super.setMainStruct(mainStruct);
     }
 
+    public StructToMultiPair(Class mainStruct, boolean oneWay){
+        super.setMainStruct(mainStruct);
+        super.setOneWay(oneWay);
+    }
+
     public void setMainStruct(Class mainStruct) {
         super.setMainStruct(mainStruct);
     }
@@ -16,6 +16,11 @@ public class StructToOnePair extends StructPair {
         this.struct = bStruct;
     }
 
+    public StructToOnePair(Class mainStruct, Class bStruct, boolean oneWay){
+        this(mainStruct, bStruct);
+        this.setOneWay(oneWay);
+    }
+
     public Class getStruct() {
         return struct;
     }
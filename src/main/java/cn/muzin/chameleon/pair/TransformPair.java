@@ -0,0 +1,47 @@
+package cn.muzin.chameleon.pair;
+
+/**
+ * 转换对
+ *
+ * 保存 一个方向的 源类型 和 目标类型
+ * @author sirius
+ * @since 2026/10/18
+ */
+public final class TransformPair {
+
+    private final Class sourceClass;
+
+    private final Class destClass;
+
+    public TransformPair(Class sourceClass, Class destClass){
+        this.sourceClass = sourceClass;
+        this.destClass = destClass;
+    }
+
+    public Class getSourceClass() {
+        return sourceClass;
+    }
+
+    public Class getDestClass() {
+        return destClass;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o){ return true; }
+        if(!(o instanceof TransformPair)){ return false; }
+        TransformPair that = (TransformPair) o;
+        return sourceClass == that.sourceClass && destClass == that.destClass;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(sourceClass) + System.identityHashCode(destClass);
+    }
+
+    @Override
+    public String toString() {
+        return sourceClass.getName() + " -> " + destClass.getName();
+    }
+
+}
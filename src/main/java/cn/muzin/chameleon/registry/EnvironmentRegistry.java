@@ -0,0 +1,105 @@
+package cn.muzin.chameleon.registry;
+
+import cn.muzin.chameleon.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Environment 注册表
+ *
+ * <p>保存 源Class -&gt; 目标Class -&gt; Environment 的对应关系。</p>
+ *
+ * <p>源Class 在 注册表 自己的 ConcurrentHashMap 中 查找，目标Class 在 {@link EnvironmentTable} 中开放寻址，
+ * 读路径上没有锁，也没有 synchronized 块。</p>
+ *
+ * <p>不使用 ClassValue：ClassValue 的值 挂在 源Class 上，Environment 又引用 Chameleon，
+ * 没有调用 close 的 Chameleon 会随 源Class 一直存活。注册表 只被 Chameleon 引用，Chameleon 回收 时 一起回收。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class EnvironmentRegistry {
+
+    private final Map<Class<?>, EnvironmentTable> tables = new ConcurrentHashMap<>();
+
+    /**
+     * 获取 源Class 到 目标Class 的 Environment
+     * @param sourceClass 源Class
+     * @param destClass 目标Class
+     * @return Environment，不存在时返回 null
+     */
+    public Environment get(Class<?> sourceClass, Class<?> destClass){
+        EnvironmentTable table = tables.get(sourceClass);
+        return table != null ? table.get(destClass) : null;
+    }
+
+    public boolean contains(Class<?> sourceClass, Class<?> destClass){
+        return get(sourceClass, destClass) != null;
+    }
+
+    /**
+     * 注册 Environment，已存在时覆盖
+     * @param sourceClass 源Class
+     * @param destClass 目标Class
+     * @param environment Environment
+     * @return 之前注册的 Environment
+     */
+    public Environment put(Class<?> sourceClass, Class<?> destClass, Environment environment){
+        return table(sourceClass).put(destClass, environment);
+    }
+
+    /**
+     * 不存在时 注册 Environment
+     * @param sourceClass 源Class
+     * @param destClass 目标Class
+     * @param environment Environment
+     * @return 已经存在的 Environment，注册成功时返回 null
+     */
+    public Environment putIfAbsent(Class<?> sourceClass, Class<?> destClass, Environment environment){
+        return table(sourceClass).putIfAbsent(destClass, environment);
+    }
+
+    /**
+     * 当前注册的是 expect 时，替换为 environment
+     * @param sourceClass 源Class
+     * @param destClass 目标Class
+     * @param expect 期望当前注册的 Environment
+     * @param environment 新的 Environment
+     * @return 是否替换成功
+     */
+    public boolean replace(Class<?> sourceClass, Class<?> destClass, Environment expect, Environment environment){
+        return table(sourceClass).replace(destClass, expect, environment);
+    }
+
+    public Environment remove(Class<?> sourceClass, Class<?> destClass){
+        EnvironmentTable table = tables.get(sourceClass);
+        return table != null ? table.remove(destClass) : null;
+    }
+
+    private EnvironmentTable table(Class<?> sourceClass){
+        return tables.computeIfAbsent(sourceClass, key -> new EnvironmentTable());
+    }
+
+    /**
+     * 获取 所有已注册的 Environment
+     * @return Environment 集合
+     */
+    public List<Environment> values(){
+        List<Environment> values = new ArrayList<>();
+        for(EnvironmentTable table : tables.values()){
+            values.addAll(table.values());
+        }
+        return values;
+    }
+
+    /**
+     * 清空 注册表
+     */
+    public void clear(){
+        tables.clear();
+    }
+
+}
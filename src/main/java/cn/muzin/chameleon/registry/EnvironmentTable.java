@@ -0,0 +1,131 @@
+package cn.muzin.chameleon.registry;
+
+import cn.muzin.chameleon.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 源类型 对应的 目标类型 -&gt; Environment 开放寻址表
+ *
+ * <p>键值交替存放在同一个数组中（偶数位为目标Class，奇数位为Environment），线性探测。</p>
+ * <p>读操作不加锁，只读取一次 volatile 数组；写操作加锁后复制出新数组再发布（copy-on-write），
+ * 所以读线程看到的永远是一张完整的表。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+final class EnvironmentTable {
+
+    /**
+     * 初始 槽位 数量（必须是 2 的幂）
+     */
+    private static final int INITIAL_CAPACITY = 4;
+
+    private static final Object[] EMPTY_SLOTS = new Object[INITIAL_CAPACITY << 1];
+
+    private volatile Object[] slots = EMPTY_SLOTS;
+
+    private int size = 0;
+
+    Environment get(Class<?> destClass){
+        Object[] tab = slots;
+        int mask = (tab.length >> 1) - 1;
+        int i = hash(destClass) & mask;
+        for(;;){
+            Object key = tab[i << 1];
+            if(key == destClass){
+                return (Environment) tab[(i << 1) + 1];
+            }
+            if(key == null){
+                return null;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    synchronized Environment put(Class<?> destClass, Environment environment){
+        Object[] tab = slots;
+        Environment previous = get(destClass);
+        int capacity = tab.length >> 1;
+        if(previous == null && (size + 1) << 1 > capacity){
+            capacity <<= 1;
+        }
+        Object[] newTab = rehash(tab, capacity, null);
+        insert(newTab, destClass, environment);
+        if(previous == null){
+            size++;
+        }
+        slots = newTab;
+        return previous;
+    }
+
+    synchronized Environment putIfAbsent(Class<?> destClass, Environment environment){
+        Environment previous = get(destClass);
+        if(previous != null){
+            return previous;
+        }
+        put(destClass, environment);
+        return null;
+    }
+
+    synchronized boolean replace(Class<?> destClass, Environment expect, Environment environment){
+        if(get(destClass) != expect){
+            return false;
+        }
+        put(destClass, environment);
+        return true;
+    }
+
+    synchronized Environment remove(Class<?> destClass){
+        Object[] tab = slots;
+        Environment previous = get(destClass);
+        if(previous != null){
+            slots = rehash(tab, tab.length >> 1, destClass);
+            size--;
+        }
+        return previous;
+    }
+
+    List<Environment> values(){
+        Object[] tab = slots;
+        List<Environment> values = new ArrayList<>();
+        for(int i = 1; i < tab.length; i += 2){
+            if(tab[i] != null){
+                values.add((Environment) tab[i]);
+            }
+        }
+        return values;
+    }
+
+    private static Object[] rehash(Object[] tab, int capacity, Class<?> excludeKey){
+        Object[] newTab = new Object[capacity << 1];
+        for(int i = 0; i < tab.length; i += 2){
+            Object key = tab[i];
+            if(key != null && key != excludeKey){
+                insert(newTab, (Class<?>) key, (Environment) tab[i + 1]);
+            }
+        }
+        return newTab;
+    }
+
+    private static void insert(Object[] tab, Class<?> destClass, Environment environment){
+        int mask = (tab.length >> 1) - 1;
+        int i = hash(destClass) & mask;
+        for(;;){
+            Object key = tab[i << 1];
+            if(key == null || key == destClass){
+                tab[i << 1] = destClass;
+                tab[(i << 1) + 1] = environment;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private static int hash(Class<?> clazz){
+        int h = System.identityHashCode(clazz);
+        return h ^ (h >>> 16);
+    }
+
+}
@@ -39,7 +39,8 @@ public class ChameleonTransformEnvironmentAdaptSelector implements EnvironmentAd
         for(Class<?> clazz : classes){
             ChameleonTransform chameleonTransform = clazz.getAnnotation(ChameleonTransform.class);
             Class[] destClasses = chameleonTransform.dest();
-            StructToMultiPair structToMultiPair = new StructToMultiPair(clazz);
+            StructToMultiPair structToMultiPair = new StructToMultiPair(clazz, chameleonTransform.oneWay());
+            structToMultiPair.setHot(chameleonTransform.hot());
             for(Class destClass : destClasses) {
                 structToMultiPair.addStruct(destClass);
             }
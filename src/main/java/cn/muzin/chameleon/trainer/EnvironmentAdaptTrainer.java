@@ -3,10 +3,16 @@ package cn.muzin.chameleon.trainer;
 import cn.muzin.chameleon.Chameleon;
 import cn.muzin.chameleon.Environment;
 import cn.muzin.chameleon.exception.ChameleonTrainException;
+import cn.muzin.chameleon.trainer.code.ClassDefineStrategy;
 import cn.muzin.chameleon.trainer.code.ClassReaderUtil;
+import cn.muzin.chameleon.trainer.code.CodeBackend;
+import cn.muzin.chameleon.trainer.code.ConverterLinker;
 import cn.muzin.chameleon.trainer.code.Entity2EntityCodeImpl;
 import cn.muzin.chameleon.trainer.code.Entity2MapCodeImpl;
 import cn.muzin.chameleon.trainer.code.Map2EntityCodeImpl;
+import cn.muzin.chameleon.convert.TypeConverterRegistry;
+import cn.muzin.chameleon.trainer.code.PrimitiveNullPolicy;
+import javassist.ClassPool;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -21,6 +27,23 @@ public class EnvironmentAdaptTrainer {
 
     private volatile String packagePrefix = "";
 
+    private volatile CodeBackend codeBackend = CodeBackend.BYTECODE;
+
+    private volatile ClassDefineStrategy classDefineStrategy = ClassDefineStrategy.AUTO;
+
+    /**
+     * 生成 Environment 使用的 ClassPool，每个 Chameleon 单独一个，不使用 全局的 ClassPool.getDefault()
+     */
+    private volatile ClassPool classPool = newClassPool();
+
+    private volatile boolean directFieldAccess = false;
+
+    private volatile PrimitiveNullPolicy primitiveNullPolicy = PrimitiveNullPolicy.SKIP;
+
+    private volatile TypeConverterRegistry typeConverterRegistry;
+
+    private volatile boolean shareArrays = false;
+
     private Chameleon chameleon;
 
     private volatile Entity2EntityCodeImpl entity2EntityCodeImpl;
@@ -40,14 +63,37 @@ public class EnvironmentAdaptTrainer {
      * @return Environment集合
      */
     public Map<Class, Environment> train(Class tClass, Class rClass){
+        return train(tClass, rClass, false);
+    }
+
+    /**
+     * 训练 类型转换 环境
+     * @param tClass 源Class
+     * @param rClass 目标Class
+     * @param oneWay 是否 只训练 源Class 到 目标Class 一个方向
+     * @return Environment集合，key 为 源Class，单向时 只包含 tClass
+     */
+    public Map<Class, Environment> train(Class tClass, Class rClass, boolean oneWay){
         HashMap<Class, Environment> map = new HashMap<>();
         Environment tClassToRClassEnvironment = mockEnvironment(tClass, rClass);
-        Environment rClassToTClassEnvironment = mockEnvironment(rClass, tClass);
         map.put(tClass, tClassToRClassEnvironment);
-        map.put(rClass, rClassToTClassEnvironment);
+        if(!oneWay) {
+            Environment rClassToTClassEnvironment = mockEnvironment(rClass, tClass);
+            map.put(rClass, rClassToTClassEnvironment);
+        }
         return map;
     }
 
+    /**
+     * 训练 源Class 到 目标Class 一个方向的 类型转换 环境
+     * @param tClass 源Class
+     * @param rClass 目标Class
+     * @return Environment
+     */
+    public Environment trainEnvironment(Class tClass, Class rClass){
+        return mockEnvironment(tClass, rClass);
+    }
+
 
 
     /**
@@ -86,6 +132,9 @@ public class EnvironmentAdaptTrainer {
             return environment;
         }catch(Exception e){
             throw new ChameleonTrainException(e);
+        }finally {
+            // 训练 失败 时 生成类 没有 取出 暂存的 转换器
+            ConverterLinker.release();
         }
     }
 
@@ -106,6 +155,93 @@ public class EnvironmentAdaptTrainer {
         }
     }
 
+    public CodeBackend getCodeBackend() {
+        return codeBackend;
+    }
+
+    public void setCodeBackend(CodeBackend codeBackend) {
+        this.codeBackend = codeBackend;
+        getEntity2EntityCodeImpl().setCodeBackend(codeBackend);
+        getEntity2MapCodeImpl().setCodeBackend(codeBackend);
+        getMap2EntityCodeImpl().setCodeBackend(codeBackend);
+    }
+
+    public ClassPool getClassPool() {
+        return classPool;
+    }
+
+    /**
+     * 释放 ClassPool 中 缓存的 CtClass，之后的训练 使用 新的 ClassPool，正在进行的训练 不受影响
+     */
+    public void releaseClassPool() {
+        this.classPool = newClassPool();
+        getEntity2EntityCodeImpl().setClassPool(classPool);
+        getEntity2MapCodeImpl().setClassPool(classPool);
+        getMap2EntityCodeImpl().setClassPool(classPool);
+    }
+
+    /**
+     * 先从 自己的 类路径 查找，CtClass 缓存在 自己的 ClassPool 中；
+     * 找不到的类（例如 其他代码 通过 ClassPool.getDefault() 动态生成的类）再从 全局的 ClassPool 查找
+     */
+    private static ClassPool newClassPool() {
+        ClassPool classPool = new ClassPool(ClassPool.getDefault());
+        classPool.childFirstLookup = true;
+        classPool.appendSystemPath();
+        return classPool;
+    }
+
+    public ClassDefineStrategy getClassDefineStrategy() {
+        return classDefineStrategy;
+    }
+
+    public void setClassDefineStrategy(ClassDefineStrategy classDefineStrategy) {
+        this.classDefineStrategy = classDefineStrategy;
+        getEntity2EntityCodeImpl().setClassDefineStrategy(classDefineStrategy);
+        getEntity2MapCodeImpl().setClassDefineStrategy(classDefineStrategy);
+        getMap2EntityCodeImpl().setClassDefineStrategy(classDefineStrategy);
+    }
+
+    public boolean isDirectFieldAccess() {
+        return directFieldAccess;
+    }
+
+    public void setDirectFieldAccess(boolean directFieldAccess) {
+        this.directFieldAccess = directFieldAccess;
+        getEntity2EntityCodeImpl().setDirectFieldAccess(directFieldAccess);
+        getEntity2MapCodeImpl().setDirectFieldAccess(directFieldAccess);
+        getMap2EntityCodeImpl().setDirectFieldAccess(directFieldAccess);
+    }
+
+    public PrimitiveNullPolicy getPrimitiveNullPolicy() {
+        return primitiveNullPolicy;
+    }
+
+    public void setPrimitiveNullPolicy(PrimitiveNullPolicy primitiveNullPolicy) {
+        this.primitiveNullPolicy = primitiveNullPolicy;
+        getEntity2EntityCodeImpl().setPrimitiveNullPolicy(primitiveNullPolicy);
+        getEntity2MapCodeImpl().setPrimitiveNullPolicy(primitiveNullPolicy);
+        getMap2EntityCodeImpl().setPrimitiveNullPolicy(primitiveNullPolicy);
+    }
+
+    public TypeConverterRegistry getTypeConverterRegistry() {
+        return typeConverterRegistry;
+    }
+
+    public void setTypeConverterRegistry(TypeConverterRegistry typeConverterRegistry) {
+        this.typeConverterRegistry = typeConverterRegistry;
+        getEntity2EntityCodeImpl().setTypeConverterRegistry(typeConverterRegistry);
+    }
+
+    public boolean isShareArrays() {
+        return shareArrays;
+    }
+
+    public void setShareArrays(boolean shareArrays) {
+        this.shareArrays = shareArrays;
+        getEntity2EntityCodeImpl().setShareArrays(shareArrays);
+    }
+
     public String getPackagePrefix() {
         return packagePrefix;
     }
@@ -117,6 +253,7 @@ public class EnvironmentAdaptTrainer {
     private Entity2EntityCodeImpl getEntity2EntityCodeImpl(){
         if(entity2EntityCodeImpl == null){
             entity2EntityCodeImpl = new Entity2EntityCodeImpl(this.packagePrefix);
+            entity2EntityCodeImpl.setClassPool(classPool);
         }
         return entity2EntityCodeImpl;
     }
@@ -124,6 +261,7 @@ public class EnvironmentAdaptTrainer {
     private Entity2MapCodeImpl getEntity2MapCodeImpl(){
         if(entity2MapCodeImpl == null){
             entity2MapCodeImpl = new Entity2MapCodeImpl(this.packagePrefix);
+            entity2MapCodeImpl.setClassPool(classPool);
         }
         return entity2MapCodeImpl;
     }
@@ -131,6 +269,7 @@ public class EnvironmentAdaptTrainer {
     private Map2EntityCodeImpl getMap2EntityCodeImpl(){
         if(map2EntityCodeImpl == null){
             map2EntityCodeImpl = new Map2EntityCodeImpl(this.packagePrefix);
+            map2EntityCodeImpl.setClassPool(classPool);
         }
         return map2EntityCodeImpl;
     }
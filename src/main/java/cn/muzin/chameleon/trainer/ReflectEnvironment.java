@@ -0,0 +1,399 @@
+package cn.muzin.chameleon.trainer;
+
+import cn.muzin.chameleon.Chameleon;
+import cn.muzin.chameleon.Environment;
+import cn.muzin.chameleon.exception.ChameleonTransformException;
+import cn.muzin.chameleon.trainer.code.ClassModel;
+import cn.muzin.chameleon.trainer.code.ClassReaderUtil;
+import cn.muzin.chameleon.trainer.code.CollectionConversions;
+import cn.muzin.chameleon.trainer.code.DestinationCreator;
+import cn.muzin.chameleon.trainer.code.FieldTransform;
+import cn.muzin.chameleon.trainer.code.PrimitiveConversions;
+import cn.muzin.chameleon.trainer.code.PrimitiveNullPolicy;
+import cn.muzin.chameleon.trainer.code.TransformPlan;
+import cn.muzin.chameleon.util.ClassUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 反射 实现的 Environment
+ *
+ * <p>后台训练时，生成的 Environment 还没有准备好之前，使用反射按照 {@link TransformPlan}（和生成代码相同的字段匹配规则）进行转换。</p>
+ * <p>生成的 Environment 准备好后，通过 {@link #setTrainedEnvironment(Environment)} 设置，
+ * 之后的转换直接交给生成的 Environment，已经持有当前对象的 Mapper 和 链接 也会一起切换。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class ReflectEnvironment implements Environment {
+
+    private Chameleon chameleon;
+
+    private Class sourceClass;
+
+    private Class destClass;
+
+    private final TransformPlan transformPlan;
+
+    /**
+     * 目标对象 通过 构造函数 或 builder 创建 时 不为 null
+     */
+    private final DestinationCreator destinationCreator;
+
+    /**
+     * 和 destinationCreator 的 属性 一一对应 的 源 getter，源 是 Map 或 没有 对应属性 时 为 null
+     */
+    private final Method[] creatorReadMethods;
+
+    /**
+     * 训练完成的 Environment
+     */
+    private volatile Environment trainedEnvironment;
+
+    public ReflectEnvironment(Class sourceClass, Class destClass, Chameleon chameleon){
+        this.sourceClass = sourceClass;
+        this.destClass = destClass;
+        this.chameleon = chameleon;
+        this.transformPlan = chameleon != null
+                ? TransformPlan.of(sourceClass, destClass, false, chameleon.getTypeConverterRegistry(), chameleon.isShareArrays())
+                : TransformPlan.of(sourceClass, destClass);
+        this.destinationCreator = DestinationCreator.of(destClass);
+        this.creatorReadMethods = destinationCreator != null && !transformPlan.isSourceIsMap()
+                ? creatorReadMethods(sourceClass, destinationCreator)
+                : null;
+    }
+
+    private static Method[] creatorReadMethods(Class sourceClass, DestinationCreator destinationCreator){
+        ClassModel sourceClassModel = ClassModel.of(sourceClass);
+        List<DestinationCreator.Property> properties = destinationCreator.getProperties();
+        Method[] readMethods = new Method[properties.size()];
+        for(int i = 0; i < readMethods.length; i++){
+            Field sourceClassField = sourceClassModel.getField(properties.get(i).getName());
+            readMethods[i] = sourceClassField != null ? sourceClassModel.getReadMethod(sourceClassField) : null;
+        }
+        return readMethods;
+    }
+
+    public Chameleon getChameleon() {
+        return chameleon;
+    }
+
+    public void setChameleon(Chameleon chameleon) {
+        this.chameleon = chameleon;
+    }
+
+    public Class getSourceClass() {
+        return sourceClass;
+    }
+
+    public void setSourceClass(Class sourceClass) {
+        this.sourceClass = sourceClass;
+    }
+
+    public Class getDestClass() {
+        return destClass;
+    }
+
+    public void setDestClass(Class destClass) {
+        this.destClass = destClass;
+    }
+
+    public Environment getTrainedEnvironment() {
+        return trainedEnvironment;
+    }
+
+    public void setTrainedEnvironment(Environment trainedEnvironment) {
+        this.trainedEnvironment = trainedEnvironment;
+    }
+
+    @Override
+    public Object newInstance() {
+        Environment environment = trainedEnvironment;
+        if(environment != null){
+            return environment.newInstance();
+        }
+        return Environment.super.newInstance();
+    }
+
+    @Override
+    public Object transform(Object source, boolean adaptationStructureMismatch, boolean skipNull) {
+        Environment environment = trainedEnvironment;
+        if(environment != null){
+            return environment.transform(source, adaptationStructureMismatch, skipNull);
+        }
+        if(destinationCreator != null){
+            return create(source, adaptationStructureMismatch, skipNull);
+        }
+        return Environment.super.transform(source, adaptationStructureMismatch, skipNull);
+    }
+
+    /**
+     * 先 读取 所有 源值，再 通过 构造函数 或 builder 创建 目标对象
+     */
+    private Object create(Object source, boolean adaptationStructureMismatch, boolean skipNull){
+        List<DestinationCreator.Property> properties = destinationCreator.getProperties();
+        Object[] arguments = new Object[properties.size()];
+        for(int i = 0; i < arguments.length; i++){
+            DestinationCreator.Property property = properties.get(i);
+            Object value;
+            if(creatorReadMethods == null){
+                value = ((Map) source).get(property.getName());
+            }else{
+                value = creatorReadMethods[i] != null ? invoke(creatorReadMethods[i], source) : null;
+            }
+            arguments[i] = DestinationCreator.convert(value, property.getType(), property.getElementClass(),
+                    chameleon, adaptationStructureMismatch, skipNull);
+        }
+        return destinationCreator.create(arguments);
+    }
+
+    @Override
+    public void transform(Object source, Object dest, boolean adaptationStructureMismatch, boolean skipNull) {
+        Environment environment = trainedEnvironment;
+        if(environment != null){
+            environment.transform(source, dest, adaptationStructureMismatch, skipNull);
+            return;
+        }
+
+        boolean sourceIsMap = transformPlan.isSourceIsMap();
+        for(FieldTransform fieldTransform : transformPlan.getFieldTransforms()){
+            Object value = sourceIsMap
+                    ? ((Map) source).get(fieldTransform.getName())
+                    : invoke(fieldTransform.getReadMethod(), source);
+
+            switch (fieldTransform.getKind()){
+                case SIMPLE:
+                    if(value == null && skipNull){ continue; }
+                    // Map 中的值 类型不匹配 跳过
+                    if(sourceIsMap
+                            && !ClassUtils.resolvePrimitiveIfNecessary(fieldTransform.getDestType()).isInstance(value)){
+                        continue;
+                    }
+                    write(fieldTransform, dest, value);
+                    break;
+                case PRIMITIVE:
+                    if(value == null){
+                        if(!skipNull){ writeNullValue(fieldTransform, dest); }
+                        continue;
+                    }
+                    // Map 中的值 类型不匹配 跳过
+                    if(sourceIsMap && !PrimitiveConversions.valueTypeOf(fieldTransform.getDestType()).isInstance(value)){ continue; }
+                    write(fieldTransform, dest, PrimitiveConversions.convert(value, fieldTransform.getDestType()));
+                    break;
+                case CONVERT:
+                    if(value == null){
+                        if(!skipNull){ writeNullValue(fieldTransform, dest); }
+                        continue;
+                    }
+                    if(fieldTransform.getTypeConverter() != null){
+                        write(fieldTransform, dest, fieldTransform.getTypeConverter().convert(value));
+                        break;
+                    }
+                    Method converter = fieldTransform.getConverter();
+                    Object converted = invoke(converter, null,
+                            PrimitiveConversions.convert(value, converter.getParameterTypes()[0]));
+                    write(fieldTransform, dest, PrimitiveConversions.convert(converted, fieldTransform.getDestType()));
+                    break;
+                case TO_STRING:
+                    write(fieldTransform, dest, value != null ? value.toString() : null);
+                    break;
+                case COLLECTION_TO_STRING:
+                    if(value == null || !adaptationStructureMismatch){ continue; }
+                    List sourceCollection = (List) value;
+                    List newCollection = new ArrayList(sourceCollection.size());
+                    for(Object item : sourceCollection){
+                        newCollection.add(item != null ? item.toString() : null);
+                    }
+                    write(fieldTransform, dest, newCollection);
+                    break;
+                case COLLECTION_TO_STRUCT:
+                    if(value == null || !adaptationStructureMismatch){ continue; }
+                    List sourceStructCollection = (List) value;
+                    List newStructCollection = new ArrayList(sourceStructCollection.size());
+                    for(Object item : sourceStructCollection){
+                        newStructCollection.add(item != null
+                                ? transformStruct(fieldTransform, item, adaptationStructureMismatch, skipNull)
+                                : null);
+                    }
+                    write(fieldTransform, dest, newStructCollection);
+                    break;
+                case TO_STRUCT:
+                    if(value == null || !adaptationStructureMismatch){ continue; }
+                    write(fieldTransform, dest,
+                            transformStruct(fieldTransform, value, adaptationStructureMismatch, skipNull));
+                    break;
+                case CLONE:
+                    if(value == null || (!adaptationStructureMismatch && fieldTransform.isStructural())){ continue; }
+                    write(fieldTransform, dest, chameleon.cloneValue(value, adaptationStructureMismatch, skipNull));
+                    break;
+                case ARRAY_COPY:
+                case ARRAY:
+                    if(!adaptationStructureMismatch && fieldTransform.isStructural()){ continue; }
+                    if(value == null){
+                        if(!skipNull){ write(fieldTransform, dest, null); }
+                        continue;
+                    }
+                    write(fieldTransform, dest, fieldTransform.getKind() == FieldTransform.Kind.ARRAY_COPY
+                            ? copyArray(value, fieldTransform.getDestType())
+                            : convertArray(fieldTransform, value, adaptationStructureMismatch, skipNull));
+                    break;
+                case COLLECTION:
+                case MAP:
+                    if(!adaptationStructureMismatch && fieldTransform.isStructural()){ continue; }
+                    if(value == null){
+                        if(!skipNull){ write(fieldTransform, dest, null); }
+                        continue;
+                    }
+                    write(fieldTransform, dest, convertCollection(fieldTransform, value, adaptationStructureMismatch, skipNull));
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static Object copyArray(Object array, Class destType){
+        int length = Array.getLength(array);
+        Object newArray = Array.newInstance(destType.getComponentType(), length);
+        System.arraycopy(array, 0, newArray, 0, length);
+        return newArray;
+    }
+
+    /**
+     * 数组 与 数组、List 之间 按元素 转换
+     */
+    private Object convertArray(FieldTransform fieldTransform, Object value,
+                                boolean adaptationStructureMismatch, boolean skipNull){
+        List sourceList = value instanceof List ? (List) value : null;
+        int length = sourceList != null ? sourceList.size() : Array.getLength(value);
+        Class destType = fieldTransform.getDestType();
+        Object newArray = destType.isArray() ? Array.newInstance(destType.getComponentType(), length) : null;
+        List newList = newArray == null ? new ArrayList(length) : null;
+        for(int i = 0; i < length; i++){
+            Object item = sourceList != null ? sourceList.get(i) : Array.get(value, i);
+            Object newItem = convertElement(fieldTransform, item, adaptationStructureMismatch, skipNull);
+            if(newArray != null){
+                Array.set(newArray, i, newItem);
+            }else{
+                newList.add(newItem);
+            }
+        }
+        return newArray != null ? newArray : newList;
+    }
+
+    /**
+     * Set、Collection、Queue、Map 之间 按元素 转换，目标 按 声明类型 选择 实现
+     */
+    private Object convertCollection(FieldTransform fieldTransform, Object value,
+                                     boolean adaptationStructureMismatch, boolean skipNull){
+        Class implementation = CollectionConversions.implementationOf(fieldTransform.getDestType());
+        Object newCollection;
+        try {
+            newCollection = implementation.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new ChameleonTransformException(e);
+        }
+        // 排序的 实现 跳过 为 null 的 元素（Map 时 为 key）
+        boolean sorted = CollectionConversions.isSorted(implementation);
+        if(fieldTransform.getKind() == FieldTransform.Kind.MAP){
+            for(Object entry : ((Map) value).entrySet()){
+                if(sorted && ((Map.Entry) entry).getKey() == null){ continue; }
+                ((Map) newCollection).put(((Map.Entry) entry).getKey(),
+                        convertElement(fieldTransform, ((Map.Entry) entry).getValue(), adaptationStructureMismatch, skipNull));
+            }
+        }else{
+            for(Object item : (Collection) value){
+                if(sorted && item == null){ continue; }
+                ((Collection) newCollection).add(convertElement(fieldTransform, item, adaptationStructureMismatch, skipNull));
+            }
+        }
+        return newCollection;
+    }
+
+    /**
+     * 包装类型 为 null 时，基本类型 的元素 为 默认值，其他 为 null
+     */
+    private Object convertElement(FieldTransform fieldTransform, Object item,
+                                  boolean adaptationStructureMismatch, boolean skipNull){
+        Class destElementClass = fieldTransform.getDestStructClass();
+        if(item == null){
+            return destElementClass.isPrimitive() ? PrimitiveConversions.defaultValue(destElementClass) : null;
+        }
+        switch (fieldTransform.getElementKind()){
+            case PRIMITIVE:
+                return PrimitiveConversions.convert(item, destElementClass);
+            case TO_STRING:
+                return item.toString();
+            case TO_STRUCT:
+                return transformStruct(fieldTransform, item, adaptationStructureMismatch, skipNull);
+            case CLONE:
+                return chameleon.cloneValue(item, adaptationStructureMismatch, skipNull);
+            default:
+                return item;
+        }
+    }
+
+    /**
+     * 与 生成的代码 一致：可以链接 时 按 声明类型 链接 Environment 转换 嵌套结构，
+     * 否则（以及 源 是 Map 但 值 不是 Map 时）交给 chameleon 按 运行时类型 转换
+     */
+    private Object transformStruct(FieldTransform fieldTransform, Object value,
+                                   boolean adaptationStructureMismatch, boolean skipNull){
+        Class sourceStructClass = fieldTransform.getSourceStructClass();
+        Class destStructClass = fieldTransform.getDestStructClass();
+        boolean linkable = transformPlan.isSourceIsMap()
+                ? ClassReaderUtil.isLinkable(destStructClass) && value instanceof Map
+                : ClassReaderUtil.isLinkable(sourceStructClass);
+        if(!linkable){
+            return chameleon.transform(value, destStructClass, adaptationStructureMismatch, skipNull);
+        }
+        return chameleon.linkEnvironment(sourceStructClass, destStructClass).transform(value, adaptationStructureMismatch, skipNull);
+    }
+
+    /**
+     * 源值 为 null：目标 是 包装类型 赋值为 null（源 是 Map 时 跳过），是 基本类型 按 primitiveNullPolicy 处理
+     */
+    private void writeNullValue(FieldTransform fieldTransform, Object dest){
+        Class destType = fieldTransform.getDestType();
+        if(!destType.isPrimitive()){
+            if(!transformPlan.isSourceIsMap()){ write(fieldTransform, dest, null); }
+            return;
+        }
+        PrimitiveNullPolicy primitiveNullPolicy = chameleon.getPrimitiveNullPolicy();
+        if(primitiveNullPolicy == PrimitiveNullPolicy.FAIL){
+            throw new ChameleonTransformException(PrimitiveConversions.nullMessage(fieldTransform.getName(), destType));
+        }
+        if(primitiveNullPolicy == PrimitiveNullPolicy.DEFAULT_VALUE){
+            write(fieldTransform, dest, PrimitiveConversions.defaultValue(destType));
+        }
+    }
+
+    private void write(FieldTransform fieldTransform, Object dest, Object value){
+        if(transformPlan.isDestIsMap()){
+            ((Map) dest).put(fieldTransform.getName(), value);
+        }else{
+            invoke(fieldTransform.getWriteMethod(), dest, value);
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object... args){
+        try {
+            return method.invoke(target, args);
+        } catch (IllegalAccessException e) {
+            throw new ChameleonTransformException(e);
+        } catch (InvocationTargetException e) {
+            if(e.getTargetException() instanceof ChameleonTransformException){
+                throw (ChameleonTransformException) e.getTargetException();
+            }
+            throw new ChameleonTransformException(e.getTargetException());
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package cn.muzin.chameleon.trainer;
+
+import cn.muzin.chameleon.pair.TransformPair;
+
+/**
+ * 训练失败 记录
+ *
+ * <p>记录 转换对 最近一次训练失败的原因、首次和最近一次失败的时间 以及 失败次数。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public final class TrainFailure {
+
+    private final TransformPair transformPair;
+
+    private final Throwable cause;
+
+    private final long firstFailureTime;
+
+    private final long lastFailureTime;
+
+    private final int failureCount;
+
+    public TrainFailure(TransformPair transformPair, Throwable cause){
+        this(transformPair, cause, System.currentTimeMillis(), System.currentTimeMillis(), 1);
+    }
+
+    private TrainFailure(TransformPair transformPair, Throwable cause,
+                         long firstFailureTime, long lastFailureTime, int failureCount){
+        this.transformPair = transformPair;
+        this.cause = cause;
+        this.firstFailureTime = firstFailureTime;
+        this.lastFailureTime = lastFailureTime;
+        this.failureCount = failureCount;
+    }
+
+    /**
+     * 重试后 再次失败
+     * @param cause 失败原因
+     * @return 新的 失败记录
+     */
+    public TrainFailure fail(Throwable cause){
+        return new TrainFailure(transformPair, cause, firstFailureTime, System.currentTimeMillis(), failureCount + 1);
+    }
+
+    /**
+     * 是否 可以 重新训练
+     * @param retryInterval 重试间隔（毫秒），小于 0 时 不重试
+     * @return 是否可以重试
+     */
+    public boolean isRetryable(long retryInterval){
+        return retryInterval >= 0 && System.currentTimeMillis() - lastFailureTime >= retryInterval;
+    }
+
+    public TransformPair getTransformPair() {
+        return transformPair;
+    }
+
+    public Class getSourceClass() {
+        return transformPair.getSourceClass();
+    }
+
+    public Class getDestClass() {
+        return transformPair.getDestClass();
+    }
+
+    public Throwable getCause() {
+        return cause;
+    }
+
+    public long getFirstFailureTime() {
+        return firstFailureTime;
+    }
+
+    public long getLastFailureTime() {
+        return lastFailureTime;
+    }
+
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    @Override
+    public String toString() {
+        return "TrainFailure{" + transformPair
+                + ", failureCount=" + failureCount
+                + ", cause=" + cause + "}";
+    }
+
+}
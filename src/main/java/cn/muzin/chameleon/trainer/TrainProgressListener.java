@@ -0,0 +1,22 @@
+package cn.muzin.chameleon.trainer;
+
+import cn.muzin.chameleon.pair.TransformPair;
+
+/**
+ * 预加载 训练进度 监听
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+@FunctionalInterface
+public interface TrainProgressListener {
+
+    /**
+     * 一个 转换对 训练完成（成功 或 失败）后 调用，在 训练线程 上 执行
+     * @param transformPair 完成的 转换对
+     * @param completed 已完成 数量
+     * @param total 总数
+     */
+    void onProgress(TransformPair transformPair, int completed, int total);
+
+}
@@ -0,0 +1,59 @@
+package cn.muzin.chameleon.trainer;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 预加载 训练结果
+ *
+ * <p>记录 转换对 总数、训练失败的 转换对 以及 总耗时。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public final class TrainReport {
+
+    private final int total;
+
+    private final List<TrainFailure> failures;
+
+    private final long elapsedMillis;
+
+    public TrainReport(int total, List<TrainFailure> failures, long elapsedMillis){
+        this.total = total;
+        this.failures = Collections.unmodifiableList(failures);
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @return 训练成功 或 已经存在 的 转换对 数量
+     */
+    public int getTrained() {
+        return total - failures.size();
+    }
+
+    public List<TrainFailure> getFailures() {
+        return failures;
+    }
+
+    public boolean isSuccess() {
+        return failures.isEmpty();
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "TrainReport{total=" + total
+                + ", trained=" + getTrained()
+                + ", failed=" + failures.size()
+                + ", elapsedMillis=" + elapsedMillis + "}";
+    }
+
+}
@@ -0,0 +1,116 @@
+package cn.muzin.chameleon.trainer;
+
+import cn.muzin.chameleon.pair.StructPair;
+import cn.muzin.chameleon.pair.StructToMultiPair;
+import cn.muzin.chameleon.pair.StructToOnePair;
+import cn.muzin.chameleon.pair.TransformPair;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 预加载 训练调度
+ *
+ * <p>结构对 展开为 单方向的 转换对 后 去重（A、B 双向 和 B、A 双向 只训练 一次 A -> B、B -> A），
+ * 每个 转换对 作为 一个任务 提交到 Executor，不同 转换对 的 读取类结构、生成代码、定义类 在 多个线程 上 同时进行。
+ * 全部完成后 返回 {@link TrainReport}，单个 转换对 失败 不影响 其他 转换对。</p>
+ *
+ * <p>任务 按 转换对 的顺序 从 同一个 队列 中 取出，和 Executor 内部的 调度顺序 无关，排在前面的 hot 转换对 先开始训练。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public final class TrainScheduler {
+
+    private final Executor executor;
+
+    private final TrainProgressListener progressListener;
+
+    /**
+     * @param executor 执行 训练任务 的 Executor
+     * @param progressListener 进度监听，可以为 null
+     */
+    public TrainScheduler(Executor executor, TrainProgressListener progressListener){
+        this.executor = executor;
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * 展开 结构对，按 出现顺序 去重，hot 的 转换对 排在前面
+     * @param structPairs 结构对
+     * @return 单方向的 转换对
+     */
+    public static Set<TransformPair> transformPairs(Collection<? extends StructPair> structPairs){
+        Set<TransformPair> hotTransformPairs = new LinkedHashSet<>();
+        Set<TransformPair> otherTransformPairs = new LinkedHashSet<>();
+        for(StructPair structPair : structPairs){
+            Set<TransformPair> structTransformPairs = structPair.isHot() ? hotTransformPairs : otherTransformPairs;
+            Class mainStruct = structPair.getMainStruct();
+            Collection<Class> structs = Collections.emptySet();
+            if(structPair instanceof StructToOnePair){
+                Class struct = ((StructToOnePair) structPair).getStruct();
+                structs = struct != null ? Collections.singleton(struct) : Collections.emptySet();
+            }else if(structPair instanceof StructToMultiPair){
+                Set<Class> structSet = ((StructToMultiPair) structPair).getStructSet();
+                structs = structSet != null ? structSet : Collections.emptySet();
+            }
+            for(Class struct : structs){
+                structTransformPairs.add(new TransformPair(mainStruct, struct));
+                // 同类型 的 Environment 为 深拷贝，只有一个方向
+                if(!structPair.isOneWay() && struct != mainStruct){
+                    structTransformPairs.add(new TransformPair(struct, mainStruct));
+                }
+            }
+        }
+        hotTransformPairs.addAll(otherTransformPairs);
+        return hotTransformPairs;
+    }
+
+    /**
+     * 按顺序 训练 所有 转换对
+     * @param transformPairs 转换对，排在前面的 先开始训练
+     * @param trainer 训练 一个 转换对
+     * @return 全部完成后 完成的 TrainReport
+     */
+    public CompletableFuture<TrainReport> train(Collection<TransformPair> transformPairs, Consumer<TransformPair> trainer){
+        long startTime = System.nanoTime();
+        int total = transformPairs.size();
+        AtomicInteger completed = new AtomicInteger();
+        List<TrainFailure> failures = Collections.synchronizedList(new ArrayList<>());
+        Queue<TransformPair> queue = new ConcurrentLinkedQueue<>(transformPairs);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(total);
+        for(int i = 0; i < total; i++){
+            futures.add(CompletableFuture.runAsync(() -> {
+                // 每个任务 取 队列中 下一个 转换对
+                TransformPair transformPair = queue.poll();
+                try {
+                    trainer.accept(transformPair);
+                } catch (Throwable e) {
+                    failures.add(new TrainFailure(transformPair, e));
+                } finally {
+                    int completedCount = completed.incrementAndGet();
+                    if(progressListener != null){
+                        progressListener.onProgress(transformPair, completedCount, total);
+                    }
+                }
+            }, executor));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> new TrainReport(total, new ArrayList<>(failures),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)));
+    }
+
+}
@@ -4,6 +4,7 @@ import cn.muzin.chameleon.Chameleon;
 import cn.muzin.chameleon.Environment;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,12 +26,16 @@ public class TrainerConstant {
 
     public static final String BOOLEAN_CLASS_NAME = Boolean.class.getName();
 
+    public static final String STRING_CLASS_NAME = String.class.getName();
+
     public static final String LIST_CLASS_NAME = List.class.getName();
 
     public static final String ARRAYLIST_CLASS_NAME = ArrayList.class.getName();
 
     public static final String MAP_CLASS_NAME = Map.class.getName();
 
+    public static final String LINKEDHASHMAP_CLASS_NAME = LinkedHashMap.class.getName();
+
     public static final String GET_PREFIX = "get";
     public static final String SET_PREFIX = "set";
     public static final String IS_PREFIX = "is";
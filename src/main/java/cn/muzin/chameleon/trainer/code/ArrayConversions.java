@@ -0,0 +1,93 @@
+package cn.muzin.chameleon.trainer.code;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * 数组 与 数组、List 之间 的转换
+ *
+ * <p>同类型 的数组 通过 Arrays.copyOf 复制（反射 实现 使用 System.arraycopy）；元素类型 不同，或 一边 是 List 时，
+ * 按元素 转换 后 写入 预先分配大小 的 数组 或 ArrayList。生成的代码 直接 按下标 读写，不经过 反射。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public final class ArrayConversions {
+
+    private ArrayConversions(){}
+
+    /**
+     * 是否 可以 直接复制 数组：两边 都是 数组，目标元素类型 可以 直接赋值 源元素
+     * @param from 源类型
+     * @param to 目标类型
+     * @return 是否 复制
+     */
+    public static boolean isArrayCopy(Class from, Class to){
+        if(!from.isArray() || !to.isArray()){
+            return false;
+        }
+        Class fromComponent = from.getComponentType();
+        Class toComponent = to.getComponentType();
+        return fromComponent.isPrimitive() == toComponent.isPrimitive() && toComponent.isAssignableFrom(fromComponent);
+    }
+
+    /**
+     * 是否 需要 按元素 转换：至少一边 是 数组，另一边 是 数组 或 List，且 不能 直接复制
+     * @param from 源类型
+     * @param to 目标类型
+     * @return 是否 按元素 转换
+     */
+    public static boolean isArrayConvertible(Class from, Class to){
+        return (from.isArray() || to.isArray()) && !isArrayCopy(from, to)
+                && (from.isArray() || List.class.isAssignableFrom(from))
+                && (to.isArray() || (to != Object.class && to.isAssignableFrom(List.class)));
+    }
+
+    /**
+     * @return 源 的 元素类型，List 没有 泛型 时 为 null
+     */
+    public static Class sourceElementType(Class from, Method readMethod){
+        return from.isArray() ? from.getComponentType() : ClassReaderUtil.getGenericClassOfListByGenericReturnType(readMethod);
+    }
+
+    /**
+     * @return 目标 的 元素类型，List 没有 泛型 时 为 null
+     */
+    public static Class destElementType(Class to, Method writeMethod){
+        return to.isArray() ? to.getComponentType() : ClassReaderUtil.getGenericClassOfListByGenericParameterType(writeMethod);
+    }
+
+    /**
+     * 元素 的 转换类型：
+     * SIMPLE 直接赋值，PRIMITIVE 基本类型、包装类型 之间 转换，TO_STRING 转换为 字符串，TO_STRUCT 转换为 嵌套结构
+     * @param from 源 元素类型
+     * @param to 目标 元素类型
+     * @return 转换类型，不支持 时 为 null
+     */
+    public static FieldTransform.Kind elementKind(Class from, Class to){
+        if(from == null || to == null){
+            return null;
+        }
+        if(from.isPrimitive() == to.isPrimitive() && to.isAssignableFrom(from)){
+            return FieldTransform.Kind.SIMPLE;
+        }
+        if(PrimitiveConversions.isConvertible(from, to)){
+            return FieldTransform.Kind.PRIMITIVE;
+        }
+        if(to == String.class){
+            return FieldTransform.Kind.TO_STRING;
+        }
+        if(!from.isPrimitive() && !to.isPrimitive() && !to.isArray() && !to.getName().startsWith("java.")){
+            return FieldTransform.Kind.TO_STRUCT;
+        }
+        return null;
+    }
+
+    /**
+     * 元素 转换为 字符串 或 嵌套结构 时，和 集合 一样 只在 adaptationStructureMismatch 时 转换
+     */
+    public static boolean isStructural(FieldTransform.Kind elementKind){
+        return elementKind == FieldTransform.Kind.TO_STRING || elementKind == FieldTransform.Kind.TO_STRUCT;
+    }
+
+}
@@ -0,0 +1,34 @@
+package cn.muzin.chameleon.trainer.code;
+
+/**
+ * 定义 生成的 Environment 类 的方式
+ *
+ * <p>HIDDEN_CLASS、CLASS_LOADER 定义的类 不再被引用 时（例如 readapt 替换了 Environment）可以被卸载；
+ * 当前 JDK 不支持 的方式，或 源类型、目标类型 所在的 包 不允许 定义类 时，依次 降级 为 LOOKUP、CLASS_LOADER。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public enum ClassDefineStrategy {
+
+    /**
+     * 按 JDK 版本 选择：Java 15+ HIDDEN_CLASS，Java 9+ LOOKUP，Java 8 CLASS_LOADER
+     */
+    AUTO,
+
+    /**
+     * Java 15+，通过 Lookup.defineHiddenClass 在 目标类型（或 源类型）所在的 包 中 定义 隐藏类
+     */
+    HIDDEN_CLASS,
+
+    /**
+     * Java 9+，通过 Lookup.defineClass 在 目标类型（或 源类型）所在的 包 中 定义类，随 该包的 ClassLoader 卸载
+     */
+    LOOKUP,
+
+    /**
+     * 每个 Environment 使用 单独的 ClassLoader 定义，类名 使用 packagePrefix
+     */
+    CLASS_LOADER
+
+}
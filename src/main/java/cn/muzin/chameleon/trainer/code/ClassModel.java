@@ -0,0 +1,176 @@
+package cn.muzin.chameleon.trainer.code;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 类 的 字段、getter、setter、List 元素类型，所有 生成器 共用
+ *
+ * <p>每个类 只解析 一次，之后 按 字段 在 hash 表 中 查找；
+ * 一个类 参与 多个 结构对、多个 方向 时，不再 重复 getAllFields、getMethods 和 逐个 比较 方法名。
+ * 通过 ClassValue 保存，类 被卸载 时 一起 回收。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public final class ClassModel {
+
+    private static final ClassValue<ClassModel> MODELS = new ClassValue<ClassModel>() {
+        @Override
+        protected ClassModel computeValue(Class<?> type) {
+            return new ClassModel(type);
+        }
+    };
+
+    private final Class type;
+
+    /**
+     * 包括 父类 的 字段，子类 在前
+     */
+    private final List<Field> fields;
+
+    /**
+     * 字段名 -> 字段，同名 时 为 子类 的 字段
+     */
+    private final Map<String, Field> fieldMap;
+
+    private final Map<Field, Method> readMethods;
+
+    private final Map<Field, Method> writeMethods;
+
+    /**
+     * getter 返回 List 的 元素类型
+     */
+    private final Map<Field, Class> readElementTypes;
+
+    /**
+     * setter 参数 List 的 元素类型
+     */
+    private final Map<Field, Class> writeElementTypes;
+
+    /**
+     * isDirectlyReadable、isDirectlyWritable 需要 读取 字节码，用到 时 再计算
+     */
+    private final Map<Field, Boolean> directlyReadable = new ConcurrentHashMap<>();
+
+    private final Map<Field, Boolean> directlyWritable = new ConcurrentHashMap<>();
+
+    private ClassModel(Class type){
+        this.type = type;
+        this.fields = Collections.unmodifiableList(ClassReaderUtil.getAllFields(type));
+        this.fieldMap = ClassReaderUtil.fieldsToFieldMap(fields);
+
+        Map<String, Method[]> methodsByName = ClassReaderUtil.groupMethodsByName(
+                ClassReaderUtil.filterPublicMethods(type.getMethods()));
+        int capacity = fields.size() * 2;
+        this.readMethods = new HashMap<>(capacity);
+        this.writeMethods = new HashMap<>(capacity);
+        this.readElementTypes = new HashMap<>(capacity);
+        this.writeElementTypes = new HashMap<>(capacity);
+        for(Field field : fields){
+            Method readMethod = ClassReaderUtil.getReadMethod(field, type, methodsByName);
+            Method writeMethod = ClassReaderUtil.getWriteMethod(field, type, methodsByName);
+            readMethods.put(field, readMethod);
+            writeMethods.put(field, writeMethod);
+            if(readMethod != null){
+                readElementTypes.put(field, ClassReaderUtil.getGenericClassOfListByGenericReturnType(readMethod));
+            }
+            if(writeMethod != null){
+                writeElementTypes.put(field, ClassReaderUtil.getGenericClassOfListByGenericParameterType(writeMethod));
+            }
+        }
+    }
+
+    /**
+     * @param type 类
+     * @return 类 的 ClassModel，第一次 调用 时 解析
+     */
+    public static ClassModel of(Class type){
+        return MODELS.get(type);
+    }
+
+    public Class getType() {
+        return type;
+    }
+
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return 字段，不存在 时 为 null
+     */
+    public Field getField(String name){
+        return fieldMap.get(name);
+    }
+
+    /**
+     * @return 字段 的 getter，没有 时 为 null
+     */
+    public Method getReadMethod(Field field){
+        return readMethods.get(field);
+    }
+
+    /**
+     * @return 字段 的 setter，没有 时 为 null
+     */
+    public Method getWriteMethod(Field field){
+        return writeMethods.get(field);
+    }
+
+    /**
+     * @return getter 返回 List 的 元素类型，没有 getter 或 泛型 时 为 null
+     */
+    public Class getReadElementType(Field field){
+        return readElementTypes.get(field);
+    }
+
+    /**
+     * @return setter 参数 List 的 元素类型，没有 setter 或 泛型 时 为 null
+     */
+    public Class getWriteElementType(Field field){
+        return writeElementTypes.get(field);
+    }
+
+    /**
+     * @see ClassReaderUtil#isDirectlyReadable(Field, Method)
+     */
+    public boolean isDirectlyReadable(Field field){
+        return directlyReadable.computeIfAbsent(field,
+                key -> ClassReaderUtil.isDirectlyReadable(key, getReadMethod(key)));
+    }
+
+    /**
+     * @see ClassReaderUtil#isDirectlyWritable(Field, Method)
+     */
+    public boolean isDirectlyWritable(Field field){
+        return directlyWritable.computeIfAbsent(field,
+                key -> ClassReaderUtil.isDirectlyWritable(key, getWriteMethod(key)));
+    }
+
+    /**
+     * @see ClassReaderUtil#getReadAccessor(Field, Method, boolean)
+     */
+    public String getReadAccessor(Field field, boolean directFieldAccess){
+        if(directFieldAccess && isDirectlyReadable(field)){
+            return field.getName();
+        }
+        return getReadMethod(field).getName() + "()";
+    }
+
+    /**
+     * @see ClassReaderUtil#getWriteAccessor(Field, Method, boolean)
+     */
+    public String getWriteAccessor(Field field, boolean directFieldAccess){
+        if(directFieldAccess && isDirectlyWritable(field)){
+            return field.getName() + " = ";
+        }
+        return getWriteMethod(field).getName();
+    }
+
+}
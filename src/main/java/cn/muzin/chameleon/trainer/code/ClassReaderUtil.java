@@ -3,15 +3,27 @@ package cn.muzin.chameleon.trainer.code;
 import cn.muzin.chameleon.util.VariableUtils;
 import com.sun.beans.TypeResolver;
 import javassist.Modifier;
+import javassist.bytecode.BadBytecode;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.CodeIterator;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.Opcode;
 import sun.reflect.generics.reflectiveObjects.ParameterizedTypeImpl;
 
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import static cn.muzin.chameleon.trainer.TrainerConstant.*;
 
@@ -21,6 +33,8 @@ import static cn.muzin.chameleon.trainer.TrainerConstant.*;
  */
 public class ClassReaderUtil {
 
+    private static final Method[] NO_METHODS = new Method[0];
+
     public static Map<String, Field> fieldsToFieldMap(List<Field> fields){
         HashMap<String, Field> map = new HashMap<>();
         for(Field field : fields){
@@ -71,30 +85,69 @@ public class ClassReaderUtil {
     }
 
     public static Method getReadMethod(Field field, Class clazz, Method[] methods){
+        return getReadMethod(field, clazz, methodName -> methods);
+    }
+
+    /**
+     * @param methodsByName 方法名 -> 同名的 public 方法，由 {@link #groupMethodsByName(Method[])} 生成
+     */
+    public static Method getReadMethod(Field field, Class clazz, Map<String, Method[]> methodsByName){
+        return getReadMethod(field, clazz, methodName -> methodsByName.getOrDefault(methodName, NO_METHODS));
+    }
+
+    private static Method getReadMethod(Field field, Class clazz, Function<String, Method[]> methods){
         String fieldName = field.getName();
         String fieldFirstUpper = VariableUtils.firstCharToUpper(fieldName);
         String readMethodName = GET_PREFIX + fieldFirstUpper;
-        Method readMethod = internalFindMethod(clazz, readMethodName, methods, 0, null);
+        Method readMethod = internalFindMethod(clazz, readMethodName, methods.apply(readMethodName), 0, null);
         if (readMethod == null) {
             Class<?> type = field.getType();
             if (type == boolean.class || type == null) {
                 readMethodName = IS_PREFIX + fieldFirstUpper;
-                readMethod = internalFindMethod(clazz, readMethodName, methods, 0, null);
+                readMethod = internalFindMethod(clazz, readMethodName, methods.apply(readMethodName), 0, null);
             }
         }
         return readMethod;
     }
 
     public static Method getWriteMethod(Field field, Class clazz, Method[] methods){
+        return getWriteMethod(field, clazz, methodName -> methods);
+    }
+
+    /**
+     * @param methodsByName 方法名 -> 同名的 public 方法，由 {@link #groupMethodsByName(Method[])} 生成
+     */
+    public static Method getWriteMethod(Field field, Class clazz, Map<String, Method[]> methodsByName){
+        return getWriteMethod(field, clazz, methodName -> methodsByName.getOrDefault(methodName, NO_METHODS));
+    }
+
+    private static Method getWriteMethod(Field field, Class clazz, Function<String, Method[]> methods){
         String fieldName = field.getName();
         Class<?> type = field.getType();
         String fieldFirstUpper = VariableUtils.firstCharToUpper(fieldName);
         String writeMethodName = SET_PREFIX + fieldFirstUpper;
         Class<?>[] args = (type == null) ? null : new Class<?>[] { type };
-        Method writeMethod = internalFindMethod(clazz, writeMethodName, methods, 1, args);
+        Method writeMethod = internalFindMethod(clazz, writeMethodName, methods.apply(writeMethodName), 1, args);
         return writeMethod;
     }
 
+    /**
+     * 按 方法名 分组，保持 原有顺序，查找 getter、setter 时 只比较 同名的 方法
+     * @param methods 方法
+     * @return 方法名 -> 同名的 方法
+     */
+    public static Map<String, Method[]> groupMethodsByName(Method[] methods){
+        Map<String, List<Method>> groups = new LinkedHashMap<>();
+        for(Method method : methods){
+            groups.computeIfAbsent(method.getName(), methodName -> new ArrayList<>(1)).add(method);
+        }
+        Map<String, Method[]> methodsByName = new HashMap<>(groups.size() * 2);
+        for(Map.Entry<String, List<Method>> group : groups.entrySet()){
+            methodsByName.put(group.getKey(), group.getValue().toArray(NO_METHODS));
+        }
+        return methodsByName;
+    }
+
     public static Method internalFindMethod(Class<?> start, String methodName, Method[] methods,
                                       int argCount, Class args[]) {
         // For overriden methods we need to find the most derived version.
@@ -193,6 +246,210 @@ public class ClassReaderUtil {
         return genericClass;
     }
 
+    /**
+     * 是否可以在生成的代码中 直接 new 出该类型的对象
+     *
+     * 需要是 public 的具体类，并且有 public 的无参构造函数
+     * @param clazz 类型
+     * @return 是否可以直接创建
+     */
+    public static boolean isInstantiable(Class clazz){
+        int modifiers = clazz.getModifiers();
+        if(clazz.isInterface() || clazz.isArray() || clazz.isPrimitive()
+                || Modifier.isAbstract(modifiers) || !Modifier.isPublic(modifiers)){
+            return false;
+        }
+        if(clazz.isMemberClass() && !Modifier.isStatic(modifiers)){
+            return false;
+        }
+        try {
+            return Modifier.isPublic(clazz.getConstructor().getModifiers());
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 嵌套结构 是否可以按声明类型 链接 Environment
+     *
+     * 接口、抽象类 以及 java 包下的类型，需要按照运行时的类型进行转换，不进行链接
+     * @param clazz 声明类型
+     * @return 是否可以链接
+     */
+    public static boolean isLinkable(Class clazz){
+        if(clazz == null){
+            return false;
+        }
+        int modifiers = clazz.getModifiers();
+        if(clazz.isInterface() || clazz.isArray() || clazz.isPrimitive() || Modifier.isAbstract(modifiers)){
+            return false;
+        }
+        return !clazz.getName().startsWith("java.");
+    }
+
+    /**
+     * 生成的代码中 读取字段 的写法
+     *
+     * directFieldAccess 开启，并且 getter 只是返回该字段 时，直接读取 public 字段，否则 调用 getter
+     * @return Examples: getName() 或 name
+     */
+    public static String getReadAccessor(Field field, Method readMethod, boolean directFieldAccess){
+        if(directFieldAccess && isDirectlyReadable(field, readMethod)){
+            return field.getName();
+        }
+        return readMethod.getName() + "()";
+    }
+
+    /**
+     * 生成的代码中 写入字段 的写法，后面紧跟 "(value);"
+     *
+     * directFieldAccess 开启，并且 setter 只是给该字段赋值 时，直接写入 public 字段，否则 调用 setter
+     * @return Examples: setName 或 name =
+     */
+    public static String getWriteAccessor(Field field, Method writeMethod, boolean directFieldAccess){
+        if(directFieldAccess && isDirectlyWritable(field, writeMethod)){
+            return field.getName() + " = ";
+        }
+        return writeMethod.getName();
+    }
+
+    /**
+     * 是否可以 跳过 getter 直接读取字段
+     *
+     * 字段 和 所在类 需要是 public，并且 getter 没有其他逻辑，只是返回该字段
+     * @param field 字段
+     * @param readMethod getter
+     * @return 是否可以直接读取
+     */
+    public static boolean isDirectlyReadable(Field field, Method readMethod){
+        if(!isDirectlyAccessible(field) || readMethod == null || readMethod.getReturnType() != field.getType()){
+            return false;
+        }
+        // Examples: aload_0; getfield field; areturn
+        int[] opcodes = readOpcodes(readMethod, field);
+        return opcodes != null && opcodes.length == 3
+                && opcodes[0] == Opcode.ALOAD_0
+                && opcodes[1] == Opcode.GETFIELD
+                && opcodes[2] >= Opcode.IRETURN && opcodes[2] <= Opcode.ARETURN;
+    }
+
+    /**
+     * 是否可以 跳过 setter 直接写入字段
+     *
+     * 字段 和 所在类 需要是 public 且 字段 不是 final，并且 setter 没有其他逻辑，只是给该字段赋值
+     * @param field 字段
+     * @param writeMethod setter
+     * @return 是否可以直接写入
+     */
+    public static boolean isDirectlyWritable(Field field, Method writeMethod){
+        if(!isDirectlyAccessible(field) || Modifier.isFinal(field.getModifiers())
+                || writeMethod == null || writeMethod.getReturnType() != void.class
+                || writeMethod.getParameterTypes()[0] != field.getType()){
+            return false;
+        }
+        // Examples: aload_0; aload_1; putfield field; return
+        int[] opcodes = readOpcodes(writeMethod, field);
+        return opcodes != null && opcodes.length == 4
+                && opcodes[0] == Opcode.ALOAD_0
+                && (opcodes[1] == Opcode.ILOAD_1 || opcodes[1] == Opcode.LLOAD_1 || opcodes[1] == Opcode.FLOAD_1
+                    || opcodes[1] == Opcode.DLOAD_1 || opcodes[1] == Opcode.ALOAD_1)
+                && opcodes[2] == Opcode.PUTFIELD
+                && opcodes[3] == Opcode.RETURN;
+    }
+
+    private static boolean isDirectlyAccessible(Field field){
+        int modifiers = field.getModifiers();
+        return Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers)
+                && Modifier.isPublic(field.getDeclaringClass().getModifiers());
+    }
+
+    /**
+     * 读取 方法 的指令，getfield、putfield 不是访问 field 时 返回 null
+     * @return 指令集合，读取不到 字节码 时 返回 null
+     */
+    private static int[] readOpcodes(Method method, Field field){
+        // 直接 解析 class 文件，不经过 ClassPool，不缓存 CtClass
+        Class declaringClass = method.getDeclaringClass();
+        String className = declaringClass.getName();
+        String resourceName = className.substring(className.lastIndexOf('.') + 1) + ".class";
+        try (InputStream inputStream = declaringClass.getResourceAsStream(resourceName)) {
+            if(inputStream == null){
+                return null;
+            }
+            MethodInfo methodInfo = findMethodInfo(new ClassFile(new DataInputStream(inputStream)), method);
+            if(methodInfo == null){
+                return null;
+            }
+            CodeAttribute codeAttribute = methodInfo.getCodeAttribute();
+            if(codeAttribute == null){
+                return null;
+            }
+            ConstPool constPool = methodInfo.getConstPool();
+            List<Integer> opcodes = new ArrayList<>();
+            CodeIterator iterator = codeAttribute.iterator();
+            while(iterator.hasNext()){
+                int index = iterator.next();
+                int opcode = iterator.byteAt(index);
+                if(opcode == Opcode.GETFIELD || opcode == Opcode.PUTFIELD){
+                    int fieldref = iterator.u16bitAt(index + 1);
+                    if(!field.getName().equals(constPool.getFieldrefName(fieldref))
+                            || !field.getDeclaringClass().getName().equals(constPool.getFieldrefClassName(fieldref))){
+                        return null;
+                    }
+                }
+                opcodes.add(opcode);
+            }
+            int[] result = new int[opcodes.size()];
+            for(int i = 0; i < result.length; i++){
+                result[i] = opcodes.get(i);
+            }
+            return result;
+        } catch (IOException | BadBytecode e) {
+            return null;
+        }
+    }
+
+    private static MethodInfo findMethodInfo(ClassFile classFile, Method method){
+        String descriptor = getMethodDescriptor(method);
+        for(Object methodInfo : classFile.getMethods()){
+            if(method.getName().equals(((MethodInfo) methodInfo).getName())
+                    && descriptor.equals(((MethodInfo) methodInfo).getDescriptor())){
+                return (MethodInfo) methodInfo;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 方法 的 描述符
+     * @return Examples: (Ljava/lang/String;)V
+     */
+    public static String getMethodDescriptor(Method method){
+        StringBuilder descriptor = new StringBuilder("(");
+        for(Class parameterType : method.getParameterTypes()){
+            descriptor.append(getDescriptor(parameterType));
+        }
+        return descriptor.append(")").append(getDescriptor(method.getReturnType())).toString();
+    }
+
+    /**
+     * 类型 的 描述符
+     * @return Examples: I、Ljava/lang/String;、[Ljava/lang/String;
+     */
+    public static String getDescriptor(Class type){
+        if(type == void.class){ return "V"; }
+        if(type == boolean.class){ return "Z"; }
+        if(type == byte.class){ return "B"; }
+        if(type == char.class){ return "C"; }
+        if(type == short.class){ return "S"; }
+        if(type == int.class){ return "I"; }
+        if(type == long.class){ return "J"; }
+        if(type == float.class){ return "F"; }
+        if(type == double.class){ return "D"; }
+        if(type.isArray()){ return type.getName().replace('.', '/'); }
+        return "L" + type.getName().replace('.', '/') + ";";
+    }
+
     public static boolean isExtends(Class clazz, Class extendz){
         Class<?>[] interfacesArray = clazz.getInterfaces();//获取这个类的所以接口类数组
         boolean result = false;
@@ -0,0 +1,149 @@
+package cn.muzin.chameleon.trainer.code;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * 同类型 之间 的 深拷贝
+ *
+ * <p>嵌套结构 按 运行时类型 复制（声明类型 的 子类 保持 子类），数组、集合、Map 复制 容器 并 按元素 复制 其中的 嵌套结构。
+ * 同类型 的 数组 总是 复制，不受 shareArrays 影响；Date、Calendar 等 可变的 java 类型 通过 clone 复制。
+ * String、包装类型、BigDecimal、java.time 等 不可变类型 直接赋值，不分配 新对象；
+ * 其他 java 包下的类型、枚举 同样 直接赋值。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public final class CloneConversions {
+
+    private CloneConversions(){}
+
+    /**
+     * 计算 深拷贝 的 FieldTransform
+     * @param name 字段名
+     * @param readMethod 源 getter
+     * @param writeMethod 目标 setter
+     * @return 转换类型 为 CLONE、ARRAY_COPY、ARRAY、COLLECTION 或 MAP 的 FieldTransform，直接赋值 时 为 null
+     */
+    public static FieldTransform of(String name, Method readMethod, Method writeMethod){
+        Class from = readMethod.getReturnType();
+        Class to = writeMethod.getParameterTypes()[0];
+        if(from != to){
+            return null;
+        }
+
+        if(isClonedValue(from)){
+            return new FieldTransform(FieldTransform.Kind.CLONE, name, readMethod, writeMethod, from, to, from, to);
+        }
+
+        if(from.isArray()){
+            // 元素 不需要 复制 的数组 按 同类型数组 复制
+            Class componentType = from.getComponentType();
+            return isClonedElement(componentType)
+                    ? new FieldTransform(FieldTransform.Kind.ARRAY, name, readMethod, writeMethod, from, to,
+                            componentType, componentType, FieldTransform.Kind.CLONE)
+                    : new FieldTransform(FieldTransform.Kind.ARRAY_COPY, name, readMethod, writeMethod, from, to, null, null);
+        }
+
+        FieldTransform.Kind kind;
+        if(Map.class.isAssignableFrom(from)){
+            kind = FieldTransform.Kind.MAP;
+        }else if(Collection.class.isAssignableFrom(from)){
+            kind = FieldTransform.Kind.COLLECTION;
+        }else{
+            return null;
+        }
+        Class implementation = CollectionConversions.implementationOf(to);
+        if(implementation == null
+                || !CollectionConversions.isSortable(implementation,
+                        CollectionConversions.typeArgument(readMethod.getGenericReturnType(), 0))){
+            return null;
+        }
+
+        // 元素（Map 时 为 值）需要 复制 时 复制，否则 只复制 容器
+        Class elementClass = CollectionConversions.typeArgument(readMethod.getGenericReturnType(),
+                kind == FieldTransform.Kind.MAP ? 1 : 0);
+        if(elementClass != null && isClonedElement(elementClass)){
+            return new FieldTransform(kind, name, readMethod, writeMethod, from, to,
+                    elementClass, elementClass, FieldTransform.Kind.CLONE);
+        }
+        return new FieldTransform(kind, name, readMethod, writeMethod, from, to,
+                Object.class, Object.class, FieldTransform.Kind.SIMPLE);
+    }
+
+    /**
+     * 是否 通过 链接的 同类型 Environment 复制：可以链接、可以直接创建 的 非枚举 类型
+     */
+    public static boolean isCloneable(Class clazz){
+        return ClassReaderUtil.isLinkable(clazz) && !clazz.isEnum() && ClassReaderUtil.isInstantiable(clazz);
+    }
+
+    /**
+     * 是否 通过 clone 复制 的 可变 java 类型：Date（包括 java.sql 下的 子类）、Calendar
+     */
+    public static boolean isMutableValue(Class clazz){
+        return Date.class.isAssignableFrom(clazz) || Calendar.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * 声明类型 的值 是否 需要 按 运行时类型 复制：可变 java 类型，以及 java 包 以外的 类、接口、抽象类（运行时 可能是 子类）
+     */
+    public static boolean isClonedValue(Class clazz){
+        if(clazz.isPrimitive() || clazz.isArray() || clazz.isEnum()){
+            return false;
+        }
+        return isMutableValue(clazz) || !clazz.getName().startsWith("java.");
+    }
+
+    /**
+     * 复制 的值 是否 只在 adaptationStructureMismatch 时 复制：嵌套结构 是，数组、可变 java 类型 不是
+     */
+    public static boolean isStructural(Class clazz){
+        return !clazz.isArray() && !isMutableValue(clazz);
+    }
+
+    /**
+     * 数组、集合 的 元素 是否 需要 复制：需要 复制 的值 或 数组
+     */
+    private static boolean isClonedElement(Class clazz){
+        return clazz.isArray() || isClonedValue(clazz);
+    }
+
+    /**
+     * 复制 可变 java 类型 的值，保持 运行时类型（例如 java.sql.Timestamp）
+     */
+    public static Object cloneMutableValue(Object value){
+        if(value instanceof Date){
+            return ((Date) value).clone();
+        }
+        return ((Calendar) value).clone();
+    }
+
+    /**
+     * 复制 数组，元素 为 基本类型 时 直接复制，否则 按元素 复制
+     * @param array 数组
+     * @param elementCloner 元素 的 复制方式
+     * @return 新数组
+     */
+    public static Object cloneArray(Object array, UnaryOperator<Object> elementCloner){
+        int length = Array.getLength(array);
+        Class componentType = array.getClass().getComponentType();
+        Object newArray = Array.newInstance(componentType, length);
+        if(componentType.isPrimitive()){
+            System.arraycopy(array, 0, newArray, 0, length);
+            return newArray;
+        }
+        Object[] source = (Object[]) array;
+        Object[] dest = (Object[]) newArray;
+        for(int i = 0; i < length; i++){
+            dest[i] = elementCloner.apply(source[i]);
+        }
+        return newArray;
+    }
+
+}
@@ -0,0 +1,27 @@
+package cn.muzin.chameleon.trainer.code;
+
+/**
+ * 生成 transform 方法 的方式
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public enum CodeBackend {
+
+    /**
+     * 拼接 Java 源码，交给 javassist 编译
+     *
+     * <p>每个 {@link TransformVariant} 都要 编译 一份 源码，训练 耗时 约为 只生成 一个 transform 方法 时 的 1.2 ~ 1.9 倍
+     * （JDK 8，readapt(AStruct, BStruct)：5.4 ~ 13.0ms 增加到 6.9 ~ 24.9ms）。</p>
+     */
+    SOURCE,
+
+    /**
+     * 按照 {@link TransformPlan} 直接生成 字节码，省去 javassist 编译源码 的时间，默认 使用
+     *
+     * <p>同样 生成 每个 {@link TransformVariant} 的 方法，训练 耗时 与 SOURCE 只生成 一个 transform 方法 时 相当
+     * （同一测试 3.4 ~ 14.1ms）。</p>
+     */
+    BYTECODE
+
+}
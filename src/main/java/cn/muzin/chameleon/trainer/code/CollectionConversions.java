@@ -0,0 +1,195 @@
+package cn.muzin.chameleon.trainer.code;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Set、Collection、Queue、Map 等 集合 之间 的转换
+ *
+ * <p>目标 按 声明类型 选择 实现（Set -> HashSet，SortedSet -> TreeSet，Deque -> ArrayDeque，Map -> LinkedHashMap ...），
+ * 按 源集合 的大小 预先分配 容量，元素（Map 时 为 值）按 {@link ArrayConversions#elementKind(Class, Class)} 转换。
+ * List 写入 List、Collection 仍然 使用 原有的 List 转换。</p>
+ *
+ * <p>TreeSet、TreeMap 等 排序的 实现 只在 元素（Map 时 为 key）是 Comparable 时 使用，
+ * 并 跳过 为 null 的 元素（Map 时 为 key），否则 不转换。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public final class CollectionConversions {
+
+    /**
+     * 声明类型 -> 实现，按顺序 匹配，先 匹配 更具体的 类型
+     */
+    private static final Class[][] IMPLEMENTATIONS = {
+            { NavigableMap.class, TreeMap.class },
+            { SortedMap.class, TreeMap.class },
+            { ConcurrentMap.class, ConcurrentHashMap.class },
+            { Map.class, LinkedHashMap.class },
+            { NavigableSet.class, TreeSet.class },
+            { SortedSet.class, TreeSet.class },
+            { Set.class, HashSet.class },
+            { Queue.class, ArrayDeque.class },
+            { Collection.class, ArrayList.class }
+    };
+
+    private CollectionConversions(){}
+
+    /**
+     * 计算 集合 之间 的 FieldTransform
+     * @param name 字段名
+     * @param readMethod 源 getter
+     * @param writeMethod 目标 setter
+     * @return 转换类型 为 COLLECTION 或 MAP 的 FieldTransform，不需要 或 不支持 按元素 转换 时 为 null
+     */
+    public static FieldTransform of(String name, Method readMethod, Method writeMethod){
+        Class from = readMethod.getReturnType();
+        Class to = writeMethod.getParameterTypes()[0];
+        Type fromType = readMethod.getGenericReturnType();
+        Type toType = writeMethod.getGenericParameterTypes()[0];
+
+        FieldTransform.Kind kind;
+        if(Map.class.isAssignableFrom(from) && Map.class.isAssignableFrom(to)){
+            kind = FieldTransform.Kind.MAP;
+            // key 直接赋值
+            Class fromKey = typeArgument(fromType, 0);
+            Class toKey = typeArgument(toType, 0);
+            if(fromKey == null || toKey == null || !toKey.isAssignableFrom(fromKey)){
+                return null;
+            }
+        }else if(Collection.class.isAssignableFrom(from) && Collection.class.isAssignableFrom(to)){
+            // List 写入 List、Collection 使用 原有的 List 转换
+            if(List.class.isAssignableFrom(from) && to.isAssignableFrom(List.class)){
+                return null;
+            }
+            kind = FieldTransform.Kind.COLLECTION;
+        }else{
+            return null;
+        }
+        if(implementationOf(to) == null){
+            return null;
+        }
+
+        int elementIndex = kind == FieldTransform.Kind.MAP ? 1 : 0;
+        Class sourceElementClass = typeArgument(fromType, elementIndex);
+        Class destElementClass = typeArgument(toType, elementIndex);
+        if(!isSortable(implementationOf(to), typeArgument(toType, 0))){
+            return null;
+        }
+        FieldTransform.Kind elementKind = ArrayConversions.elementKind(sourceElementClass, destElementClass);
+        // 同类型、同元素类型 时 直接赋值
+        if(elementKind == null || (elementKind == FieldTransform.Kind.SIMPLE && to.isAssignableFrom(from))){
+            return null;
+        }
+        return new FieldTransform(kind, name, readMethod, writeMethod, from, to,
+                sourceElementClass, destElementClass, elementKind);
+    }
+
+    /**
+     * 目标 的 实现：可以直接创建 的 具体类 为 本身，接口、抽象类 按 声明类型 选择
+     * @param declaredType 目标 声明类型
+     * @return 实现，不支持 时 为 null
+     */
+    public static Class implementationOf(Class declaredType){
+        if(!declaredType.isInterface() && !Modifier.isAbstract(declaredType.getModifiers())){
+            return ClassReaderUtil.isInstantiable(declaredType) ? declaredType : null;
+        }
+        for(Class[] implementation : IMPLEMENTATIONS){
+            if(implementation[0].isAssignableFrom(declaredType)){
+                return declaredType.isAssignableFrom(implementation[1]) ? implementation[1] : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 集合 之间、Map 之间 的 目标 是否 排序的 实现 且 元素（Map 时 为 key）不是 Comparable，
+     * 此时 不能 直接赋值 也 不能 按元素 转换，不转换 该字段
+     * @param readMethod 源 getter
+     * @param writeMethod 目标 setter
+     */
+    public static boolean isUnsortable(Method readMethod, Method writeMethod){
+        Class from = readMethod.getReturnType();
+        Class to = writeMethod.getParameterTypes()[0];
+        boolean maps = Map.class.isAssignableFrom(from) && Map.class.isAssignableFrom(to);
+        boolean collections = Collection.class.isAssignableFrom(from) && Collection.class.isAssignableFrom(to);
+        if((!maps && !collections) || to.isAssignableFrom(from)){
+            return false;
+        }
+        Class implementation = implementationOf(to);
+        return implementation != null
+                && !isSortable(implementation, typeArgument(writeMethod.getGenericParameterTypes()[0], 0));
+    }
+
+    /**
+     * 是否 排序的 实现：TreeSet、TreeMap 等，不能 放入 null 的 元素（Map 时 为 key）
+     */
+    public static boolean isSorted(Class implementation){
+        return SortedSet.class.isAssignableFrom(implementation) || SortedMap.class.isAssignableFrom(implementation);
+    }
+
+    /**
+     * 实现 是否 可以 按 自然顺序 放入 元素：不是 排序的 实现，或 元素（Map 时 为 key）是 Comparable
+     * @param implementation 实现
+     * @param keyClass 元素（Map 时 为 key）类型，没有 泛型 时 为 null
+     */
+    public static boolean isSortable(Class implementation, Class keyClass){
+        return !isSorted(implementation) || (keyClass != null && Comparable.class.isAssignableFrom(keyClass));
+    }
+
+    /**
+     * 实现 的 构造函数 是否 使用 源集合 的大小 作为 容量
+     */
+    public static boolean isSized(Class implementation){
+        return implementation == ArrayList.class || implementation == ArrayDeque.class || isHashed(implementation);
+    }
+
+    /**
+     * 基于 hash 的 实现，容量 需要 按 负载因子 换算，避免 扩容
+     */
+    public static boolean isHashed(Class implementation){
+        return implementation == HashSet.class || implementation == LinkedHashSet.class
+                || implementation == HashMap.class || implementation == LinkedHashMap.class
+                || implementation == ConcurrentHashMap.class;
+    }
+
+    /**
+     * 放入 size 个元素 不扩容 的 hash 容量（默认 负载因子 0.75），生成的代码 直接调用
+     */
+    public static int hashCapacity(int size){
+        return size < 3 ? size + 1 : (int) (size / 0.75F + 1.0F);
+    }
+
+    /**
+     * @return 泛型参数，不是 Class 时 为 null
+     */
+    static Class typeArgument(Type type, int index){
+        if(!(type instanceof ParameterizedType)){
+            return null;
+        }
+        Type[] typeArguments = ((ParameterizedType) type).getActualTypeArguments();
+        return typeArguments.length > index && typeArguments[index] instanceof Class ? (Class) typeArguments[index] : null;
+    }
+
+}
@@ -0,0 +1,94 @@
+package cn.muzin.chameleon.trainer.code;
+
+import cn.muzin.chameleon.convert.TypeConverter;
+import cn.muzin.chameleon.exception.ChameleonTrainException;
+import javassist.CannotCompileException;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.Modifier;
+import javassist.NotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 将 训练时 解析出的 转换器 放入 生成的 Environment 的 static final 字段
+ *
+ * <p>生成类 之前 按 唯一的 key 暂存 转换器，生成类 的 静态初始化 通过 {@link #link(String)} 取出，
+ * 之后 transform 直接调用 static final 字段 中的 转换器，调用点 只有 一个实现，可以被 JIT 内联。</p>
+ *
+ * <p>训练 失败 时 生成类 不会 静态初始化，训练 结束 后 通过 {@link #release()} 移除 没有被 取出 的 转换器。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public final class ConverterLinker {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    /**
+     * 等待 生成类 静态初始化 取出的 转换器
+     */
+    private static final Map<String, TypeConverter> PREPARED_CONVERTERS = new ConcurrentHashMap<>();
+
+    /**
+     * 当前线程 训练中 暂存的 key
+     */
+    private static final ThreadLocal<List<String>> PREPARING_KEYS = ThreadLocal.withInitial(ArrayList::new);
+
+    private ConverterLinker(){}
+
+    /**
+     * 新增 转换器 字段：private static final TypeConverter fieldName = ConverterLinker.link("key");
+     * @param ctClass 生成的 Environment 类
+     * @param converterFields 字段名 -> 转换器
+     */
+    public static void addConverterFields(CtClass ctClass, Map<String, TypeConverter> converterFields)
+            throws NotFoundException, CannotCompileException {
+        for(Map.Entry<String, TypeConverter> converterField : converterFields.entrySet()){
+            String key = ctClass.getName() + "#" + converterField.getKey() + "#" + SEQUENCE.incrementAndGet();
+            PREPARED_CONVERTERS.put(key, converterField.getValue());
+            PREPARING_KEYS.get().add(key);
+
+            CtField ctField = new CtField(ctClass.getClassPool().get(TypeConverter.class.getName()),
+                    converterField.getKey(), ctClass);
+            ctField.setModifiers(Modifier.PRIVATE | Modifier.STATIC | Modifier.FINAL);
+            ctClass.addField(ctField,
+                    CtField.Initializer.byExpr(ConverterLinker.class.getName() + ".link(\"" + key + "\")"));
+        }
+    }
+
+    /**
+     * 生成类 静态初始化 时 调用，取出 暂存的 转换器
+     * @param key addConverterFields 生成的 key
+     * @return 转换器
+     */
+    public static TypeConverter link(String key){
+        TypeConverter converter = PREPARED_CONVERTERS.remove(key);
+        if(converter == null){
+            throw new ChameleonTrainException("converter " + key + " is not prepared");
+        }
+        return converter;
+    }
+
+    /**
+     * 训练 结束 时 调用：移除 当前线程 暂存 但 没有被 生成类 取出 的 转换器
+     */
+    public static void release(){
+        for(String key : PREPARING_KEYS.get()){
+            PREPARED_CONVERTERS.remove(key);
+        }
+        PREPARING_KEYS.remove();
+    }
+
+    /**
+     * @return 字段 的 转换器 字段名
+     */
+    public static String converterFieldName(String fieldName){
+        return fieldName + "Converter";
+    }
+
+}
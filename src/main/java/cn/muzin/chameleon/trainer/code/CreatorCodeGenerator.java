@@ -0,0 +1,283 @@
+package cn.muzin.chameleon.trainer.code;
+
+import cn.muzin.chameleon.convert.BuiltinConverters;
+import cn.muzin.chameleon.convert.TypeConverter;
+import cn.muzin.chameleon.convert.TypeConverterRegistry;
+import cn.muzin.chameleon.trainer.TrainerConstant;
+import cn.muzin.chameleon.util.ClassUtils;
+import cn.muzin.chameleon.util.VariableUtils;
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtMethod;
+import javassist.Modifier;
+import javassist.NotFoundException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 生成 通过 构造函数 或 builder 创建 目标对象 的 transform 方法：Object transform(Object source, boolean, boolean)
+ *
+ * <p>先 读取 所有 源值 到 局部变量，转换为 参数类型 后，调用 一次 构造函数 或 builder 创建 目标对象。
+ * 源码方式、字节码方式 都 使用 该方法，填充 已有目标对象 的 transform 仍然 按 setter 生成。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+final class CreatorCodeGenerator {
+
+    private CreatorCodeGenerator(){}
+
+    /**
+     * 新增 创建 目标对象 的 transform 方法
+     * @param ctClass 生成的 Environment 类
+     * @param sourceClass 源Class
+     * @param creator 目标对象 的 创建方式
+     * @param sourceIsMap 源 是否 是 Map
+     * @param typeConverterRegistry 自定义 类型转换，为 null 时 不使用
+     */
+    static void addCreateTransformMethod(CtClass ctClass, Class sourceClass, DestinationCreator creator,
+                                         boolean sourceIsMap, TypeConverterRegistry typeConverterRegistry)
+            throws NotFoundException, CannotCompileException {
+        ClassPool pool = ctClass.getClassPool();
+        Map<String, TypeConverter> converterFields = new LinkedHashMap<>();
+        String methodBody = sourceIsMap
+                ? generateMapCreateTransformMethodBody(creator)
+                : generateCreateTransformMethodBody(sourceClass, creator, typeConverterRegistry, converterFields);
+
+        ConverterLinker.addConverterFields(ctClass, converterFields);
+
+        CtMethod createTransformCtMethod = new CtMethod(pool.get(TrainerConstant.OBJECT_NAME),
+                "transform",
+                new CtClass[]{ pool.get(TrainerConstant.OBJECT_NAME), CtClass.booleanType, CtClass.booleanType },
+                ctClass);
+        createTransformCtMethod.setModifiers(Modifier.PUBLIC);
+        createTransformCtMethod.setBody(methodBody);
+        ctClass.addMethod(createTransformCtMethod);
+    }
+
+    /**
+     * Examples:
+     *  SourceClass source = (SourceClass) $1;
+     *  java.lang.String readName = source.getName();
+     *  java.lang.Integer readAge = source.getAge();
+     *  java.lang.String argName = readName;
+     *  int argAge = (readAge != null ? ((java.lang.Number) readAge).intValue() : ((int) 0));
+     *  return new DestClass(argName, argAge);
+     */
+    private static String generateCreateTransformMethodBody(Class sourceClass, DestinationCreator creator,
+                                                            TypeConverterRegistry typeConverterRegistry,
+                                                            Map<String, TypeConverter> converterFields){
+        ClassModel sourceClassModel = ClassModel.of(sourceClass);
+        ClassModel destClassModel = ClassModel.of(creator.getDestClass());
+        List<DestinationCreator.Property> properties = creator.getProperties();
+
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("{\n");
+        stringBuilder.append(sourceClass.getName() + " source = (" + sourceClass.getName() + ") $1;\n");
+
+        // 先 读取 所有 源值
+        Method[] readMethods = new Method[properties.size()];
+        for(int i = 0; i < properties.size(); i++){
+            DestinationCreator.Property property = properties.get(i);
+            Field sourceClassField = sourceClassModel.getField(property.getName());
+            readMethods[i] = sourceClassField != null ? sourceClassModel.getReadMethod(sourceClassField) : null;
+            if(readMethods[i] != null){
+                stringBuilder.append(readMethods[i].getReturnType().getTypeName() + " " + readVariableName(property)
+                        + " = source." + readMethods[i].getName() + "();\n");
+            }
+        }
+
+        // 转换为 参数类型
+        for(int i = 0; i < properties.size(); i++){
+            DestinationCreator.Property property = properties.get(i);
+            String argumentExpression;
+            if(readMethods[i] == null){
+                argumentExpression = defaultValueExpression(property.getType());
+            }else{
+                Class readType = readMethods[i].getReturnType();
+                TypeConverter typeConverter = typeConverterRegistry != null
+                        ? typeConverterRegistry.resolve(sourceClassModel.getField(property.getName()),
+                                destClassModel.getField(property.getName()), readType, property.getType())
+                        : null;
+                String converterFieldName = null;
+                if(typeConverter != null){
+                    converterFieldName = ConverterLinker.converterFieldName(
+                            "create" + VariableUtils.firstCharToUpper(property.getName()));
+                    converterFields.put(converterFieldName, typeConverter);
+                }
+                argumentExpression = argumentExpression(readVariableName(property), readMethods[i], property, converterFieldName);
+            }
+            stringBuilder.append(property.getType().getTypeName() + " " + argumentVariableName(property)
+                    + " = " + argumentExpression + ";\n");
+        }
+
+        appendCreate(stringBuilder, creator);
+        stringBuilder.append("}");
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Examples:
+     *  java.util.Map source = (java.util.Map) $1;
+     *  java.lang.Object readName = source.get("name");
+     *  java.lang.Object readAge = source.get("age");
+     *  java.lang.String argName = (java.lang.String) DestinationCreator.convert(readName, java.lang.String.class, null, $0.chameleon, $2, $3);
+     *  int argAge = ((java.lang.Integer) DestinationCreator.convert(readAge, java.lang.Integer.TYPE, null, $0.chameleon, $2, $3)).intValue();
+     *  return new DestClass(argName, argAge);
+     */
+    private static String generateMapCreateTransformMethodBody(DestinationCreator creator){
+        String chameleonVariableName = VariableUtils.firstCharToLower(TrainerConstant.CHAMELEON_CLASS_SIMPLE_NAME);
+        List<DestinationCreator.Property> properties = creator.getProperties();
+
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("{\n");
+        stringBuilder.append(TrainerConstant.MAP_CLASS_NAME + " source = (" + TrainerConstant.MAP_CLASS_NAME + ") $1;\n");
+        for(DestinationCreator.Property property : properties){
+            stringBuilder.append(TrainerConstant.OBJECT_NAME + " " + readVariableName(property)
+                    + " = source.get(\"" + property.getName() + "\");\n");
+        }
+        for(DestinationCreator.Property property : properties){
+            Class type = property.getType();
+            Class elementClass = property.getElementClass();
+            String convertExpression = DestinationCreator.class.getName() + ".convert(" + readVariableName(property) + ", "
+                    + classExpression(type) + ", "
+                    + (elementClass != null ? classExpression(elementClass) : "null") + ", "
+                    + "$0." + chameleonVariableName + ", $2, $3)";
+            String argumentExpression = type.isPrimitive()
+                    ? PrimitiveConversions.convertExpression(convertExpression, PrimitiveConversions.wrapperOf(type), type)
+                    : "((" + type.getTypeName() + ") " + convertExpression + ")";
+            stringBuilder.append(type.getTypeName() + " " + argumentVariableName(property)
+                    + " = " + argumentExpression + ";\n");
+        }
+        appendCreate(stringBuilder, creator);
+        stringBuilder.append("}");
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Examples:
+     *  return new DestClass(argName, argAge);
+     *
+     *  DestClass.Builder builder = DestClass.builder();
+     *  builder.name(argName);
+     *  builder.age(argAge);
+     *  return builder.build();
+     */
+    private static void appendCreate(StringBuilder stringBuilder, DestinationCreator creator){
+        List<DestinationCreator.Property> properties = creator.getProperties();
+        if(creator.getKind() == DestinationCreator.Kind.CONSTRUCTOR){
+            stringBuilder.append("return new " + creator.getDestClass().getName() + "(");
+            for(int i = 0; i < properties.size(); i++){
+                stringBuilder.append((i > 0 ? ", " : "") + argumentVariableName(properties.get(i)));
+            }
+            stringBuilder.append(");\n");
+            return;
+        }
+
+        Method builderFactoryMethod = creator.getBuilderFactoryMethod();
+        String builderClassName = builderFactoryMethod.getReturnType().getName();
+        stringBuilder.append(builderClassName + " builder = " + creator.getDestClass().getName()
+                + "." + builderFactoryMethod.getName() + "();\n");
+        for(DestinationCreator.Property property : properties){
+            stringBuilder.append("builder." + property.getBuilderMethod().getName()
+                    + "(" + argumentVariableName(property) + ");\n");
+        }
+        stringBuilder.append("return builder." + creator.getBuildMethod().getName() + "();\n");
+    }
+
+    /**
+     * 源值 转换为 参数类型 的 表达式，和 setter 方式 的 规则 一致，嵌套结构 只在 adaptationStructureMismatch 时 转换
+     *
+     * Examples:
+     *  readName
+     *  (readAge != null ? ((java.lang.Number) readAge).intValue() : ((int) 0))
+     *  (readPrice != null ? cn.muzin.chameleon.convert.BuiltinConverters.toBigDecimal(readPrice) : null)
+     *  ($2 && readInner != null ? (BInnerStruct) $0.chameleon.transform(readInner, BInnerStruct.class, $2, $3) : null)
+     */
+    private static String argumentExpression(String readVariableName, Method readMethod,
+                                             DestinationCreator.Property property, String converterFieldName){
+        Class readType = readMethod.getReturnType();
+        Class writeType = property.getType();
+        String chameleonVariableName = VariableUtils.firstCharToLower(TrainerConstant.CHAMELEON_CLASS_SIMPLE_NAME);
+        String notNull = readType.isPrimitive() ? "" : readVariableName + " != null ? ";
+
+        if(converterFieldName != null){
+            return nullSafe(notNull, Entity2EntityCodeImpl.typeConverterExpression(
+                    converterFieldName, readVariableName, readType, writeType), writeType);
+        }
+
+        if(readType == writeType || (!readType.isPrimitive() && !writeType.isPrimitive()
+                && ClassUtils.isAssignable(writeType, readType))){
+            // List 的 元素类型 不同 时 转换 元素
+            Class writeElementClass = property.getElementClass();
+            Class readElementClass = List.class.isAssignableFrom(readType)
+                    ? ClassReaderUtil.getGenericClassOfListByGenericReturnType(readMethod)
+                    : null;
+            if(writeElementClass != null && readElementClass != null && writeElementClass != readElementClass
+                    && !writeElementClass.getName().startsWith("java.")){
+                return "($2 && " + readVariableName + " != null ? (" + TrainerConstant.LIST_CLASS_NAME + ") "
+                        + "$0." + chameleonVariableName + ".transform((java.util.Collection) " + readVariableName + ", "
+                        + writeElementClass.getName() + ".class, $2, $3) : null)";
+            }
+            return readVariableName;
+        }
+
+        if(PrimitiveConversions.isConvertible(readType, writeType)){
+            return nullSafe(notNull, PrimitiveConversions.convertExpression(readVariableName, readType, writeType), writeType);
+        }
+
+        Method converter = BuiltinConverters.find(readType, writeType);
+        if(converter != null){
+            return nullSafe(notNull, Entity2EntityCodeImpl.converterExpression(converter, readVariableName, readType, writeType),
+                    writeType);
+        }
+
+        if(writeType == String.class){
+            return readType.isPrimitive()
+                    ? "java.lang.String.valueOf(" + readVariableName + ")"
+                    : nullSafe(notNull, readVariableName + ".toString()", writeType);
+        }
+
+        if(!readType.isPrimitive() && !writeType.isPrimitive() && !writeType.isArray()
+                && !writeType.getName().startsWith("java.")){
+            return "($2 && " + readVariableName + " != null ? (" + writeType.getName() + ") "
+                    + "$0." + chameleonVariableName + ".transform(" + readVariableName + ", "
+                    + writeType.getName() + ".class, $2, $3) : null)";
+        }
+
+        return defaultValueExpression(writeType);
+    }
+
+    private static String nullSafe(String notNull, String expression, Class writeType){
+        return notNull.isEmpty()
+                ? expression
+                : "(" + notNull + expression + " : " + defaultValueExpression(writeType) + ")";
+    }
+
+    private static String defaultValueExpression(Class type){
+        return type.isPrimitive() ? PrimitiveConversions.defaultValueExpression(type) : "null";
+    }
+
+    /**
+     * Examples: java.lang.String.class、java.lang.Integer.TYPE、java.lang.String[].class
+     */
+    private static String classExpression(Class type){
+        return type.isPrimitive()
+                ? PrimitiveConversions.wrapperOf(type).getName() + ".TYPE"
+                : type.getTypeName() + ".class";
+    }
+
+    private static String readVariableName(DestinationCreator.Property property){
+        return "read" + VariableUtils.firstCharToUpper(property.getName());
+    }
+
+    private static String argumentVariableName(DestinationCreator.Property property){
+        return "arg" + VariableUtils.firstCharToUpper(property.getName());
+    }
+
+}
@@ -0,0 +1,400 @@
+package cn.muzin.chameleon.trainer.code;
+
+import cn.muzin.chameleon.Chameleon;
+import cn.muzin.chameleon.annotation.ChameleonCreator;
+import cn.muzin.chameleon.convert.BuiltinConverters;
+import cn.muzin.chameleon.exception.ChameleonTrainException;
+import cn.muzin.chameleon.exception.ChameleonTransformException;
+import cn.muzin.chameleon.util.ClassUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 通过 构造函数 或 builder 一次 创建 目标对象
+ *
+ * <p>按 以下顺序 查找：{@link ChameleonCreator} 标注的 构造函数、record 的 规范构造函数，
+ * 没有 public 无参构造函数 时 再查找 静态 builder() 方法、参数 和 字段 一一对应 的 全参构造函数。
+ * 找到时，生成的 Environment 先读取 所有 源值 到 局部变量，再 调用 一次 构造函数 或 builder 创建 目标对象。</p>
+ *
+ * <p>record 通过 反射 识别（Class.isRecord），在 Java 8 上 编译、运行 时 不会 找到 record。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public final class DestinationCreator {
+
+    public enum Kind {
+
+        /**
+         * new DestClass(a, b, ...)
+         */
+        CONSTRUCTOR,
+
+        /**
+         * DestClass.builder().a(a).b(b).build()
+         */
+        BUILDER
+    }
+
+    /**
+     * 构造函数 的 参数，或 builder 的 属性
+     */
+    public static final class Property {
+
+        private final String name;
+
+        private final Class type;
+
+        private final Type genericType;
+
+        /**
+         * builder 设置 属性 的方法，构造函数 时 为 null
+         */
+        private final Method builderMethod;
+
+        Property(String name, Class type, Type genericType, Method builderMethod){
+            this.name = name;
+            this.type = type;
+            this.genericType = genericType;
+            this.builderMethod = builderMethod;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Class getType() {
+            return type;
+        }
+
+        public Type getGenericType() {
+            return genericType;
+        }
+
+        public Method getBuilderMethod() {
+            return builderMethod;
+        }
+
+        /**
+         * @return List 的 元素类型，不是 List 或 没有泛型 时 为 null
+         */
+        public Class getElementClass(){
+            return List.class.isAssignableFrom(type) ? CollectionConversions.typeArgument(genericType, 0) : null;
+        }
+    }
+
+    private static final Method IS_RECORD = findMethod(Class.class, "isRecord");
+
+    private static final Method GET_RECORD_COMPONENTS = findMethod(Class.class, "getRecordComponents");
+
+    private final Kind kind;
+
+    private final Class destClass;
+
+    private final Constructor constructor;
+
+    private final Method builderFactoryMethod;
+
+    private final Method buildMethod;
+
+    private final List<Property> properties;
+
+    private DestinationCreator(Kind kind, Class destClass, Constructor constructor,
+                               Method builderFactoryMethod, Method buildMethod, List<Property> properties){
+        this.kind = kind;
+        this.destClass = destClass;
+        this.constructor = constructor;
+        this.builderFactoryMethod = builderFactoryMethod;
+        this.buildMethod = buildMethod;
+        this.properties = Collections.unmodifiableList(properties);
+    }
+
+    /**
+     * 查找 目标类型 的 创建方式
+     * @param destClass 目标类型
+     * @return 创建方式，使用 无参构造函数 和 setter 时 为 null
+     */
+    public static DestinationCreator of(Class destClass){
+        if(destClass == null || destClass.isInterface() || destClass.isArray() || destClass.isPrimitive()
+                || Modifier.isAbstract(destClass.getModifiers()) || !Modifier.isPublic(destClass.getModifiers())){
+            return null;
+        }
+
+        for(Constructor constructor : destClass.getConstructors()){
+            ChameleonCreator chameleonCreator = (ChameleonCreator) constructor.getAnnotation(ChameleonCreator.class);
+            if(chameleonCreator != null){
+                return ofConstructor(destClass, constructor, chameleonCreator.value());
+            }
+        }
+
+        if(isRecord(destClass)){
+            return ofRecord(destClass);
+        }
+
+        if(ClassReaderUtil.isInstantiable(destClass)){
+            return null;
+        }
+
+        DestinationCreator builderCreator = ofBuilder(destClass);
+        if(builderCreator != null){
+            return builderCreator;
+        }
+
+        List<Field> fields = declaredFields(destClass);
+        for(Constructor constructor : destClass.getConstructors()){
+            if(matchesFields(constructor, fields)){
+                return ofConstructor(destClass, constructor, new String[0]);
+            }
+        }
+        return null;
+    }
+
+    private static DestinationCreator ofConstructor(Class destClass, Constructor constructor, String[] names){
+        Class[] parameterTypes = constructor.getParameterTypes();
+        Type[] genericParameterTypes = constructor.getGenericParameterTypes();
+        Parameter[] parameters = constructor.getParameters();
+        List<Field> fields = declaredFields(destClass);
+
+        List<Property> properties = new ArrayList<>(parameterTypes.length);
+        for(int i = 0; i < parameterTypes.length; i++){
+            String name;
+            if(names.length > 0){
+                name = i < names.length ? names[i] : null;
+            }else if(parameters[i].isNamePresent()){
+                name = parameters[i].getName();
+            }else{
+                name = matchesFields(constructor, fields) ? fields.get(i).getName() : null;
+            }
+            if(name == null){
+                throw new ChameleonTrainException("Cannot resolve the property name of parameter " + i
+                        + " of " + constructor + ", declare it in @ChameleonCreator");
+            }
+            properties.add(new Property(name, parameterTypes[i],
+                    genericParameterTypes.length == parameterTypes.length ? genericParameterTypes[i] : parameterTypes[i], null));
+        }
+        return new DestinationCreator(Kind.CONSTRUCTOR, destClass, constructor, null, null, properties);
+    }
+
+    /**
+     * record 的 规范构造函数：参数 和 组件 一一对应
+     */
+    private static DestinationCreator ofRecord(Class destClass){
+        try {
+            Object[] recordComponents = (Object[]) GET_RECORD_COMPONENTS.invoke(destClass);
+            Class[] parameterTypes = new Class[recordComponents.length];
+            List<Property> properties = new ArrayList<>(recordComponents.length);
+            for(int i = 0; i < recordComponents.length; i++){
+                Object recordComponent = recordComponents[i];
+                Class recordComponentClass = recordComponent.getClass();
+                String name = (String) recordComponentClass.getMethod("getName").invoke(recordComponent);
+                parameterTypes[i] = (Class) recordComponentClass.getMethod("getType").invoke(recordComponent);
+                Type genericType = (Type) recordComponentClass.getMethod("getGenericType").invoke(recordComponent);
+                properties.add(new Property(name, parameterTypes[i], genericType, null));
+            }
+            Constructor constructor = destClass.getConstructor(parameterTypes);
+            return new DestinationCreator(Kind.CONSTRUCTOR, destClass, constructor, null, null, properties);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 静态 builder() 方法 返回的 builder 有 build() 方法，属性 为 目标类型 的 字段，
+     * builder 上 名为 name、setName 或 withName 的 单参数 方法
+     */
+    private static DestinationCreator ofBuilder(Class destClass){
+        Method builderFactoryMethod;
+        Method buildMethod;
+        try {
+            builderFactoryMethod = destClass.getMethod("builder");
+            buildMethod = builderFactoryMethod.getReturnType().getMethod("build");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+        Class builderClass = builderFactoryMethod.getReturnType();
+        if(!Modifier.isStatic(builderFactoryMethod.getModifiers())
+                || !Modifier.isPublic(builderClass.getModifiers())
+                || !destClass.isAssignableFrom(buildMethod.getReturnType())){
+            return null;
+        }
+
+        List<Property> properties = new ArrayList<>();
+        for(Field field : declaredFields(destClass)){
+            Method builderMethod = findBuilderMethod(builderClass, field);
+            if(builderMethod != null){
+                properties.add(new Property(field.getName(), builderMethod.getParameterTypes()[0],
+                        builderMethod.getGenericParameterTypes()[0], builderMethod));
+            }
+        }
+        return new DestinationCreator(Kind.BUILDER, destClass, null, builderFactoryMethod, buildMethod, properties);
+    }
+
+    private static Method findBuilderMethod(Class builderClass, Field field){
+        String upperName = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        for(String methodName : new String[]{ field.getName(), "set" + upperName, "with" + upperName }){
+            try {
+                Method method = builderClass.getMethod(methodName, field.getType());
+                if(!Modifier.isStatic(method.getModifiers())){
+                    return method;
+                }
+            } catch (NoSuchMethodException e) {
+                // 尝试 下一个 方法名
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 构造函数 的 参数类型 和 字段 的 声明顺序、类型 一一对应
+     */
+    private static boolean matchesFields(Constructor constructor, List<Field> fields){
+        Class[] parameterTypes = constructor.getParameterTypes();
+        if(parameterTypes.length == 0 || parameterTypes.length != fields.size()){
+            return false;
+        }
+        for(int i = 0; i < parameterTypes.length; i++){
+            if(parameterTypes[i] != fields.get(i).getType()){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return 当前类 声明的 非静态 字段，按 声明顺序
+     */
+    private static List<Field> declaredFields(Class clazz){
+        List<Field> fields = new ArrayList<>();
+        for(Field field : clazz.getDeclaredFields()){
+            if(!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()){
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private static boolean isRecord(Class clazz){
+        try {
+            return IS_RECORD != null && (Boolean) IS_RECORD.invoke(clazz);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private static Method findMethod(Class clazz, String name){
+        try {
+            return clazz.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 运行时 创建 目标对象，反射转换 和 Map 转换 时 使用
+     * @param arguments 和 properties 一一对应 的值
+     * @return 目标对象
+     */
+    public Object create(Object[] arguments){
+        try {
+            if(kind == Kind.CONSTRUCTOR){
+                return constructor.newInstance(arguments);
+            }
+            Object builder = builderFactoryMethod.invoke(null);
+            for(int i = 0; i < properties.size(); i++){
+                properties.get(i).getBuilderMethod().invoke(builder, arguments[i]);
+            }
+            return buildMethod.invoke(builder);
+        } catch (InvocationTargetException e) {
+            throw new ChameleonTransformException(e.getTargetException());
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new ChameleonTransformException("Cannot create instance of " + destClass.getName(), e);
+        }
+    }
+
+    /**
+     * 运行时 转换 属性值：基本类型、包装类型 之间、内置转换、toString、嵌套结构（adaptationStructureMismatch 时）、
+     * 元素 是 嵌套结构 的 List，其他 类型不匹配 的值 为 null
+     * @param value 源值
+     * @param type 属性类型
+     * @param elementClass List 的 元素类型，没有 时 为 null
+     * @return 转换后的值，基本类型 为 null 时 为 默认值
+     */
+    public static Object convert(Object value, Class type, Class elementClass, Chameleon chameleon,
+                                 boolean adaptationStructureMismatch, boolean skipNull){
+        Object converted = value != null
+                ? convertNotNull(value, type, elementClass, chameleon, adaptationStructureMismatch, skipNull)
+                : null;
+        if(converted == null && type.isPrimitive()){
+            return PrimitiveConversions.defaultValue(type);
+        }
+        return converted;
+    }
+
+    private static Object convertNotNull(Object value, Class type, Class elementClass, Chameleon chameleon,
+                                         boolean adaptationStructureMismatch, boolean skipNull){
+        if(ClassUtils.resolvePrimitiveIfNecessary(type).isInstance(value)){
+            if(elementClass != null && value instanceof Collection && !elementClass.getName().startsWith("java.")){
+                return adaptationStructureMismatch
+                        ? chameleon.transform((Collection) value, elementClass, adaptationStructureMismatch, skipNull)
+                        : null;
+            }
+            return value;
+        }
+        if(PrimitiveConversions.isConvertible(value.getClass(), type)){
+            return PrimitiveConversions.convert(value, type);
+        }
+        Method converter = BuiltinConverters.find(value.getClass(), type);
+        if(converter != null){
+            try {
+                return PrimitiveConversions.convert(converter.invoke(null,
+                        PrimitiveConversions.convert(value, converter.getParameterTypes()[0])), type);
+            } catch (InvocationTargetException e) {
+                throw new ChameleonTransformException(e.getTargetException());
+            } catch (IllegalAccessException e) {
+                throw new ChameleonTransformException(e);
+            }
+        }
+        if(type == String.class){
+            return value.toString();
+        }
+        if(adaptationStructureMismatch && !type.isPrimitive() && !type.isArray() && !type.getName().startsWith("java.")){
+            return chameleon.transform(value, type, adaptationStructureMismatch, skipNull);
+        }
+        return null;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Class getDestClass() {
+        return destClass;
+    }
+
+    public Constructor getConstructor() {
+        return constructor;
+    }
+
+    public Method getBuilderFactoryMethod() {
+        return builderFactoryMethod;
+    }
+
+    public Method getBuildMethod() {
+        return buildMethod;
+    }
+
+    public List<Property> getProperties() {
+        return properties;
+    }
+
+}
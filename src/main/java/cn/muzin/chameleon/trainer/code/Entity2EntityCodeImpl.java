@@ -2,6 +2,10 @@ package cn.muzin.chameleon.trainer.code;
 
 import cn.muzin.chameleon.Chameleon;
 import cn.muzin.chameleon.Environment;
+import cn.muzin.chameleon.exception.ChameleonTrainException;
+import cn.muzin.chameleon.convert.BuiltinConverters;
+import cn.muzin.chameleon.convert.TypeConverter;
+import cn.muzin.chameleon.convert.TypeConverterRegistry;
 import cn.muzin.chameleon.trainer.TrainerConstant;
 import cn.muzin.chameleon.util.ClassUtils;
 import cn.muzin.chameleon.util.VariableUtils;
@@ -11,8 +15,12 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author sirius
@@ -24,6 +32,23 @@ public class Entity2EntityCodeImpl {
 
     private volatile String tmpDir = null;
 
+    private volatile CodeBackend codeBackend = CodeBackend.BYTECODE;
+
+    private volatile ClassDefineStrategy classDefineStrategy = ClassDefineStrategy.AUTO;
+
+    /**
+     * 由 训练器 设置，与 训练器 共用 同一个 ClassPool
+     */
+    private volatile ClassPool classPool;
+
+    private volatile boolean directFieldAccess = false;
+
+    private volatile PrimitiveNullPolicy primitiveNullPolicy = PrimitiveNullPolicy.SKIP;
+
+    private volatile TypeConverterRegistry typeConverterRegistry = null;
+
+    private volatile boolean shareArrays = false;
+
 
     public Entity2EntityCodeImpl(String packagePrefix){
         this.packagePrefix = packagePrefix;
@@ -45,9 +70,64 @@ public class Entity2EntityCodeImpl {
         this.tmpDir = tmpDir;
     }
 
-    private ClassPool getClassPool(){
-        ClassPool pool = ClassPool.getDefault();
-        return pool;
+    public CodeBackend getCodeBackend() {
+        return codeBackend;
+    }
+
+    public void setCodeBackend(CodeBackend codeBackend) {
+        this.codeBackend = codeBackend;
+    }
+
+    public ClassDefineStrategy getClassDefineStrategy() {
+        return classDefineStrategy;
+    }
+
+    public void setClassDefineStrategy(ClassDefineStrategy classDefineStrategy) {
+        this.classDefineStrategy = classDefineStrategy;
+    }
+
+    public boolean isDirectFieldAccess() {
+        return directFieldAccess;
+    }
+
+    public void setDirectFieldAccess(boolean directFieldAccess) {
+        this.directFieldAccess = directFieldAccess;
+    }
+
+    public PrimitiveNullPolicy getPrimitiveNullPolicy() {
+        return primitiveNullPolicy;
+    }
+
+    public void setPrimitiveNullPolicy(PrimitiveNullPolicy primitiveNullPolicy) {
+        this.primitiveNullPolicy = primitiveNullPolicy;
+    }
+
+    public TypeConverterRegistry getTypeConverterRegistry() {
+        return typeConverterRegistry;
+    }
+
+    public void setTypeConverterRegistry(TypeConverterRegistry typeConverterRegistry) {
+        this.typeConverterRegistry = typeConverterRegistry;
+    }
+
+    public boolean isShareArrays() {
+        return shareArrays;
+    }
+
+    public void setShareArrays(boolean shareArrays) {
+        this.shareArrays = shareArrays;
+    }
+
+    public ClassPool getClassPool(){
+        ClassPool classPool = this.classPool;
+        if(classPool == null){
+            throw new ChameleonTrainException("classPool is not set");
+        }
+        return classPool;
+    }
+
+    public void setClassPool(ClassPool classPool) {
+        this.classPool = classPool;
     }
 
     /**
@@ -137,27 +217,83 @@ public class Entity2EntityCodeImpl {
                 cc);
         transform2CtMethod.setModifiers(Modifier.PUBLIC);
 
-        String transform2MethodBody = generateTransform2MethodBody(tClass, rClass, transform2CtMethod);
-        transform2CtMethod.setBody(transform2MethodBody);
+        if(codeBackend == CodeBackend.BYTECODE){
+            // 按照 转换计划 直接生成 字节码，不再编译 源码
+            TransformBytecodeGenerator.generate(cc, transform2CtMethod, TransformPlan.of(tClass, rClass, directFieldAccess, typeConverterRegistry, shareArrays),
+                    primitiveNullPolicy);
+        }else{
+            // 每种 adaptationStructureMismatch、skipNull 组合 生成一个 方法，transform 只负责 分发
+            Set<String> environmentFieldNames = new LinkedHashSet<>();
+            Map<String, TypeConverter> converterFields = new LinkedHashMap<>();
+            Map<TransformVariant, List<String>> variantFieldCodes = new LinkedHashMap<>();
+            for(TransformVariant transformVariant : TransformVariant.values()){
+                variantFieldCodes.put(transformVariant,
+                        generateTransform2MethodCodes(tClass, rClass, transformVariant, environmentFieldNames, converterFields));
+            }
+
+            // 新增 嵌套结构 链接的 Environment 字段，首次使用时通过 chameleon 链接
+            for(String environmentFieldName : environmentFieldNames){
+                CtField environmentField = new CtField(pool.get(TrainerConstant.ENVIRONMENT_CLASS_NAME), environmentFieldName, cc);
+                environmentField.setModifiers(Modifier.PRIVATE | Modifier.VOLATILE);
+                cc.addField(environmentField);
+                // 链接时的 链接版本，与 chameleon 的 不同 时 重新 链接
+                CtField generationField = new CtField(CtClass.longType, environmentFieldName + "Generation", cc);
+                generationField.setModifiers(Modifier.PRIVATE | Modifier.VOLATILE);
+                cc.addField(generationField);
+            }
+
+            // 新增 自定义转换器 的 static final 字段
+            ConverterLinker.addConverterFields(cc, converterFields);
+
+            // 字节码 超过 JIT 编译限制 时，按字段 拆分为 多个方法
+            String transform2MethodPrologue = generateTransform2MethodPrologue(tClass, rClass);
+            for(TransformVariant transformVariant : TransformVariant.values()){
+                TransformMethodSplitter.addMethods(cc, transformVariant,
+                        transform2MethodPrologue, variantFieldCodes.get(transformVariant));
+            }
+
+            transform2CtMethod.setBody(TransformVariant.generateDispatchMethodBody());
+        }
 
         cc.addMethod(transform2CtMethod);
 
+        DestinationCreator destinationCreator = DestinationCreator.of(rClass);
+        if(destinationCreator != null){
+            // 通过 构造函数 或 builder 一次 创建 目标对象：Object transform(Object source, boolean, boolean)
+            CreatorCodeGenerator.addCreateTransformMethod(cc, tClass, destinationCreator, false, typeConverterRegistry);
+        }else if(ClassReaderUtil.isInstantiable(rClass)) {
+            // 创建一个名为newInstance方法，直接 new 出目标对象
+            CtMethod newInstanceCtMethod = new CtMethod(pool.get(TrainerConstant.OBJECT_NAME),
+                    "newInstance",
+                    new CtClass[]{},
+                    cc);
+            newInstanceCtMethod.setModifiers(Modifier.PUBLIC);
+
+            String newInstanceMethodBody = generateNewInstanceMethodBody(rClass);
+            newInstanceCtMethod.setBody(newInstanceMethodBody);
+
+            cc.addMethod(newInstanceCtMethod);
+
+            // 创建一个名为transform的方法，创建目标对象后直接填充：Object transform(Object source, boolean, boolean)
+            CtMethod createTransformCtMethod = new CtMethod(pool.get(TrainerConstant.OBJECT_NAME),
+                    "transform",
+                    new CtClass[]{ pool.get(TrainerConstant.OBJECT_NAME), CtClass.booleanType, CtClass.booleanType },
+                    cc);
+            createTransformCtMethod.setModifiers(Modifier.PUBLIC);
+
+            String createTransformMethodBody = generateCreateTransformMethodBody(rClass);
+            createTransformCtMethod.setBody(createTransformMethodBody);
+
+            cc.addMethod(createTransformCtMethod);
+        }
+
         // 这里会将这个创建的类对象编译为.class文件
         String tmpDir = getTmpDir();
         cc.writeFile(tmpDir);
 
         // 获取 class
-        Class<Environment> environmentClass = null;
-        try {
-            environmentClass = (Class<Environment>) cc.toClass();
-        }catch(Exception e){
-            environmentImplClassName += "$" + new Object().hashCode();
-            if(cc.isFrozen()){
-                cc.defrost();
-            }
-            cc.setName(environmentImplClassName);
-            environmentClass = (Class<Environment>) cc.toClass();
-        }
+        Class<Environment> environmentClass =
+                EnvironmentClassDefiner.define(cc, tClass, rClass, classDefineStrategy);
 
         if(cc.isFrozen()){
             cc.defrost();
@@ -169,35 +305,67 @@ public class Entity2EntityCodeImpl {
         return environmentClass;
     }
 
-    private String generateTransformMethodBody() {
-        return "$0.transform($1, $2, $3, " + Chameleon.DEFAULT_SKIP_NULL + ");\n";
+    private String generateNewInstanceMethodBody(Class destClass) {
+        return "return " + generateNewInstanceExpression(destClass) + ";\n";
     }
 
-    private String generateTransform2MethodBody(Class sourceClass, Class destClass, CtMethod ctMethod) {
+    private String generateNewInstanceExpression(Class destClass) {
+        return "new " + destClass.getName() + "()";
+    }
 
-        String str = "";
-        str += "if($4){";
-        str += generateTransform2MethodCodes(sourceClass, destClass, ctMethod, true);
-        str += "}else{";
-        str += generateTransform2MethodCodes(sourceClass, destClass, ctMethod);
-        str += "}";
+    /**
+     * 创建 目标对象 并 填充
+     *
+     * Examples:
+     *  Object dest = new DestClass();
+     *  $0.transform(source, dest, adaptationStructureMismatch, skipNull);
+     *  return dest;
+     */
+    private String generateCreateTransformMethodBody(Class destClass) {
+        return "{\n"
+                + TrainerConstant.OBJECT_NAME + " dest = " + generateNewInstanceExpression(destClass) + ";\n"
+                + "$0.transform($1, dest, $2, $3);\n"
+                + "return dest;\n"
+                + "}";
+    }
 
-        return "{\n" + str + "\n}";
+    private String generateTransformMethodBody() {
+        return "$0.transform($1, $2, $3, " + Chameleon.DEFAULT_SKIP_NULL + ");\n";
     }
 
-    private String generateTransform2MethodCodes(Class sourceClass, Class destClass, CtMethod ctMethod) {
-        return generateTransform2MethodCodes(sourceClass, destClass, ctMethod, false);
+    /**
+     * 生成 transform 方法 开头 的代码
+     *
+     * Examples:
+     *  SourceClass source = (SourceClass) $1;
+     *  DestClass dest = (DestClass) $2;
+     */
+    private String generateTransform2MethodPrologue(Class sourceClass, Class destClass) {
+        String sourceClassName = sourceClass.getName();
+        String destClassName = destClass.getName();
+
+        // 给 形参 命名
+        return sourceClassName + " source = (" + sourceClassName + ") $1;\n"
+                + destClassName + " dest = (" + destClassName + ") $2;\n";
     }
 
     /**
      * 生成 transform 方法体
      * @param sourceClass
      * @param destClass
-     * @param ctMethod
-     * @param genCheckSkipNull 生成 检查是否需要跳过空值的代码
-     * @return
+     * @param transformVariant adaptationStructureMismatch、skipNull 的 组合
+     * @param environmentFieldNames 收集 嵌套结构 链接的 Environment 字段名
+     * @param converterFields 收集 自定义转换器 的 字段名 和 转换器
+     * @return 每个字段 的转换代码
      */
-    private String generateTransform2MethodCodes(Class sourceClass, Class destClass, CtMethod ctMethod, boolean genCheckSkipNull) {
+    private List<String> generateTransform2MethodCodes(Class sourceClass, Class destClass, TransformVariant transformVariant,
+                                                       Set<String> environmentFieldNames,
+                                                       Map<String, TypeConverter> converterFields) {
+
+        // 生成 检查是否需要跳过空值的代码
+        boolean genCheckSkipNull = transformVariant.isSkipNull();
+        // 不适配 结构不匹配 时，不生成 集合、嵌套结构 的转换代码
+        boolean adaptationStructureMismatch = transformVariant.isAdaptationStructureMismatch();
 
         String sourceClassSimpleName = sourceClass.getSimpleName();
         String destClassSimpleName = destClass.getSimpleName();
@@ -208,29 +376,26 @@ public class Entity2EntityCodeImpl {
 
         StringBuilder stringBuilder = new StringBuilder();
 
+        List<String> fieldCodes = new ArrayList<>();
+
+        // 和 generateTransform2MethodPrologue 中 形参 的命名 一致
         String sourceVariableName = "source";
         String destVariableName = "dest";
 
+        ClassModel sourceClassModel = ClassModel.of(sourceClass);
+        ClassModel destClassModel = ClassModel.of(destClass);
 
-        // 给 形参 命名
-        stringBuilder.append(sourceClassName + " " + sourceVariableName + " = (" + sourceClassName + ") $1;\n");
-        stringBuilder.append(destClassName + " " + destVariableName + " = (" + destClassName + ") $2;\n");
-
-        List<Field> sourceClassFields = ClassReaderUtil.getAllFields(sourceClass);
-        List<Field> destClassFields = ClassReaderUtil.getAllFields(destClass);
-        Method[] sourceClassMethods = ClassReaderUtil.filterPublicMethods(sourceClass.getMethods());
-        Method[] destClassMethods = ClassReaderUtil.filterPublicMethods(destClass.getMethods());
-
-        Map<String, Field> destClassFieldMap = ClassReaderUtil.fieldsToFieldMap(destClassFields);
+        for(Field sourceClassField : sourceClassModel.getFields()){
+            // 每个字段 的代码 单独保存，方法过大时 按字段 拆分
+            TransformMethodSplitter.takeFieldCode(stringBuilder, fieldCodes);
 
-        for(Field sourceClassField : sourceClassFields){
             String sourceClassFieldName = sourceClassField.getName();
-            if(destClassFieldMap.containsKey(sourceClassFieldName)){
-                Field destClassField = destClassFieldMap.get(sourceClassFieldName);
+            Field destClassField = destClassModel.getField(sourceClassFieldName);
+            if(destClassField != null){
                 String destClassFieldName = destClassField.getName();
 
-                Method readMethod = ClassReaderUtil.getReadMethod(sourceClassField, sourceClass, sourceClassMethods);
-                Method writeMethod = ClassReaderUtil.getWriteMethod(destClassField, destClass, destClassMethods);
+                Method readMethod = sourceClassModel.getReadMethod(sourceClassField);
+                Method writeMethod = destClassModel.getWriteMethod(destClassField);
 
                 if(readMethod == null || writeMethod == null){
                     continue;
@@ -241,8 +406,123 @@ public class Entity2EntityCodeImpl {
                         ? writeMethod.getParameterTypes()[0]
                         : null;
 
-                String readMethodName = readMethod.getName();
-                String writeMethodName = writeMethod.getName();
+                String readAccessor = sourceClassModel.getReadAccessor(sourceClassField, directFieldAccess);
+                String writeAccessor = destClassModel.getWriteAccessor(destClassField, directFieldAccess);
+
+                // 源字段的值 只读取一次，保存在 局部变量 中
+                String readVariableName = "read" + VariableUtils.firstCharToUpper(sourceClassFieldName);
+                String readExpression = sourceVariableName + "." + readAccessor;
+
+                // 自定义转换器，保存在 static final 字段 中 直接调用
+                TypeConverter typeConverter = typeConverterRegistry != null
+                        ? typeConverterRegistry.resolve(sourceClassField, destClassField, readMethodReturnType, writeMethodParameterType)
+                        : null;
+                if(typeConverter != null){
+                    String converterFieldName = ConverterLinker.converterFieldName(destClassFieldName);
+                    converterFields.put(converterFieldName, typeConverter);
+                    readValueForTransformMethodBody(stringBuilder,
+                            readMethodReturnType, readVariableName, readExpression);
+                    primitiveAssignValueConvertForTransformMethodBody(stringBuilder,
+                            destVariableName, writeAccessor, destClassFieldName,
+                            readVariableName, readMethodReturnType, writeMethodParameterType,
+                            typeConverterExpression(converterFieldName, readVariableName, readMethodReturnType, writeMethodParameterType),
+                            genCheckSkipNull);
+                    continue;
+                }
+
+                // 同类型 之间 深拷贝：嵌套结构 按 运行时类型 复制，数组 总是 复制，集合、Map 复制 容器 和 元素
+                FieldTransform cloneTransform = sourceClass == destClass
+                        ? CloneConversions.of(destClassFieldName, readMethod, writeMethod)
+                        : null;
+                if(cloneTransform != null){
+                    if(!adaptationStructureMismatch && cloneTransform.isStructural()){
+                        continue;
+                    }
+                    if(cloneTransform.getKind() == FieldTransform.Kind.ARRAY_COPY){
+                        readValueForTransformMethodBody(stringBuilder,
+                                readMethodReturnType, readVariableName, readExpression);
+                        primitiveAssignValueConvertForTransformMethodBody(stringBuilder,
+                                destVariableName, writeAccessor, destClassFieldName,
+                                readVariableName, readMethodReturnType, writeMethodParameterType,
+                                arrayCopyExpression(readVariableName, writeMethodParameterType),
+                                genCheckSkipNull);
+                        continue;
+                    }
+                    elementConvertForTransformMethodBody(stringBuilder, cloneTransform,
+                            destVariableName, writeAccessor, readVariableName, readExpression,
+                            genCheckSkipNull, environmentFieldNames);
+                    continue;
+                }
+
+                // 基本类型、包装类型 之间 的转换，不经过 装箱
+                if(PrimitiveConversions.isConvertible(readMethodReturnType, writeMethodParameterType)){
+                    readValueForTransformMethodBody(stringBuilder,
+                            readMethodReturnType, readVariableName, readExpression);
+                    primitiveAssignValueConvertForTransformMethodBody(stringBuilder,
+                            destVariableName, writeAccessor, destClassFieldName,
+                            readVariableName, readMethodReturnType, writeMethodParameterType,
+                            PrimitiveConversions.convertExpression(readVariableName, readMethodReturnType, writeMethodParameterType),
+                            genCheckSkipNull);
+                    continue;
+                }
+
+                // 内置转换，直接调用 转换方法，例如 String -> Long、BigDecimal -> double
+                Method converter = BuiltinConverters.find(readMethodReturnType, writeMethodParameterType);
+                if(converter != null){
+                    readValueForTransformMethodBody(stringBuilder,
+                            readMethodReturnType, readVariableName, readExpression);
+                    primitiveAssignValueConvertForTransformMethodBody(stringBuilder,
+                            destVariableName, writeAccessor, destClassFieldName,
+                            readVariableName, readMethodReturnType, writeMethodParameterType,
+                            converterExpression(converter, readVariableName, readMethodReturnType, writeMethodParameterType),
+                            genCheckSkipNull);
+                    continue;
+                }
+
+                // 同类型 的数组 复制 一份，shareArrays 时 按 类型相同 直接赋值
+                if(!shareArrays && ArrayConversions.isArrayCopy(readMethodReturnType, writeMethodParameterType)){
+                    readValueForTransformMethodBody(stringBuilder,
+                            readMethodReturnType, readVariableName, readExpression);
+                    primitiveAssignValueConvertForTransformMethodBody(stringBuilder,
+                            destVariableName, writeAccessor, destClassFieldName,
+                            readVariableName, readMethodReturnType, writeMethodParameterType,
+                            arrayCopyExpression(readVariableName, writeMethodParameterType),
+                            genCheckSkipNull);
+                    continue;
+                }
+
+                // 数组 与 数组、List 之间 按元素 转换
+                if(ArrayConversions.isArrayConvertible(readMethodReturnType, writeMethodParameterType)){
+                    Class sourceElementClass = ArrayConversions.sourceElementType(readMethodReturnType, readMethod);
+                    Class destElementClass = ArrayConversions.destElementType(writeMethodParameterType, writeMethod);
+                    FieldTransform.Kind elementKind = ArrayConversions.elementKind(sourceElementClass, destElementClass);
+                    if(elementKind == null
+                            || (!adaptationStructureMismatch && ArrayConversions.isStructural(elementKind))){
+                        continue;
+                    }
+
+                    elementConvertForTransformMethodBody(stringBuilder, new FieldTransform(FieldTransform.Kind.ARRAY,
+                                    destClassFieldName, readMethod, writeMethod, readMethodReturnType, writeMethodParameterType,
+                                    sourceElementClass, destElementClass, elementKind),
+                            destVariableName, writeAccessor, readVariableName, readExpression,
+                            genCheckSkipNull, environmentFieldNames);
+                    continue;
+                }
+
+                // Set、Collection、Queue、Map 之间 按元素 转换，目标 按 声明类型 选择 实现
+                if(CollectionConversions.isUnsortable(readMethod, writeMethod)){
+                    continue;
+                }
+                FieldTransform collectionTransform = CollectionConversions.of(destClassFieldName, readMethod, writeMethod);
+                if(collectionTransform != null){
+                    if(!adaptationStructureMismatch && collectionTransform.isStructural()){
+                        continue;
+                    }
+                    elementConvertForTransformMethodBody(stringBuilder, collectionTransform,
+                            destVariableName, writeAccessor, readVariableName, readExpression,
+                            genCheckSkipNull, environmentFieldNames);
+                    continue;
+                }
 
                 // 类型相同
                 if(ClassUtils.isAssignable(writeMethodParameterType, readMethodReturnType)){
@@ -253,8 +533,8 @@ public class Entity2EntityCodeImpl {
                         boolean assignableFromParamTypeList = writeMethodParameterType.isAssignableFrom(List.class);
                         if(!assignableFromParamTypeList){ continue; }
 
-                        Class readMethodGenericReturnType = ClassReaderUtil.getGenericClassOfListByGenericReturnType(readMethod);
-                        Class writeMethodGenericParameterType = ClassReaderUtil.getGenericClassOfListByGenericParameterType(writeMethod);
+                        Class readMethodGenericReturnType = sourceClassModel.getReadElementType(sourceClassField);
+                        Class writeMethodGenericParameterType = destClassModel.getWriteElementType(destClassField);
 
                         String readMethodGenericReturnTypeName = readMethodGenericReturnType.getName();
                         String writeMethodGenericParameterTypeName = writeMethodGenericParameterType.getName();
@@ -262,9 +542,11 @@ public class Entity2EntityCodeImpl {
                         // 如果 两个泛型类型 相同直接转换
                         if(readMethodGenericReturnType == writeMethodGenericParameterType){
                             // Simple Field Convert
+                            readValueForTransformMethodBody(stringBuilder,
+                                    readMethodReturnType, readVariableName, readExpression);
                             simpleAssignValueConvertForTransformMethodBody(stringBuilder,
-                                    destVariableName, writeMethodName,
-                                    sourceVariableName, readMethodName,
+                                    destVariableName, writeAccessor,
+                                    readVariableName,
                                     genCheckSkipNull);
                         }else{
                             // 两个泛型类型不同
@@ -277,9 +559,14 @@ public class Entity2EntityCodeImpl {
                                 // 如果 目标泛型类型 为 String， 原目标进行 toString
                                 if(writeMethodGenericParameterType == String.class){
 
+                                    if(!adaptationStructureMismatch){ continue; }
+
+                                    readValueForTransformMethodBody(stringBuilder,
+                                            readMethodReturnType, readVariableName, readExpression);
+
                                     // 检查 是否 是空值 start
                                     if(genCheckSkipNull) {
-                                        stringBuilder.append("if(" + sourceVariableName + "." + readMethodName + "() != null){");
+                                        stringBuilder.append("if(" + readVariableName + " != null){");
                                     }
                                     // 检查 是否 是空值 end
 
@@ -297,17 +584,17 @@ public class Entity2EntityCodeImpl {
                                     // }
                                     stringBuilder.append(TrainerConstant.LIST_CLASS_NAME + " "
                                             + sourceVariableName + sourceClassFieldName + "Collection = "
-                                            + sourceVariableName + "." + readMethodName + "();\n");
-                                    stringBuilder.append("if(" + sourceVariableName + sourceClassFieldName + "Collection != null && $3){\n");
-                                    stringBuilder.append("\t" + TrainerConstant.LIST_CLASS_NAME + " new" + destVariableName + destClassFieldName + "Collection = "
-                                            + "new " + TrainerConstant.ARRAYLIST_CLASS_NAME + "();\n");
+                                            + readVariableName + ";\n");
+                                    stringBuilder.append("if(" + sourceVariableName + sourceClassFieldName + "Collection != null){\n");
                                     stringBuilder.append("int " + sourceVariableName + sourceClassFieldName + "CollectionSize"
                                             + " = " + sourceVariableName + sourceClassFieldName + "Collection.size();");
+                                    stringBuilder.append("\t" + TrainerConstant.LIST_CLASS_NAME + " new" + destVariableName + destClassFieldName + "Collection = "
+                                            + "new " + TrainerConstant.ARRAYLIST_CLASS_NAME + "(" + sourceVariableName + sourceClassFieldName + "CollectionSize);\n");
                                     stringBuilder.append("\tfor(int i = 0; i < " + sourceVariableName + sourceClassFieldName + "CollectionSize; i++){ \n");
                                     stringBuilder.append("\t\t" + TrainerConstant.OBJECT_NAME + " item = " + sourceVariableName + sourceClassFieldName + "Collection.get(i);");
                                     stringBuilder.append("\t\tnew" + destVariableName + destClassFieldName + "Collection.add(item != null ? item.toString() : null);\n");
                                     stringBuilder.append("\t}\n");
-                                    stringBuilder.append("\t" + destVariableName + "." + writeMethodName
+                                    stringBuilder.append("\t" + destVariableName + "." + writeAccessor
                                             + "(new" + destVariableName + destClassFieldName + "Collection);\n");
                                     stringBuilder.append("}\n");
 
@@ -322,36 +609,63 @@ public class Entity2EntityCodeImpl {
                                 }
                             }else{
 
+                                if(!adaptationStructureMismatch){ continue; }
+
+                                readValueForTransformMethodBody(stringBuilder,
+                                        readMethodReturnType, readVariableName, readExpression);
+
                                 // 检查 是否 是空值 start
                                 if(genCheckSkipNull) {
-                                    stringBuilder.append("if(" + sourceVariableName + "." + readMethodName + "() != null){");
+                                    stringBuilder.append("if(" + readVariableName + " != null){");
                                 }
                                 // 检查 是否 是空值 end
 
-                                //
-                                // Examples:
-                                // Collection<Type> readFieldCollection = source.getReadField();
-                                // if(readFieldCollection != null && adaptationStructureMismatch) {
-                                //      List<WriteField> newWriteFieldCollection = this.chameleon.transform(
-                                //              readField,
-                                //              WriteField.class,
-                                //              adaptationStructureMismatch
-                                //              );
-                                //      dest.setWriteField(newWriteField);
-                                // }
                                 stringBuilder.append(TrainerConstant.LIST_CLASS_NAME + " "
                                         + sourceVariableName + sourceClassFieldName + "Collection = "
-                                        + sourceVariableName + "." + readMethodName + "();\n");
-                                stringBuilder.append("if(" + sourceVariableName + sourceClassFieldName + "Collection != null && $3){\n");
-                                stringBuilder.append("\t" + TrainerConstant.LIST_CLASS_NAME
-                                        + " new" + destVariableName + destClassFieldName + "Collection = ("
-                                        + writeMethodParameterTypeName + ") "
-                                        + "$0." + chameleonVariableName + ".transform("
-                                        + sourceVariableName + sourceClassFieldName + "Collection, "
-                                        + writeMethodGenericParameterTypeName + ".class, "
-                                        + "$3, $4);\n");
-                                stringBuilder.append("\t" + destVariableName + "." + writeMethodName
-                                        + "(new" + destVariableName + destClassFieldName + "Collection);\n");
+                                        + readVariableName + ";\n");
+                                stringBuilder.append("if(" + sourceVariableName + sourceClassFieldName + "Collection != null){\n");
+                                if(ClassReaderUtil.isLinkable(readMethodGenericReturnType)) {
+                                    //
+                                    // Examples:
+                                    // Collection<Type> readFieldCollection = source.getReadField();
+                                    // if(readFieldCollection != null && adaptationStructureMismatch) {
+                                    //      Environment linkedWriteFieldEnvironment = ...;
+                                    //      List<WriteField> newWriteFieldCollection = new ArrayList<WriteField>(readFieldCollection.size());
+                                    //      for(Type item : readFieldCollection){
+                                    //          newWriteFieldCollection.add(linkedWriteFieldEnvironment.transform(item));
+                                    //      }
+                                    //      dest.setWriteField(newWriteFieldCollection);
+                                    // }
+                                    String environmentFieldName = destClassFieldName + "Environment";
+                                    environmentFieldNames.add(environmentFieldName);
+                                    String environmentVariableName = linkEnvironmentForTransformMethodBody(stringBuilder,
+                                            environmentFieldName, readMethodGenericReturnTypeName, writeMethodGenericParameterTypeName);
+                                    linkedCollectionConvertForTransformMethodBody(stringBuilder,
+                                            destVariableName, destClassFieldName, writeAccessor,
+                                            sourceVariableName, sourceClassFieldName,
+                                            environmentVariableName);
+                                }else{
+                                    //
+                                    // Examples:
+                                    // Collection<Type> readFieldCollection = source.getReadField();
+                                    // if(readFieldCollection != null && adaptationStructureMismatch) {
+                                    //      List<WriteField> newWriteFieldCollection = this.chameleon.transform(
+                                    //              readField,
+                                    //              WriteField.class,
+                                    //              adaptationStructureMismatch
+                                    //              );
+                                    //      dest.setWriteField(newWriteField);
+                                    // }
+                                    stringBuilder.append("\t" + TrainerConstant.LIST_CLASS_NAME
+                                            + " new" + destVariableName + destClassFieldName + "Collection = ("
+                                            + writeMethodParameterTypeName + ") "
+                                            + "$0." + chameleonVariableName + ".transform("
+                                            + sourceVariableName + sourceClassFieldName + "Collection, "
+                                            + writeMethodGenericParameterTypeName + ".class, "
+                                            + "$3, $4);\n");
+                                    stringBuilder.append("\t" + destVariableName + "." + writeAccessor
+                                            + "(new" + destVariableName + destClassFieldName + "Collection);\n");
+                                }
                                 stringBuilder.append("}\n");
 
                                 // 检查 是否 是空值 start
@@ -365,11 +679,13 @@ public class Entity2EntityCodeImpl {
                         }
 
                     }else{
-                        // Simple Field Convert
+                        // Simple Field Convert，基本类型 不会是 null
+                        readValueForTransformMethodBody(stringBuilder,
+                                readMethodReturnType, readVariableName, readExpression);
                         simpleAssignValueConvertForTransformMethodBody(stringBuilder,
-                                destVariableName, writeMethodName,
-                                sourceVariableName, readMethodName,
-                                genCheckSkipNull);
+                                destVariableName, writeAccessor,
+                                readVariableName,
+                                genCheckSkipNull && !readMethodReturnType.isPrimitive());
                     }
 
                 }else{
@@ -388,38 +704,65 @@ public class Entity2EntityCodeImpl {
                     // 如果 WriteField 是 字符串，将 ReadField转换为 toString
                     if(writeMethodParameterTypeName.startsWith("java.lang.String")){
                         // toString Field Convert
+                        readValueForTransformMethodBody(stringBuilder,
+                                readMethodReturnType, readVariableName, readExpression);
                         toStringAssignValueConvertForTransformMethodBody(stringBuilder,
-                                destVariableName, writeMethodName,
-                                sourceVariableName, readMethodName);
+                                destVariableName, writeAccessor,
+                                readVariableName, readMethodReturnType);
                     }
 
-                    if(!writeMethodParameterTypeName.startsWith("java.lang.")) {
+                    if(!writeMethodParameterTypeName.startsWith("java.lang.")
+                            && !writeMethodParameterType.isArray() && !readMethodReturnType.isArray()) {
+
+                        if(!adaptationStructureMismatch){ continue; }
+
+                        readValueForTransformMethodBody(stringBuilder,
+                                readMethodReturnType, readVariableName, readExpression);
 
                         // 检查 是否 是空值 start
                         if(genCheckSkipNull) {
-                            stringBuilder.append("if(" + sourceVariableName + "." + readMethodName + "() != null){");
+                            stringBuilder.append("if(" + readVariableName + " != null){");
                         }
                         // 检查 是否 是空值 end
 
-                        // Examples:
-                        // Type readField = source.getReadField();
-                        // if(readField != null && adaptationStructureMismatch) {
-                        //      WriteField newWriteField =
-                        //              (WriteField) chameleon.transform(readField, WriteField.class, adaptationStructureMismatch);
-                        //      dest.setWriteField(newWriteField);
-                        // }
                         stringBuilder.append(readMethodReturnTypeName + " "
                                 + sourceVariableName + sourceClassFieldName + " = "
-                                + sourceVariableName + "." + readMethodName + "();\n");
-                        stringBuilder.append("if(" + sourceVariableName + sourceClassFieldName + " != null && $3){\n");
-                        stringBuilder.append("\t" + writeMethodParameterTypeName
-                                + " new" + destVariableName + destClassFieldName + " = ("
-                                + writeMethodParameterTypeName + ") "
-                                + "$0." + chameleonVariableName + ".transform("
-                                + sourceVariableName + sourceClassFieldName + ", "
-                                + writeMethodParameterTypeName + ".class, "
-                                + "$3, $4);\n");
-                        stringBuilder.append("\t" + destVariableName + "." + writeMethodName
+                                + readVariableName + ";\n");
+                        stringBuilder.append("if(" + sourceVariableName + sourceClassFieldName + " != null){\n");
+                        if(ClassReaderUtil.isLinkable(readMethodReturnType)) {
+                            // Examples:
+                            // Type readField = source.getReadField();
+                            // if(readField != null && adaptationStructureMismatch) {
+                            //      Environment linkedWriteFieldEnvironment = ...;
+                            //      WriteField newWriteField = (WriteField) linkedWriteFieldEnvironment.transform(readField, adaptationStructureMismatch, skipNull);
+                            //      dest.setWriteField(newWriteField);
+                            // }
+                            String environmentFieldName = destClassFieldName + "Environment";
+                            environmentFieldNames.add(environmentFieldName);
+                            String environmentVariableName = linkEnvironmentForTransformMethodBody(stringBuilder,
+                                    environmentFieldName, readMethodReturnTypeName, writeMethodParameterTypeName);
+                            stringBuilder.append("\t" + writeMethodParameterTypeName
+                                    + " new" + destVariableName + destClassFieldName + " = ("
+                                    + writeMethodParameterTypeName + ") "
+                                    + environmentVariableName + ".transform("
+                                    + sourceVariableName + sourceClassFieldName + ", $3, $4);\n");
+                        }else{
+                            // Examples:
+                            // Type readField = source.getReadField();
+                            // if(readField != null && adaptationStructureMismatch) {
+                            //      WriteField newWriteField =
+                            //              (WriteField) chameleon.transform(readField, WriteField.class, adaptationStructureMismatch);
+                            //      dest.setWriteField(newWriteField);
+                            // }
+                            stringBuilder.append("\t" + writeMethodParameterTypeName
+                                    + " new" + destVariableName + destClassFieldName + " = ("
+                                    + writeMethodParameterTypeName + ") "
+                                    + "$0." + chameleonVariableName + ".transform("
+                                    + sourceVariableName + sourceClassFieldName + ", "
+                                    + writeMethodParameterTypeName + ".class, "
+                                    + "$3, $4);\n");
+                        }
+                        stringBuilder.append("\t" + destVariableName + "." + writeAccessor
                                 + "(new" + destVariableName + destClassFieldName + ");\n");
                         stringBuilder.append("}\n");
 
@@ -434,45 +777,55 @@ public class Entity2EntityCodeImpl {
             }
         }
 
-        String str = stringBuilder.toString();
+        TransformMethodSplitter.takeFieldCode(stringBuilder, fieldCodes);
 
-        return "{\n" + str + "\n}";
+        return fieldCodes;
     }
 
 
+    /**
+     * 读取 源字段的值 到 局部变量，之后的 空值检查、转换、赋值 都使用该变量
+     *
+     * Examples:
+     *  ReadFieldType readReadField = source.getReadField();
+     *
+     */
+    private void readValueForTransformMethodBody(StringBuilder stringBuilder,
+                                                 Class readType,
+                                                 String readVariableName,
+                                                 String readExpression){
+        stringBuilder.append(readType.getTypeName() + " " + readVariableName + " = " + readExpression + ";\n");
+    }
+
     /**
      * 简单赋值 代码
      *
      * Examples:
-     *  dest.setWriteField(source.getReadField());
+     *  dest.setWriteField(readReadField);
      *
      */
     private void simpleAssignValueConvertForTransformMethodBody(StringBuilder stringBuilder,
                                                                 String destVariableName,
-                                                                String destMethodName,
-                                                                String sourceVariableName,
-                                                                String sourceMethodName){
+                                                                String destAccessor,
+                                                                String readVariableName){
         simpleAssignValueConvertForTransformMethodBody(stringBuilder,
                 destVariableName,
-                destMethodName,
-                sourceVariableName,
-                sourceMethodName,
+                destAccessor,
+                readVariableName,
                 false);
     }
 
     private void simpleAssignValueConvertForTransformMethodBody(StringBuilder stringBuilder,
                                                                 String destVariableName,
-                                                                String destMethodName,
-                                                                String sourceVariableName,
-                                                                String sourceMethodName,
+                                                                String destAccessor,
+                                                                String readVariableName,
                                                                 boolean genCheckSkipNull){
-        // Examples: dest.setWriteField(source.getReadField());
+        // Examples: dest.setWriteField(readReadField);
         if(genCheckSkipNull) {
-            stringBuilder.append("if(" + sourceVariableName + "." + sourceMethodName + "() != null){");
+            stringBuilder.append("if(" + readVariableName + " != null){");
         }
 
-        stringBuilder.append(destVariableName + "." + destMethodName + "("
-                + sourceVariableName + "." + sourceMethodName + "());\n");
+        stringBuilder.append(destVariableName + "." + destAccessor + "(" + readVariableName + ");\n");
 
         if(genCheckSkipNull){
             stringBuilder.append("}");
@@ -480,22 +833,488 @@ public class Entity2EntityCodeImpl {
     }
 
     /**
-     * 原结果toString后进行赋值
+     * 转换 后 赋值，源 不是 基本类型 时 检查 null，为 null 时 按 primitiveNullPolicy 处理
+     *
+     * Examples:
+     *  dest.setWriteField(((long) readReadField));
+     *
+     *  if(readReadField != null){
+     *      dest.setWriteField(((java.lang.Number) readReadField).longValue());
+     *  }else{
+     *      throw new ChameleonTransformException("...");
+     *  }
+     *
+     */
+    private void primitiveAssignValueConvertForTransformMethodBody(StringBuilder stringBuilder,
+                                                                   String destVariableName,
+                                                                   String destAccessor,
+                                                                   String destFieldName,
+                                                                   String readVariableName,
+                                                                   Class readType,
+                                                                   Class writeType,
+                                                                   String convertExpression,
+                                                                   boolean genCheckSkipNull){
+        String assignPrefix = destVariableName + "." + destAccessor + "(";
+        if(readType.isPrimitive()){
+            stringBuilder.append(assignPrefix + convertExpression + ");\n");
+            return;
+        }
+
+        stringBuilder.append("if(" + readVariableName + " != null){\n");
+        stringBuilder.append("\t" + assignPrefix + convertExpression + ");\n");
+        stringBuilder.append("}");
+        if(!genCheckSkipNull){
+            String nullValueCode = PrimitiveConversions.generateNullValueCode(assignPrefix,
+                    destFieldName, writeType, primitiveNullPolicy);
+            if(!nullValueCode.isEmpty()){
+                stringBuilder.append("else{\n\t" + nullValueCode + "}");
+            }
+        }
+        stringBuilder.append("\n");
+    }
+
+    /**
+     * 调用 内置转换方法 的 表达式，参数 和 返回值 按需 进行 基本类型 转换
+     *
+     * Examples:
+     *  cn.muzin.chameleon.convert.BuiltinConverters.toLong(readReadField)
+     *  java.lang.Long.valueOf(cn.muzin.chameleon.convert.BuiltinConverters.toLong(readReadField))
+     *  cn.muzin.chameleon.convert.BuiltinConverters.toBigDecimal(((java.lang.Number) readReadField).longValue())
+     *
+     */
+    static String converterExpression(Method converter, String readVariableName, Class readType, Class writeType){
+        Class parameterType = converter.getParameterTypes()[0];
+        Class returnType = converter.getReturnType();
+
+        String argument = readVariableName;
+        if(parameterType.isPrimitive()){
+            argument = PrimitiveConversions.convertExpression(readVariableName, readType, parameterType);
+        }else if(parameterType != readType){
+            argument = "((" + parameterType.getName() + ") " + readVariableName + ")";
+        }
+
+        String convertExpression = converter.getDeclaringClass().getName() + "." + converter.getName() + "(" + argument + ")";
+        if(returnType == writeType){
+            return convertExpression;
+        }
+        return PrimitiveConversions.convertExpression(convertExpression, returnType, writeType);
+    }
+
+    /**
+     * 调用 自定义转换器 的 表达式，基本类型 装箱 后 传入，返回值 转换为 目标类型
+     *
+     * Examples:
+     *  ((java.math.BigDecimal) priceConverter.convert(readPrice))
+     *  ((java.lang.Number) ((java.lang.Long) countConverter.convert(java.lang.Integer.valueOf(readCount)))).longValue()
+     *
+     */
+    static String typeConverterExpression(String converterFieldName, String readVariableName, Class readType, Class writeType){
+        String argument = readType.isPrimitive()
+                ? PrimitiveConversions.convertExpression(readVariableName, readType, Object.class)
+                : readVariableName;
+        String convertExpression = converterFieldName + ".convert(" + argument + ")";
+
+        Class wrapperType = PrimitiveConversions.wrapperOf(writeType);
+        String castExpression = "((" + wrapperType.getName() + ") " + convertExpression + ")";
+        return writeType.isPrimitive()
+                ? PrimitiveConversions.convertExpression(castExpression, wrapperType, writeType)
+                : castExpression;
+    }
+
+    /**
+     * 原结果toString后进行赋值，基本类型 使用 String.valueOf
      *
      * Examples:
-     *  dest.setWriteField(source.getReadField() != null ? source.getReadField().toString() : null);
+     *  dest.setWriteField(readReadField != null ? readReadField.toString() : null);
+     *  dest.setWriteField(java.lang.String.valueOf(readReadField));
      *
      */
     private void toStringAssignValueConvertForTransformMethodBody(StringBuilder stringBuilder,
                                                                   String destVariableName,
-                                                                  String destMethodName,
-                                                                  String sourceVariableName,
-                                                                  String sourceMethodName){
-
-        // Examples: dest.setWriteField(source.getReadField() != null ? source.getReadField().toString() : null);
-        stringBuilder.append(destVariableName + "." + destMethodName + "("
-                + sourceVariableName + "." + sourceMethodName + "() != null ? "
-                + sourceVariableName + "." + sourceMethodName + "().toString() : null);\n");
+                                                                  String destAccessor,
+                                                                  String readVariableName,
+                                                                  Class readType){
+        if(readType.isPrimitive()){
+            stringBuilder.append(destVariableName + "." + destAccessor + "("
+                    + TrainerConstant.STRING_CLASS_NAME + ".valueOf(" + readVariableName + "));\n");
+            return;
+        }
+
+        // Examples: dest.setWriteField(readReadField != null ? readReadField.toString() : null);
+        stringBuilder.append(destVariableName + "." + destAccessor + "("
+                + readVariableName + " != null ? "
+                + readVariableName + ".toString() : null);\n");
+    }
+
+    /**
+     * 通过 链接的 Environment 逐个转换 集合元素
+     *
+     * Examples:
+     *  int readFieldCollectionSize = readFieldCollection.size();
+     *  List newWriteFieldCollection = new ArrayList(readFieldCollectionSize);
+     *  for(int i = 0; i < readFieldCollectionSize; i++){
+     *      Object item = readFieldCollection.get(i);
+     *      if(item == null){
+     *          newWriteFieldCollection.add(null);
+     *      }else{
+     *          newWriteFieldCollection.add(linkedWriteFieldEnvironment.transform(item, adaptationStructureMismatch, skipNull));
+     *      }
+     *  }
+     *  dest.setWriteField(newWriteFieldCollection);
+     *
+     */
+    private void linkedCollectionConvertForTransformMethodBody(StringBuilder stringBuilder,
+                                                               String destVariableName,
+                                                               String destClassFieldName,
+                                                               String destAccessor,
+                                                               String sourceVariableName,
+                                                               String sourceClassFieldName,
+                                                               String environmentVariableName){
+        String sourceCollectionVariableName = sourceVariableName + sourceClassFieldName + "Collection";
+        String sourceCollectionSizeVariableName = sourceCollectionVariableName + "Size";
+        String destCollectionVariableName = "new" + destVariableName + destClassFieldName + "Collection";
+        String itemVariableName = sourceCollectionVariableName + "Item";
+
+        stringBuilder.append("\tint " + sourceCollectionSizeVariableName + " = " + sourceCollectionVariableName + ".size();\n");
+        stringBuilder.append("\t" + TrainerConstant.LIST_CLASS_NAME + " " + destCollectionVariableName + " = "
+                + "new " + TrainerConstant.ARRAYLIST_CLASS_NAME + "(" + sourceCollectionSizeVariableName + ");\n");
+        stringBuilder.append("\tfor(int i = 0; i < " + sourceCollectionSizeVariableName + "; i++){\n");
+        stringBuilder.append("\t\t" + TrainerConstant.OBJECT_NAME + " " + itemVariableName + " = "
+                + sourceCollectionVariableName + ".get(i);\n");
+        stringBuilder.append("\t\tif(" + itemVariableName + " == null){\n");
+        stringBuilder.append("\t\t\t" + destCollectionVariableName + ".add(null);\n");
+        stringBuilder.append("\t\t}else{\n");
+        stringBuilder.append("\t\t\t" + destCollectionVariableName + ".add("
+                + environmentVariableName + ".transform(" + itemVariableName + ", $3, $4));\n");
+        stringBuilder.append("\t\t}\n");
+        stringBuilder.append("\t}\n");
+        stringBuilder.append("\t" + destVariableName + "." + destAccessor + "(" + destCollectionVariableName + ");\n");
+    }
+
+    /**
+     * 嵌套结构、数组、集合、Map 的 转换，源值 为 null 时 赋值为 null（skipNull 时 跳过），嵌套结构 不赋值
+     *
+     * Examples:
+     *  ReadField readReadField = source.getReadField();
+     *  if(readReadField != null){
+     *      cn.muzin.chameleon.Environment linkedWriteFieldEnvironment = ...;
+     *      ...
+     *      dest.setWriteField(newdestWriteField);
+     *  }else{
+     *      dest.setWriteField(null);
+     *  }
+     *
+     */
+    private void elementConvertForTransformMethodBody(StringBuilder stringBuilder,
+                                                      FieldTransform fieldTransform,
+                                                      String destVariableName,
+                                                      String destAccessor,
+                                                      String readVariableName,
+                                                      String readExpression,
+                                                      boolean genCheckSkipNull,
+                                                      Set<String> environmentFieldNames){
+        String destClassFieldName = fieldTransform.getName();
+        Class readType = fieldTransform.getSourceType();
+        Class writeType = fieldTransform.getDestType();
+        Class sourceElementClass = fieldTransform.getSourceStructClass();
+        Class destElementClass = fieldTransform.getDestStructClass();
+        FieldTransform.Kind kind = fieldTransform.getKind();
+        FieldTransform.Kind elementKind = kind == FieldTransform.Kind.TO_STRUCT || kind == FieldTransform.Kind.CLONE
+                ? kind
+                : fieldTransform.getElementKind();
+
+        readValueForTransformMethodBody(stringBuilder, readType, readVariableName, readExpression);
+        stringBuilder.append("if(" + readVariableName + " != null){\n");
+        String environmentVariableName = null;
+        if((elementKind == FieldTransform.Kind.TO_STRUCT && ClassReaderUtil.isLinkable(sourceElementClass))
+                || (elementKind == FieldTransform.Kind.CLONE && CloneConversions.isCloneable(sourceElementClass))){
+            String environmentFieldName = destClassFieldName + "Environment";
+            environmentFieldNames.add(environmentFieldName);
+            environmentVariableName = linkEnvironmentForTransformMethodBody(stringBuilder,
+                    environmentFieldName, sourceElementClass.getName(), destElementClass.getName());
+        }
+        switch (kind){
+            case TO_STRUCT:
+            case CLONE:
+                stringBuilder.append("\t" + destVariableName + "." + destAccessor + "("
+                        + elementExpression(readVariableName, sourceElementClass, destElementClass,
+                                elementKind, environmentVariableName) + ");\n");
+                stringBuilder.append("}\n");
+                return;
+            case ARRAY:
+                arrayConvertForTransformMethodBody(stringBuilder,
+                        destVariableName, destClassFieldName, destAccessor,
+                        readVariableName, readType, writeType,
+                        sourceElementClass, destElementClass, elementKind, environmentVariableName);
+                break;
+            default:
+                collectionConvertForTransformMethodBody(stringBuilder,
+                        destVariableName, destClassFieldName, destAccessor,
+                        readVariableName, kind == FieldTransform.Kind.MAP,
+                        CollectionConversions.implementationOf(writeType),
+                        sourceElementClass, destElementClass, elementKind, environmentVariableName);
+                break;
+        }
+        stringBuilder.append("}");
+        if(!genCheckSkipNull){
+            stringBuilder.append("else{\n\t" + destVariableName + "." + destAccessor + "(null);\n}");
+        }
+        stringBuilder.append("\n");
+    }
+
+    /**
+     * 复制 同类型 数组 的 表达式
+     *
+     * Examples:
+     *  java.util.Arrays.copyOf(readReadField, readReadField.length)
+     *  ((java.lang.String[]) java.util.Arrays.copyOf(readReadField, readReadField.length))
+     *
+     */
+    private String arrayCopyExpression(String readVariableName, Class writeType){
+        String copyExpression = "java.util.Arrays.copyOf(" + readVariableName + ", " + readVariableName + ".length)";
+        return writeType.getComponentType().isPrimitive()
+                ? copyExpression
+                : "((" + writeType.getTypeName() + ") " + copyExpression + ")";
+    }
+
+    /**
+     * 数组 与 数组、List 之间 按元素 转换，写入 预先分配大小 的 数组 或 ArrayList
+     *
+     * Examples:
+     *  int readReadFieldLength = readReadField.length;
+     *  long[] newdestWriteField = new long[readReadFieldLength];
+     *  for(int readReadFieldIndex = 0; readReadFieldIndex < readReadFieldLength; readReadFieldIndex++){
+     *      int readReadFieldItem = readReadField[readReadFieldIndex];
+     *      newdestWriteField[readReadFieldIndex] = ((long) readReadFieldItem);
+     *  }
+     *  dest.setWriteField(newdestWriteField);
+     *
+     *  int readReadFieldLength = readReadField.size();
+     *  WriteField[] newdestWriteField = new WriteField[readReadFieldLength];
+     *  for(int readReadFieldIndex = 0; readReadFieldIndex < readReadFieldLength; readReadFieldIndex++){
+     *      ReadField readReadFieldItem = (ReadField) readReadField.get(readReadFieldIndex);
+     *      newdestWriteField[readReadFieldIndex] = (readReadFieldItem != null
+     *              ? (WriteField) linkedWriteFieldEnvironment.transform(readReadFieldItem, $3, $4) : null);
+     *  }
+     *  dest.setWriteField(newdestWriteField);
+     *
+     */
+    private void arrayConvertForTransformMethodBody(StringBuilder stringBuilder,
+                                                    String destVariableName,
+                                                    String destClassFieldName,
+                                                    String destAccessor,
+                                                    String readVariableName,
+                                                    Class readType,
+                                                    Class writeType,
+                                                    Class sourceElementClass,
+                                                    Class destElementClass,
+                                                    FieldTransform.Kind elementKind,
+                                                    String environmentVariableName){
+        String lengthVariableName = readVariableName + "Length";
+        String indexVariableName = readVariableName + "Index";
+        String itemVariableName = readVariableName + "Item";
+        String destArrayVariableName = "new" + destVariableName + destClassFieldName;
+
+        stringBuilder.append("\tint " + lengthVariableName + " = " + readVariableName
+                + (readType.isArray() ? ".length" : ".size()") + ";\n");
+        if(writeType.isArray()){
+            stringBuilder.append("\t" + writeType.getTypeName() + " " + destArrayVariableName + " = "
+                    + newArrayExpression(destElementClass, lengthVariableName) + ";\n");
+        }else{
+            stringBuilder.append("\t" + TrainerConstant.LIST_CLASS_NAME + " " + destArrayVariableName + " = "
+                    + "new " + TrainerConstant.ARRAYLIST_CLASS_NAME + "(" + lengthVariableName + ");\n");
+        }
+        stringBuilder.append("\tfor(int " + indexVariableName + " = 0; " + indexVariableName + " < " + lengthVariableName
+                + "; " + indexVariableName + "++){\n");
+        stringBuilder.append("\t\t" + sourceElementClass.getTypeName() + " " + itemVariableName + " = "
+                + (readType.isArray()
+                        ? readVariableName + "[" + indexVariableName + "]"
+                        : "(" + sourceElementClass.getTypeName() + ") " + readVariableName + ".get(" + indexVariableName + ")")
+                + ";\n");
+        String elementExpression = elementExpression(itemVariableName, sourceElementClass, destElementClass,
+                elementKind, environmentVariableName);
+        if(writeType.isArray()){
+            stringBuilder.append("\t\t" + destArrayVariableName + "[" + indexVariableName + "] = " + elementExpression + ";\n");
+        }else{
+            stringBuilder.append("\t\t" + destArrayVariableName + ".add(" + elementExpression + ");\n");
+        }
+        stringBuilder.append("\t}\n");
+        stringBuilder.append("\t" + destVariableName + "." + destAccessor + "(" + destArrayVariableName + ");\n");
+    }
+
+    /**
+     * Set、Collection、Queue、Map 之间 按元素 转换，写入 按 源集合 大小 预先分配 容量 的 实现
+     *
+     * Examples:
+     *  int readReadFieldSize = readReadField.size();
+     *  java.util.HashSet newdestWriteField = new java.util.HashSet(CollectionConversions.hashCapacity(readReadFieldSize));
+     *  java.util.Iterator readReadFieldIterator = readReadField.iterator();
+     *  while(readReadFieldIterator.hasNext()){
+     *      ReadField readReadFieldItem = (ReadField) readReadFieldIterator.next();
+     *      newdestWriteField.add((readReadFieldItem != null
+     *              ? (WriteField) linkedWriteFieldEnvironment.transform(readReadFieldItem, $3, $4) : null));
+     *  }
+     *  dest.setWriteField(newdestWriteField);
+     *
+     *  int readReadFieldSize = readReadField.size();
+     *  java.util.LinkedHashMap newdestWriteField = new java.util.LinkedHashMap(CollectionConversions.hashCapacity(readReadFieldSize));
+     *  java.util.Iterator readReadFieldIterator = readReadField.entrySet().iterator();
+     *  while(readReadFieldIterator.hasNext()){
+     *      java.util.Map.Entry readReadFieldEntry = (java.util.Map.Entry) readReadFieldIterator.next();
+     *      ReadField readReadFieldItem = (ReadField) readReadFieldEntry.getValue();
+     *      newdestWriteField.put(readReadFieldEntry.getKey(), (readReadFieldItem != null
+     *              ? (WriteField) linkedWriteFieldEnvironment.transform(readReadFieldItem, $3, $4) : null));
+     *  }
+     *  dest.setWriteField(newdestWriteField);
+     *
+     *  java.util.TreeSet newdestWriteField = new java.util.TreeSet();
+     *  ...
+     *      if(readReadFieldItem != null) newdestWriteField.add(readReadFieldItem);
+     *
+     */
+    private void collectionConvertForTransformMethodBody(StringBuilder stringBuilder,
+                                                         String destVariableName,
+                                                         String destClassFieldName,
+                                                         String destAccessor,
+                                                         String readVariableName,
+                                                         boolean map,
+                                                         Class implementation,
+                                                         Class sourceElementClass,
+                                                         Class destElementClass,
+                                                         FieldTransform.Kind elementKind,
+                                                         String environmentVariableName){
+        String sizeVariableName = readVariableName + "Size";
+        String iteratorVariableName = readVariableName + "Iterator";
+        String entryVariableName = readVariableName + "Entry";
+        String itemVariableName = readVariableName + "Item";
+        String destCollectionVariableName = "new" + destVariableName + destClassFieldName;
+
+        String capacity = "";
+        if(CollectionConversions.isHashed(implementation)){
+            capacity = CollectionConversions.class.getName() + ".hashCapacity(" + sizeVariableName + ")";
+        }else if(CollectionConversions.isSized(implementation)){
+            capacity = sizeVariableName;
+        }
+
+        stringBuilder.append("\tint " + sizeVariableName + " = " + readVariableName + ".size();\n");
+        stringBuilder.append("\t" + implementation.getName() + " " + destCollectionVariableName + " = "
+                + "new " + implementation.getName() + "(" + capacity + ");\n");
+        stringBuilder.append("\tjava.util.Iterator " + iteratorVariableName + " = " + readVariableName
+                + (map ? ".entrySet().iterator()" : ".iterator()") + ";\n");
+        stringBuilder.append("\twhile(" + iteratorVariableName + ".hasNext()){\n");
+        String elementExpression = elementExpression(itemVariableName, sourceElementClass, destElementClass,
+                elementKind, environmentVariableName);
+        // 排序的 实现 跳过 为 null 的 元素（Map 时 为 key）
+        boolean sorted = CollectionConversions.isSorted(implementation);
+        if(map){
+            stringBuilder.append("\t\tjava.util.Map.Entry " + entryVariableName + " = (java.util.Map.Entry) "
+                    + iteratorVariableName + ".next();\n");
+            stringBuilder.append("\t\t" + sourceElementClass.getTypeName() + " " + itemVariableName + " = ("
+                    + sourceElementClass.getTypeName() + ") " + entryVariableName + ".getValue();\n");
+            stringBuilder.append("\t\t" + (sorted ? "if(" + entryVariableName + ".getKey() != null) " : "")
+                    + destCollectionVariableName + ".put(" + entryVariableName + ".getKey(), " + elementExpression + ");\n");
+        }else{
+            stringBuilder.append("\t\t" + sourceElementClass.getTypeName() + " " + itemVariableName + " = ("
+                    + sourceElementClass.getTypeName() + ") " + iteratorVariableName + ".next();\n");
+            stringBuilder.append("\t\t" + (sorted ? "if(" + itemVariableName + " != null) " : "")
+                    + destCollectionVariableName + ".add(" + elementExpression + ");\n");
+        }
+        stringBuilder.append("\t}\n");
+        stringBuilder.append("\t" + destVariableName + "." + destAccessor + "(" + destCollectionVariableName + ");\n");
+    }
+
+    /**
+     * 单个元素 的 转换表达式
+     *
+     * Examples:
+     *  readReadFieldItem
+     *  (readReadFieldItem != null ? ((java.lang.Number) readReadFieldItem).longValue() : ((long) 0))
+     *  (readReadFieldItem != null ? readReadFieldItem.toString() : null)
+     *  (readReadFieldItem != null ? (WriteField) $0.chameleon.transform(readReadFieldItem, WriteField.class, $3, $4) : null)
+     *  (readReadFieldItem != null ? (Field) (readReadFieldItem.getClass() == Field.class
+     *          ? linkedFieldEnvironment.transform(readReadFieldItem, $3, $4) : $0.chameleon.cloneValue(readReadFieldItem, $3, $4)) : null)
+     *
+     */
+    private String elementExpression(String itemVariableName, Class from, Class to,
+                                     FieldTransform.Kind elementKind, String environmentVariableName){
+        String notNull = "(" + itemVariableName + " != null ? ";
+        switch (elementKind){
+            case PRIMITIVE:
+                String convertExpression = PrimitiveConversions.convertExpression(itemVariableName, from, to);
+                if(from.isPrimitive()){
+                    return convertExpression;
+                }
+                // 包装类型 为 null 时，基本类型 的元素 保持 默认值
+                return notNull + convertExpression + " : "
+                        + (to.isPrimitive() ? PrimitiveConversions.defaultValueExpression(to) : "null") + ")";
+            case TO_STRING:
+                return from.isPrimitive()
+                        ? "java.lang.String.valueOf(" + itemVariableName + ")"
+                        : notNull + itemVariableName + ".toString() : null)";
+            case TO_STRUCT:
+                String chameleonVariableName = VariableUtils.firstCharToLower(TrainerConstant.CHAMELEON_CLASS_SIMPLE_NAME);
+                String transformExpression = environmentVariableName != null
+                        ? environmentVariableName + ".transform(" + itemVariableName + ", $3, $4)"
+                        : "$0." + chameleonVariableName + ".transform(" + itemVariableName + ", " + to.getName() + ".class, $3, $4)";
+                return notNull + "(" + to.getName() + ") " + transformExpression + " : null)";
+            case CLONE:
+                // 运行时类型 与 声明类型 相同 时 使用 链接的 Environment，否则 按 运行时类型 复制
+                String cloneExpression = "$0." + VariableUtils.firstCharToLower(TrainerConstant.CHAMELEON_CLASS_SIMPLE_NAME)
+                        + ".cloneValue(" + itemVariableName + ", $3, $4)";
+                if(environmentVariableName != null){
+                    cloneExpression = "(" + itemVariableName + ".getClass() == " + to.getTypeName() + ".class ? "
+                            + environmentVariableName + ".transform(" + itemVariableName + ", $3, $4) : " + cloneExpression + ")";
+                }
+                return notNull + "(" + to.getTypeName() + ") " + cloneExpression + " : null)";
+            default:
+                return itemVariableName;
+        }
+    }
+
+    /**
+     * Examples: new long[length]、new java.lang.String[length][]
+     */
+    private String newArrayExpression(Class elementClass, String lengthVariableName){
+        String dimensions = "";
+        while(elementClass.isArray()){
+            dimensions += "[]";
+            elementClass = elementClass.getComponentType();
+        }
+        return "new " + elementClass.getName() + "[" + lengthVariableName + "]" + dimensions;
+    }
+
+    /**
+     * 链接 嵌套结构 的 Environment，只在首次使用 或 链接版本 变化（readapt、close）时 通过 chameleon 查找，
+     * 之后直接使用字段中的 Environment
+     *
+     * Examples:
+     *  cn.muzin.chameleon.Environment linkedInnerEnvironment = $0.innerEnvironment;
+     *  if(linkedInnerEnvironment == null || $0.innerEnvironmentGeneration != $0.chameleon.getLinkGeneration()){
+     *      $0.innerEnvironmentGeneration = $0.chameleon.getLinkGeneration();
+     *      linkedInnerEnvironment = $0.chameleon.linkEnvironment(AInnerStruct.class, BInnerStruct.class);
+     *      $0.innerEnvironment = linkedInnerEnvironment;
+     *  }
+     *
+     * @return 链接后的 Environment 变量名
+     */
+    private String linkEnvironmentForTransformMethodBody(StringBuilder stringBuilder,
+                                                         String environmentFieldName,
+                                                         String sourceClassName,
+                                                         String destClassName){
+        String chameleonVariableName = VariableUtils.firstCharToLower(TrainerConstant.CHAMELEON_CLASS_SIMPLE_NAME);
+        String environmentVariableName = "linked" + VariableUtils.firstCharToUpper(environmentFieldName);
+
+        stringBuilder.append("\t" + TrainerConstant.ENVIRONMENT_CLASS_NAME + " " + environmentVariableName
+                + " = $0." + environmentFieldName + ";\n");
+        stringBuilder.append("\tif(" + environmentVariableName + " == null || $0." + environmentFieldName + "Generation != $0."
+                + chameleonVariableName + ".getLinkGeneration()){\n");
+        // 先 记录 版本，链接 期间 版本 变化 时 下次 重新 链接
+        stringBuilder.append("\t\t$0." + environmentFieldName + "Generation = $0." + chameleonVariableName + ".getLinkGeneration();\n");
+        stringBuilder.append("\t\t" + environmentVariableName + " = $0." + chameleonVariableName + ".linkEnvironment("
+                + sourceClassName + ".class, " + destClassName + ".class);\n");
+        stringBuilder.append("\t\t$0." + environmentFieldName + " = " + environmentVariableName + ";\n");
+        stringBuilder.append("\t}\n");
+        return environmentVariableName;
     }
 
 }
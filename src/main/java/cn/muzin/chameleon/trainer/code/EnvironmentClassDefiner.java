@@ -0,0 +1,197 @@
+package cn.muzin.chameleon.trainer.code;
+
+import cn.muzin.chameleon.Environment;
+import cn.muzin.chameleon.util.ClassUtils;
+import javassist.CannotCompileException;
+import javassist.CtClass;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按 {@link ClassDefineStrategy} 定义 生成的 Environment 类
+ *
+ * <p>只使用 公开的 API：MethodHandles.Lookup（Java 9+ 的方法 通过 反射 查找，仍然可以 在 Java 8 上运行）
+ * 或 自定义的 ClassLoader，不再 通过 反射 调用 ClassLoader.defineClass，不需要 --add-opens。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public final class EnvironmentClassDefiner {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    /**
+     * MethodHandles.privateLookupIn(Class, Lookup)，Java 9+
+     */
+    private static final Method PRIVATE_LOOKUP_IN;
+
+    /**
+     * Lookup.defineClass(byte[])，Java 9+
+     */
+    private static final Method DEFINE_CLASS;
+
+    /**
+     * Lookup.defineHiddenClass(byte[], boolean, ClassOption...)，Java 15+
+     */
+    private static final Method DEFINE_HIDDEN_CLASS;
+
+    /**
+     * 不带 ClassOption.STRONG，隐藏类 不再被引用 时 可以 单独卸载
+     */
+    private static final Object HIDDEN_CLASS_OPTIONS;
+
+    static {
+        Method privateLookupIn = null;
+        Method defineClass = null;
+        Method defineHiddenClass = null;
+        Object hiddenClassOptions = null;
+        try {
+            privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+            defineClass = MethodHandles.Lookup.class.getMethod("defineClass", byte[].class);
+
+            Class classOptionClass = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            hiddenClassOptions = Array.newInstance(classOptionClass, 0);
+            defineHiddenClass = MethodHandles.Lookup.class.getMethod("defineHiddenClass",
+                    byte[].class, boolean.class, hiddenClassOptions.getClass());
+        }catch(ClassNotFoundException | NoSuchMethodException e){
+            // 当前 JDK 不支持，降级
+        }
+        PRIVATE_LOOKUP_IN = privateLookupIn;
+        DEFINE_CLASS = defineClass;
+        DEFINE_HIDDEN_CLASS = defineHiddenClass;
+        HIDDEN_CLASS_OPTIONS = hiddenClassOptions;
+    }
+
+    private EnvironmentClassDefiner(){}
+
+    /**
+     * 当前 JDK 实际使用的 方式
+     * @param strategy 设置的 方式
+     * @return HIDDEN_CLASS、LOOKUP 或 CLASS_LOADER
+     */
+    public static ClassDefineStrategy resolve(ClassDefineStrategy strategy){
+        if((strategy == ClassDefineStrategy.AUTO || strategy == ClassDefineStrategy.HIDDEN_CLASS)
+                && DEFINE_HIDDEN_CLASS != null){
+            return ClassDefineStrategy.HIDDEN_CLASS;
+        }
+        if(strategy != ClassDefineStrategy.CLASS_LOADER && DEFINE_CLASS != null){
+            return ClassDefineStrategy.LOOKUP;
+        }
+        return ClassDefineStrategy.CLASS_LOADER;
+    }
+
+    /**
+     * 定义 Environment 类
+     *
+     * <p>HIDDEN_CLASS、LOOKUP 时 类 改名到 目标类型（或 源类型）所在的 包，
+     * 两者 都是 JDK 的类、彼此 不可见，或 包 不允许 定义类 时 使用 CLASS_LOADER。</p>
+     *
+     * @param ctClass 生成的 Environment 类
+     * @param sourceClass 源类型
+     * @param destClass 目标类型
+     * @param strategy 定义 方式
+     * @return Environment 类
+     */
+    public static Class<Environment> define(CtClass ctClass, Class sourceClass, Class destClass, ClassDefineStrategy strategy)
+            throws CannotCompileException, IOException {
+        ClassDefineStrategy resolvedStrategy = resolve(strategy);
+        Class neighbor = resolvedStrategy == ClassDefineStrategy.CLASS_LOADER ? null : neighborOf(sourceClass, destClass);
+        if(neighbor != null){
+            String simpleName = ctClass.getSimpleName();
+            String packageName = packageNameOf(neighbor);
+            rename(ctClass, packageName.isEmpty() ? simpleName : packageName + "." + simpleName);
+            try {
+                Object lookup = PRIVATE_LOOKUP_IN.invoke(null, neighbor, MethodHandles.lookup());
+                if(resolvedStrategy == ClassDefineStrategy.HIDDEN_CLASS){
+                    Object hiddenClassLookup = DEFINE_HIDDEN_CLASS.invoke(lookup, ctClass.toBytecode(), true, HIDDEN_CLASS_OPTIONS);
+                    return (Class<Environment>) ((MethodHandles.Lookup) hiddenClassLookup).lookupClass();
+                }
+                try {
+                    return (Class<Environment>) DEFINE_CLASS.invoke(lookup, (Object) ctClass.toBytecode());
+                }catch(InvocationTargetException e){
+                    if(!(e.getCause() instanceof LinkageError)){
+                        throw e;
+                    }
+                    // readapt 时 同名的类 已经定义
+                    rename(ctClass, ctClass.getName() + "$" + SEQUENCE.incrementAndGet());
+                    return (Class<Environment>) DEFINE_CLASS.invoke(lookup, (Object) ctClass.toBytecode());
+                }
+            }catch(IllegalAccessException | InvocationTargetException e){
+                // 包 不允许 定义类（模块 没有 open 等），使用 CLASS_LOADER
+            }
+        }
+        EnvironmentClassLoader classLoader = new EnvironmentClassLoader(ClassUtils.getDefaultClassLoader(),
+                destClass.getClassLoader(), sourceClass.getClassLoader(), Environment.class.getClassLoader());
+        return (Class<Environment>) classLoader.define(ctClass.getName(), ctClass.toBytecode());
+    }
+
+    /**
+     * 定义类 所在的 包：目标类型、源类型 中 不是 JDK 的类，并且 该类的 ClassLoader 可以 看到 另一个类 和 Environment
+     */
+    private static Class neighborOf(Class sourceClass, Class destClass){
+        for(Class candidate : new Class[]{ destClass, sourceClass }){
+            ClassLoader classLoader = candidate.getClassLoader();
+            if(classLoader != null && !candidate.isArray() && !candidate.getName().startsWith("java.")
+                    && ClassUtils.isVisible(sourceClass, classLoader)
+                    && ClassUtils.isVisible(destClass, classLoader)
+                    && ClassUtils.isVisible(Environment.class, classLoader)){
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static String packageNameOf(Class clazz){
+        String className = clazz.getName();
+        int lastDotIndex = className.lastIndexOf('.');
+        return lastDotIndex < 0 ? "" : className.substring(0, lastDotIndex);
+    }
+
+    private static void rename(CtClass ctClass, String className){
+        if(ctClass.isFrozen()){
+            ctClass.defrost();
+        }
+        ctClass.setName(className);
+    }
+
+    /**
+     * 只定义 一个 Environment 类 的 ClassLoader，Environment 不再被引用 时 和 该类 一起 卸载
+     *
+     * <p>父 ClassLoader 找不到 的类，依次 从 目标类型、源类型、Environment 的 ClassLoader 查找。</p>
+     */
+    private static final class EnvironmentClassLoader extends ClassLoader {
+
+        private final ClassLoader[] classLoaders;
+
+        EnvironmentClassLoader(ClassLoader parent, ClassLoader... classLoaders){
+            super(parent);
+            this.classLoaders = classLoaders;
+        }
+
+        Class<?> define(String className, byte[] bytecode){
+            return defineClass(className, bytecode, 0, bytecode.length);
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            for(ClassLoader classLoader : classLoaders){
+                if(classLoader == null || classLoader == getParent()){
+                    continue;
+                }
+                try {
+                    return classLoader.loadClass(name);
+                }catch(ClassNotFoundException e){
+                    // 继续 查找
+                }
+            }
+            throw new ClassNotFoundException(name);
+        }
+
+    }
+
+}
@@ -0,0 +1,294 @@
+package cn.muzin.chameleon.trainer.code;
+
+import cn.muzin.chameleon.convert.TypeConverter;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * 单个字段 的转换方式
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public final class FieldTransform {
+
+    /**
+     * 转换类型
+     */
+    public enum Kind {
+
+        /**
+         * 直接赋值
+         */
+        SIMPLE,
+
+        /**
+         * 基本类型、包装类型 之间 的转换（拓宽、收窄、装箱、拆箱）
+         */
+        PRIMITIVE,
+
+        /**
+         * 调用 转换方法（例如 String -> Long、BigDecimal -> double） 或 自定义的 TypeConverter
+         */
+        CONVERT,
+
+        /**
+         * 转换为 字符串
+         */
+        TO_STRING,
+
+        /**
+         * 集合元素 转换为 字符串
+         */
+        COLLECTION_TO_STRING,
+
+        /**
+         * 集合元素 转换为 嵌套结构
+         */
+        COLLECTION_TO_STRUCT,
+
+        /**
+         * 转换为 嵌套结构
+         */
+        TO_STRUCT,
+
+        /**
+         * 同类型 深拷贝：按 运行时类型 复制 嵌套结构、数组、Date 等 可变类型
+         */
+        CLONE,
+
+        /**
+         * 同类型 的数组 复制
+         */
+        ARRAY_COPY,
+
+        /**
+         * 数组 与 数组、List 之间 按元素 转换，元素 的转换类型 为 elementKind
+         */
+        ARRAY,
+
+        /**
+         * Set、Collection、Queue 等 集合 之间 按元素 转换，目标 按 声明类型 选择 实现
+         */
+        COLLECTION,
+
+        /**
+         * Map 之间 按值 转换，key 直接赋值
+         */
+        MAP
+
+    }
+
+    private final Kind kind;
+
+    private final String name;
+
+    private final Method readMethod;
+
+    private final Method writeMethod;
+
+    private final Class sourceType;
+
+    private final Class destType;
+
+    private final Class sourceStructClass;
+
+    private final Class destStructClass;
+
+    /**
+     * 直接读取的 源字段，使用 getter 时 为 null
+     */
+    private final Field readField;
+
+    /**
+     * 直接写入的 目标字段，使用 setter 时 为 null
+     */
+    private final Field writeField;
+
+    /**
+     * 转换方法（静态方法），CONVERT 时 使用
+     */
+    private final Method converter;
+
+    /**
+     * 自定义的 转换器，CONVERT 时 使用，和 converter 只有一个 不为 null
+     */
+    private final TypeConverter typeConverter;
+
+    /**
+     * 元素（Map 时 为 值）的 转换类型，ARRAY、COLLECTION、MAP 时 使用：SIMPLE、PRIMITIVE、TO_STRING、TO_STRUCT、CLONE
+     */
+    private final Kind elementKind;
+
+    /**
+     * @param kind 转换类型
+     * @param name 字段名，源 或 目标 是 Map 时 作为 key
+     * @param readMethod 源 getter，源 是 Map 时 为 null
+     * @param writeMethod 目标 setter，目标 是 Map 时 为 null
+     * @param sourceType 源 字段类型，源 是 Map 时 为 Object
+     * @param destType 目标 字段类型，目标 是 Map 时 为 Object
+     * @param sourceStructClass 嵌套结构（集合时 为 元素）的 源类型
+     * @param destStructClass 嵌套结构（集合时 为 元素）的 目标类型
+     */
+    public FieldTransform(Kind kind, String name, Method readMethod, Method writeMethod,
+                          Class sourceType, Class destType,
+                          Class sourceStructClass, Class destStructClass){
+        this(kind, name, readMethod, writeMethod, sourceType, destType, sourceStructClass, destStructClass, null, null, null, null, null);
+    }
+
+    /**
+     * 按元素 转换 的 FieldTransform
+     * @param kind ARRAY、COLLECTION 或 MAP
+     * @param name 字段名
+     * @param readMethod 源 getter
+     * @param writeMethod 目标 setter
+     * @param sourceType 源 字段类型，数组、集合 或 Map
+     * @param destType 目标 字段类型，数组、集合 或 Map
+     * @param sourceElementClass 源 元素（Map 时 为 值）类型
+     * @param destElementClass 目标 元素（Map 时 为 值）类型
+     * @param elementKind 元素 的 转换类型
+     */
+    public FieldTransform(Kind kind, String name, Method readMethod, Method writeMethod,
+                          Class sourceType, Class destType,
+                          Class sourceElementClass, Class destElementClass, Kind elementKind){
+        this(kind, name, readMethod, writeMethod, sourceType, destType, sourceElementClass, destElementClass,
+                null, null, null, null, elementKind);
+    }
+
+    /**
+     * 调用 转换方法 的 FieldTransform
+     * @param name 字段名
+     * @param readMethod 源 getter
+     * @param writeMethod 目标 setter
+     * @param sourceType 源 字段类型
+     * @param destType 目标 字段类型
+     * @param converter 转换方法（静态方法），参数 和 返回值 通过 {@link PrimitiveConversions} 和 字段类型 相互转换
+     */
+    public FieldTransform(String name, Method readMethod, Method writeMethod,
+                          Class sourceType, Class destType, Method converter){
+        this(Kind.CONVERT, name, readMethod, writeMethod, sourceType, destType, null, null, null, null, converter, null, null);
+    }
+
+    /**
+     * 调用 自定义转换器 的 FieldTransform
+     * @param name 字段名
+     * @param readMethod 源 getter
+     * @param writeMethod 目标 setter
+     * @param sourceType 源 字段类型
+     * @param destType 目标 字段类型
+     * @param typeConverter 自定义的 转换器
+     */
+    public FieldTransform(String name, Method readMethod, Method writeMethod,
+                          Class sourceType, Class destType, TypeConverter typeConverter){
+        this(Kind.CONVERT, name, readMethod, writeMethod, sourceType, destType, null, null, null, null, null, typeConverter, null);
+    }
+
+    private FieldTransform(Kind kind, String name, Method readMethod, Method writeMethod,
+                           Class sourceType, Class destType,
+                           Class sourceStructClass, Class destStructClass,
+                           Field readField, Field writeField, Method converter, TypeConverter typeConverter,
+                           Kind elementKind){
+        this.kind = kind;
+        this.name = name;
+        this.readMethod = readMethod;
+        this.writeMethod = writeMethod;
+        this.sourceType = sourceType;
+        this.destType = destType;
+        this.sourceStructClass = sourceStructClass;
+        this.destStructClass = destStructClass;
+        this.readField = readField;
+        this.writeField = writeField;
+        this.converter = converter;
+        this.typeConverter = typeConverter;
+        this.elementKind = elementKind;
+    }
+
+    /**
+     * 跳过 getter、setter，直接访问字段
+     * @param readField 直接读取的 源字段，为 null 时 使用 getter
+     * @param writeField 直接写入的 目标字段，为 null 时 使用 setter
+     * @return 新的 FieldTransform
+     */
+    public FieldTransform directAccess(Field readField, Field writeField){
+        return new FieldTransform(kind, name, readMethod, writeMethod, sourceType, destType,
+                sourceStructClass, destStructClass, readField, writeField, converter, typeConverter, elementKind);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Method getReadMethod() {
+        return readMethod;
+    }
+
+    public Method getWriteMethod() {
+        return writeMethod;
+    }
+
+    public Class getSourceType() {
+        return sourceType;
+    }
+
+    public Class getDestType() {
+        return destType;
+    }
+
+    public Class getSourceStructClass() {
+        return sourceStructClass;
+    }
+
+    public Class getDestStructClass() {
+        return destStructClass;
+    }
+
+    public Field getReadField() {
+        return readField;
+    }
+
+    public Field getWriteField() {
+        return writeField;
+    }
+
+    public Method getConverter() {
+        return converter;
+    }
+
+    public TypeConverter getTypeConverter() {
+        return typeConverter;
+    }
+
+    public Kind getElementKind() {
+        return elementKind;
+    }
+
+    /**
+     * 是否 只在 adaptationStructureMismatch 时 转换：集合、嵌套结构，以及 元素 需要 转换为 字符串、嵌套结构 的数组
+     */
+    public boolean isStructural() {
+        switch (kind){
+            case SIMPLE:
+            case PRIMITIVE:
+            case CONVERT:
+            case TO_STRING:
+            case ARRAY_COPY:
+                return false;
+            case CLONE:
+                return CloneConversions.isStructural(sourceStructClass);
+            case ARRAY:
+            case COLLECTION:
+            case MAP:
+                return elementKind == Kind.CLONE
+                        ? CloneConversions.isStructural(sourceStructClass)
+                        : ArrayConversions.isStructural(elementKind);
+            default:
+                return true;
+        }
+    }
+
+}
@@ -2,6 +2,7 @@ package cn.muzin.chameleon.trainer.code;
 
 import cn.muzin.chameleon.Chameleon;
 import cn.muzin.chameleon.Environment;
+import cn.muzin.chameleon.exception.ChameleonTrainException;
 import cn.muzin.chameleon.trainer.TrainerConstant;
 import cn.muzin.chameleon.util.ClassUtils;
 import cn.muzin.chameleon.util.VariableUtils;
@@ -10,8 +11,12 @@ import javassist.*;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author sirius
@@ -22,6 +27,19 @@ public class Map2EntityCodeImpl {
 
     private volatile String tmpDir = null;
 
+    private volatile CodeBackend codeBackend = CodeBackend.BYTECODE;
+
+    private volatile ClassDefineStrategy classDefineStrategy = ClassDefineStrategy.AUTO;
+
+    /**
+     * 由 训练器 设置，与 训练器 共用 同一个 ClassPool
+     */
+    private volatile ClassPool classPool;
+
+    private volatile boolean directFieldAccess = false;
+
+    private volatile PrimitiveNullPolicy primitiveNullPolicy = PrimitiveNullPolicy.SKIP;
+
 
     public Map2EntityCodeImpl(String packagePrefix){
         this.packagePrefix = packagePrefix;
@@ -43,9 +61,48 @@ public class Map2EntityCodeImpl {
         this.tmpDir = tmpDir;
     }
 
-    private ClassPool getClassPool(){
-        ClassPool pool = ClassPool.getDefault();
-        return pool;
+    public CodeBackend getCodeBackend() {
+        return codeBackend;
+    }
+
+    public void setCodeBackend(CodeBackend codeBackend) {
+        this.codeBackend = codeBackend;
+    }
+
+    public ClassDefineStrategy getClassDefineStrategy() {
+        return classDefineStrategy;
+    }
+
+    public void setClassDefineStrategy(ClassDefineStrategy classDefineStrategy) {
+        this.classDefineStrategy = classDefineStrategy;
+    }
+
+    public boolean isDirectFieldAccess() {
+        return directFieldAccess;
+    }
+
+    public void setDirectFieldAccess(boolean directFieldAccess) {
+        this.directFieldAccess = directFieldAccess;
+    }
+
+    public PrimitiveNullPolicy getPrimitiveNullPolicy() {
+        return primitiveNullPolicy;
+    }
+
+    public void setPrimitiveNullPolicy(PrimitiveNullPolicy primitiveNullPolicy) {
+        this.primitiveNullPolicy = primitiveNullPolicy;
+    }
+
+    public ClassPool getClassPool(){
+        ClassPool classPool = this.classPool;
+        if(classPool == null){
+            throw new ChameleonTrainException("classPool is not set");
+        }
+        return classPool;
+    }
+
+    public void setClassPool(ClassPool classPool) {
+        this.classPool = classPool;
     }
 
     public Class<Environment> generateEnvironmentImpl(Class tClass, Class rClass)
@@ -126,27 +183,79 @@ public class Map2EntityCodeImpl {
                 cc);
         transform2CtMethod.setModifiers(Modifier.PUBLIC);
 
-        String transform2MethodBody = generateTransform2MethodBody(tClass, rClass, transform2CtMethod);
-        transform2CtMethod.setBody(transform2MethodBody);
+        if(codeBackend == CodeBackend.BYTECODE){
+            // 按照 转换计划 直接生成 字节码，不再编译 源码
+            TransformBytecodeGenerator.generate(cc, transform2CtMethod, TransformPlan.of(tClass, rClass, directFieldAccess),
+                    primitiveNullPolicy);
+        }else{
+            // 每种 adaptationStructureMismatch、skipNull 组合 生成一个 方法，transform 只负责 分发
+            Set<String> environmentFieldNames = new LinkedHashSet<>();
+            Map<TransformVariant, List<String>> variantFieldCodes = new LinkedHashMap<>();
+            for(TransformVariant transformVariant : TransformVariant.values()){
+                variantFieldCodes.put(transformVariant,
+                        generateTransform2MethodCodes(tClass, rClass, transformVariant, environmentFieldNames));
+            }
+
+            // 新增 嵌套结构 链接的 Environment 字段，首次使用时通过 chameleon 链接
+            for(String environmentFieldName : environmentFieldNames){
+                CtField environmentField = new CtField(pool.get(TrainerConstant.ENVIRONMENT_CLASS_NAME), environmentFieldName, cc);
+                environmentField.setModifiers(Modifier.PRIVATE | Modifier.VOLATILE);
+                cc.addField(environmentField);
+                // 链接时的 链接版本，与 chameleon 的 不同 时 重新 链接
+                CtField generationField = new CtField(CtClass.longType, environmentFieldName + "Generation", cc);
+                generationField.setModifiers(Modifier.PRIVATE | Modifier.VOLATILE);
+                cc.addField(generationField);
+            }
+
+            // 字节码 超过 JIT 编译限制 时，按字段 拆分为 多个方法
+            String transform2MethodPrologue = generateTransform2MethodPrologue(tClass, rClass);
+            for(TransformVariant transformVariant : TransformVariant.values()){
+                TransformMethodSplitter.addMethods(cc, transformVariant,
+                        transform2MethodPrologue, variantFieldCodes.get(transformVariant));
+            }
+
+            transform2CtMethod.setBody(TransformVariant.generateDispatchMethodBody());
+        }
 
         cc.addMethod(transform2CtMethod);
 
+        DestinationCreator destinationCreator = DestinationCreator.of(rClass);
+        if(destinationCreator != null){
+            // 通过 构造函数 或 builder 一次 创建 目标对象：Object transform(Object source, boolean, boolean)
+            CreatorCodeGenerator.addCreateTransformMethod(cc, tClass, destinationCreator, true, null);
+        }else if(ClassReaderUtil.isInstantiable(rClass)) {
+            // 创建一个名为newInstance方法，直接 new 出目标对象
+            CtMethod newInstanceCtMethod = new CtMethod(pool.get(TrainerConstant.OBJECT_NAME),
+                    "newInstance",
+                    new CtClass[]{},
+                    cc);
+            newInstanceCtMethod.setModifiers(Modifier.PUBLIC);
+
+            String newInstanceMethodBody = generateNewInstanceMethodBody(rClass);
+            newInstanceCtMethod.setBody(newInstanceMethodBody);
+
+            cc.addMethod(newInstanceCtMethod);
+
+            // 创建一个名为transform的方法，创建目标对象后直接填充：Object transform(Object source, boolean, boolean)
+            CtMethod createTransformCtMethod = new CtMethod(pool.get(TrainerConstant.OBJECT_NAME),
+                    "transform",
+                    new CtClass[]{ pool.get(TrainerConstant.OBJECT_NAME), CtClass.booleanType, CtClass.booleanType },
+                    cc);
+            createTransformCtMethod.setModifiers(Modifier.PUBLIC);
+
+            String createTransformMethodBody = generateCreateTransformMethodBody(rClass);
+            createTransformCtMethod.setBody(createTransformMethodBody);
+
+            cc.addMethod(createTransformCtMethod);
+        }
+
         // 这里会将这个创建的类对象编译为.class文件
         String tmpDir = getTmpDir();
         cc.writeFile(tmpDir);
 
         // 获取 class
-        Class<Environment> environmentClass = null;
-        try {
-            environmentClass = (Class<Environment>) cc.toClass();
-        }catch(Exception e){
-            environmentImplClassName += "$" + new Object().hashCode();
-            if(cc.isFrozen()){
-                cc.defrost();
-            }
-            cc.setName(environmentImplClassName);
-            environmentClass = (Class<Environment>) cc.toClass();
-        }
+        Class<Environment> environmentClass =
+                EnvironmentClassDefiner.define(cc, tClass, rClass, classDefineStrategy);
 
         if(cc.isFrozen()){
             cc.defrost();
@@ -159,36 +268,65 @@ public class Map2EntityCodeImpl {
     }
 
 
-    private String generateTransformMethodBody() {
-        return "$0.transform($1, $2, $3, " + Chameleon.DEFAULT_SKIP_NULL + ");\n";
+    private String generateNewInstanceMethodBody(Class destClass) {
+        return "return " + generateNewInstanceExpression(destClass) + ";\n";
     }
 
-    private String generateTransform2MethodBody(Class sourceClass, Class destClass, CtMethod ctMethod) {
-
-        String str = "";
-        str += "if($4){";
-        str += generateTransform2MethodCodes(sourceClass, destClass, ctMethod, true);
-        str += "}else{";
-        str += generateTransform2MethodCodes(sourceClass, destClass, ctMethod);
-        str += "}";
+    private String generateNewInstanceExpression(Class destClass) {
+        return "new " + destClass.getName() + "()";
+    }
 
-        return "{\n" + str + "\n}";
+    /**
+     * 创建 目标对象 并 填充
+     *
+     * Examples:
+     *  Object dest = new DestClass();
+     *  $0.transform(source, dest, adaptationStructureMismatch, skipNull);
+     *  return dest;
+     */
+    private String generateCreateTransformMethodBody(Class destClass) {
+        return "{\n"
+                + TrainerConstant.OBJECT_NAME + " dest = " + generateNewInstanceExpression(destClass) + ";\n"
+                + "$0.transform($1, dest, $2, $3);\n"
+                + "return dest;\n"
+                + "}";
     }
 
-    private String generateTransform2MethodCodes(Class sourceClass, Class destClass, CtMethod ctMethod) {
-        return generateTransform2MethodCodes(sourceClass, destClass, ctMethod, false);
+    private String generateTransformMethodBody() {
+        return "$0.transform($1, $2, $3, " + Chameleon.DEFAULT_SKIP_NULL + ");\n";
     }
 
+    /**
+     * 生成 transform 方法 开头 的代码
+     *
+     * Examples:
+     *  SourceClass source = (SourceClass) $1;
+     *  DestClass dest = (DestClass) $2;
+     */
+    private String generateTransform2MethodPrologue(Class sourceClass, Class destClass) {
+        String sourceClassName = sourceClass.getName();
+        String destClassName = destClass.getName();
+
+        // 给 形参 命名
+        return sourceClassName + " source = (" + sourceClassName + ") $1;\n"
+                + destClassName + " dest = (" + destClassName + ") $2;\n";
+    }
 
     /**
      * 生成 transform 方法体
      * @param sourceClass
      * @param destClass
-     * @param ctMethod
-     * @param genCheckSkipNull 生成 检查是否需要跳过空值的代码
-     * @return
+     * @param transformVariant adaptationStructureMismatch、skipNull 的 组合
+     * @param environmentFieldNames 收集 嵌套结构 链接的 Environment 字段名
+     * @return 每个字段 的转换代码
      */
-    private String generateTransform2MethodCodes(Class sourceClass, Class destClass, CtMethod ctMethod, boolean genCheckSkipNull) {
+    private List<String> generateTransform2MethodCodes(Class sourceClass, Class destClass, TransformVariant transformVariant,
+                                                       Set<String> environmentFieldNames) {
+
+        // 生成 检查是否需要跳过空值的代码
+        boolean genCheckSkipNull = transformVariant.isSkipNull();
+        // 不适配 结构不匹配 时，不生成 集合、嵌套结构 的转换代码
+        boolean adaptationStructureMismatch = transformVariant.isAdaptationStructureMismatch();
 
         String sourceClassSimpleName = sourceClass.getSimpleName();
         String destClassSimpleName = destClass.getSimpleName();
@@ -199,26 +337,24 @@ public class Map2EntityCodeImpl {
 
         StringBuilder stringBuilder = new StringBuilder();
 
+        List<String> fieldCodes = new ArrayList<>();
+
+        // 和 generateTransform2MethodPrologue 中 形参 的命名 一致
         String sourceVariableName = "source";
         String destVariableName = "dest";
 
+        ClassModel destClassModel = ClassModel.of(destClass);
 
-        // 给 形参 命名
-        stringBuilder.append(sourceClassName + " " + sourceVariableName + " = (" + sourceClassName + ") $1;\n");
-        stringBuilder.append(destClassName + " " + destVariableName + " = (" + destClassName + ") $2;\n");
-
-        List<Field> destClassFields = ClassReaderUtil.getAllFields(destClass);
-        Method[] destClassMethods = ClassReaderUtil.filterPublicMethods(destClass.getMethods());
+        for(Field destClassField : destClassModel.getFields()){
+            // 每个字段 的代码 单独保存，方法过大时 按字段 拆分
+            TransformMethodSplitter.takeFieldCode(stringBuilder, fieldCodes);
 
-        Map<String, Field> destClassFieldMap = ClassReaderUtil.fieldsToFieldMap(destClassFields);
-
-        for(Field destClassField : destClassFields){
             String destClassFieldName = destClassField.getName();
             String destClassFieldClassName = destClassField.getType().getName();
             Field sourceClassField = destClassField;
             String sourceClassFieldName = sourceClassField.getName();
 
-            Method writeMethod = ClassReaderUtil.getWriteMethod(destClassField, destClass, destClassMethods);
+            Method writeMethod = destClassModel.getWriteMethod(destClassField);
 
             if(writeMethod == null){ continue; }
 
@@ -227,8 +363,24 @@ public class Map2EntityCodeImpl {
                     : null;
             Class<?> readMethodReturnType = writeMethodParameterType;
 
-            String writeMethodName = writeMethod.getName();
-            String readMethodName = writeMethodName;
+            // 数组 属性 不从 Map 读取
+            if(writeMethodParameterType.isArray()){ continue; }
+
+            String writeAccessor = destClassModel.getWriteAccessor(destClassField, directFieldAccess);
+
+            // Map 中的值 只读取一次，保存在 局部变量 中
+            String readVariableName = "read" + VariableUtils.firstCharToUpper(sourceClassFieldName);
+            String readExpression = sourceVariableName + ".get(\"" + sourceClassFieldName + "\")";
+
+            // Map 中的 数值 转换为 基本类型 或 数值的 包装类型，不经过 装箱
+            if(PrimitiveConversions.isMapConvertible(writeMethodParameterType)){
+                readValueForTransformMethodBody(stringBuilder, readVariableName, readExpression);
+                primitiveAssignValueConvertForTransformMethodBody(stringBuilder,
+                        destVariableName, writeAccessor, destClassFieldName,
+                        readVariableName, writeMethodParameterType,
+                        genCheckSkipNull);
+                continue;
+            }
 
             // 如果是集合
             boolean assignableFromReturnTypeList = readMethodReturnType.isAssignableFrom(List.class);
@@ -236,7 +388,7 @@ public class Map2EntityCodeImpl {
                 boolean assignableFromParamTypeList = writeMethodParameterType.isAssignableFrom(List.class);
                 if(!assignableFromParamTypeList){ continue; }
 
-                Class writeMethodGenericParameterType = ClassReaderUtil.getGenericClassOfListByGenericParameterType(writeMethod);
+                Class writeMethodGenericParameterType = destClassModel.getWriteElementType(destClassField);
                 Class readMethodGenericReturnType = writeMethodGenericParameterType;
 
                 String readMethodGenericReturnTypeName = readMethodGenericReturnType.getName();
@@ -253,9 +405,13 @@ public class Map2EntityCodeImpl {
                     // 如果 目标泛型类型 为 String， 原目标进行 toString
                     if(writeMethodGenericParameterType == String.class){
 
+                        if(!adaptationStructureMismatch){ continue; }
+
+                        readValueForTransformMethodBody(stringBuilder, readVariableName, readExpression);
+
                         // 检查 是否 是空值 start
                         if(genCheckSkipNull) {
-                            stringBuilder.append("if(" + sourceVariableName + ".get(\"" + sourceClassFieldName + "\") != null){");
+                            stringBuilder.append("if(" + readVariableName + " != null){");
                         }
                         // 检查 是否 是空值 end
 
@@ -273,17 +429,17 @@ public class Map2EntityCodeImpl {
                         // }
                         stringBuilder.append(TrainerConstant.LIST_CLASS_NAME + " "
                                 + sourceVariableName + sourceClassFieldName + "Collection = (" + TrainerConstant.LIST_CLASS_NAME + ") "
-                                + sourceVariableName + ".get(\"" + sourceClassFieldName + "\");\n");
-                        stringBuilder.append("if(" + sourceVariableName + sourceClassFieldName + "Collection != null && $3){\n");
-                        stringBuilder.append("\t" + TrainerConstant.LIST_CLASS_NAME + " new" + destVariableName + destClassFieldName + "Collection = "
-                                + "new " + TrainerConstant.ARRAYLIST_CLASS_NAME + "();\n");
+                                + readVariableName + ";\n");
+                        stringBuilder.append("if(" + sourceVariableName + sourceClassFieldName + "Collection != null){\n");
                         stringBuilder.append("int " + sourceVariableName + sourceClassFieldName + "CollectionSize"
                                 + " = " + sourceVariableName + sourceClassFieldName + "Collection.size();");
+                        stringBuilder.append("\t" + TrainerConstant.LIST_CLASS_NAME + " new" + destVariableName + destClassFieldName + "Collection = "
+                                + "new " + TrainerConstant.ARRAYLIST_CLASS_NAME + "(" + sourceVariableName + sourceClassFieldName + "CollectionSize);\n");
                         stringBuilder.append("\tfor(int i = 0; i < " + sourceVariableName + sourceClassFieldName + "CollectionSize; i++){ \n");
                         stringBuilder.append("\t\t" + TrainerConstant.OBJECT_NAME + " item = " + sourceVariableName + sourceClassFieldName + "Collection.get(i);");
                         stringBuilder.append("\t\tnew" + destVariableName + destClassFieldName + "Collection.add(item != null ? item.toString() : null);\n");
                         stringBuilder.append("\t}\n");
-                        stringBuilder.append("\t" + destVariableName + "." + writeMethodName
+                        stringBuilder.append("\t" + destVariableName + "." + writeAccessor
                                 + "(new" + destVariableName + destClassFieldName + "Collection);\n");
                         stringBuilder.append("}\n");
 
@@ -294,16 +450,21 @@ public class Map2EntityCodeImpl {
                         // 检查 是否 是空值 end
                     }else {
                         // 如果 目标泛型类型 为 其他 java.lang 包下面的类
+                        readValueForTransformMethodBody(stringBuilder, readVariableName, readExpression);
                         simpleAssignValueConvertForTransformMethodBody(stringBuilder,
-                                destVariableName, writeMethodName, destClassFieldClassName,
-                                sourceVariableName, sourceClassFieldName,
+                                destVariableName, writeAccessor, destClassFieldClassName,
+                                readVariableName,
                                 genCheckSkipNull);
                     }
                 }else{
 
+                    if(!adaptationStructureMismatch){ continue; }
+
+                    readValueForTransformMethodBody(stringBuilder, readVariableName, readExpression);
+
                     // 检查 是否 是空值 start
                     if(genCheckSkipNull) {
-                        stringBuilder.append("if(" + sourceVariableName + ".get(\"" + sourceClassFieldName + "\") != null){");
+                        stringBuilder.append("if(" + readVariableName + " != null){");
                     }
                     // 检查 是否 是空值 end
 
@@ -320,17 +481,29 @@ public class Map2EntityCodeImpl {
                     // }
                     stringBuilder.append(TrainerConstant.LIST_CLASS_NAME + " "
                             + sourceVariableName + sourceClassFieldName + "Collection = (" + TrainerConstant.LIST_CLASS_NAME + ")"
-                            + sourceVariableName + ".get(\"" + sourceClassFieldName + "\");\n");
-                    stringBuilder.append("if(" + sourceVariableName + sourceClassFieldName + "Collection != null && $3){\n");
-                    stringBuilder.append("\t" + TrainerConstant.LIST_CLASS_NAME
-                            + " new" + destVariableName + destClassFieldName + "Collection = ("
-                            + writeMethodParameterTypeName + ") "
-                            + "$0." + chameleonVariableName + ".transform("
-                            + sourceVariableName + sourceClassFieldName + "Collection, "
-                            + writeMethodGenericParameterTypeName + ".class, "
-                            + "$3, $4);\n");
-                    stringBuilder.append("\t" + destVariableName + "." + writeMethodName
-                            + "(new" + destVariableName + destClassFieldName + "Collection);\n");
+                            + readVariableName + ";\n");
+                    stringBuilder.append("if(" + sourceVariableName + sourceClassFieldName + "Collection != null){\n");
+                    if(ClassReaderUtil.isLinkable(writeMethodGenericParameterType)) {
+                        // Map 元素 通过 链接的 Environment 转换，其他元素 交给 chameleon
+                        String environmentFieldName = destClassFieldName + "Environment";
+                        environmentFieldNames.add(environmentFieldName);
+                        String environmentVariableName = linkEnvironmentForTransformMethodBody(stringBuilder,
+                                environmentFieldName, TrainerConstant.MAP_CLASS_NAME, writeMethodGenericParameterTypeName);
+                        linkedCollectionConvertForTransformMethodBody(stringBuilder,
+                                destVariableName, destClassFieldName, writeAccessor, writeMethodGenericParameterTypeName,
+                                sourceVariableName, sourceClassFieldName,
+                                environmentVariableName, chameleonVariableName);
+                    }else{
+                        stringBuilder.append("\t" + TrainerConstant.LIST_CLASS_NAME
+                                + " new" + destVariableName + destClassFieldName + "Collection = ("
+                                + writeMethodParameterTypeName + ") "
+                                + "$0." + chameleonVariableName + ".transform("
+                                + sourceVariableName + sourceClassFieldName + "Collection, "
+                                + writeMethodGenericParameterTypeName + ".class, "
+                                + "$3, $4);\n");
+                        stringBuilder.append("\t" + destVariableName + "." + writeAccessor
+                                + "(new" + destVariableName + destClassFieldName + "Collection);\n");
+                    }
                     stringBuilder.append("}\n");
 
                     // 检查 是否 是空值 start
@@ -359,21 +532,27 @@ public class Map2EntityCodeImpl {
                     // 如果 WriteField 是 字符串，将 ReadField转换为 toString
                     if(writeMethodParameterTypeName.startsWith("java.lang.String")){
                         // toString Field Convert
+                        readValueForTransformMethodBody(stringBuilder, readVariableName, readExpression);
                         toStringAssignValueConvertForTransformMethodBody(stringBuilder,
-                                destVariableName, writeMethodName,
-                                sourceVariableName, sourceClassFieldName);
+                                destVariableName, writeAccessor,
+                                readVariableName);
                     }else{
                         // 如果 目标泛型类型 为 其他 java.lang 包下面的类
+                        readValueForTransformMethodBody(stringBuilder, readVariableName, readExpression);
                         simpleAssignValueConvertForTransformMethodBody(stringBuilder,
-                                destVariableName, writeMethodName, destClassFieldClassName,
-                                sourceVariableName, sourceClassFieldName,
+                                destVariableName, writeAccessor, destClassFieldClassName,
+                                readVariableName,
                                 genCheckSkipNull);
                     }
                 }else{
 
+                    if(!adaptationStructureMismatch){ continue; }
+
+                    readValueForTransformMethodBody(stringBuilder, readVariableName, readExpression);
+
                     // 检查 是否 是空值 start
                     if(genCheckSkipNull) {
-                        stringBuilder.append("if(" + sourceVariableName + ".get(\"" + sourceClassFieldName + "\") != null){");
+                        stringBuilder.append("if(" + readVariableName + " != null){");
                     }
                     // 检查 是否 是空值 end
 
@@ -386,16 +565,46 @@ public class Map2EntityCodeImpl {
                     // }
                     stringBuilder.append(TrainerConstant.OBJECT_NAME + " "
                             + sourceVariableName + sourceClassFieldName + " = "
-                            + sourceVariableName + ".get(\"" + sourceClassFieldName + "\");\n");
-                    stringBuilder.append("if(" + sourceVariableName + sourceClassFieldName + " != null && $3){\n");
-                    stringBuilder.append("\t" + writeMethodParameterTypeName
-                            + " new" + destVariableName + destClassFieldName + " = ("
-                            + writeMethodParameterTypeName + ") "
-                            + "$0." + chameleonVariableName + ".transform("
-                            + sourceVariableName + sourceClassFieldName + ", "
-                            + writeMethodParameterTypeName + ".class, "
-                            + "$3, $4);\n");
-                    stringBuilder.append("\t" + destVariableName + "." + writeMethodName
+                            + readVariableName + ";\n");
+                    stringBuilder.append("if(" + sourceVariableName + sourceClassFieldName + " != null){\n");
+                    if(ClassReaderUtil.isLinkable(writeMethodParameterType)) {
+                        // Examples:
+                        // if(readField instanceof Map){
+                        //      WriteField newWriteField = (WriteField) linkedWriteFieldEnvironment.transform(readField, adaptationStructureMismatch, skipNull);
+                        // }else{
+                        //      WriteField newWriteField =
+                        //              (WriteField) chameleon.transform(readField, WriteField.class, adaptationStructureMismatch);
+                        // }
+                        String environmentFieldName = destClassFieldName + "Environment";
+                        environmentFieldNames.add(environmentFieldName);
+                        String environmentVariableName = linkEnvironmentForTransformMethodBody(stringBuilder,
+                                environmentFieldName, TrainerConstant.MAP_CLASS_NAME, writeMethodParameterTypeName);
+                        stringBuilder.append("\t" + writeMethodParameterTypeName
+                                + " new" + destVariableName + destClassFieldName + " = null;\n");
+                        stringBuilder.append("\tif(" + sourceVariableName + sourceClassFieldName
+                                + " instanceof " + TrainerConstant.MAP_CLASS_NAME + "){\n");
+                        stringBuilder.append("\t\tnew" + destVariableName + destClassFieldName + " = ("
+                                + writeMethodParameterTypeName + ") "
+                                + environmentVariableName + ".transform("
+                                + sourceVariableName + sourceClassFieldName + ", $3, $4);\n");
+                        stringBuilder.append("\t}else{\n");
+                        stringBuilder.append("\t\tnew" + destVariableName + destClassFieldName + " = ("
+                                + writeMethodParameterTypeName + ") "
+                                + "$0." + chameleonVariableName + ".transform("
+                                + sourceVariableName + sourceClassFieldName + ", "
+                                + writeMethodParameterTypeName + ".class, "
+                                + "$3, $4);\n");
+                        stringBuilder.append("\t}\n");
+                    }else{
+                        stringBuilder.append("\t" + writeMethodParameterTypeName
+                                + " new" + destVariableName + destClassFieldName + " = ("
+                                + writeMethodParameterTypeName + ") "
+                                + "$0." + chameleonVariableName + ".transform("
+                                + sourceVariableName + sourceClassFieldName + ", "
+                                + writeMethodParameterTypeName + ".class, "
+                                + "$3, $4);\n");
+                    }
+                    stringBuilder.append("\t" + destVariableName + "." + writeAccessor
                             + "(new" + destVariableName + destClassFieldName + ");\n");
                     stringBuilder.append("}\n");
 
@@ -410,49 +619,59 @@ public class Map2EntityCodeImpl {
 
         }
 
-        String str = stringBuilder.toString();
+        TransformMethodSplitter.takeFieldCode(stringBuilder, fieldCodes);
 
-        return "{\n" + str + "\n}";
+        return fieldCodes;
     }
 
 
+    /**
+     * 读取 Map 中的值 到 局部变量，之后的 空值检查、类型检查、转换、赋值 都使用该变量
+     *
+     * Examples:
+     *  Object readReadField = source.get("readField");
+     *
+     */
+    private void readValueForTransformMethodBody(StringBuilder stringBuilder,
+                                                 String readVariableName,
+                                                 String readExpression){
+        stringBuilder.append(TrainerConstant.OBJECT_NAME + " " + readVariableName + " = " + readExpression + ";\n");
+    }
+
     /**
      * 简单赋值 代码
      *
      * Examples:
-     *  dest.setWriteField(source.getReadField());
+     *  dest.setWriteField((WriteFieldType) readReadField);
      *
      */
     private void simpleAssignValueConvertForTransformMethodBody(StringBuilder stringBuilder,
                                                                 String destVariableName,
-                                                                String destMethodName,
+                                                                String destAccessor,
                                                                 String destFieldClassName,
-                                                                String sourceVariableName,
-                                                                String sourceClassFieldName){
+                                                                String readVariableName){
         simpleAssignValueConvertForTransformMethodBody(stringBuilder,
                 destVariableName,
-                destMethodName,
+                destAccessor,
                 destFieldClassName,
-                sourceVariableName,
-                sourceClassFieldName,
+                readVariableName,
                 false);
     }
 
     private void simpleAssignValueConvertForTransformMethodBody(StringBuilder stringBuilder,
                                                                 String destVariableName,
-                                                                String destMethodName,
+                                                                String destAccessor,
                                                                 String destFieldClassName,
-                                                                String sourceVariableName,
-                                                                String sourceClassFieldName,
+                                                                String readVariableName,
                                                                 boolean genCheckSkipNull){
-        // Examples: dest.setWriteField(source.getReadField());
+        // Examples: dest.setWriteField((WriteFieldType) readReadField);
         if(genCheckSkipNull) {
-            stringBuilder.append("if(" + sourceVariableName + ".get(\"" + sourceClassFieldName + "\") != null){");
+            stringBuilder.append("if(" + readVariableName + " != null){");
         }
 
-        stringBuilder.append("if(" + sourceVariableName + ".get(\"" + sourceClassFieldName + "\") instanceof " + destFieldClassName + "){");
-        stringBuilder.append(destVariableName + "." + destMethodName + "((" + destFieldClassName + ") "
-                + sourceVariableName + ".get(\"" + sourceClassFieldName + "\"));\n");
+        stringBuilder.append("if(" + readVariableName + " instanceof " + destFieldClassName + "){");
+        stringBuilder.append(destVariableName + "." + destAccessor + "((" + destFieldClassName + ") "
+                + readVariableName + ");\n");
         stringBuilder.append("}");
 
         if(genCheckSkipNull){
@@ -460,23 +679,145 @@ public class Map2EntityCodeImpl {
         }
     }
 
+    /**
+     * Map 中的值 转换为 基本类型 或 数值的 包装类型 后 赋值，
+     * 类型不匹配 时 跳过，为 null 时 目标 是 基本类型 按 primitiveNullPolicy 处理，是 包装类型 跳过
+     *
+     * Examples:
+     *  if(readReadField instanceof java.lang.Number){
+     *      dest.setWriteField(((java.lang.Number) readReadField).longValue());
+     *  }else if(readReadField == null){
+     *      dest.setWriteField(((long) 0));
+     *  }
+     *
+     */
+    private void primitiveAssignValueConvertForTransformMethodBody(StringBuilder stringBuilder,
+                                                                   String destVariableName,
+                                                                   String destAccessor,
+                                                                   String destFieldName,
+                                                                   String readVariableName,
+                                                                   Class writeType,
+                                                                   boolean genCheckSkipNull){
+        String assignPrefix = destVariableName + "." + destAccessor + "(";
+        Class valueType = PrimitiveConversions.valueTypeOf(writeType);
+
+        stringBuilder.append("if(" + readVariableName + " instanceof " + valueType.getName() + "){\n");
+        stringBuilder.append("\t" + assignPrefix
+                + PrimitiveConversions.convertExpression(readVariableName, valueType, writeType) + ");\n");
+        stringBuilder.append("}");
+        if(!genCheckSkipNull && writeType.isPrimitive()){
+            String nullValueCode = PrimitiveConversions.generateNullValueCode(assignPrefix,
+                    destFieldName, writeType, primitiveNullPolicy);
+            if(!nullValueCode.isEmpty()){
+                stringBuilder.append("else if(" + readVariableName + " == null){\n\t" + nullValueCode + "}");
+            }
+        }
+        stringBuilder.append("\n");
+    }
+
     /**
      * 原结果toString后进行赋值
      *
      * Examples:
-     *  dest.setWriteField(source.getReadField() != null ? source.getReadField().toString() : null);
+     *  dest.setWriteField(readReadField != null ? readReadField.toString() : null);
      *
      */
     private void toStringAssignValueConvertForTransformMethodBody(StringBuilder stringBuilder,
                                                                   String destVariableName,
-                                                                  String destMethodName,
-                                                                  String sourceVariableName,
-                                                                  String sourceFieldName){
-
-        // Examples: dest.setWriteField(source.getReadField() != null ? source.getReadField().toString() : null);
-        stringBuilder.append(destVariableName + "." + destMethodName + "("
-                + sourceVariableName + ".get(\"" + sourceFieldName + "\") != null ? "
-                + sourceVariableName + ".get(\"" + sourceFieldName + "\").toString() : null);\n");
+                                                                  String destAccessor,
+                                                                  String readVariableName){
+
+        // Examples: dest.setWriteField(readReadField != null ? readReadField.toString() : null);
+        stringBuilder.append(destVariableName + "." + destAccessor + "("
+                + readVariableName + " != null ? "
+                + readVariableName + ".toString() : null);\n");
+    }
+
+    /**
+     * 通过 链接的 Environment 逐个转换 集合元素，Map 元素 使用 链接的 Environment，其他元素 交给 chameleon
+     *
+     * Examples:
+     *  int readFieldCollectionSize = readFieldCollection.size();
+     *  List newWriteFieldCollection = new ArrayList(readFieldCollectionSize);
+     *  for(int i = 0; i < readFieldCollectionSize; i++){
+     *      Object item = readFieldCollection.get(i);
+     *      if(item == null){
+     *          newWriteFieldCollection.add(null);
+     *      }else if(item instanceof Map){
+     *          newWriteFieldCollection.add(linkedWriteFieldEnvironment.transform(item, adaptationStructureMismatch, skipNull));
+     *      }else{
+     *          newWriteFieldCollection.add(chameleon.transform(item, WriteFieldItem.class, adaptationStructureMismatch, skipNull));
+     *      }
+     *  }
+     *  dest.setWriteField(newWriteFieldCollection);
+     *
+     */
+    private void linkedCollectionConvertForTransformMethodBody(StringBuilder stringBuilder,
+                                                               String destVariableName,
+                                                               String destFieldName,
+                                                               String writeAccessor,
+                                                               String writeMethodGenericParameterTypeName,
+                                                               String sourceVariableName,
+                                                               String sourceClassFieldName,
+                                                               String environmentVariableName,
+                                                               String chameleonVariableName){
+        String sourceCollectionVariableName = sourceVariableName + sourceClassFieldName + "Collection";
+        String sourceCollectionSizeVariableName = sourceCollectionVariableName + "Size";
+        String destCollectionVariableName = "new" + destVariableName + destFieldName + "Collection";
+        String itemVariableName = sourceCollectionVariableName + "Item";
+
+        stringBuilder.append("\tint " + sourceCollectionSizeVariableName + " = " + sourceCollectionVariableName + ".size();\n");
+        stringBuilder.append("\t" + TrainerConstant.LIST_CLASS_NAME + " " + destCollectionVariableName + " = "
+                + "new " + TrainerConstant.ARRAYLIST_CLASS_NAME + "(" + sourceCollectionSizeVariableName + ");\n");
+        stringBuilder.append("\tfor(int i = 0; i < " + sourceCollectionSizeVariableName + "; i++){\n");
+        stringBuilder.append("\t\t" + TrainerConstant.OBJECT_NAME + " " + itemVariableName + " = "
+                + sourceCollectionVariableName + ".get(i);\n");
+        stringBuilder.append("\t\tif(" + itemVariableName + " == null){\n");
+        stringBuilder.append("\t\t\t" + destCollectionVariableName + ".add(null);\n");
+        stringBuilder.append("\t\t}else if(" + itemVariableName + " instanceof " + TrainerConstant.MAP_CLASS_NAME + "){\n");
+        stringBuilder.append("\t\t\t" + destCollectionVariableName + ".add("
+                + environmentVariableName + ".transform(" + itemVariableName + ", $3, $4));\n");
+        stringBuilder.append("\t\t}else{\n");
+        stringBuilder.append("\t\t\t" + destCollectionVariableName + ".add("
+                + "$0." + chameleonVariableName + ".transform("
+                + itemVariableName + ", " + writeMethodGenericParameterTypeName + ".class, $3, $4));\n");
+        stringBuilder.append("\t\t}\n");
+        stringBuilder.append("\t}\n");
+        stringBuilder.append("\t" + destVariableName + "." + writeAccessor + "(" + destCollectionVariableName + ");\n");
+    }
+
+    /**
+     * 链接 嵌套结构 的 Environment，只在首次使用 或 链接版本 变化（readapt、close）时 通过 chameleon 查找，
+     * 之后直接使用字段中的 Environment
+     *
+     * Examples:
+     *  cn.muzin.chameleon.Environment linkedInnerEnvironment = $0.innerEnvironment;
+     *  if(linkedInnerEnvironment == null || $0.innerEnvironmentGeneration != $0.chameleon.getLinkGeneration()){
+     *      $0.innerEnvironmentGeneration = $0.chameleon.getLinkGeneration();
+     *      linkedInnerEnvironment = $0.chameleon.linkEnvironment(AInnerStruct.class, BInnerStruct.class);
+     *      $0.innerEnvironment = linkedInnerEnvironment;
+     *  }
+     *
+     * @return 链接后的 Environment 变量名
+     */
+    private String linkEnvironmentForTransformMethodBody(StringBuilder stringBuilder,
+                                                         String environmentFieldName,
+                                                         String sourceClassName,
+                                                         String destClassName){
+        String chameleonVariableName = VariableUtils.firstCharToLower(TrainerConstant.CHAMELEON_CLASS_SIMPLE_NAME);
+        String environmentVariableName = "linked" + VariableUtils.firstCharToUpper(environmentFieldName);
+
+        stringBuilder.append("\t" + TrainerConstant.ENVIRONMENT_CLASS_NAME + " " + environmentVariableName
+                + " = $0." + environmentFieldName + ";\n");
+        stringBuilder.append("\tif(" + environmentVariableName + " == null || $0." + environmentFieldName + "Generation != $0."
+                + chameleonVariableName + ".getLinkGeneration()){\n");
+        // 先 记录 版本，链接 期间 版本 变化 时 下次 重新 链接
+        stringBuilder.append("\t\t$0." + environmentFieldName + "Generation = $0." + chameleonVariableName + ".getLinkGeneration();\n");
+        stringBuilder.append("\t\t" + environmentVariableName + " = $0." + chameleonVariableName + ".linkEnvironment("
+                + sourceClassName + ".class, " + destClassName + ".class);\n");
+        stringBuilder.append("\t\t$0." + environmentFieldName + " = " + environmentVariableName + ";\n");
+        stringBuilder.append("\t}\n");
+        return environmentVariableName;
     }
 
 }
@@ -0,0 +1,209 @@
+package cn.muzin.chameleon.trainer.code;
+
+import cn.muzin.chameleon.exception.ChameleonTransformException;
+import cn.muzin.chameleon.util.ClassUtils;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * 基本类型、包装类型 之间 的转换
+ *
+ * <p>包括 基本类型 之间 的 拓宽、收窄，基本类型 和 包装类型 之间 的 装箱、拆箱，
+ * 以及 不同数值类型（int、Long、float、Double ...）之间 的转换。
+ * 生成的代码 直接使用 基本类型 的转换指令 和 xxxValue()，不经过 Object。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public final class PrimitiveConversions {
+
+    private static final Class[] PRIMITIVES = new Class[]{
+            boolean.class, char.class, byte.class, short.class, int.class, long.class, float.class, double.class };
+
+    /**
+     * 包装类型 -> 基本类型
+     */
+    private static final Map<Class, Class> WRAPPER_TO_PRIMITIVE = new IdentityHashMap<>(16);
+
+    static {
+        for(Class primitive : PRIMITIVES){
+            WRAPPER_TO_PRIMITIVE.put(ClassUtils.resolvePrimitiveIfNecessary(primitive), primitive);
+        }
+    }
+
+    private PrimitiveConversions(){}
+
+    /**
+     * 实体 之间 是否 需要 基本类型转换：
+     * 类型不同，两边 都是 基本类型 或 包装类型，且 同为 数值类型 或 对应的 基本类型、包装类型；
+     * 或者 基本类型 装箱 后 赋值给 Object、Number 等 父类型
+     * @param from 源类型
+     * @param to 目标类型
+     * @return 是否 需要转换
+     */
+    public static boolean isConvertible(Class from, Class to){
+        if(from == null || to == null || from == to){
+            return false;
+        }
+        Class fromPrimitive = primitiveOf(from);
+        Class toPrimitive = primitiveOf(to);
+        if(fromPrimitive == null || toPrimitive == null){
+            return from.isPrimitive() && !to.isPrimitive() && to.isAssignableFrom(wrapperOf(from));
+        }
+        return fromPrimitive == toPrimitive || (isNumeric(fromPrimitive) && isNumeric(toPrimitive));
+    }
+
+    /**
+     * Map 中的值 赋值给 目标字段 时 是否 需要 基本类型转换：目标 是 基本类型 或 数值的 包装类型
+     * @param to 目标类型
+     * @return 是否 需要转换
+     */
+    public static boolean isMapConvertible(Class to){
+        return to.isPrimitive() || (primitiveOf(to) != null && isNumeric(primitiveOf(to)));
+    }
+
+    /**
+     * @return 基本类型 本身，包装类型 对应的 基本类型，其他 返回 null
+     */
+    public static Class primitiveOf(Class type){
+        return type.isPrimitive() ? type : WRAPPER_TO_PRIMITIVE.get(type);
+    }
+
+    /**
+     * @return 基本类型 对应的 包装类型，其他 返回 本身
+     */
+    public static Class wrapperOf(Class type){
+        return ClassUtils.resolvePrimitiveIfNecessary(type);
+    }
+
+    /**
+     * 是否 是 数值类型（byte、short、int、long、float、double）
+     */
+    public static boolean isNumeric(Class primitive){
+        return primitive != null && primitive.isPrimitive() && primitive != boolean.class && primitive != char.class;
+    }
+
+    /**
+     * Map 中的值 可以转换为 to 类型 时 的类型：数值 为 Number，boolean 为 Boolean，char 为 Character
+     */
+    public static Class valueTypeOf(Class to){
+        Class primitive = primitiveOf(to);
+        return isNumeric(primitive) ? Number.class : wrapperOf(primitive);
+    }
+
+    /**
+     * 将 不为 null 的 from 类型 的表达式 转换为 to 类型，from 为 Number 时 按 数值 转换
+     *
+     * Examples:
+     *  int -> long:        ((long) readField)
+     *  Integer -> long:    ((java.lang.Number) readField).longValue()
+     *  int -> Long:        java.lang.Long.valueOf(((long) readField))
+     *  Integer -> Long:    java.lang.Long.valueOf(((java.lang.Number) readField).longValue())
+     *  Boolean -> boolean: ((java.lang.Boolean) readField).booleanValue()
+     *  int -> Object:      java.lang.Integer.valueOf(readField)
+     *
+     * @param expression 源 表达式
+     * @param from 源类型
+     * @param to 目标类型
+     * @return 转换后的 表达式
+     */
+    public static String convertExpression(String expression, Class from, Class to){
+        Class toPrimitive = primitiveOf(to);
+        if(toPrimitive == null){
+            // 装箱 后 赋值给 Object、Number 等 父类型
+            toPrimitive = primitiveOf(from);
+        }
+        String primitiveExpression = primitiveExpression(expression, from, toPrimitive);
+        if(to.isPrimitive()){
+            return primitiveExpression;
+        }
+        return wrapperOf(toPrimitive).getName() + ".valueOf(" + primitiveExpression + ")";
+    }
+
+    private static String primitiveExpression(String expression, Class from, Class toPrimitive){
+        if(from.isPrimitive()){
+            return from == toPrimitive ? expression : "((" + toPrimitive.getName() + ") " + expression + ")";
+        }
+        if(from == Boolean.class || from == Character.class){
+            return "((" + from.getName() + ") " + expression + ")." + toPrimitive.getName() + "Value()";
+        }
+        return "((" + Number.class.getName() + ") " + expression + ")." + toPrimitive.getName() + "Value()";
+    }
+
+    /**
+     * 源值 为 null 时 的代码：目标 是 基本类型 时 按 policy 处理，是 包装类型 时 赋值为 null
+     *
+     * Examples:
+     *  dest.setWriteField(null);
+     *  dest.setWriteField(((long) 0));
+     *  throw new cn.muzin.chameleon.exception.ChameleonTransformException("...");
+     *
+     * @param assignPrefix 赋值代码 的开头，例如 dest.setWriteField(，之后 拼接 值 和 ");"
+     * @param name 字段名
+     * @param to 目标类型
+     * @param policy 基本类型 的 null 处理方式
+     * @return 代码，不需要处理 时 为 空字符串
+     */
+    public static String generateNullValueCode(String assignPrefix, String name, Class to, PrimitiveNullPolicy policy){
+        if(!to.isPrimitive()){
+            return assignPrefix + "null);\n";
+        }
+        if(policy == PrimitiveNullPolicy.DEFAULT_VALUE){
+            return assignPrefix + defaultValueExpression(to) + ");\n";
+        }
+        if(policy == PrimitiveNullPolicy.FAIL){
+            return "throw new " + ChameleonTransformException.class.getName()
+                    + "(\"" + nullMessage(name, to) + "\");\n";
+        }
+        return "";
+    }
+
+    /**
+     * @return 基本类型 默认值 的表达式，例如 false、((long) 0)
+     */
+    public static String defaultValueExpression(Class primitive){
+        return primitive == boolean.class ? "false" : "((" + primitive.getName() + ") 0)";
+    }
+
+    /**
+     * @return 基本类型 的默认值
+     */
+    public static Object defaultValue(Class primitive){
+        if(primitive == boolean.class){
+            return Boolean.FALSE;
+        }
+        if(primitive == char.class){
+            return Character.valueOf((char) 0);
+        }
+        return convert(Integer.valueOf(0), primitive);
+    }
+
+    /**
+     * 运行时 转换，反射转换时 使用
+     * @param value 不为 null 的值
+     * @param to 目标类型
+     * @return 转换后的值（基本类型 返回 包装类型）
+     */
+    public static Object convert(Object value, Class to){
+        Class toPrimitive = primitiveOf(to);
+        if(!isNumeric(toPrimitive) || !(value instanceof Number)){
+            return value;
+        }
+        Number number = (Number) value;
+        if(toPrimitive == byte.class){ return number.byteValue(); }
+        if(toPrimitive == short.class){ return number.shortValue(); }
+        if(toPrimitive == int.class){ return number.intValue(); }
+        if(toPrimitive == long.class){ return number.longValue(); }
+        if(toPrimitive == float.class){ return number.floatValue(); }
+        return number.doubleValue();
+    }
+
+    /**
+     * 目标 是 基本类型，值 为 null，且 {@link PrimitiveNullPolicy#FAIL} 时 的 错误信息
+     */
+    public static String nullMessage(String name, Class to){
+        return "property '" + name + "' is null and cannot be assigned to " + to.getName();
+    }
+
+}
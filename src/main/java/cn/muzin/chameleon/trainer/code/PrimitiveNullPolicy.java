@@ -0,0 +1,28 @@
+package cn.muzin.chameleon.trainer.code;
+
+/**
+ * 包装类型（或 Map 中的值） 为 null，目标 是 基本类型 时 的处理方式
+ *
+ * <p>skipNull 为 true 时 null 总是 跳过，不使用 该策略。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public enum PrimitiveNullPolicy {
+
+    /**
+     * 跳过，目标字段 保持原值
+     */
+    SKIP,
+
+    /**
+     * 赋值为 基本类型 的默认值（0、false）
+     */
+    DEFAULT_VALUE,
+
+    /**
+     * 抛出 ChameleonTransformException
+     */
+    FAIL
+
+}
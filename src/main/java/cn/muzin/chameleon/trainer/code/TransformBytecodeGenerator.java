@@ -0,0 +1,1583 @@
+package cn.muzin.chameleon.trainer.code;
+
+import cn.muzin.chameleon.convert.TypeConverter;
+import cn.muzin.chameleon.exception.ChameleonTransformException;
+import cn.muzin.chameleon.trainer.TrainerConstant;
+import cn.muzin.chameleon.util.ClassUtils;
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtMethod;
+import javassist.Modifier;
+import javassist.NotFoundException;
+import javassist.bytecode.BadBytecode;
+import javassist.bytecode.Bytecode;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.Opcode;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 直接生成 transform 方法 字节码
+ *
+ * <p>不再拼接 Java 源码 交给 javassist 编译，而是按照 {@link TransformPlan} 直接写出
+ * transform(Object, Object, boolean, boolean) 的字节码，行为和 源码方式 生成的代码一致：</p>
+ * <ul>
+ *     <li>嵌套结构 同样链接 Environment，保存在 volatile 字段中；</li>
+ *     <li>每种 skipNull、adaptationStructureMismatch 组合 生成一个 {@link TransformVariant} 方法，transform 只负责 分发；</li>
+ *     <li>每个字段 的字节码 单独生成，方法 超过 {@link TransformMethodSplitter#SPLIT_METHOD_LENGTH} 前 拆分到 下一个方法。</li>
+ * </ul>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class TransformBytecodeGenerator {
+
+    private static final String OBJECT_DESC = "Ljava/lang/Object;";
+    private static final String CLASS_DESC = "Ljava/lang/Class;";
+    private static final String ENVIRONMENT_DESC = descriptor(TrainerConstant.ENVIRONMENT_CLASS_NAME);
+    private static final String CHAMELEON_DESC = descriptor(TrainerConstant.CHAMELEON_CLASS_NAME);
+
+    /**
+     * transform(Object source, Object dest, boolean adaptationStructureMismatch, boolean skipNull) 的 局部变量
+     */
+    private static final int THIS = 0;
+    private static final int ADAPTATION_STRUCTURE_MISMATCH = 3;
+    private static final int SKIP_NULL = 4;
+    private static final int SOURCE = 5;
+    private static final int DEST = 6;
+    private static final int FIRST_LOCAL = 7;
+
+    /**
+     * 基本类型 -> newarray 的 类型
+     */
+    private static final Map<Class, Integer> NEWARRAY_TYPES = new HashMap<>();
+
+    static {
+        NEWARRAY_TYPES.put(boolean.class, Opcode.T_BOOLEAN);
+        NEWARRAY_TYPES.put(char.class, Opcode.T_CHAR);
+        NEWARRAY_TYPES.put(float.class, Opcode.T_FLOAT);
+        NEWARRAY_TYPES.put(double.class, Opcode.T_DOUBLE);
+        NEWARRAY_TYPES.put(byte.class, Opcode.T_BYTE);
+        NEWARRAY_TYPES.put(short.class, Opcode.T_SHORT);
+        NEWARRAY_TYPES.put(int.class, Opcode.T_INT);
+        NEWARRAY_TYPES.put(long.class, Opcode.T_LONG);
+    }
+
+    /**
+     * 基本类型 之间 的转换指令，按 int、long、float、double 排列：PRIMITIVE_CONVERSIONS[from][to]
+     */
+    private static final int[][] PRIMITIVE_CONVERSIONS = {
+            { Opcode.NOP, Opcode.I2L, Opcode.I2F, Opcode.I2D },
+            { Opcode.L2I, Opcode.NOP, Opcode.L2F, Opcode.L2D },
+            { Opcode.F2I, Opcode.F2L, Opcode.NOP, Opcode.F2D },
+            { Opcode.D2I, Opcode.D2L, Opcode.D2F, Opcode.NOP }
+    };
+
+    private final CtClass ctClass;
+
+    private final TransformPlan transformPlan;
+
+    private final TransformVariant transformVariant;
+
+    private final Set<String> environmentFieldNames;
+
+    /**
+     * 自定义转换器 的 字段名 -> 转换器，所有 TransformVariant 共用
+     */
+    private final Map<String, TypeConverter> converterFields;
+
+    private final PrimitiveNullPolicy primitiveNullPolicy;
+
+    /**
+     * 当前 生成中 的字节码，每个字段 单独生成，跳转 都是 相对偏移，可以直接拼接
+     */
+    private Bytecode code;
+
+    /**
+     * 给 形参 命名 的字节码，每个方法 开头 都需要
+     */
+    private byte[] prologueCode;
+
+    /**
+     * 每个字段 的字节码
+     */
+    private final List<byte[]> fieldCodes = new ArrayList<>();
+
+    /**
+     * 串在一起的 跳转，通过 patch 一起补上
+     */
+    private final List<int[]> chainedBranches = new ArrayList<>();
+
+    private int loopStart;
+
+    private int loopEndBranch;
+
+    private int maxLocals = FIRST_LOCAL;
+
+    private TransformBytecodeGenerator(CtClass ctClass, TransformPlan transformPlan,
+                                       TransformVariant transformVariant, Set<String> environmentFieldNames,
+                                       Map<String, TypeConverter> converterFields, PrimitiveNullPolicy primitiveNullPolicy){
+        this.ctClass = ctClass;
+        this.transformPlan = transformPlan;
+        this.transformVariant = transformVariant;
+        this.environmentFieldNames = environmentFieldNames;
+        this.converterFields = converterFields;
+        this.primitiveNullPolicy = primitiveNullPolicy;
+        this.code = newBytecode();
+    }
+
+    /**
+     * 生成 各 {@link TransformVariant} 方法 和 分发的 transform 方法 的字节码，并添加 嵌套结构 链接的 Environment 字段
+     * @param ctClass 生成的 Environment 类
+     * @param transformCtMethod transform(Object, Object, boolean, boolean) 方法
+     * @param transformPlan 转换计划
+     * @param primitiveNullPolicy 目标 是 基本类型，值 为 null 时 的处理方式
+     */
+    public static void generate(CtClass ctClass, CtMethod transformCtMethod, TransformPlan transformPlan,
+                                PrimitiveNullPolicy primitiveNullPolicy)
+            throws CannotCompileException, NotFoundException {
+        Set<String> environmentFieldNames = new LinkedHashSet<>();
+        Map<String, TypeConverter> converterFields = new LinkedHashMap<>();
+        List<TransformBytecodeGenerator> generators = new ArrayList<>();
+        for(TransformVariant transformVariant : TransformVariant.values()){
+            TransformBytecodeGenerator generator =
+                    new TransformBytecodeGenerator(ctClass, transformPlan, transformVariant,
+                            environmentFieldNames, converterFields, primitiveNullPolicy);
+            generator.generateFieldCodes();
+            generators.add(generator);
+        }
+
+        ClassPool pool = ctClass.getClassPool();
+        // 新增 嵌套结构 链接的 Environment 字段，首次使用时通过 chameleon 链接
+        for(String environmentFieldName : environmentFieldNames){
+            CtField environmentField = new CtField(pool.get(TrainerConstant.ENVIRONMENT_CLASS_NAME), environmentFieldName, ctClass);
+            environmentField.setModifiers(Modifier.PRIVATE | Modifier.VOLATILE);
+            ctClass.addField(environmentField);
+            // 链接时的 链接版本，与 chameleon 的 不同 时 重新 链接
+            CtField generationField = new CtField(CtClass.longType, environmentFieldName + "Generation", ctClass);
+            generationField.setModifiers(Modifier.PRIVATE | Modifier.VOLATILE);
+            ctClass.addField(generationField);
+        }
+        // 新增 自定义转换器 的 static final 字段
+        ConverterLinker.addConverterFields(ctClass, converterFields);
+
+        for(TransformBytecodeGenerator generator : generators){
+            generator.addMethods();
+        }
+
+        TransformBytecodeGenerator dispatcher =
+                new TransformBytecodeGenerator(ctClass, transformPlan, null,
+                environmentFieldNames, converterFields, primitiveNullPolicy);
+        dispatcher.generateDispatchMethod();
+        dispatcher.install(transformCtMethod, Modifier.PUBLIC);
+    }
+
+    /**
+     * 按字段 将字节码 放入 方法，方法 超过 SPLIT_METHOD_LENGTH 前 拆分到 下一个方法，
+     * 拆分后 该组合 的方法 依次调用 拆分出的方法
+     */
+    private void addMethods() throws CannotCompileException, NotFoundException {
+        List<List<byte[]>> parts = new ArrayList<>();
+        List<byte[]> part = new ArrayList<>();
+        // 开头 和 最后的 return
+        int emptyLength = prologueCode.length + 1;
+        int length = emptyLength;
+        for(byte[] fieldCode : fieldCodes){
+            if(!part.isEmpty() && length + fieldCode.length > TransformMethodSplitter.SPLIT_METHOD_LENGTH){
+                parts.add(part);
+                part = new ArrayList<>();
+                length = emptyLength;
+            }
+            part.add(fieldCode);
+            length += fieldCode.length;
+        }
+        parts.add(part);
+
+        String methodName = transformVariant.getMethodName();
+        if(parts.size() == 1){
+            addMethod(methodName, parts.get(0));
+            return;
+        }
+
+        List<String> partMethodNames = new ArrayList<>(parts.size());
+        for(int i = 0; i < parts.size(); i++){
+            String partMethodName = methodName + "Part" + (i + 1);
+            addMethod(partMethodName, parts.get(i));
+            partMethodNames.add(partMethodName);
+        }
+
+        // Examples: this.transformPlainPart1(...); this.transformPlainPart2(...);
+        code = newBytecode();
+        for(String partMethodName : partMethodNames){
+            invokeTransformMethod(partMethodName);
+        }
+        code.addOpcode(Opcode.RETURN);
+
+        CtMethod ctMethod = transformVariant.newCtMethod(ctClass, methodName);
+        install(ctMethod, Modifier.PRIVATE);
+        ctClass.addMethod(ctMethod);
+    }
+
+    private void addMethod(String methodName, List<byte[]> methodFieldCodes)
+            throws CannotCompileException, NotFoundException {
+        code = newBytecode();
+        append(prologueCode);
+        for(byte[] fieldCode : methodFieldCodes){
+            append(fieldCode);
+        }
+        code.addOpcode(Opcode.RETURN);
+
+        CtMethod ctMethod = transformVariant.newCtMethod(ctClass, methodName);
+        install(ctMethod, Modifier.PRIVATE);
+        ctClass.addMethod(ctMethod);
+    }
+
+    private void install(CtMethod ctMethod, int modifiers) throws CannotCompileException {
+        code.setMaxLocals(maxLocals);
+        MethodInfo methodInfo = ctMethod.getMethodInfo();
+        CodeAttribute codeAttribute = code.toCodeAttribute();
+        try {
+            codeAttribute.computeMaxStack();
+            methodInfo.setCodeAttribute(codeAttribute);
+            ctMethod.setModifiers(modifiers);
+            methodInfo.rebuildStackMapIf6(ctClass.getClassPool(), ctClass.getClassFile());
+        } catch (BadBytecode e) {
+            throw new CannotCompileException(e);
+        }
+    }
+
+    /**
+     * Examples:
+     *  if(adaptationStructureMismatch){
+     *      if(skipNull){ this.transformAdaptationSkipNull(...); }else{ this.transformAdaptation(...); }
+     *  }else{
+     *      if(skipNull){ this.transformSkipNull(...); }else{ this.transformPlain(...); }
+     *  }
+     */
+    private void generateDispatchMethod(){
+        maxLocals = SKIP_NULL + 1;
+        int notAdaptationBranch = branch(Opcode.IFEQ, ADAPTATION_STRUCTURE_MISMATCH);
+        dispatch(TransformVariant.ADAPTATION_SKIP_NULL, TransformVariant.ADAPTATION);
+        patch(notAdaptationBranch);
+        dispatch(TransformVariant.SKIP_NULL, TransformVariant.PLAIN);
+    }
+
+    private void dispatch(TransformVariant skipNullVariant, TransformVariant variant){
+        int notSkipNullBranch = branch(Opcode.IFEQ, SKIP_NULL);
+        invokeVariant(skipNullVariant);
+        patch(notSkipNullBranch);
+        invokeVariant(variant);
+    }
+
+    private void invokeVariant(TransformVariant transformVariant){
+        invokeTransformMethod(transformVariant.getMethodName());
+        code.addOpcode(Opcode.RETURN);
+    }
+
+    /**
+     * Examples: this.methodName(source, dest, adaptationStructureMismatch, skipNull);
+     */
+    private void invokeTransformMethod(String methodName){
+        code.addAload(THIS);
+        code.addAload(1);
+        code.addAload(2);
+        code.addIload(ADAPTATION_STRUCTURE_MISMATCH);
+        code.addIload(SKIP_NULL);
+        code.addInvokespecial(ctClass, methodName, TransformVariant.METHOD_DESCRIPTOR);
+    }
+
+    private void generateFieldCodes(){
+        Class sourceClass = transformPlan.isSourceIsMap() ? java.util.Map.class : transformPlan.getSourceClass();
+        Class destClass = transformPlan.isDestIsMap() ? java.util.Map.class : transformPlan.getDestClass();
+
+        // 给 形参 命名
+        // Examples: SourceClass source = (SourceClass) $1; DestClass dest = (DestClass) $2;
+        code.addAload(1);
+        code.addCheckcast(sourceClass.getName());
+        code.addAstore(SOURCE);
+        code.addAload(2);
+        code.addCheckcast(destClass.getName());
+        code.addAstore(DEST);
+        prologueCode = code.get();
+
+        for(FieldTransform fieldTransform : transformPlan.getFieldTransforms()){
+            // 不适配 结构不匹配 时，集合、嵌套结构 不转换
+            if(!transformVariant.isAdaptationStructureMismatch() && fieldTransform.isStructural()){
+                continue;
+            }
+
+            code = newBytecode();
+
+            // 每个字段 使用 相同的 局部变量 区间
+            int value = FIRST_LOCAL;
+            int nextLocal = value + slotSize(fieldTransform.getSourceType());
+
+            readValue(fieldTransform, value);
+
+            switch (fieldTransform.getKind()){
+                case SIMPLE:
+                    nextLocal = simpleConvert(fieldTransform, value, nextLocal);
+                    break;
+                case PRIMITIVE:
+                    nextLocal = primitiveConvert(fieldTransform, value, nextLocal);
+                    break;
+                case CONVERT:
+                    nextLocal = converterConvert(fieldTransform, value, nextLocal);
+                    break;
+                case TO_STRING:
+                    nextLocal = toStringConvert(fieldTransform, value, nextLocal);
+                    break;
+                case COLLECTION_TO_STRING:
+                    nextLocal = collectionToStringConvert(fieldTransform, value, nextLocal);
+                    break;
+                case COLLECTION_TO_STRUCT:
+                    nextLocal = collectionToStructConvert(fieldTransform, value, nextLocal);
+                    break;
+                case TO_STRUCT:
+                    nextLocal = toStructConvert(fieldTransform, value, nextLocal);
+                    break;
+                case CLONE:
+                    nextLocal = cloneConvert(fieldTransform, value, nextLocal);
+                    break;
+                case ARRAY_COPY:
+                    nextLocal = arrayCopyConvert(fieldTransform, value, nextLocal);
+                    break;
+                case ARRAY:
+                    nextLocal = arrayConvert(fieldTransform, value, nextLocal);
+                    break;
+                case COLLECTION:
+                case MAP:
+                    nextLocal = collectionConvert(fieldTransform, value, nextLocal);
+                    break;
+                default:
+                    break;
+            }
+            maxLocals = Math.max(maxLocals, nextLocal);
+            fieldCodes.add(code.get());
+        }
+    }
+
+    /**
+     * Examples:
+     *  if(readField != null){ // 只在 skipNull 的方法中 生成
+     *      dest.setWriteField(readField);
+     *  }
+     */
+    private int simpleConvert(FieldTransform fieldTransform, int value, int nextLocal){
+        Class sourceType = fieldTransform.getSourceType();
+        Class destType = fieldTransform.getDestType();
+
+        int endBranch = -1;
+        if(transformVariant.isSkipNull() && !sourceType.isPrimitive()){
+            code.addAload(value);
+            endBranch = branch(Opcode.IFNULL);
+        }
+
+        int notInstanceBranch = -1;
+        if(transformPlan.isSourceIsMap()){
+            // Map 中的值 类型不匹配 跳过
+            code.addAload(value);
+            code.addInstanceof(wrapper(destType).getName());
+            notInstanceBranch = branch(Opcode.IFEQ);
+        }
+
+        beginWrite(fieldTransform);
+        load(sourceType, value);
+        endWrite(fieldTransform, sourceType);
+
+        patch(endBranch);
+        patch(notInstanceBranch);
+        return nextLocal;
+    }
+
+    /**
+     * 基本类型、包装类型 之间 的转换，直接使用 转换指令 和 xxxValue()
+     *
+     * Examples:
+     *  dest.setWriteField((long) readField);
+     *
+     *  if(readField != null){                      // 源 是 包装类型
+     *      dest.setWriteField(readField.longValue());
+     *  }else{
+     *      ...                                     // 按 primitiveNullPolicy 处理，skipNull 时 跳过
+     *  }
+     *
+     *  if(readField instanceof Number){            // 源 是 Map
+     *      dest.setWriteField(((Number) readField).longValue());
+     *  }else if(readField == null){
+     *      ...
+     *  }
+     */
+    private int primitiveConvert(FieldTransform fieldTransform, int value, int nextLocal){
+        Class sourceType = fieldTransform.getSourceType();
+        Class destType = fieldTransform.getDestType();
+
+        if(sourceType.isPrimitive()){
+            beginWrite(fieldTransform);
+            load(sourceType, value);
+            endWrite(fieldTransform, sourceType);
+            return nextLocal;
+        }
+
+        Class valueType = sourceType;
+        if(transformPlan.isSourceIsMap()){
+            // Map 中的值 类型不匹配 跳过
+            valueType = PrimitiveConversions.valueTypeOf(destType);
+            code.addAload(value);
+            code.addInstanceof(valueType.getName());
+        }else{
+            code.addAload(value);
+        }
+        int otherwiseBranch = branch(transformPlan.isSourceIsMap() ? Opcode.IFEQ : Opcode.IFNULL);
+
+        beginWrite(fieldTransform);
+        code.addAload(value);
+        if(transformPlan.isSourceIsMap()){
+            code.addCheckcast(valueType.getName());
+        }
+        endWrite(fieldTransform, valueType);
+
+        endNullSafeConvert(fieldTransform, value, otherwiseBranch);
+        return nextLocal;
+    }
+
+    /**
+     * 调用 自定义转换器 或 内置转换方法，参数 和 返回值 按需 进行 基本类型 转换
+     *
+     * Examples:
+     *  dest.setWriteField((WriteField) writeFieldConverter.convert(Integer.valueOf(readField)));
+     *  dest.setWriteField(BuiltinConverters.toBigDecimal((long) readField));
+     *
+     *  if(readField != null){                      // 源 不是 基本类型
+     *      dest.setWriteField(Long.valueOf(BuiltinConverters.toLong(readField)));
+     *  }else{
+     *      ...                                     // 按 primitiveNullPolicy 处理，skipNull 时 跳过
+     *  }
+     */
+    private int converterConvert(FieldTransform fieldTransform, int value, int nextLocal){
+        Class sourceType = fieldTransform.getSourceType();
+        Method converter = fieldTransform.getConverter();
+
+        int otherwiseBranch = -1;
+        if(!sourceType.isPrimitive()){
+            code.addAload(value);
+            otherwiseBranch = branch(Opcode.IFNULL);
+        }
+
+        beginWrite(fieldTransform);
+        TypeConverter typeConverter = fieldTransform.getTypeConverter();
+        if(typeConverter != null){
+            // 转换器 保存在 static final 字段 中
+            String converterFieldName = ConverterLinker.converterFieldName(fieldTransform.getName());
+            converterFields.put(converterFieldName, typeConverter);
+            code.addGetstatic(ctClass, converterFieldName, descriptor(TypeConverter.class.getName()));
+            load(sourceType, value);
+            convert(sourceType, Object.class);
+            code.addInvokeinterface(TypeConverter.class.getName(), "convert", "(" + OBJECT_DESC + ")" + OBJECT_DESC, 2);
+            endWrite(fieldTransform, Object.class);
+        }else{
+            load(sourceType, value);
+            convert(sourceType, converter.getParameterTypes()[0]);
+            code.addInvokestatic(converter.getDeclaringClass().getName(), converter.getName(),
+                    ClassReaderUtil.getMethodDescriptor(converter));
+            endWrite(fieldTransform, converter.getReturnType());
+        }
+
+        if(!sourceType.isPrimitive()){
+            endNullSafeConvert(fieldTransform, value, otherwiseBranch);
+        }
+        return nextLocal;
+    }
+
+    /**
+     * 源值 为 null（源 是 Map 时 类型不匹配）时 跳转到 otherwiseBranch，在这里 处理 null
+     */
+    private void endNullSafeConvert(FieldTransform fieldTransform, int value, int otherwiseBranch){
+        Class destType = fieldTransform.getDestType();
+
+        // Map 中的值 为 null 时，只有 基本类型 需要处理
+        boolean writeNull = !transformVariant.isSkipNull()
+                && (destType.isPrimitive() ? primitiveNullPolicy != PrimitiveNullPolicy.SKIP : !transformPlan.isSourceIsMap());
+        if(!writeNull){
+            patch(otherwiseBranch);
+            return;
+        }
+
+        int endBranch = branch(Opcode.GOTO);
+        patch(otherwiseBranch);
+        int notNullBranch = -1;
+        if(transformPlan.isSourceIsMap()){
+            code.addAload(value);
+            notNullBranch = branch(Opcode.IFNONNULL);
+        }
+        writeNullValue(fieldTransform);
+        patch(endBranch);
+        patch(notNullBranch);
+    }
+
+    /**
+     * 源值 为 null 时：目标 是 包装类型 赋值为 null，是 基本类型 赋值为 默认值 或 抛出异常
+     *
+     * Examples:
+     *  dest.setWriteField(null); 或 dest.setWriteField(0L); 或 throw new ChameleonTransformException("...");
+     */
+    private void writeNullValue(FieldTransform fieldTransform){
+        Class destType = fieldTransform.getDestType();
+        if(destType.isPrimitive() && primitiveNullPolicy == PrimitiveNullPolicy.FAIL){
+            code.addNew(ChameleonTransformException.class.getName());
+            code.addOpcode(Opcode.DUP);
+            code.addLdc(PrimitiveConversions.nullMessage(fieldTransform.getName(), destType));
+            code.addInvokespecial(ChameleonTransformException.class.getName(), "<init>", "(Ljava/lang/String;)V");
+            code.addOpcode(Opcode.ATHROW);
+            return;
+        }
+
+        beginWrite(fieldTransform);
+        pushDefaultValue(destType);
+        endWrite(fieldTransform, destType);
+    }
+
+    /**
+     * Examples:
+     *  dest.setWriteField(readField != null ? readField.toString() : null);
+     */
+    private int toStringConvert(FieldTransform fieldTransform, int value, int nextLocal){
+        Class sourceType = fieldTransform.getSourceType();
+
+        beginWrite(fieldTransform);
+        if(sourceType.isPrimitive()){
+            load(sourceType, value);
+            code.addInvokestatic(String.class.getName(), "valueOf",
+                    "(" + stringValueOfParameterDescriptor(sourceType) + ")Ljava/lang/String;");
+        }else{
+            code.addAload(value);
+            int nullBranch = branch(Opcode.IFNULL);
+            code.addAload(value);
+            code.addInvokevirtual(Object.class.getName(), "toString", "()Ljava/lang/String;");
+            int doneBranch = branch(Opcode.GOTO);
+            patch(nullBranch);
+            code.addOpcode(Opcode.ACONST_NULL);
+            patch(doneBranch);
+        }
+        endWrite(fieldTransform, String.class);
+        return nextLocal;
+    }
+
+    /**
+     * Examples:
+     *  if(readFieldCollection != null) {
+     *      int size = readFieldCollection.size();
+     *      List newWriteFieldCollection = new ArrayList(size);
+     *      for(int i = 0; i < size; i++){
+     *          Object item = readFieldCollection.get(i);
+     *          newWriteFieldCollection.add(item != null ? item.toString() : null);
+     *      }
+     *      dest.setWriteField(newWriteFieldCollection);
+     *  }
+     */
+    private int collectionToStringConvert(FieldTransform fieldTransform, int value, int nextLocal){
+        int collection = nextLocal++;
+        int size = nextLocal++;
+        int newCollection = nextLocal++;
+        int index = nextLocal++;
+        int item = nextLocal++;
+
+        int endBranch = beginCollectionConvert(value, collection);
+        beginCollectionLoop(collection, size, newCollection, index, item);
+
+        code.addAload(newCollection);
+        code.addAload(item);
+        int nullBranch = branch(Opcode.IFNULL);
+        code.addAload(item);
+        code.addInvokevirtual(Object.class.getName(), "toString", "()Ljava/lang/String;");
+        int doneBranch = branch(Opcode.GOTO);
+        patch(nullBranch);
+        code.addOpcode(Opcode.ACONST_NULL);
+        patch(doneBranch);
+        addToCollection();
+
+        endCollectionLoop(fieldTransform, newCollection, index);
+        patch(endBranch);
+        return nextLocal;
+    }
+
+    /**
+     * Examples:
+     *  if(readFieldCollection != null) {
+     *      Environment linkedWriteFieldEnvironment = ...;
+     *      int size = readFieldCollection.size();
+     *      List newWriteFieldCollection = new ArrayList(size);
+     *      for(int i = 0; i < size; i++){
+     *          Object item = readFieldCollection.get(i);
+     *          if(item == null){
+     *              newWriteFieldCollection.add(null);
+     *          }else{
+     *              newWriteFieldCollection.add(linkedWriteFieldEnvironment.transform(item, adaptationStructureMismatch, skipNull));
+     *          }
+     *      }
+     *      dest.setWriteField(newWriteFieldCollection);
+     *  }
+     */
+    private int collectionToStructConvert(FieldTransform fieldTransform, int value, int nextLocal){
+        int collection = nextLocal++;
+
+        if(!isLinkable(fieldTransform)){
+            // Examples: dest.setWriteField((List) chameleon.transform(readFieldCollection, WriteField.class, adaptationStructureMismatch, skipNull));
+            int endBranch = beginCollectionConvert(value, collection);
+            beginWrite(fieldTransform);
+            loadChameleon();
+            code.addAload(collection);
+            code.addLdc(classInfo(fieldTransform.getDestStructClass()));
+            code.addIload(ADAPTATION_STRUCTURE_MISMATCH);
+            code.addIload(SKIP_NULL);
+            code.addInvokevirtual(TrainerConstant.CHAMELEON_CLASS_NAME, "transform",
+                    "(Ljava/util/Collection;" + CLASS_DESC + "ZZ)Ljava/util/List;");
+            endWrite(fieldTransform, List.class);
+            patch(endBranch);
+            return nextLocal;
+        }
+
+        int environment = nextLocal++;
+        int size = nextLocal++;
+        int newCollection = nextLocal++;
+        int index = nextLocal++;
+        int item = nextLocal++;
+
+        int endBranch = beginCollectionConvert(value, collection);
+        linkEnvironment(fieldTransform, environment);
+        beginCollectionLoop(collection, size, newCollection, index, item);
+
+        code.addAload(item);
+        int notNullBranch = branch(Opcode.IFNONNULL);
+        code.addAload(newCollection);
+        code.addOpcode(Opcode.ACONST_NULL);
+        addToCollection();
+        int nextBranch = branch(Opcode.GOTO);
+        patch(notNullBranch);
+
+        int linkedBranch = -1;
+        if(transformPlan.isSourceIsMap()){
+            // 不是 Map 的元素 交给 chameleon
+            code.addAload(item);
+            code.addInstanceof(TrainerConstant.MAP_CLASS_NAME);
+            linkedBranch = branch(Opcode.IFNE);
+            code.addAload(newCollection);
+            chameleonTransform(item, fieldTransform.getDestStructClass());
+            addToCollection();
+            nextBranch = chain(nextBranch, branch(Opcode.GOTO));
+            patch(linkedBranch);
+        }
+
+        code.addAload(newCollection);
+        environmentTransform(environment, item);
+        addToCollection();
+
+        patch(nextBranch);
+        endCollectionLoop(fieldTransform, newCollection, index);
+        patch(endBranch);
+        return nextLocal;
+    }
+
+    /**
+     * Examples:
+     *  if(readField != null) {
+     *      Environment linkedWriteFieldEnvironment = ...;
+     *      dest.setWriteField((WriteField) linkedWriteFieldEnvironment.transform(readField, adaptationStructureMismatch, skipNull));
+     *  }
+     */
+    private int toStructConvert(FieldTransform fieldTransform, int value, int nextLocal){
+        int endBranch = beginStructConvert(value);
+
+        if(!isLinkable(fieldTransform)){
+            // Examples: dest.setWriteField((WriteField) chameleon.transform(readField, WriteField.class, adaptationStructureMismatch, skipNull));
+            beginWrite(fieldTransform);
+            chameleonTransform(value, fieldTransform.getDestStructClass());
+            endWrite(fieldTransform, Object.class);
+            patch(endBranch);
+            return nextLocal;
+        }
+
+        int environment = nextLocal++;
+
+        linkEnvironment(fieldTransform, environment);
+
+        int doneBranch = -1;
+        if(transformPlan.isSourceIsMap()){
+            // 不是 Map 的值 交给 chameleon
+            code.addAload(value);
+            code.addInstanceof(TrainerConstant.MAP_CLASS_NAME);
+            int linkedBranch = branch(Opcode.IFNE);
+            beginWrite(fieldTransform);
+            chameleonTransform(value, fieldTransform.getDestStructClass());
+            endWrite(fieldTransform, Object.class);
+            doneBranch = branch(Opcode.GOTO);
+            patch(linkedBranch);
+        }
+
+        beginWrite(fieldTransform);
+        environmentTransform(environment, value);
+        endWrite(fieldTransform, Object.class);
+
+        patch(doneBranch);
+        patch(endBranch);
+        return nextLocal;
+    }
+
+    /**
+     * 同类型 深拷贝，按 运行时类型 复制
+     *
+     * Examples:
+     *  if(readField != null) {
+     *      Environment linkedWriteFieldEnvironment = ...;  // 声明类型 可以直接创建 时
+     *      dest.setWriteField((WriteField) (readField.getClass() == WriteField.class
+     *              ? linkedWriteFieldEnvironment.transform(readField, adaptationStructureMismatch, skipNull)
+     *              : chameleon.cloneValue(readField, adaptationStructureMismatch, skipNull)));
+     *  }
+     */
+    private int cloneConvert(FieldTransform fieldTransform, int value, int nextLocal){
+        int endBranch = beginStructConvert(value);
+
+        int environment = -1;
+        if(CloneConversions.isCloneable(fieldTransform.getSourceStructClass())){
+            environment = nextLocal++;
+            linkEnvironment(fieldTransform, environment);
+        }
+
+        beginWrite(fieldTransform);
+        cloneValue(value, environment, fieldTransform.getSourceStructClass());
+        endWrite(fieldTransform, Object.class);
+
+        patch(endBranch);
+        return nextLocal;
+    }
+
+    /**
+     * 将 复制的值 入栈，运行时类型 与 声明类型 相同 时 使用 链接的 Environment，否则 交给 chameleon
+     *
+     * Examples:
+     *  value.getClass() == Declared.class
+     *          ? linkedEnvironment.transform(value, adaptationStructureMismatch, skipNull)
+     *          : chameleon.cloneValue(value, adaptationStructureMismatch, skipNull)
+     */
+    private void cloneValue(int value, int environment, Class declaredClass){
+        int doneBranch = -1;
+        if(environment != -1){
+            code.addAload(value);
+            code.addInvokevirtual(Object.class.getName(), "getClass", "()" + CLASS_DESC);
+            code.addLdc(classInfo(declaredClass));
+            int otherBranch = branch(Opcode.IF_ACMPNE);
+            environmentTransform(environment, value);
+            doneBranch = branch(Opcode.GOTO);
+            patch(otherBranch);
+        }
+        loadChameleon();
+        code.addAload(value);
+        code.addIload(ADAPTATION_STRUCTURE_MISMATCH);
+        code.addIload(SKIP_NULL);
+        code.addInvokevirtual(TrainerConstant.CHAMELEON_CLASS_NAME, "cloneValue",
+                "(" + OBJECT_DESC + "ZZ)" + OBJECT_DESC);
+        patch(doneBranch);
+    }
+
+    /**
+     * Examples:
+     *  if(readField != null){
+     *      dest.setWriteField(Arrays.copyOf(readField, readField.length));
+     *  }else{
+     *      dest.setWriteField(null);                       // skipNull 时 跳过
+     *  }
+     */
+    private int arrayCopyConvert(FieldTransform fieldTransform, int value, int nextLocal){
+        Class destType = fieldTransform.getDestType();
+
+        code.addAload(value);
+        int otherwiseBranch = branch(Opcode.IFNULL);
+
+        beginWrite(fieldTransform);
+        code.addAload(value);
+        code.addAload(value);
+        code.addOpcode(Opcode.ARRAYLENGTH);
+        if(destType.getComponentType().isPrimitive()){
+            String arrayDesc = descriptor(destType);
+            code.addInvokestatic(Arrays.class.getName(), "copyOf", "(" + arrayDesc + "I)" + arrayDesc);
+        }else{
+            code.addInvokestatic(Arrays.class.getName(), "copyOf", "([" + OBJECT_DESC + "I)[" + OBJECT_DESC);
+            code.addCheckcast(destType.getName());
+        }
+        endWrite(fieldTransform, destType);
+
+        endNullSafeConvert(fieldTransform, value, otherwiseBranch);
+        return nextLocal;
+    }
+
+    /**
+     * 数组 与 数组、List 之间 按元素 转换，写入 预先分配大小 的 数组 或 ArrayList
+     *
+     * Examples:
+     *  if(readField != null){
+     *      Environment linkedWriteFieldEnvironment = ...;  // 元素 是 可以链接的 嵌套结构 时
+     *      int length = readField.length;                  // 或 readField.size()
+     *      WriteItem[] newWriteField = new WriteItem[length]; // 或 new ArrayList(length)
+     *      for(int i = 0; i < length; i++){
+     *          ReadItem item = readField[i];               // 或 (ReadItem) readField.get(i)
+     *          newWriteField[i] = convert(item);           // 或 newWriteField.add(convert(item))
+     *      }
+     *      dest.setWriteField(newWriteField);
+     *  }else{
+     *      dest.setWriteField(null);                       // skipNull 时 跳过
+     *  }
+     */
+    private int arrayConvert(FieldTransform fieldTransform, int value, int nextLocal){
+        Class sourceType = fieldTransform.getSourceType();
+        Class destType = fieldTransform.getDestType();
+        Class sourceElementClass = fieldTransform.getSourceStructClass();
+        Class destElementClass = fieldTransform.getDestStructClass();
+
+        int length = nextLocal++;
+        int newArray = nextLocal++;
+        int index = nextLocal++;
+        int environment = nextLocal++;
+        int item = nextLocal;
+        nextLocal += slotSize(sourceElementClass);
+
+        code.addAload(value);
+        int otherwiseBranch = branch(Opcode.IFNULL);
+
+        boolean linked = isElementLinkable(fieldTransform);
+        if(linked){
+            linkEnvironment(fieldTransform, environment);
+        }
+
+        code.addAload(value);
+        if(sourceType.isArray()){
+            code.addOpcode(Opcode.ARRAYLENGTH);
+        }else{
+            code.addInvokeinterface(TrainerConstant.LIST_CLASS_NAME, "size", "()I", 1);
+        }
+        code.addIstore(length);
+
+        if(destType.isArray()){
+            code.addIload(length);
+            newArray(destElementClass);
+        }else{
+            code.addNew(TrainerConstant.ARRAYLIST_CLASS_NAME);
+            code.addOpcode(Opcode.DUP);
+            code.addIload(length);
+            code.addInvokespecial(TrainerConstant.ARRAYLIST_CLASS_NAME, "<init>", "(I)V");
+        }
+        code.addAstore(newArray);
+
+        code.addIconst(0);
+        code.addIstore(index);
+        int arrayLoopStart = code.currentPc();
+        code.addIload(index);
+        code.addIload(length);
+        int arrayLoopEndBranch = branch(Opcode.IF_ICMPGE);
+
+        code.addAload(value);
+        code.addIload(index);
+        if(sourceType.isArray()){
+            arrayLoad(sourceElementClass);
+        }else{
+            code.addInvokeinterface(TrainerConstant.LIST_CLASS_NAME, "get", "(I)" + OBJECT_DESC, 2);
+            code.addCheckcast(sourceElementClass.getName());
+        }
+        store(sourceElementClass, item);
+
+        code.addAload(newArray);
+        if(destType.isArray()){
+            code.addIload(index);
+        }
+        convertElement(fieldTransform, item, linked ? environment : -1);
+        if(destType.isArray()){
+            arrayStore(destElementClass);
+        }else{
+            convert(destElementClass, Object.class);
+            addToCollection();
+        }
+
+        code.addOpcode(Opcode.IINC);
+        code.add(index);
+        code.add(1);
+        jump(Opcode.GOTO, arrayLoopStart);
+        patch(arrayLoopEndBranch);
+
+        beginWrite(fieldTransform);
+        code.addAload(newArray);
+        endWrite(fieldTransform, destType.isArray() ? destType : List.class);
+
+        endNullSafeConvert(fieldTransform, value, otherwiseBranch);
+        return nextLocal;
+    }
+
+    /**
+     * Set、Collection、Queue、Map 之间 按元素 转换，写入 按 源集合 大小 预先分配 容量 的 实现
+     *
+     * Examples:
+     *  if(readField != null){
+     *      Environment linkedWriteFieldEnvironment = ...;  // 元素 是 可以链接的 嵌套结构 时
+     *      HashSet newWriteField = new HashSet(CollectionConversions.hashCapacity(readField.size()));
+     *      Iterator iterator = readField.iterator();       // Map 时 readField.entrySet().iterator()
+     *      while(iterator.hasNext()){
+     *          ReadItem item = (ReadItem) iterator.next(); // Map 时 entry = (Map.Entry) iterator.next(); item = (ReadItem) entry.getValue();
+     *          if(item == null) continue;                  // TreeSet 等 排序的 实现，Map 时 entry.getKey() == null
+     *          newWriteField.add(convert(item));           // Map 时 newWriteField.put(entry.getKey(), convert(item))
+     *      }
+     *      dest.setWriteField(newWriteField);
+     *  }else{
+     *      dest.setWriteField(null);                       // skipNull 时 跳过
+     *  }
+     */
+    private int collectionConvert(FieldTransform fieldTransform, int value, int nextLocal){
+        boolean map = fieldTransform.getKind() == FieldTransform.Kind.MAP;
+        Class implementation = CollectionConversions.implementationOf(fieldTransform.getDestType());
+        Class sourceElementClass = fieldTransform.getSourceStructClass();
+        Class destElementClass = fieldTransform.getDestStructClass();
+        String containerClassName = map ? TrainerConstant.MAP_CLASS_NAME : Collection.class.getName();
+
+        int newCollection = nextLocal++;
+        int iterator = nextLocal++;
+        int entry = nextLocal++;
+        int environment = nextLocal++;
+        int item = nextLocal++;
+
+        code.addAload(value);
+        int otherwiseBranch = branch(Opcode.IFNULL);
+
+        boolean linked = isElementLinkable(fieldTransform);
+        if(linked){
+            linkEnvironment(fieldTransform, environment);
+        }
+
+        code.addNew(implementation.getName());
+        code.addOpcode(Opcode.DUP);
+        if(CollectionConversions.isSized(implementation)){
+            code.addAload(value);
+            code.addInvokeinterface(containerClassName, "size", "()I", 1);
+            if(CollectionConversions.isHashed(implementation)){
+                code.addInvokestatic(CollectionConversions.class.getName(), "hashCapacity", "(I)I");
+            }
+            code.addInvokespecial(implementation.getName(), "<init>", "(I)V");
+        }else{
+            code.addInvokespecial(implementation.getName(), "<init>", "()V");
+        }
+        code.addAstore(newCollection);
+
+        code.addAload(value);
+        if(map){
+            code.addInvokeinterface(TrainerConstant.MAP_CLASS_NAME, "entrySet", "()Ljava/util/Set;", 1);
+        }
+        code.addInvokeinterface(Collection.class.getName(), "iterator", "()Ljava/util/Iterator;", 1);
+        code.addAstore(iterator);
+
+        int collectionLoopStart = code.currentPc();
+        code.addAload(iterator);
+        code.addInvokeinterface(Iterator.class.getName(), "hasNext", "()Z", 1);
+        int collectionLoopEndBranch = branch(Opcode.IFEQ);
+
+        code.addAload(iterator);
+        code.addInvokeinterface(Iterator.class.getName(), "next", "()" + OBJECT_DESC, 1);
+        if(map){
+            code.addCheckcast(Map.Entry.class.getName());
+            code.addAstore(entry);
+            code.addAload(entry);
+            code.addInvokeinterface(Map.Entry.class.getName(), "getValue", "()" + OBJECT_DESC, 1);
+        }
+        code.addCheckcast(sourceElementClass.getName());
+        code.addAstore(item);
+
+        // 排序的 实现 跳过 为 null 的 元素（Map 时 为 key）
+        if(CollectionConversions.isSorted(implementation)){
+            if(map){
+                code.addAload(entry);
+                code.addInvokeinterface(Map.Entry.class.getName(), "getKey", "()" + OBJECT_DESC, 1);
+            }else{
+                code.addAload(item);
+            }
+            jump(Opcode.IFNULL, collectionLoopStart);
+        }
+
+        code.addAload(newCollection);
+        if(map){
+            code.addAload(entry);
+            code.addInvokeinterface(Map.Entry.class.getName(), "getKey", "()" + OBJECT_DESC, 1);
+        }
+        convertElement(fieldTransform, item, linked ? environment : -1);
+        convert(destElementClass, Object.class);
+        if(map){
+            code.addInvokeinterface(TrainerConstant.MAP_CLASS_NAME, "put", "(" + OBJECT_DESC + OBJECT_DESC + ")" + OBJECT_DESC, 3);
+        }else{
+            code.addInvokeinterface(Collection.class.getName(), "add", "(" + OBJECT_DESC + ")Z", 2);
+        }
+        code.addOpcode(Opcode.POP);
+        jump(Opcode.GOTO, collectionLoopStart);
+        patch(collectionLoopEndBranch);
+
+        beginWrite(fieldTransform);
+        code.addAload(newCollection);
+        endWrite(fieldTransform, implementation);
+
+        endNullSafeConvert(fieldTransform, value, otherwiseBranch);
+        return nextLocal;
+    }
+
+    /**
+     * 将 转换后的 元素 入栈，包装类型 为 null 时 基本类型 的元素 为 默认值，其他 为 null
+     *
+     * Examples:
+     *  item
+     *  (long) item
+     *  item != null ? item.toString() : null
+     *  item != null ? (WriteItem) linkedWriteFieldEnvironment.transform(item, adaptationStructureMismatch, skipNull) : null
+     */
+    private void convertElement(FieldTransform fieldTransform, int item, int environment){
+        Class sourceElementClass = fieldTransform.getSourceStructClass();
+        Class destElementClass = fieldTransform.getDestStructClass();
+        FieldTransform.Kind elementKind = fieldTransform.getElementKind();
+
+        if(sourceElementClass.isPrimitive()){
+            load(sourceElementClass, item);
+            if(elementKind == FieldTransform.Kind.TO_STRING){
+                code.addInvokestatic(String.class.getName(), "valueOf",
+                        "(" + stringValueOfParameterDescriptor(sourceElementClass) + ")Ljava/lang/String;");
+            }else{
+                convert(sourceElementClass, destElementClass);
+            }
+            return;
+        }
+
+        code.addAload(item);
+        int nullBranch = branch(Opcode.IFNULL);
+        if(elementKind == FieldTransform.Kind.TO_STRING){
+            code.addAload(item);
+            code.addInvokevirtual(Object.class.getName(), "toString", "()Ljava/lang/String;");
+        }else if(elementKind == FieldTransform.Kind.CLONE){
+            cloneValue(item, environment, sourceElementClass);
+            code.addCheckcast(destElementClass.getName());
+        }else if(elementKind == FieldTransform.Kind.TO_STRUCT){
+            if(environment != -1){
+                environmentTransform(environment, item);
+            }else{
+                chameleonTransform(item, destElementClass);
+            }
+            code.addCheckcast(destElementClass.getName());
+        }else{
+            code.addAload(item);
+            convert(sourceElementClass, destElementClass);
+        }
+        int doneBranch = branch(Opcode.GOTO);
+        patch(nullBranch);
+        pushDefaultValue(destElementClass);
+        patch(doneBranch);
+    }
+
+    /**
+     * 将 类型 的 默认值 入栈：null、0、false
+     */
+    private void pushDefaultValue(Class type){
+        if(!type.isPrimitive()){
+            code.addOpcode(Opcode.ACONST_NULL);
+        }else if(type == long.class){
+            code.addOpcode(Opcode.LCONST_0);
+        }else if(type == float.class){
+            code.addOpcode(Opcode.FCONST_0);
+        }else if(type == double.class){
+            code.addOpcode(Opcode.DCONST_0);
+        }else{
+            code.addOpcode(Opcode.ICONST_0);
+        }
+    }
+
+    /**
+     * 读取 源字段 的值 到 局部变量
+     *
+     * Examples: ReadField readField = source.getReadField(); 或 source.readField; 或 Object readField = source.get("readField");
+     */
+    private void readValue(FieldTransform fieldTransform, int value){
+        code.addAload(SOURCE);
+        if(transformPlan.isSourceIsMap()){
+            code.addLdc(fieldTransform.getName());
+            code.addInvokeinterface(TrainerConstant.MAP_CLASS_NAME, "get", "(" + OBJECT_DESC + ")" + OBJECT_DESC, 2);
+        }else if(fieldTransform.getReadField() != null){
+            Field readField = fieldTransform.getReadField();
+            code.addGetfield(readField.getDeclaringClass().getName(), readField.getName(), descriptor(readField.getType()));
+        }else{
+            invoke(transformPlan.getSourceClass(), fieldTransform.getReadMethod());
+        }
+        store(fieldTransform.getSourceType(), value);
+    }
+
+    /**
+     * 写入 目标字段 前，将 目标对象（Map 时 还有 key）入栈
+     */
+    private void beginWrite(FieldTransform fieldTransform){
+        code.addAload(DEST);
+        if(transformPlan.isDestIsMap()){
+            code.addLdc(fieldTransform.getName());
+        }
+    }
+
+    /**
+     * 将 栈顶 valueType 类型的值 写入 目标字段
+     *
+     * Examples: dest.setWriteField(value); 或 dest.writeField = value; 或 dest.put("writeField", value);
+     */
+    private void endWrite(FieldTransform fieldTransform, Class valueType){
+        if(transformPlan.isDestIsMap()){
+            convert(valueType, Object.class);
+            code.addInvokeinterface(TrainerConstant.MAP_CLASS_NAME, "put",
+                    "(" + OBJECT_DESC + OBJECT_DESC + ")" + OBJECT_DESC, 3);
+            code.addOpcode(Opcode.POP);
+        }else{
+            convert(valueType, fieldTransform.getDestType());
+            if(fieldTransform.getWriteField() != null){
+                Field writeField = fieldTransform.getWriteField();
+                code.addPutfield(writeField.getDeclaringClass().getName(), writeField.getName(), descriptor(writeField.getType()));
+            }else{
+                invoke(transformPlan.getDestClass(), fieldTransform.getWriteMethod());
+            }
+        }
+    }
+
+    /**
+     * Examples:
+     *  if(readField != null) {
+     *
+     * @return 条件不成立时 跳转的位置
+     */
+    private int beginStructConvert(int value){
+        code.addAload(value);
+        return branch(Opcode.IFNULL);
+    }
+
+    /**
+     * Examples:
+     *  List readFieldCollection = (List) readField;
+     *  if(readFieldCollection != null) {
+     *
+     * @return 条件不成立时 跳转的位置
+     */
+    private int beginCollectionConvert(int value, int collection){
+        int endBranch = beginStructConvert(value);
+        code.addAload(value);
+        code.addCheckcast(TrainerConstant.LIST_CLASS_NAME);
+        code.addAstore(collection);
+        return endBranch;
+    }
+
+    /**
+     * Examples:
+     *  int size = readFieldCollection.size();
+     *  List newWriteFieldCollection = new ArrayList(size);
+     *  for(int i = 0; i < size; i++){
+     *      Object item = readFieldCollection.get(i);
+     */
+    private void beginCollectionLoop(int collection, int size, int newCollection, int index, int item){
+        code.addAload(collection);
+        code.addInvokeinterface(TrainerConstant.LIST_CLASS_NAME, "size", "()I", 1);
+        code.addIstore(size);
+
+        code.addNew(TrainerConstant.ARRAYLIST_CLASS_NAME);
+        code.addOpcode(Opcode.DUP);
+        code.addIload(size);
+        code.addInvokespecial(TrainerConstant.ARRAYLIST_CLASS_NAME, "<init>", "(I)V");
+        code.addAstore(newCollection);
+
+        code.addIconst(0);
+        code.addIstore(index);
+
+        loopStart = code.currentPc();
+        code.addIload(index);
+        code.addIload(size);
+        loopEndBranch = branch(Opcode.IF_ICMPGE);
+
+        code.addAload(collection);
+        code.addIload(index);
+        code.addInvokeinterface(TrainerConstant.LIST_CLASS_NAME, "get", "(I)" + OBJECT_DESC, 2);
+        code.addAstore(item);
+    }
+
+    /**
+     * Examples:
+     *  }
+     *  dest.setWriteField(newWriteFieldCollection);
+     */
+    private void endCollectionLoop(FieldTransform fieldTransform, int newCollection, int index){
+        code.addOpcode(Opcode.IINC);
+        code.add(index);
+        code.add(1);
+        jump(Opcode.GOTO, loopStart);
+        patch(loopEndBranch);
+
+        beginWrite(fieldTransform);
+        code.addAload(newCollection);
+        endWrite(fieldTransform, List.class);
+    }
+
+    private void addToCollection(){
+        code.addInvokeinterface(TrainerConstant.LIST_CLASS_NAME, "add", "(" + OBJECT_DESC + ")Z", 2);
+        code.addOpcode(Opcode.POP);
+    }
+
+    /**
+     * 链接 嵌套结构 的 Environment，只在首次使用 或 链接版本 变化（readapt、close）时 通过 chameleon 查找，
+     * 之后直接使用字段中的 Environment
+     *
+     * Examples:
+     *  Environment linkedWriteFieldEnvironment = this.writeFieldEnvironment;
+     *  if(linkedWriteFieldEnvironment == null || this.writeFieldEnvironmentGeneration != this.chameleon.getLinkGeneration()){
+     *      this.writeFieldEnvironmentGeneration = this.chameleon.getLinkGeneration();
+     *      linkedWriteFieldEnvironment = this.chameleon.linkEnvironment(ReadField.class, WriteField.class);
+     *      this.writeFieldEnvironment = linkedWriteFieldEnvironment;
+     *  }
+     */
+    private void linkEnvironment(FieldTransform fieldTransform, int environment){
+        String environmentFieldName = fieldTransform.getName() + "Environment";
+        environmentFieldNames.add(environmentFieldName);
+
+        code.addAload(THIS);
+        code.addGetfield(ctClass, environmentFieldName, ENVIRONMENT_DESC);
+        code.addAstore(environment);
+        code.addAload(environment);
+        int relinkBranch = branch(Opcode.IFNULL);
+        code.addAload(THIS);
+        code.addGetfield(ctClass, environmentFieldName + "Generation", "J");
+        loadChameleon();
+        code.addInvokevirtual(TrainerConstant.CHAMELEON_CLASS_NAME, "getLinkGeneration", "()J");
+        code.addOpcode(Opcode.LCMP);
+        int linkedBranch = branch(Opcode.IFEQ);
+        patch(relinkBranch);
+
+        // 先 记录 版本，链接 期间 版本 变化 时 下次 重新 链接
+        code.addAload(THIS);
+        loadChameleon();
+        code.addInvokevirtual(TrainerConstant.CHAMELEON_CLASS_NAME, "getLinkGeneration", "()J");
+        code.addPutfield(ctClass, environmentFieldName + "Generation", "J");
+
+        loadChameleon();
+        code.addLdc(classInfo(fieldTransform.getSourceStructClass()));
+        code.addLdc(classInfo(fieldTransform.getDestStructClass()));
+        code.addInvokevirtual(TrainerConstant.CHAMELEON_CLASS_NAME, "linkEnvironment",
+                "(" + CLASS_DESC + CLASS_DESC + ")" + ENVIRONMENT_DESC);
+        code.addAstore(environment);
+        code.addAload(THIS);
+        code.addAload(environment);
+        code.addPutfield(ctClass, environmentFieldName, ENVIRONMENT_DESC);
+
+        patch(linkedBranch);
+    }
+
+    /**
+     * 由 链接的 Environment 创建 目标对象 并 填充
+     *
+     * Examples: linkedWriteFieldEnvironment.transform(readField, adaptationStructureMismatch, skipNull)
+     */
+    private void environmentTransform(int environment, int value){
+        code.addAload(environment);
+        code.addAload(value);
+        code.addIload(ADAPTATION_STRUCTURE_MISMATCH);
+        code.addIload(SKIP_NULL);
+        code.addInvokeinterface(TrainerConstant.ENVIRONMENT_CLASS_NAME, "transform",
+                "(" + OBJECT_DESC + "ZZ)" + OBJECT_DESC, 4);
+    }
+
+    /**
+     * Examples: this.chameleon.transform(value, WriteField.class, adaptationStructureMismatch, skipNull)
+     */
+    private void chameleonTransform(int value, Class destStructClass){
+        loadChameleon();
+        code.addAload(value);
+        code.addLdc(classInfo(destStructClass));
+        code.addIload(ADAPTATION_STRUCTURE_MISMATCH);
+        code.addIload(SKIP_NULL);
+        code.addInvokevirtual(TrainerConstant.CHAMELEON_CLASS_NAME, "transform",
+                "(" + OBJECT_DESC + CLASS_DESC + "ZZ)" + OBJECT_DESC);
+    }
+
+    private void loadChameleon(){
+        code.addAload(THIS);
+        code.addGetfield(ctClass, "chameleon", CHAMELEON_DESC);
+    }
+
+    /**
+     * 嵌套结构 是否 按声明类型 链接 Environment，和 源码方式 的判断一致
+     */
+    /**
+     * 数组、集合 的 元素 是否 链接 Environment：转换为 可以链接的 嵌套结构，或 复制 可以直接创建 的 嵌套结构
+     */
+    private boolean isElementLinkable(FieldTransform fieldTransform){
+        switch (fieldTransform.getElementKind()){
+            case TO_STRUCT:
+                return isLinkable(fieldTransform);
+            case CLONE:
+                return CloneConversions.isCloneable(fieldTransform.getSourceStructClass());
+            default:
+                return false;
+        }
+    }
+
+    private boolean isLinkable(FieldTransform fieldTransform){
+        return transformPlan.isSourceIsMap()
+                ? ClassReaderUtil.isLinkable(fieldTransform.getDestStructClass())
+                : ClassReaderUtil.isLinkable(fieldTransform.getSourceStructClass());
+    }
+
+    /**
+     * 将 栈顶 from 类型的值 转换为 to 类型（装箱、拆箱、基本类型 之间 的转换、类型转换），
+     * from 为 Number 时 按 数值 拆箱
+     */
+    private void convert(Class from, Class to){
+        if(from == to){
+            return;
+        }
+        Class fromPrimitive = PrimitiveConversions.primitiveOf(from);
+        Class toPrimitive = PrimitiveConversions.primitiveOf(to);
+        if(toPrimitive != null && (fromPrimitive != null || from == Number.class)){
+            // 基本类型、包装类型、Number -> 基本类型、包装类型
+            if(from.isPrimitive()){
+                convertPrimitive(from, toPrimitive);
+            }else if(fromPrimitive == toPrimitive){
+                code.addInvokevirtual(from.getName(), toPrimitive.getName() + "Value", "()" + descriptor(toPrimitive));
+            }else{
+                code.addInvokevirtual(Number.class.getName(), toPrimitive.getName() + "Value", "()" + descriptor(toPrimitive));
+            }
+            if(!to.isPrimitive()){
+                box(toPrimitive);
+            }
+            return;
+        }
+        if(from.isPrimitive()){
+            box(from);
+            convert(wrapper(from), to);
+            return;
+        }
+        if(to.isPrimitive()){
+            Class wrapper = wrapper(to);
+            convert(from, wrapper);
+            code.addInvokevirtual(wrapper.getName(), to.getName() + "Value", "()" + descriptor(to));
+            return;
+        }
+        if(!to.isAssignableFrom(from)){
+            code.addCheckcast(to.getName());
+        }
+    }
+
+    /**
+     * 栈顶 基本类型 之间 的转换，byte、short、char 在栈上 都是 int
+     */
+    private void convertPrimitive(Class from, Class to){
+        if(from == to){
+            return;
+        }
+        int conversion = PRIMITIVE_CONVERSIONS[stackTypeIndex(from)][stackTypeIndex(to)];
+        if(conversion != Opcode.NOP){
+            code.addOpcode(conversion);
+        }
+        if(to == byte.class){
+            code.addOpcode(Opcode.I2B);
+        }else if(to == short.class){
+            code.addOpcode(Opcode.I2S);
+        }else if(to == char.class){
+            code.addOpcode(Opcode.I2C);
+        }
+    }
+
+    /**
+     * 栈顶 基本类型 装箱
+     */
+    private void box(Class primitive){
+        Class wrapper = wrapper(primitive);
+        code.addInvokestatic(wrapper.getName(), "valueOf", "(" + descriptor(primitive) + ")" + descriptor(wrapper));
+    }
+
+    private void invoke(Class owner, Method method){
+        String desc = ClassReaderUtil.getMethodDescriptor(method);
+
+        if(owner.isInterface()){
+            int count = 1;
+            for(Class parameterType : method.getParameterTypes()){
+                count += slotSize(parameterType);
+            }
+            code.addInvokeinterface(owner.getName(), method.getName(), desc, count);
+        }else{
+            code.addInvokevirtual(owner.getName(), method.getName(), desc);
+        }
+        if(method.getReturnType() != void.class && method.getParameterTypes().length > 0){
+            // setter 的返回值（如 链式 setter）丢弃
+            code.addOpcode(slotSize(method.getReturnType()) == 2 ? Opcode.POP2 : Opcode.POP);
+        }
+    }
+
+    private void load(Class type, int slot){
+        if(!type.isPrimitive()){
+            code.addAload(slot);
+        }else if(type == long.class){
+            code.addLload(slot);
+        }else if(type == float.class){
+            code.addFload(slot);
+        }else if(type == double.class){
+            code.addDload(slot);
+        }else{
+            code.addIload(slot);
+        }
+    }
+
+    private void store(Class type, int slot){
+        if(!type.isPrimitive()){
+            code.addAstore(slot);
+        }else if(type == long.class){
+            code.addLstore(slot);
+        }else if(type == float.class){
+            code.addFstore(slot);
+        }else if(type == double.class){
+            code.addDstore(slot);
+        }else{
+            code.addIstore(slot);
+        }
+    }
+
+    /**
+     * 栈上 数组、下标 -> 元素
+     */
+    private void arrayLoad(Class elementClass){
+        code.addOpcode(arrayOpcode(elementClass, Opcode.IALOAD, Opcode.LALOAD, Opcode.FALOAD, Opcode.DALOAD,
+                Opcode.AALOAD, Opcode.BALOAD, Opcode.CALOAD, Opcode.SALOAD));
+    }
+
+    /**
+     * 栈上 数组、下标、元素 -> 写入 数组
+     */
+    private void arrayStore(Class elementClass){
+        code.addOpcode(arrayOpcode(elementClass, Opcode.IASTORE, Opcode.LASTORE, Opcode.FASTORE, Opcode.DASTORE,
+                Opcode.AASTORE, Opcode.BASTORE, Opcode.CASTORE, Opcode.SASTORE));
+    }
+
+    private static int arrayOpcode(Class elementClass, int intOpcode, int longOpcode, int floatOpcode, int doubleOpcode,
+                                   int referenceOpcode, int byteOpcode, int charOpcode, int shortOpcode){
+        if(!elementClass.isPrimitive()){ return referenceOpcode; }
+        if(elementClass == boolean.class || elementClass == byte.class){ return byteOpcode; }
+        if(elementClass == char.class){ return charOpcode; }
+        if(elementClass == short.class){ return shortOpcode; }
+        return new int[]{ intOpcode, longOpcode, floatOpcode, doubleOpcode }[stackTypeIndex(elementClass)];
+    }
+
+    /**
+     * 栈上 长度 -> 新数组
+     */
+    private void newArray(Class elementClass){
+        if(!elementClass.isPrimitive()){
+            code.addAnewarray(elementClass.getName());
+            return;
+        }
+        code.addOpcode(Opcode.NEWARRAY);
+        code.add(NEWARRAY_TYPES.get(elementClass));
+    }
+
+    private Bytecode newBytecode(){
+        return new Bytecode(ctClass.getClassFile().getConstPool(), 0, 0);
+    }
+
+    private void append(byte[] bytes){
+        for(byte b : bytes){
+            code.add(b & 0xff);
+        }
+    }
+
+    /**
+     * 写入 跳转指令，跳转位置 之后通过 patch 补上
+     * @return 跳转偏移量 的位置
+     */
+    private int branch(int opcode){
+        code.addOpcode(opcode);
+        int position = code.currentPc();
+        code.addIndex(0);
+        return position;
+    }
+
+    private int branch(int opcode, int intLocal){
+        code.addIload(intLocal);
+        return branch(opcode);
+    }
+
+    /**
+     * 跳转到 当前位置，position 小于 0 时 没有跳转
+     */
+    private void patch(int position){
+        if(position == -1){
+            return;
+        }
+        if(position < -1){
+            for(int chained : chainedBranches.get(-2 - position)){
+                patch(chained);
+            }
+            return;
+        }
+        code.write16bit(position, code.currentPc() - position + 1);
+    }
+
+    /**
+     * 将 多个跳转 串在一起，之后 patch 时 一起跳转到 同一个位置
+     */
+    private int chain(int... positions){
+        chainedBranches.add(positions);
+        return -2 - (chainedBranches.size() - 1);
+    }
+
+    private void jump(int opcode, int target){
+        code.addOpcode(opcode);
+        code.addIndex(target - code.currentPc() + 1);
+    }
+
+    private int classInfo(Class clazz){
+        return code.getConstPool().addClassInfo(clazz.getName());
+    }
+
+    private static int stackTypeIndex(Class type){
+        if(type == long.class){
+            return 1;
+        }
+        if(type == float.class){
+            return 2;
+        }
+        return type == double.class ? 3 : 0;
+    }
+
+    private static int slotSize(Class type){
+        return type == long.class || type == double.class ? 2 : 1;
+    }
+
+    private static Class wrapper(Class type){
+        return ClassUtils.resolvePrimitiveIfNecessary(type);
+    }
+
+    private static String stringValueOfParameterDescriptor(Class type){
+        if(type == byte.class || type == short.class){
+            return "I";
+        }
+        return descriptor(type);
+    }
+
+    private static String descriptor(Class type){
+        return ClassReaderUtil.getDescriptor(type);
+    }
+
+    private static String descriptor(String className){
+        return "L" + className.replace('.', '/') + ";";
+    }
+
+}
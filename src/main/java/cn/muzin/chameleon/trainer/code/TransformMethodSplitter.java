@@ -0,0 +1,157 @@
+package cn.muzin.chameleon.trainer.code;
+
+import javassist.CannotCompileException;
+import javassist.CtClass;
+import javassist.CtMethod;
+import javassist.NotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 拆分 过大的 transform 方法
+ *
+ * <p>HotSpot 不会 JIT 编译 字节码 超过 {@link #HUGE_METHOD_LIMIT} 的方法（-XX:+DontCompileHugeMethods），
+ * 字段很多的类 生成的 transform 方法 会一直解释执行。
+ * 这里 按字段 将代码 拆分到 多个 private 方法 中，每个方法 都小于该限制，原方法 依次调用 拆分出的方法。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class TransformMethodSplitter {
+
+    /**
+     * HotSpot 的 HugeMethodLimit，字节码 达到该长度 的方法 不会被 JIT 编译
+     */
+    public static final int HUGE_METHOD_LIMIT = 8000;
+
+    /**
+     * 需要拆分时，每个方法 的 目标字节码长度，留出余量 避免 拆分后 仍然超过限制
+     */
+    public static final int SPLIT_METHOD_LENGTH = 6000;
+
+    /**
+     * 编译前 每个方法 最多的 源码长度，避免 一次编译 过大的方法体（跳转偏移 超过 16 位）
+     */
+    private static final int MAX_SOURCE_LENGTH = 30000;
+
+    private final CtClass ctClass;
+
+    private final TransformVariant transformVariant;
+
+    private final String prologue;
+
+    private int partCount;
+
+    private TransformMethodSplitter(CtClass ctClass, TransformVariant transformVariant, String prologue){
+        this.ctClass = ctClass;
+        this.transformVariant = transformVariant;
+        this.prologue = prologue;
+    }
+
+    /**
+     * 编译 transformVariant 的方法 并添加到 ctClass，字节码 超过限制 时 按字段 拆分
+     * @param ctClass 生成的 Environment 类
+     * @param transformVariant adaptationStructureMismatch、skipNull 的 组合
+     * @param prologue 每个方法 开头 的代码（给 形参 命名）
+     * @param fieldCodes 每个字段 的转换代码
+     */
+    public static void addMethods(CtClass ctClass, TransformVariant transformVariant,
+                                  String prologue, List<String> fieldCodes)
+            throws NotFoundException, CannotCompileException {
+        new TransformMethodSplitter(ctClass, transformVariant, prologue)
+                .addMethod(transformVariant.getMethodName(), fieldCodes);
+    }
+
+    /**
+     * 将 stringBuilder 中 一个字段 的代码 取出，保存到 fieldCodes
+     */
+    public static void takeFieldCode(StringBuilder stringBuilder, List<String> fieldCodes){
+        if(stringBuilder.length() > 0){
+            fieldCodes.add(stringBuilder.toString());
+            stringBuilder.setLength(0);
+        }
+    }
+
+    private void addMethod(String methodName, List<String> fieldCodes)
+            throws NotFoundException, CannotCompileException {
+        CtMethod ctMethod = transformVariant.newCtMethod(ctClass, methodName);
+
+        int sourceLength = sourceLength(fieldCodes);
+        int parts;
+        if(sourceLength > MAX_SOURCE_LENGTH && fieldCodes.size() > 1){
+            parts = (sourceLength + MAX_SOURCE_LENGTH - 1) / MAX_SOURCE_LENGTH;
+        }else{
+            ctMethod.setBody(generateMethodBody(fieldCodes));
+            int codeLength = ctMethod.getMethodInfo().getCodeAttribute().getCodeLength();
+            if(codeLength < HUGE_METHOD_LIMIT || fieldCodes.size() <= 1){
+                ctClass.addMethod(ctMethod);
+                return;
+            }
+            parts = (codeLength + SPLIT_METHOD_LENGTH - 1) / SPLIT_METHOD_LENGTH;
+        }
+
+        // Examples: { $0.transformPlainPart1($$); $0.transformPlainPart2($$); }
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("{\n");
+        for(List<String> partFieldCodes : partition(fieldCodes, parts)){
+            String partMethodName = transformVariant.getMethodName() + "Part" + (++partCount);
+            addMethod(partMethodName, partFieldCodes);
+            stringBuilder.append("$0." + partMethodName + "($$);\n");
+        }
+        stringBuilder.append("}");
+
+        ctMethod.setBody(stringBuilder.toString());
+        ctClass.addMethod(ctMethod);
+    }
+
+    private String generateMethodBody(List<String> fieldCodes){
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("{\n");
+        stringBuilder.append(prologue);
+        for(String fieldCode : fieldCodes){
+            stringBuilder.append(fieldCode);
+        }
+        stringBuilder.append("\n}");
+        return stringBuilder.toString();
+    }
+
+    /**
+     * 按 源码长度 将 字段 尽量平均的 分成 parts 份，每份 至少一个字段
+     */
+    private static List<List<String>> partition(List<String> fieldCodes, int parts){
+        parts = Math.max(2, Math.min(parts, fieldCodes.size()));
+        int partLength = sourceLength(fieldCodes) / parts;
+
+        List<List<String>> partitions = new ArrayList<>(parts);
+        List<String> partition = new ArrayList<>();
+        int length = 0;
+        for(int i = 0; i < fieldCodes.size(); i++){
+            String fieldCode = fieldCodes.get(i);
+            partition.add(fieldCode);
+            length += fieldCode.length();
+
+            int remainingFields = fieldCodes.size() - i - 1;
+            int remainingParts = parts - partitions.size() - 1;
+            if(remainingParts > 0
+                    && (length >= partLength || remainingFields == remainingParts)){
+                partitions.add(partition);
+                partition = new ArrayList<>();
+                length = 0;
+            }
+        }
+        if(!partition.isEmpty()){
+            partitions.add(partition);
+        }
+        return partitions;
+    }
+
+    private static int sourceLength(List<String> fieldCodes){
+        int length = 0;
+        for(String fieldCode : fieldCodes){
+            length += fieldCode.length();
+        }
+        return length;
+    }
+
+}
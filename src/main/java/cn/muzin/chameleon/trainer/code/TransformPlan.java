@@ -0,0 +1,353 @@
+package cn.muzin.chameleon.trainer.code;
+
+import cn.muzin.chameleon.convert.BuiltinConverters;
+import cn.muzin.chameleon.convert.TypeConverter;
+import cn.muzin.chameleon.convert.TypeConverterRegistry;
+import cn.muzin.chameleon.util.ClassUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 类型转换 计划
+ *
+ * <p>按照 Entity2EntityCodeImpl、Entity2MapCodeImpl、Map2EntityCodeImpl 相同的字段匹配规则，
+ * 计算出 每个字段 的转换方式，供 字节码生成 和 反射转换 使用。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public final class TransformPlan {
+
+    private final Class sourceClass;
+
+    private final Class destClass;
+
+    private final boolean sourceIsMap;
+
+    private final boolean destIsMap;
+
+    private final List<FieldTransform> fieldTransforms;
+
+    private TransformPlan(Class sourceClass, Class destClass, boolean sourceIsMap, boolean destIsMap,
+                          List<FieldTransform> fieldTransforms){
+        this.sourceClass = sourceClass;
+        this.destClass = destClass;
+        this.sourceIsMap = sourceIsMap;
+        this.destIsMap = destIsMap;
+        this.fieldTransforms = Collections.unmodifiableList(fieldTransforms);
+    }
+
+    /**
+     * 计算 源Class 到 目标Class 的 转换计划
+     * @param sourceClass 源Class
+     * @param destClass 目标Class
+     * @return TransformPlan
+     */
+    public static TransformPlan of(Class sourceClass, Class destClass){
+        return of(sourceClass, destClass, false);
+    }
+
+    /**
+     * 计算 源Class 到 目标Class 的 转换计划
+     * @param sourceClass 源Class
+     * @param destClass 目标Class
+     * @param directFieldAccess getter、setter 没有其他逻辑时，是否 直接访问 public 字段
+     * @return TransformPlan
+     */
+    public static TransformPlan of(Class sourceClass, Class destClass, boolean directFieldAccess){
+        return of(sourceClass, destClass, directFieldAccess, null);
+    }
+
+    /**
+     * 计算 源Class 到 目标Class 的 转换计划
+     * @param sourceClass 源Class
+     * @param destClass 目标Class
+     * @param directFieldAccess getter、setter 没有其他逻辑时，是否 直接访问 public 字段
+     * @param typeConverterRegistry 自定义 类型转换，为 null 时 不使用
+     * @return TransformPlan
+     */
+    public static TransformPlan of(Class sourceClass, Class destClass, boolean directFieldAccess,
+                                   TypeConverterRegistry typeConverterRegistry){
+        return of(sourceClass, destClass, directFieldAccess, typeConverterRegistry, false);
+    }
+
+    /**
+     * 计算 源Class 到 目标Class 的 转换计划
+     * @param sourceClass 源Class
+     * @param destClass 目标Class
+     * @param directFieldAccess getter、setter 没有其他逻辑时，是否 直接访问 public 字段
+     * @param typeConverterRegistry 自定义 类型转换，为 null 时 不使用
+     * @param shareArrays 同类型 的数组 是否 直接共享，不复制
+     * @return TransformPlan
+     */
+    public static TransformPlan of(Class sourceClass, Class destClass, boolean directFieldAccess,
+                                   TypeConverterRegistry typeConverterRegistry, boolean shareArrays){
+        boolean sourceIsMap = isMap(sourceClass);
+        boolean destIsMap = isMap(destClass);
+
+        List<FieldTransform> fieldTransforms;
+        if(sourceIsMap && !destIsMap){
+            // 如果 前者 是 Map，后者 是 Entity
+            fieldTransforms = map2EntityFieldTransforms(destClass);
+        }else if(!sourceIsMap && destIsMap){
+            // 如果 前者 是 Entity, 后者 是 Map
+            fieldTransforms = entity2MapFieldTransforms(sourceClass);
+        }else{
+            sourceIsMap = false;
+            destIsMap = false;
+            fieldTransforms = entity2EntityFieldTransforms(sourceClass, destClass, typeConverterRegistry, shareArrays);
+        }
+        if(directFieldAccess){
+            fieldTransforms = directAccess(fieldTransforms, sourceClass, destClass);
+        }
+        return new TransformPlan(sourceClass, destClass, sourceIsMap, destIsMap, fieldTransforms);
+    }
+
+    public Class getSourceClass() {
+        return sourceClass;
+    }
+
+    public Class getDestClass() {
+        return destClass;
+    }
+
+    public boolean isSourceIsMap() {
+        return sourceIsMap;
+    }
+
+    public boolean isDestIsMap() {
+        return destIsMap;
+    }
+
+    public List<FieldTransform> getFieldTransforms() {
+        return fieldTransforms;
+    }
+
+    /**
+     * 和 Entity2EntityCodeImpl 相同的 字段匹配规则
+     */
+    private static List<FieldTransform> entity2EntityFieldTransforms(Class sourceClass, Class destClass,
+                                                                     TypeConverterRegistry typeConverterRegistry,
+                                                                     boolean shareArrays){
+        List<FieldTransform> fieldTransforms = new ArrayList<>();
+
+        ClassModel sourceClassModel = ClassModel.of(sourceClass);
+        ClassModel destClassModel = ClassModel.of(destClass);
+
+        for(Field sourceClassField : sourceClassModel.getFields()){
+            Field destClassField = destClassModel.getField(sourceClassField.getName());
+            if(destClassField == null){ continue; }
+
+            Method readMethod = sourceClassModel.getReadMethod(sourceClassField);
+            Method writeMethod = destClassModel.getWriteMethod(destClassField);
+            if(readMethod == null || writeMethod == null){ continue; }
+
+            Class<?> readMethodReturnType = readMethod.getReturnType();
+            Class<?> writeMethodParameterType = writeMethod.getParameterTypes()[0];
+            String name = destClassField.getName();
+            TypeConverter typeConverter = typeConverterRegistry != null
+                    ? typeConverterRegistry.resolve(sourceClassField, destClassField, readMethodReturnType, writeMethodParameterType)
+                    : null;
+            Method converter = BuiltinConverters.find(readMethodReturnType, writeMethodParameterType);
+            FieldTransform collectionTransform = CollectionConversions.of(name, readMethod, writeMethod);
+            // 同类型 之间 深拷贝
+            FieldTransform cloneTransform = sourceClass == destClass ? CloneConversions.of(name, readMethod, writeMethod) : null;
+
+            if(typeConverter != null){
+                fieldTransforms.add(new FieldTransform(name, readMethod, writeMethod,
+                        readMethodReturnType, writeMethodParameterType, typeConverter));
+            }else if(cloneTransform != null){
+                fieldTransforms.add(cloneTransform);
+            }else if(PrimitiveConversions.isConvertible(readMethodReturnType, writeMethodParameterType)){
+                fieldTransforms.add(new FieldTransform(FieldTransform.Kind.PRIMITIVE, name, readMethod, writeMethod,
+                        readMethodReturnType, writeMethodParameterType, null, null));
+            }else if(converter != null){
+                fieldTransforms.add(new FieldTransform(name, readMethod, writeMethod,
+                        readMethodReturnType, writeMethodParameterType, converter));
+            }else if(ArrayConversions.isArrayCopy(readMethodReturnType, writeMethodParameterType)){
+                fieldTransforms.add(new FieldTransform(shareArrays ? FieldTransform.Kind.SIMPLE : FieldTransform.Kind.ARRAY_COPY,
+                        name, readMethod, writeMethod, readMethodReturnType, writeMethodParameterType, null, null));
+            }else if(ArrayConversions.isArrayConvertible(readMethodReturnType, writeMethodParameterType)){
+                Class sourceElementClass = ArrayConversions.sourceElementType(readMethodReturnType, readMethod);
+                Class destElementClass = ArrayConversions.destElementType(writeMethodParameterType, writeMethod);
+                FieldTransform.Kind elementKind = ArrayConversions.elementKind(sourceElementClass, destElementClass);
+                if(elementKind != null){
+                    fieldTransforms.add(new FieldTransform(FieldTransform.Kind.ARRAY, name, readMethod, writeMethod,
+                            readMethodReturnType, writeMethodParameterType, sourceElementClass, destElementClass, elementKind));
+                }
+            }else if(CollectionConversions.isUnsortable(readMethod, writeMethod)){
+                continue;
+            }else if(collectionTransform != null){
+                fieldTransforms.add(collectionTransform);
+            }else if(ClassUtils.isAssignable(writeMethodParameterType, readMethodReturnType)){
+                if(!readMethodReturnType.isAssignableFrom(List.class)){
+                    fieldTransforms.add(new FieldTransform(FieldTransform.Kind.SIMPLE, name, readMethod, writeMethod,
+                            readMethodReturnType, writeMethodParameterType, null, null));
+                    continue;
+                }
+                if(!writeMethodParameterType.isAssignableFrom(List.class)){ continue; }
+
+                Class readMethodGenericReturnType = sourceClassModel.getReadElementType(sourceClassField);
+                Class writeMethodGenericParameterType = destClassModel.getWriteElementType(destClassField);
+
+                if(readMethodGenericReturnType == writeMethodGenericParameterType){
+                    fieldTransforms.add(new FieldTransform(FieldTransform.Kind.SIMPLE, name, readMethod, writeMethod,
+                            readMethodReturnType, writeMethodParameterType, null, null));
+                }else if(writeMethodGenericParameterType == String.class){
+                    fieldTransforms.add(new FieldTransform(FieldTransform.Kind.COLLECTION_TO_STRING, name, readMethod, writeMethod,
+                            readMethodReturnType, writeMethodParameterType, null, String.class));
+                }else if(writeMethodGenericParameterType != null && readMethodGenericReturnType != null
+                        && !writeMethodGenericParameterType.getName().startsWith("java.lang.")){
+                    fieldTransforms.add(new FieldTransform(FieldTransform.Kind.COLLECTION_TO_STRUCT, name, readMethod, writeMethod,
+                            readMethodReturnType, writeMethodParameterType,
+                            readMethodGenericReturnType, writeMethodGenericParameterType));
+                }
+            }else if(writeMethodParameterType == String.class){
+                fieldTransforms.add(new FieldTransform(FieldTransform.Kind.TO_STRING, name, readMethod, writeMethod,
+                        readMethodReturnType, writeMethodParameterType, null, String.class));
+            }else if(!writeMethodParameterType.isPrimitive() && !readMethodReturnType.isPrimitive()
+                    && !writeMethodParameterType.isArray() && !readMethodReturnType.isArray()
+                    && !writeMethodParameterType.getName().startsWith("java.lang.")){
+                fieldTransforms.add(new FieldTransform(FieldTransform.Kind.TO_STRUCT, name, readMethod, writeMethod,
+                        readMethodReturnType, writeMethodParameterType,
+                        readMethodReturnType, writeMethodParameterType));
+            }
+        }
+
+        return fieldTransforms;
+    }
+
+    /**
+     * 和 Entity2MapCodeImpl 相同的 字段匹配规则
+     */
+    private static List<FieldTransform> entity2MapFieldTransforms(Class sourceClass){
+        List<FieldTransform> fieldTransforms = new ArrayList<>();
+
+        ClassModel sourceClassModel = ClassModel.of(sourceClass);
+
+        for(Field sourceClassField : sourceClassModel.getFields()){
+            Method readMethod = sourceClassModel.getReadMethod(sourceClassField);
+            if(readMethod == null){ continue; }
+
+            Class<?> readMethodReturnType = readMethod.getReturnType();
+            String name = sourceClassField.getName();
+            // 数组 属性 不放入 Map
+            if(readMethodReturnType.isArray()){ continue; }
+
+            FieldTransform.Kind kind;
+            Class sourceStructClass = null;
+            Class destStructClass = null;
+            if(readMethodReturnType.isAssignableFrom(List.class)){
+                Class readMethodGenericReturnType = sourceClassModel.getReadElementType(sourceClassField);
+                if(readMethodGenericReturnType == String.class){
+                    kind = FieldTransform.Kind.COLLECTION_TO_STRING;
+                    destStructClass = String.class;
+                }else if(readMethodGenericReturnType == null || readMethodGenericReturnType.getName().startsWith("java.")){
+                    kind = FieldTransform.Kind.SIMPLE;
+                }else{
+                    kind = FieldTransform.Kind.COLLECTION_TO_STRUCT;
+                    sourceStructClass = readMethodGenericReturnType;
+                    destStructClass = Map.class;
+                }
+            }else if(readMethodReturnType == String.class){
+                kind = FieldTransform.Kind.TO_STRING;
+                destStructClass = String.class;
+            }else if(readMethodReturnType.isPrimitive()){
+                kind = FieldTransform.Kind.PRIMITIVE;
+            }else if(readMethodReturnType.getName().startsWith("java.")){
+                kind = FieldTransform.Kind.SIMPLE;
+            }else{
+                kind = FieldTransform.Kind.TO_STRUCT;
+                sourceStructClass = readMethodReturnType;
+                destStructClass = Map.class;
+            }
+            fieldTransforms.add(new FieldTransform(kind, name, readMethod, null,
+                    readMethodReturnType, Object.class, sourceStructClass, destStructClass));
+        }
+
+        return fieldTransforms;
+    }
+
+    /**
+     * 和 Map2EntityCodeImpl 相同的 字段匹配规则
+     */
+    private static List<FieldTransform> map2EntityFieldTransforms(Class destClass){
+        List<FieldTransform> fieldTransforms = new ArrayList<>();
+
+        ClassModel destClassModel = ClassModel.of(destClass);
+
+        for(Field destClassField : destClassModel.getFields()){
+            Method writeMethod = destClassModel.getWriteMethod(destClassField);
+            if(writeMethod == null){ continue; }
+
+            Class<?> writeMethodParameterType = writeMethod.getParameterTypes()[0];
+            String name = destClassField.getName();
+            // 数组 属性 不从 Map 读取
+            if(writeMethodParameterType.isArray()){ continue; }
+
+            FieldTransform.Kind kind;
+            Class sourceStructClass = null;
+            Class destStructClass = null;
+            if(writeMethodParameterType.isAssignableFrom(List.class)){
+                Class writeMethodGenericParameterType = destClassModel.getWriteElementType(destClassField);
+                if(writeMethodGenericParameterType == String.class){
+                    kind = FieldTransform.Kind.COLLECTION_TO_STRING;
+                    destStructClass = String.class;
+                }else if(writeMethodGenericParameterType == null || writeMethodGenericParameterType.getName().startsWith("java.")){
+                    kind = FieldTransform.Kind.SIMPLE;
+                }else{
+                    kind = FieldTransform.Kind.COLLECTION_TO_STRUCT;
+                    sourceStructClass = Map.class;
+                    destStructClass = writeMethodGenericParameterType;
+                }
+            }else if(writeMethodParameterType == String.class){
+                kind = FieldTransform.Kind.TO_STRING;
+                destStructClass = String.class;
+            }else if(PrimitiveConversions.isMapConvertible(writeMethodParameterType)){
+                kind = FieldTransform.Kind.PRIMITIVE;
+            }else if(writeMethodParameterType.getName().startsWith("java.")){
+                kind = FieldTransform.Kind.SIMPLE;
+            }else{
+                kind = FieldTransform.Kind.TO_STRUCT;
+                sourceStructClass = Map.class;
+                destStructClass = writeMethodParameterType;
+            }
+            fieldTransforms.add(new FieldTransform(kind, name, null, writeMethod,
+                    Object.class, writeMethodParameterType, sourceStructClass, destStructClass));
+        }
+
+        return fieldTransforms;
+    }
+
+    /**
+     * 按字段 决定 是否 直接访问，getter、setter 有其他逻辑 或 字段不可访问 时 仍然使用 getter、setter
+     */
+    private static List<FieldTransform> directAccess(List<FieldTransform> fieldTransforms, Class sourceClass, Class destClass){
+        ClassModel sourceClassModel = ClassModel.of(sourceClass);
+        ClassModel destClassModel = ClassModel.of(destClass);
+
+        List<FieldTransform> directFieldTransforms = new ArrayList<>(fieldTransforms.size());
+        for(FieldTransform fieldTransform : fieldTransforms){
+            Field readField = sourceClassModel.getField(fieldTransform.getName());
+            Field writeField = destClassModel.getField(fieldTransform.getName());
+            if(readField != null && !sourceClassModel.isDirectlyReadable(readField)){
+                readField = null;
+            }
+            if(writeField != null && !destClassModel.isDirectlyWritable(writeField)){
+                writeField = null;
+            }
+            directFieldTransforms.add(fieldTransform.directAccess(readField, writeField));
+        }
+        return directFieldTransforms;
+    }
+
+    public static boolean isMap(Class clazz){
+        return Map.class.isAssignableFrom(clazz) || ClassReaderUtil.isExtends(clazz, Map.class);
+    }
+
+}
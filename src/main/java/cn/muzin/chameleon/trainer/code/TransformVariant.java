@@ -0,0 +1,119 @@
+package cn.muzin.chameleon.trainer.code;
+
+import cn.muzin.chameleon.trainer.TrainerConstant;
+import javassist.CtClass;
+import javassist.CtMethod;
+import javassist.Modifier;
+import javassist.NotFoundException;
+
+/**
+ * adaptationStructureMismatch、skipNull 的 组合
+ *
+ * <p>每种组合 生成一个 独立的 transform 方法，方法体中 不再判断 这两个参数，
+ * 公开的 transform(Object, Object, boolean, boolean) 只负责 分发，每个方法 都更小，更容易被 JIT 编译 和 内联。</p>
+ *
+ * <p>训练 时 一次 生成 全部组合：{@link CodeBackend#SOURCE} 需要 编译 四份 源码，训练 明显 变慢，
+ * 因此 默认 使用 {@link CodeBackend#BYTECODE}，耗时 见 {@link CodeBackend}。</p>
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public enum TransformVariant {
+
+    PLAIN(false, false),
+
+    SKIP_NULL(false, true),
+
+    ADAPTATION(true, false),
+
+    ADAPTATION_SKIP_NULL(true, true);
+
+    /**
+     * 方法描述符：void (Object source, Object dest, boolean adaptationStructureMismatch, boolean skipNull)
+     */
+    public static final String METHOD_DESCRIPTOR = "(Ljava/lang/Object;Ljava/lang/Object;ZZ)V";
+
+    private final boolean adaptationStructureMismatch;
+
+    private final boolean skipNull;
+
+    TransformVariant(boolean adaptationStructureMismatch, boolean skipNull){
+        this.adaptationStructureMismatch = adaptationStructureMismatch;
+        this.skipNull = skipNull;
+    }
+
+    public static TransformVariant of(boolean adaptationStructureMismatch, boolean skipNull){
+        if(adaptationStructureMismatch){
+            return skipNull ? ADAPTATION_SKIP_NULL : ADAPTATION;
+        }
+        return skipNull ? SKIP_NULL : PLAIN;
+    }
+
+    public boolean isAdaptationStructureMismatch() {
+        return adaptationStructureMismatch;
+    }
+
+    public boolean isSkipNull() {
+        return skipNull;
+    }
+
+    /**
+     * @return 生成的方法名，例如 transformAdaptationSkipNull
+     */
+    public String getMethodName() {
+        return "transform"
+                + (adaptationStructureMismatch ? "Adaptation" : "")
+                + (skipNull ? "SkipNull" : "")
+                + (!adaptationStructureMismatch && !skipNull ? "Plain" : "");
+    }
+
+    /**
+     * 创建 该组合 的方法，参数 和 transform(Object, Object, boolean, boolean) 相同，嵌套结构 转换时 原样传递
+     * @param ctClass 生成的 Environment 类
+     * @return private void transformXxx(Object source, Object dest, boolean adaptationStructureMismatch, boolean skipNull)
+     */
+    public CtMethod newCtMethod(CtClass ctClass) throws NotFoundException {
+        return newCtMethod(ctClass, getMethodName());
+    }
+
+    /**
+     * 创建 和 该组合 方法 参数相同的方法，用于 拆分 过大的方法
+     * @param ctClass 生成的 Environment 类
+     * @param methodName 方法名
+     * @return private void methodName(Object source, Object dest, boolean adaptationStructureMismatch, boolean skipNull)
+     */
+    public CtMethod newCtMethod(CtClass ctClass, String methodName) throws NotFoundException {
+        CtClass objectCtClass = ctClass.getClassPool().get(TrainerConstant.OBJECT_NAME);
+        CtMethod ctMethod = new CtMethod(CtClass.voidType,
+                methodName,
+                new CtClass[]{ objectCtClass, objectCtClass, CtClass.booleanType, CtClass.booleanType },
+                ctClass);
+        ctMethod.setModifiers(Modifier.PRIVATE);
+        return ctMethod;
+    }
+
+    /**
+     * 分发 到 各组合 的方法
+     *
+     * Examples:
+     *  if($3){
+     *      if($4){ $0.transformAdaptationSkipNull($1, $2, $3, $4); }else{ $0.transformAdaptation($1, $2, $3, $4); }
+     *  }else{
+     *      if($4){ $0.transformSkipNull($1, $2, $3, $4); }else{ $0.transformPlain($1, $2, $3, $4); }
+     *  }
+     */
+    public static String generateDispatchMethodBody(){
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("{\n");
+        stringBuilder.append("if($3){\n");
+        stringBuilder.append("\tif($4){ $0." + ADAPTATION_SKIP_NULL.getMethodName() + "($1, $2, $3, $4); }");
+        stringBuilder.append("else{ $0." + ADAPTATION.getMethodName() + "($1, $2, $3, $4); }\n");
+        stringBuilder.append("}else{\n");
+        stringBuilder.append("\tif($4){ $0." + SKIP_NULL.getMethodName() + "($1, $2, $3, $4); }");
+        stringBuilder.append("else{ $0." + PLAIN.getMethodName() + "($1, $2, $3, $4); }\n");
+        stringBuilder.append("}\n");
+        stringBuilder.append("}");
+        return stringBuilder.toString();
+    }
+
+}
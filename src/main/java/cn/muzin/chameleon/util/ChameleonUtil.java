@@ -1,6 +1,7 @@
 package cn.muzin.chameleon.util;
 
 import cn.muzin.chameleon.Chameleon;
+import cn.muzin.chameleon.Mapper;
 import cn.muzin.chameleon.selector.EnvironmentAdaptSelector;
 
 import java.util.Collection;
@@ -42,6 +43,10 @@ public class ChameleonUtil {
         chameleon.ready();
     }
 
+    public static <T, R> Mapper<T, R> mapper(Class<T> sourceClass, Class<R> destClass){
+        return chameleon.mapper(sourceClass, destClass);
+    }
+
     public static <T, R> void transform(T source, R dest){
         transform(source, dest);
     }
@@ -78,4 +83,12 @@ public class ChameleonUtil {
         return chameleon.transform(source, destClass, adaptationStructureMismatch, skipNull);
     }
 
+    public static <T> T deepClone(T source){
+        return chameleon.deepClone(source);
+    }
+
+    public static <T> List<T> deepClone(Collection<T> source){
+        return chameleon.deepClone(source);
+    }
+
 }
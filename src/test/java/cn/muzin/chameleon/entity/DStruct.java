@@ -0,0 +1,40 @@
+package cn.muzin.chameleon.entity;
+
+/**
+ * public 字段 的结构
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class DStruct {
+
+    public String name;
+
+    public String namec;
+
+    public Integer ttt;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getNamec() {
+        return namec;
+    }
+
+    public void setNamec(String namec) {
+        this.namec = namec == null ? null : namec.trim();
+    }
+
+    public Integer getTtt() {
+        return ttt;
+    }
+
+    public void setTtt(Integer ttt) {
+        this.ttt = ttt;
+    }
+}
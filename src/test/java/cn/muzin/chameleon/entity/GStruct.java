@@ -0,0 +1,73 @@
+package cn.muzin.chameleon.entity;
+
+import java.util.List;
+
+/**
+ * 数组转换 的 源
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class GStruct {
+
+    private int[] scores;
+
+    private String[] tags;
+
+    private int[] counts;
+
+    private List<Integer> levels;
+
+    private AInnerStruct[] inners;
+
+    private long[] ids;
+
+    public int[] getScores() {
+        return scores;
+    }
+
+    public void setScores(int[] scores) {
+        this.scores = scores;
+    }
+
+    public String[] getTags() {
+        return tags;
+    }
+
+    public void setTags(String[] tags) {
+        this.tags = tags;
+    }
+
+    public int[] getCounts() {
+        return counts;
+    }
+
+    public void setCounts(int[] counts) {
+        this.counts = counts;
+    }
+
+    public List<Integer> getLevels() {
+        return levels;
+    }
+
+    public void setLevels(List<Integer> levels) {
+        this.levels = levels;
+    }
+
+    public AInnerStruct[] getInners() {
+        return inners;
+    }
+
+    public void setInners(AInnerStruct[] inners) {
+        this.inners = inners;
+    }
+
+    public long[] getIds() {
+        return ids;
+    }
+
+    public void setIds(long[] ids) {
+        this.ids = ids;
+    }
+
+}
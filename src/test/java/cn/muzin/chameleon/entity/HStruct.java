@@ -0,0 +1,73 @@
+package cn.muzin.chameleon.entity;
+
+import java.util.List;
+
+/**
+ * 数组转换 的 目标，和 GStruct 同名字段 为 不同的 数组 或 List
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class HStruct {
+
+    private int[] scores;
+
+    private List<String> tags;
+
+    private long[] counts;
+
+    private int[] levels;
+
+    private BInnerStruct[] inners;
+
+    private String[] ids;
+
+    public int[] getScores() {
+        return scores;
+    }
+
+    public void setScores(int[] scores) {
+        this.scores = scores;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public long[] getCounts() {
+        return counts;
+    }
+
+    public void setCounts(long[] counts) {
+        this.counts = counts;
+    }
+
+    public int[] getLevels() {
+        return levels;
+    }
+
+    public void setLevels(int[] levels) {
+        this.levels = levels;
+    }
+
+    public BInnerStruct[] getInners() {
+        return inners;
+    }
+
+    public void setInners(BInnerStruct[] inners) {
+        this.inners = inners;
+    }
+
+    public String[] getIds() {
+        return ids;
+    }
+
+    public void setIds(String[] ids) {
+        this.ids = ids;
+    }
+
+}
@@ -0,0 +1,75 @@
+package cn.muzin.chameleon.entity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 集合转换 的 源
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class IStruct {
+
+    private Set<AInnerStruct> inners;
+
+    private Collection<Integer> levels;
+
+    private List<String> names;
+
+    private Map<String, AInnerStruct> innerMap;
+
+    private Map<String, Integer> counts;
+
+    private List<AInnerStruct> sortedInners;
+
+    public Set<AInnerStruct> getInners() {
+        return inners;
+    }
+
+    public void setInners(Set<AInnerStruct> inners) {
+        this.inners = inners;
+    }
+
+    public Collection<Integer> getLevels() {
+        return levels;
+    }
+
+    public void setLevels(Collection<Integer> levels) {
+        this.levels = levels;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public void setNames(List<String> names) {
+        this.names = names;
+    }
+
+    public Map<String, AInnerStruct> getInnerMap() {
+        return innerMap;
+    }
+
+    public void setInnerMap(Map<String, AInnerStruct> innerMap) {
+        this.innerMap = innerMap;
+    }
+
+    public Map<String, Integer> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<String, Integer> counts) {
+        this.counts = counts;
+    }
+
+    public List<AInnerStruct> getSortedInners() {
+        return sortedInners;
+    }
+
+    public void setSortedInners(List<AInnerStruct> sortedInners) {
+        this.sortedInners = sortedInners;
+    }
+}
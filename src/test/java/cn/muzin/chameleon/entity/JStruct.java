@@ -0,0 +1,76 @@
+package cn.muzin.chameleon.entity;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedSet;
+
+/**
+ * 集合转换 的 目标
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class JStruct {
+
+    private Set<BInnerStruct> inners;
+
+    private Deque<Long> levels;
+
+    private SortedSet<String> names;
+
+    private Map<String, BInnerStruct> innerMap;
+
+    private NavigableMap<String, Long> counts;
+
+    private SortedSet<BInnerStruct> sortedInners;
+
+    public Set<BInnerStruct> getInners() {
+        return inners;
+    }
+
+    public void setInners(Set<BInnerStruct> inners) {
+        this.inners = inners;
+    }
+
+    public Deque<Long> getLevels() {
+        return levels;
+    }
+
+    public void setLevels(Deque<Long> levels) {
+        this.levels = levels;
+    }
+
+    public SortedSet<String> getNames() {
+        return names;
+    }
+
+    public void setNames(SortedSet<String> names) {
+        this.names = names;
+    }
+
+    public Map<String, BInnerStruct> getInnerMap() {
+        return innerMap;
+    }
+
+    public void setInnerMap(Map<String, BInnerStruct> innerMap) {
+        this.innerMap = innerMap;
+    }
+
+    public NavigableMap<String, Long> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(NavigableMap<String, Long> counts) {
+        this.counts = counts;
+    }
+
+    public SortedSet<BInnerStruct> getSortedInners() {
+        return sortedInners;
+    }
+
+    public void setSortedInners(SortedSet<BInnerStruct> sortedInners) {
+        this.sortedInners = sortedInners;
+    }
+}
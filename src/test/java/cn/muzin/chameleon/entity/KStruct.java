@@ -0,0 +1,116 @@
+package cn.muzin.chameleon.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 深拷贝
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class KStruct {
+
+    private String name;
+
+    private BigDecimal amount;
+
+    private LocalDate date;
+
+    private AInnerStruct inner;
+
+    private List<AInnerStruct> inners;
+
+    private AInnerStruct[] innerArray;
+
+    private Map<String, AInnerStruct> innerMap;
+
+    private List<String> tags;
+
+    private int[] scores;
+
+    private Date created;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public AInnerStruct getInner() {
+        return inner;
+    }
+
+    public void setInner(AInnerStruct inner) {
+        this.inner = inner;
+    }
+
+    public List<AInnerStruct> getInners() {
+        return inners;
+    }
+
+    public void setInners(List<AInnerStruct> inners) {
+        this.inners = inners;
+    }
+
+    public AInnerStruct[] getInnerArray() {
+        return innerArray;
+    }
+
+    public void setInnerArray(AInnerStruct[] innerArray) {
+        this.innerArray = innerArray;
+    }
+
+    public Map<String, AInnerStruct> getInnerMap() {
+        return innerMap;
+    }
+
+    public void setInnerMap(Map<String, AInnerStruct> innerMap) {
+        this.innerMap = innerMap;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public int[] getScores() {
+        return scores;
+    }
+
+    public void setScores(int[] scores) {
+        this.scores = scores;
+    }
+
+    public Date getCreated() {
+        return created;
+    }
+
+    public void setCreated(Date created) {
+        this.created = created;
+    }
+}
@@ -0,0 +1,63 @@
+package cn.muzin.chameleon.entity;
+
+import java.util.List;
+
+/**
+ * 构造函数、builder 创建 目标对象 的 源
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class LStruct {
+
+    private String name;
+
+    private Integer age;
+
+    private AInnerStruct inner;
+
+    private List<AInnerStruct> inners;
+
+    private String price;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public AInnerStruct getInner() {
+        return inner;
+    }
+
+    public void setInner(AInnerStruct inner) {
+        this.inner = inner;
+    }
+
+    public List<AInnerStruct> getInners() {
+        return inners;
+    }
+
+    public void setInners(List<AInnerStruct> inners) {
+        this.inners = inners;
+    }
+
+    public String getPrice() {
+        return price;
+    }
+
+    public void setPrice(String price) {
+        this.price = price;
+    }
+
+}
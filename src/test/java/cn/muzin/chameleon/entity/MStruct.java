@@ -0,0 +1,52 @@
+package cn.muzin.chameleon.entity;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 通过 全参构造函数 创建 的 不可变 目标
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class MStruct {
+
+    private final String name;
+
+    private final int age;
+
+    private final BInnerStruct inner;
+
+    private final List<BInnerStruct> inners;
+
+    private final BigDecimal price;
+
+    public MStruct(String name, int age, BInnerStruct inner, List<BInnerStruct> inners, BigDecimal price) {
+        this.name = name;
+        this.age = age;
+        this.inner = inner;
+        this.inners = inners;
+        this.price = price;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public BInnerStruct getInner() {
+        return inner;
+    }
+
+    public List<BInnerStruct> getInners() {
+        return inners;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+}
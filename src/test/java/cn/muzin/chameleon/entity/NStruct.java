@@ -0,0 +1,54 @@
+package cn.muzin.chameleon.entity;
+
+/**
+ * 通过 builder 创建 的 目标
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class NStruct {
+
+    private final String name;
+
+    private final long age;
+
+    private NStruct(Builder builder) {
+        this.name = builder.name;
+        this.age = builder.age;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getAge() {
+        return age;
+    }
+
+    public static class Builder {
+
+        private String name;
+
+        private long age;
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder age(long age) {
+            this.age = age;
+            return this;
+        }
+
+        public NStruct build() {
+            return new NStruct(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,49 @@
+package cn.muzin.chameleon.entity;
+
+import cn.muzin.chameleon.annotation.ChameleonCreator;
+
+/**
+ * 通过 {@link ChameleonCreator} 标注的 构造函数 创建 的 目标，同时 有 无参构造函数 和 setter
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class OStruct {
+
+    private String name;
+
+    private Integer age;
+
+    private boolean created;
+
+    public OStruct() {
+    }
+
+    @ChameleonCreator({ "age", "name" })
+    public OStruct(Integer age, String name) {
+        this.name = name;
+        this.age = age;
+        this.created = true;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public boolean isCreated() {
+        return created;
+    }
+
+}
@@ -0,0 +1,120 @@
+package cn.muzin.chameleon.entity;
+
+/**
+ * 基本类型、包装类型 转换 的 源
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class PStruct {
+
+    private int count;
+
+    private long total;
+
+    private double ratio;
+
+    private boolean active;
+
+    private Integer boxed;
+
+    private Integer missing;
+
+    private long big;
+
+    private float rate;
+
+    private char grade;
+
+    private Integer amount;
+
+    private int same;
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public double getRatio() {
+        return ratio;
+    }
+
+    public void setRatio(double ratio) {
+        this.ratio = ratio;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public Integer getBoxed() {
+        return boxed;
+    }
+
+    public void setBoxed(Integer boxed) {
+        this.boxed = boxed;
+    }
+
+    public Integer getMissing() {
+        return missing;
+    }
+
+    public void setMissing(Integer missing) {
+        this.missing = missing;
+    }
+
+    public long getBig() {
+        return big;
+    }
+
+    public void setBig(long big) {
+        this.big = big;
+    }
+
+    public float getRate() {
+        return rate;
+    }
+
+    public void setRate(float rate) {
+        this.rate = rate;
+    }
+
+    public char getGrade() {
+        return grade;
+    }
+
+    public void setGrade(char grade) {
+        this.grade = grade;
+    }
+
+    public Integer getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Integer amount) {
+        this.amount = amount;
+    }
+
+    public int getSame() {
+        return same;
+    }
+
+    public void setSame(int same) {
+        this.same = same;
+    }
+}
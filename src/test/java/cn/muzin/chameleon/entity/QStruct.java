@@ -0,0 +1,120 @@
+package cn.muzin.chameleon.entity;
+
+/**
+ * 基本类型、包装类型 转换 的 目标，和 PStruct 同名字段 类型不同
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class QStruct {
+
+    private long count;
+
+    private int total;
+
+    private float ratio;
+
+    private Boolean active;
+
+    private long boxed;
+
+    private int missing;
+
+    private Long big;
+
+    private Double rate;
+
+    private Character grade;
+
+    private Long amount;
+
+    private int same;
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public float getRatio() {
+        return ratio;
+    }
+
+    public void setRatio(float ratio) {
+        this.ratio = ratio;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    public long getBoxed() {
+        return boxed;
+    }
+
+    public void setBoxed(long boxed) {
+        this.boxed = boxed;
+    }
+
+    public int getMissing() {
+        return missing;
+    }
+
+    public void setMissing(int missing) {
+        this.missing = missing;
+    }
+
+    public Long getBig() {
+        return big;
+    }
+
+    public void setBig(Long big) {
+        this.big = big;
+    }
+
+    public Double getRate() {
+        return rate;
+    }
+
+    public void setRate(Double rate) {
+        this.rate = rate;
+    }
+
+    public Character getGrade() {
+        return grade;
+    }
+
+    public void setGrade(Character grade) {
+        this.grade = grade;
+    }
+
+    public Long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Long amount) {
+        this.amount = amount;
+    }
+
+    public int getSame() {
+        return same;
+    }
+
+    public void setSame(int same) {
+        this.same = same;
+    }
+}
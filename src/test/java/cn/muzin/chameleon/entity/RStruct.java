@@ -0,0 +1,20 @@
+package cn.muzin.chameleon.entity;
+
+/**
+ * 深拷贝 按 运行时类型 复制：AInnerStruct 的 子类
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class RStruct extends AInnerStruct {
+
+    private String extra;
+
+    public String getExtra() {
+        return extra;
+    }
+
+    public void setExtra(String extra) {
+        this.extra = extra;
+    }
+}
@@ -0,0 +1,16 @@
+package cn.muzin.chameleon.entity;
+
+import cn.muzin.chameleon.convert.TypeConverter;
+
+/**
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class UpperCaseConverter implements TypeConverter<String, String> {
+
+    @Override
+    public String convert(String source) {
+        return source.toUpperCase();
+    }
+
+}
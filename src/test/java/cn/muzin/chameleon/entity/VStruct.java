@@ -0,0 +1,92 @@
+package cn.muzin.chameleon.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * 内置转换 的 源，String、BigDecimal 等 值类型
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class VStruct {
+
+    private String id;
+
+    private String price;
+
+    private BigDecimal amount;
+
+    private double rate;
+
+    private Integer count;
+
+    private String flag;
+
+    private Float ratio;
+
+    private String missing;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getPrice() {
+        return price;
+    }
+
+    public void setPrice(String price) {
+        this.price = price;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+
+    public String getFlag() {
+        return flag;
+    }
+
+    public void setFlag(String flag) {
+        this.flag = flag;
+    }
+
+    public String getMissing() {
+        return missing;
+    }
+
+    public void setMissing(String missing) {
+        this.missing = missing;
+    }
+
+    public Float getRatio() {
+        return ratio;
+    }
+
+    public void setRatio(Float ratio) {
+        this.ratio = ratio;
+    }
+}
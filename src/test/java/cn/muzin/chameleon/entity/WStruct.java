@@ -0,0 +1,93 @@
+package cn.muzin.chameleon.entity;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * 内置转换 的 目标，和 VStruct 同名字段 类型不同
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class WStruct {
+
+    private Long id;
+
+    private BigDecimal price;
+
+    private double amount;
+
+    private BigDecimal rate;
+
+    private BigInteger count;
+
+    private boolean flag;
+
+    private BigDecimal ratio;
+
+    private int missing;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(double amount) {
+        this.amount = amount;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+
+    public void setRate(BigDecimal rate) {
+        this.rate = rate;
+    }
+
+    public BigInteger getCount() {
+        return count;
+    }
+
+    public void setCount(BigInteger count) {
+        this.count = count;
+    }
+
+    public boolean isFlag() {
+        return flag;
+    }
+
+    public void setFlag(boolean flag) {
+        this.flag = flag;
+    }
+
+    public int getMissing() {
+        return missing;
+    }
+
+    public void setMissing(int missing) {
+        this.missing = missing;
+    }
+
+    public BigDecimal getRatio() {
+        return ratio;
+    }
+
+    public void setRatio(BigDecimal ratio) {
+        this.ratio = ratio;
+    }
+}
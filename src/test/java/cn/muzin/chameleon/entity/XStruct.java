@@ -0,0 +1,41 @@
+package cn.muzin.chameleon.entity;
+
+/**
+ * 自定义转换 的 源
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class XStruct {
+
+    private String status;
+
+    private int level;
+
+    private String name;
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+}
@@ -0,0 +1,44 @@
+package cn.muzin.chameleon.entity;
+
+import cn.muzin.chameleon.annotation.ChameleonConverter;
+
+/**
+ * 自定义转换 的 目标，name 使用 字段上 指定的 转换器
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class YStruct {
+
+    private boolean status;
+
+    private String level;
+
+    @ChameleonConverter(UpperCaseConverter.class)
+    private String name;
+
+    public boolean isStatus() {
+        return status;
+    }
+
+    public void setStatus(boolean status) {
+        this.status = status;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public void setLevel(String level) {
+        this.level = level;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+}
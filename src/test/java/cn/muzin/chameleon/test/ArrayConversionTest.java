@@ -0,0 +1,141 @@
+package cn.muzin.chameleon.test;
+
+import cn.muzin.chameleon.Chameleon;
+import cn.muzin.chameleon.entity.AInnerStruct;
+import cn.muzin.chameleon.entity.BInnerStruct;
+import cn.muzin.chameleon.entity.GStruct;
+import cn.muzin.chameleon.entity.HStruct;
+import cn.muzin.chameleon.entity.KStruct;
+import cn.muzin.chameleon.trainer.ReflectEnvironment;
+import cn.muzin.chameleon.trainer.code.CodeBackend;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 数组 与 数组、List 之间 的转换
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class ArrayConversionTest {
+
+    private GStruct createGStruct(){
+        AInnerStruct inner = new AInnerStruct();
+        inner.setPpp("inner");
+
+        GStruct gStruct = new GStruct();
+        gStruct.setScores(new int[]{ 1, 2, 3 });
+        gStruct.setTags(new String[]{ "a", null, "c" });
+        gStruct.setCounts(new int[]{ 4, 5 });
+        gStruct.setLevels(Arrays.asList(6, null, 8));
+        gStruct.setInners(new AInnerStruct[]{ inner, null });
+        gStruct.setIds(new long[]{ 9L });
+        return gStruct;
+    }
+
+    private void assertHStruct(GStruct gStruct, HStruct hStruct){
+        Assert.assertArrayEquals(new int[]{ 1, 2, 3 }, hStruct.getScores());
+        Assert.assertNotSame(gStruct.getScores(), hStruct.getScores());
+        Assert.assertEquals(Arrays.asList("a", null, "c"), hStruct.getTags());
+        Assert.assertArrayEquals(new long[]{ 4L, 5L }, hStruct.getCounts());
+        // null 元素 转换为 基本类型 的 默认值
+        Assert.assertArrayEquals(new int[]{ 6, 0, 8 }, hStruct.getLevels());
+        Assert.assertEquals(2, hStruct.getInners().length);
+        Assert.assertEquals("inner", hStruct.getInners()[0].getPpp());
+        Assert.assertNull(hStruct.getInners()[1]);
+        Assert.assertArrayEquals(new String[]{ "9" }, hStruct.getIds());
+    }
+
+    @Test
+    public void arrayConversionTest(){
+        for(CodeBackend codeBackend : CodeBackend.values()) {
+            Chameleon chameleon = new Chameleon();
+            chameleon.setCodeBackend(codeBackend);
+
+            GStruct gStruct = createGStruct();
+            HStruct hStruct = chameleon.transform(gStruct, HStruct.class, true);
+            assertHStruct(gStruct, hStruct);
+
+            // 不适配 结构不匹配 时，元素 转换为 字符串、嵌套结构 的数组 不转换
+            HStruct plain = chameleon.transform(gStruct, HStruct.class);
+            Assert.assertArrayEquals(new long[]{ 4L, 5L }, plain.getCounts());
+            Assert.assertNull(plain.getInners());
+            Assert.assertNull(plain.getIds());
+
+            GStruct back = chameleon.transform(hStruct, GStruct.class, true);
+            Assert.assertArrayEquals(new String[]{ "a", null, "c" }, back.getTags());
+            Assert.assertArrayEquals(new int[]{ 4, 5 }, back.getCounts());
+            Assert.assertEquals(Arrays.asList(6, 0, 8), back.getLevels());
+            Assert.assertEquals("inner", back.getInners()[0].getPpp());
+
+            // null 数组 赋值为 null，skipNull 时 跳过
+            HStruct nullScores = new HStruct();
+            nullScores.setScores(new int[0]);
+            chameleon.transform(new GStruct(), nullScores, true, true);
+            Assert.assertNotNull(nullScores.getScores());
+            chameleon.transform(new GStruct(), nullScores, true, false);
+            Assert.assertNull(nullScores.getScores());
+
+            Chameleon shareArrays = new Chameleon();
+            shareArrays.setCodeBackend(codeBackend);
+            shareArrays.setShareArrays(true);
+            Assert.assertSame(gStruct.getScores(), shareArrays.transform(gStruct, HStruct.class).getScores());
+
+            BInnerStruct[] inners = chameleon.transform(gStruct.getInners(), BInnerStruct.class);
+            Assert.assertEquals(2, inners.length);
+            Assert.assertEquals("inner", inners[0].getPpp());
+            Assert.assertNull(inners[1]);
+        }
+
+        GStruct gStruct = createGStruct();
+        HStruct hStruct = new HStruct();
+        new ReflectEnvironment(GStruct.class, HStruct.class, new Chameleon()).transform(gStruct, hStruct, true, false);
+        assertHStruct(gStruct, hStruct);
+    }
+
+    @Test
+    public void arrayMapConversionTest(){
+        // Entity 与 Map 之间 数组 属性 不转换，各个 实现 结果 一致
+        AInnerStruct inner = new AInnerStruct();
+        inner.setPpp("inner");
+        KStruct kStruct = new KStruct();
+        kStruct.setName("name");
+        kStruct.setInner(inner);
+        kStruct.setInnerArray(new AInnerStruct[]{ inner });
+        kStruct.setScores(new int[]{ 1, 2 });
+
+        Map gStructMap = new LinkedHashMap();
+        new ReflectEnvironment(GStruct.class, Map.class, new Chameleon()).transform(createGStruct(), gStructMap, true, false);
+        Assert.assertEquals(Collections.singleton("levels"), gStructMap.keySet());
+        Map kStructMap = new LinkedHashMap();
+        new ReflectEnvironment(KStruct.class, Map.class, new Chameleon()).transform(kStruct, kStructMap, true, false);
+        Assert.assertFalse(kStructMap.containsKey("scores"));
+        Assert.assertFalse(kStructMap.containsKey("innerArray"));
+
+        for(CodeBackend codeBackend : CodeBackend.values()) {
+            Chameleon chameleon = new Chameleon();
+            chameleon.setCodeBackend(codeBackend);
+
+            Assert.assertEquals(codeBackend.name(), gStructMap, chameleon.transform(createGStruct(), Map.class, true));
+            Assert.assertEquals(codeBackend.name(), kStructMap, chameleon.transform(kStruct, Map.class, true));
+
+            Map map = new LinkedHashMap(gStructMap);
+            map.put("scores", new int[]{ 1 });
+            GStruct gStruct = chameleon.transform(map, GStruct.class, true);
+            Assert.assertNull(gStruct.getScores());
+            Assert.assertEquals(Arrays.asList(6, null, 8), gStruct.getLevels());
+
+            KStruct back = chameleon.transform(kStructMap, KStruct.class, true);
+            Assert.assertEquals("name", back.getName());
+            Assert.assertEquals("inner", back.getInner().getPpp());
+            Assert.assertNull(back.getScores());
+            Assert.assertNull(back.getInnerArray());
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package cn.muzin.chameleon.test;
+
+import cn.muzin.chameleon.Chameleon;
+import cn.muzin.chameleon.entity.VStruct;
+import cn.muzin.chameleon.entity.WStruct;
+import cn.muzin.chameleon.exception.ChameleonTransformException;
+import cn.muzin.chameleon.trainer.ReflectEnvironment;
+import cn.muzin.chameleon.trainer.code.CodeBackend;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * 内置转换：String 与 数值、BigDecimal、BigInteger 之间 的转换
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class BuiltinConverterTest {
+
+    private VStruct createVStruct(){
+        VStruct vStruct = new VStruct();
+        vStruct.setId(" 12 ");
+        vStruct.setPrice("3.50");
+        vStruct.setAmount(new BigDecimal("2.25"));
+        vStruct.setRate(0.1D);
+        vStruct.setCount(42);
+        vStruct.setFlag(" TRUE ");
+        vStruct.setRatio(0.1F);
+        return vStruct;
+    }
+
+    @Test
+    public void builtinConverterTest(){
+        for(CodeBackend codeBackend : CodeBackend.values()) {
+            Chameleon chameleon = new Chameleon();
+            chameleon.setCodeBackend(codeBackend);
+
+            WStruct wStruct = chameleon.transform(createVStruct(), WStruct.class);
+            assertWStruct(wStruct);
+
+            VStruct vStruct = chameleon.transform(wStruct, VStruct.class);
+            Assert.assertEquals("12", vStruct.getId());
+            Assert.assertEquals("3.50", vStruct.getPrice());
+            Assert.assertEquals(new BigDecimal("2.25"), vStruct.getAmount());
+            Assert.assertEquals(0.1D, vStruct.getRate(), 0D);
+            Assert.assertEquals(Integer.valueOf(42), vStruct.getCount());
+            Assert.assertEquals("true", vStruct.getFlag());
+            Assert.assertEquals(Float.valueOf(0.1F), vStruct.getRatio());
+            Assert.assertEquals("0", vStruct.getMissing());
+
+            VStruct invalid = createVStruct();
+            invalid.setId("abc");
+            try {
+                chameleon.transform(invalid, WStruct.class);
+                Assert.fail();
+            }catch (ChameleonTransformException e){
+                Assert.assertTrue(e.getMessage().contains("abc"));
+            }
+
+            // 只接受 true、false，其他值 不转换为 false
+            invalid = createVStruct();
+            invalid.setFlag("yes");
+            try {
+                chameleon.transform(invalid, WStruct.class);
+                Assert.fail();
+            }catch (ChameleonTransformException e){
+                Assert.assertTrue(e.getMessage().contains("yes"));
+            }
+        }
+
+        WStruct wStruct = new WStruct();
+        new ReflectEnvironment(VStruct.class, WStruct.class, new Chameleon()).transform(createVStruct(), wStruct, false, false);
+        assertWStruct(wStruct);
+    }
+
+    private void assertWStruct(WStruct wStruct){
+        Assert.assertEquals(Long.valueOf(12L), wStruct.getId());
+        Assert.assertEquals(new BigDecimal("3.50"), wStruct.getPrice());
+        Assert.assertEquals(2.25D, wStruct.getAmount(), 0D);
+        Assert.assertEquals(new BigDecimal("0.1"), wStruct.getRate());
+        Assert.assertEquals(BigInteger.valueOf(42L), wStruct.getCount());
+        Assert.assertTrue(wStruct.isFlag());
+        // float 不先 扩展为 double，0.1F 转换为 0.1
+        Assert.assertEquals(new BigDecimal("0.1"), wStruct.getRatio());
+        Assert.assertEquals(0, wStruct.getMissing());
+    }
+
+}
@@ -0,0 +1,75 @@
+package cn.muzin.chameleon.test;
+
+import cn.muzin.chameleon.Chameleon;
+import cn.muzin.chameleon.Environment;
+import cn.muzin.chameleon.entity.AInnerStruct;
+import cn.muzin.chameleon.entity.BInnerStruct;
+import cn.muzin.chameleon.trainer.code.ClassDefineStrategy;
+import cn.muzin.chameleon.trainer.code.CodeBackend;
+import cn.muzin.chameleon.trainer.code.EnvironmentClassDefiner;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 定义 生成的 Environment 类 的方式
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class ClassDefineStrategyTest {
+
+    @Test
+    public void classDefineStrategyTest() throws Exception {
+        for(ClassDefineStrategy classDefineStrategy : ClassDefineStrategy.values()) {
+            for(CodeBackend codeBackend : CodeBackend.values()) {
+                Chameleon chameleon = new Chameleon();
+                chameleon.setCodeBackend(codeBackend);
+                chameleon.setClassDefineStrategy(classDefineStrategy);
+
+                AInnerStruct aInnerStruct = new AInnerStruct();
+                aInnerStruct.setPpp("ppp");
+                Assert.assertEquals("ppp", chameleon.transform(aInnerStruct, BInnerStruct.class).getPpp());
+
+                Map<String, Object> map = chameleon.transform(aInnerStruct, HashMap.class);
+                Assert.assertEquals("ppp", map.get("ppp"));
+                Assert.assertEquals("ppp", chameleon.transform(map, AInnerStruct.class).getPpp());
+
+                Class environmentClass = chameleon.getEnvironment(AInnerStruct.class, BInnerStruct.class).getClass();
+                switch (EnvironmentClassDefiner.resolve(classDefineStrategy)) {
+                    case HIDDEN_CLASS:
+                        Assert.assertTrue((Boolean) Class.class.getMethod("isHidden").invoke(environmentClass));
+                        break;
+                    case LOOKUP:
+                        Assert.assertSame(BInnerStruct.class.getClassLoader(), environmentClass.getClassLoader());
+                        Assert.assertTrue(environmentClass.getName().startsWith(BInnerStruct.class.getPackage().getName() + "."));
+                        break;
+                    default:
+                        Assert.assertNotSame(BInnerStruct.class.getClassLoader(), environmentClass.getClassLoader());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void unloadTest() throws Exception {
+        Chameleon chameleon = new Chameleon();
+        chameleon.setClassDefineStrategy(ClassDefineStrategy.CLASS_LOADER);
+        chameleon.adapt(AInnerStruct.class, BInnerStruct.class);
+
+        WeakReference<Class> environmentClass =
+                new WeakReference<>(chameleon.getEnvironment(AInnerStruct.class, BInnerStruct.class).getClass());
+        // readapt 替换 Environment 后，原来的类 可以被卸载
+        chameleon.readapt(AInnerStruct.class, BInnerStruct.class);
+
+        for(int i = 0; i < 20 && environmentClass.get() != null; i++){
+            System.gc();
+            Thread.sleep(50);
+        }
+        Assert.assertNull(environmentClass.get());
+    }
+
+}
@@ -0,0 +1,41 @@
+package cn.muzin.chameleon.test;
+
+import cn.muzin.chameleon.entity.AInnerStruct;
+import cn.muzin.chameleon.entity.AStruct;
+import cn.muzin.chameleon.trainer.code.ClassModel;
+import cn.muzin.chameleon.trainer.code.ClassReaderUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * ClassModel 每个类 只解析 一次，结果 和 ClassReaderUtil 逐个 查找 相同
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class ClassModelTest {
+
+    @Test
+    public void classModelTest(){
+        ClassModel classModel = ClassModel.of(AStruct.class);
+        Assert.assertSame(classModel, ClassModel.of(AStruct.class));
+        Assert.assertEquals(ClassReaderUtil.getAllFields(AStruct.class), classModel.getFields());
+
+        Method[] methods = ClassReaderUtil.filterPublicMethods(AStruct.class.getMethods());
+        for(Field field : classModel.getFields()){
+            Assert.assertSame(field, classModel.getField(field.getName()));
+            Assert.assertEquals(ClassReaderUtil.getReadMethod(field, AStruct.class, methods), classModel.getReadMethod(field));
+            Assert.assertEquals(ClassReaderUtil.getWriteMethod(field, AStruct.class, methods), classModel.getWriteMethod(field));
+        }
+
+        Field innerList = classModel.getField("innerList");
+        Assert.assertEquals(AInnerStruct.class, classModel.getReadElementType(innerList));
+        Assert.assertEquals(AInnerStruct.class, classModel.getWriteElementType(innerList));
+        Assert.assertNull(classModel.getReadElementType(classModel.getField("name")));
+        Assert.assertNull(classModel.getField("missing"));
+    }
+
+}
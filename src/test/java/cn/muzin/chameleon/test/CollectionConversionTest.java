@@ -0,0 +1,104 @@
+package cn.muzin.chameleon.test;
+
+import cn.muzin.chameleon.Chameleon;
+import cn.muzin.chameleon.entity.AInnerStruct;
+import cn.muzin.chameleon.entity.BInnerStruct;
+import cn.muzin.chameleon.entity.IStruct;
+import cn.muzin.chameleon.entity.JStruct;
+import cn.muzin.chameleon.trainer.ReflectEnvironment;
+import cn.muzin.chameleon.trainer.code.CodeBackend;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Set、Collection、Queue、Map 之间 的转换
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class CollectionConversionTest {
+
+    private IStruct createIStruct(){
+        AInnerStruct inner = new AInnerStruct();
+        inner.setPpp("inner");
+
+        Map<String, AInnerStruct> innerMap = new LinkedHashMap<>();
+        innerMap.put("first", inner);
+        innerMap.put("second", null);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("b", 2);
+        counts.put("a", 1);
+        counts.put(null, 0);
+
+        IStruct iStruct = new IStruct();
+        iStruct.setInners(Collections.singleton(inner));
+        iStruct.setLevels(Arrays.asList(3, 4));
+        iStruct.setNames(Arrays.asList("y", null, "x", "y"));
+        iStruct.setInnerMap(innerMap);
+        iStruct.setCounts(counts);
+        iStruct.setSortedInners(Collections.singletonList(inner));
+        return iStruct;
+    }
+
+    private void assertJStruct(JStruct jStruct){
+        Assert.assertEquals(HashSet.class, jStruct.getInners().getClass());
+        Assert.assertEquals("inner", jStruct.getInners().iterator().next().getPpp());
+        Assert.assertEquals(ArrayDeque.class, jStruct.getLevels().getClass());
+        Assert.assertEquals(Arrays.asList(3L, 4L), Arrays.asList(jStruct.getLevels().toArray()));
+        Assert.assertEquals(new TreeSet<>(Arrays.asList("x", "y")), jStruct.getNames());
+        Assert.assertEquals(Arrays.asList("first", "second"), Arrays.asList(jStruct.getInnerMap().keySet().toArray()));
+        Assert.assertEquals("inner", jStruct.getInnerMap().get("first").getPpp());
+        Assert.assertNull(jStruct.getInnerMap().get("second"));
+        Assert.assertEquals(TreeMap.class, jStruct.getCounts().getClass());
+        Assert.assertEquals(Long.valueOf(1L), jStruct.getCounts().firstEntry().getValue());
+        // 排序的 实现 跳过 null，元素 不是 Comparable 时 不转换
+        Assert.assertEquals(2, jStruct.getCounts().size());
+        Assert.assertNull(jStruct.getSortedInners());
+    }
+
+    @Test
+    public void collectionConversionTest(){
+        for(CodeBackend codeBackend : CodeBackend.values()) {
+            Chameleon chameleon = new Chameleon();
+            chameleon.setCodeBackend(codeBackend);
+
+            IStruct iStruct = createIStruct();
+            assertJStruct(chameleon.transform(iStruct, JStruct.class, true));
+
+            // 不适配 结构不匹配 时，元素 是 嵌套结构 的 集合 不转换
+            JStruct plain = chameleon.transform(iStruct, JStruct.class);
+            Assert.assertNull(plain.getInners());
+            Assert.assertNull(plain.getInnerMap());
+            Assert.assertEquals(2, plain.getLevels().size());
+
+            IStruct back = chameleon.transform(chameleon.transform(iStruct, JStruct.class, true), IStruct.class, true);
+            Assert.assertEquals("inner", back.getInners().iterator().next().getPpp());
+            Assert.assertEquals(Arrays.asList(3, 4), Arrays.asList(back.getLevels().toArray()));
+            Assert.assertEquals(Arrays.asList("x", "y"), back.getNames());
+            Assert.assertEquals(2, back.getCounts().size());
+            Assert.assertEquals(Integer.valueOf(2), back.getCounts().get("b"));
+
+            // null 集合 赋值为 null，skipNull 时 跳过
+            JStruct nullLevels = new JStruct();
+            nullLevels.setLevels(new ArrayDeque<>());
+            chameleon.transform(new IStruct(), nullLevels, true, true);
+            Assert.assertNotNull(nullLevels.getLevels());
+            chameleon.transform(new IStruct(), nullLevels, true, false);
+            Assert.assertNull(nullLevels.getLevels());
+        }
+
+        JStruct jStruct = new JStruct();
+        new ReflectEnvironment(IStruct.class, JStruct.class, new Chameleon()).transform(createIStruct(), jStruct, true, false);
+        assertJStruct(jStruct);
+    }
+
+}
@@ -0,0 +1,149 @@
+package cn.muzin.chameleon.test;
+
+import cn.muzin.chameleon.Chameleon;
+import cn.muzin.chameleon.entity.AInnerStruct;
+import cn.muzin.chameleon.entity.KStruct;
+import cn.muzin.chameleon.entity.RStruct;
+import cn.muzin.chameleon.trainer.ReflectEnvironment;
+import cn.muzin.chameleon.trainer.code.CodeBackend;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 同类型 之间 的 深拷贝：按 运行时类型 复制 嵌套结构，数组 不受 shareArrays 影响，Date 复制
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class DeepCloneTest {
+
+    private KStruct createKStruct(){
+        AInnerStruct inner = new AInnerStruct();
+        inner.setPpp("inner");
+
+        KStruct kStruct = new KStruct();
+        kStruct.setName("name");
+        kStruct.setAmount(new BigDecimal("1.5"));
+        kStruct.setDate(LocalDate.of(2026, 10, 18));
+        kStruct.setInner(inner);
+        kStruct.setInners(Arrays.asList(inner, null));
+        kStruct.setInnerArray(new AInnerStruct[]{ inner });
+        kStruct.setInnerMap(Collections.singletonMap("key", inner));
+        kStruct.setTags(Arrays.asList("a", "b"));
+        kStruct.setScores(new int[]{ 1, 2 });
+        return kStruct;
+    }
+
+    private void assertClone(KStruct kStruct, KStruct clone){
+        Assert.assertNotSame(kStruct, clone);
+        // 不可变类型 直接共享
+        Assert.assertSame(kStruct.getName(), clone.getName());
+        Assert.assertSame(kStruct.getAmount(), clone.getAmount());
+        Assert.assertSame(kStruct.getDate(), clone.getDate());
+
+        Assert.assertNotSame(kStruct.getInner(), clone.getInner());
+        Assert.assertEquals("inner", clone.getInner().getPpp());
+
+        List<AInnerStruct> inners = clone.getInners();
+        Assert.assertEquals(2, inners.size());
+        Assert.assertNotSame(kStruct.getInner(), inners.get(0));
+        Assert.assertEquals("inner", inners.get(0).getPpp());
+        Assert.assertNull(inners.get(1));
+
+        Assert.assertNotSame(kStruct.getInnerArray()[0], clone.getInnerArray()[0]);
+        Assert.assertEquals("inner", clone.getInnerArray()[0].getPpp());
+        Assert.assertNotSame(kStruct.getInner(), clone.getInnerMap().get("key"));
+        Assert.assertEquals("inner", clone.getInnerMap().get("key").getPpp());
+
+        Assert.assertNotSame(kStruct.getTags(), clone.getTags());
+        Assert.assertEquals(kStruct.getTags(), clone.getTags());
+        Assert.assertNotSame(kStruct.getScores(), clone.getScores());
+        Assert.assertArrayEquals(kStruct.getScores(), clone.getScores());
+    }
+
+    @Test
+    public void deepCloneTest(){
+        for(CodeBackend codeBackend : CodeBackend.values()) {
+            Chameleon chameleon = new Chameleon();
+            chameleon.setCodeBackend(codeBackend);
+
+            KStruct kStruct = createKStruct();
+            assertClone(kStruct, chameleon.deepClone(kStruct));
+
+            List<KStruct> clones = chameleon.deepClone(Arrays.asList(kStruct, null));
+            assertClone(kStruct, clones.get(0));
+            Assert.assertNull(clones.get(1));
+
+            // transform 同类型 时 仍然 返回 源对象
+            Assert.assertSame(kStruct, chameleon.transform(kStruct, KStruct.class));
+        }
+
+        KStruct kStruct = createKStruct();
+        KStruct clone = new KStruct();
+        new ReflectEnvironment(KStruct.class, KStruct.class, new Chameleon()).transform(kStruct, clone, true, false);
+        assertClone(kStruct, clone);
+    }
+
+    private void assertRStruct(AInnerStruct source, AInnerStruct clone){
+        Assert.assertNotSame(source, clone);
+        Assert.assertSame(RStruct.class, clone.getClass());
+        Assert.assertEquals("inner", clone.getPpp());
+        Assert.assertEquals("extra", ((RStruct) clone).getExtra());
+    }
+
+    private void assertRuntimeTypeClone(KStruct kStruct, KStruct clone){
+        assertRStruct(kStruct.getInner(), clone.getInner());
+        assertRStruct(kStruct.getInner(), clone.getInners().get(0));
+        assertRStruct(kStruct.getInner(), clone.getInnerArray()[0]);
+        assertRStruct(kStruct.getInner(), clone.getInnerMap().get("key"));
+
+        // 同类型 的数组 总是 复制
+        Assert.assertNotSame(kStruct.getScores(), clone.getScores());
+        Assert.assertArrayEquals(kStruct.getScores(), clone.getScores());
+
+        // Date 复制，保持 运行时类型
+        Assert.assertNotSame(kStruct.getCreated(), clone.getCreated());
+        Assert.assertEquals(kStruct.getCreated(), clone.getCreated());
+        Assert.assertSame(Timestamp.class, clone.getCreated().getClass());
+    }
+
+    @Test
+    public void runtimeTypeTest(){
+        RStruct inner = new RStruct();
+        inner.setPpp("inner");
+        inner.setExtra("extra");
+
+        KStruct kStruct = createKStruct();
+        kStruct.setInner(inner);
+        kStruct.setInners(Arrays.asList(inner));
+        kStruct.setInnerArray(new AInnerStruct[]{ inner });
+        kStruct.setInnerMap(Collections.singletonMap("key", inner));
+        kStruct.setCreated(new Timestamp(System.currentTimeMillis()));
+
+        for(CodeBackend codeBackend : CodeBackend.values()) {
+            Chameleon chameleon = new Chameleon();
+            chameleon.setCodeBackend(codeBackend);
+            chameleon.setShareArrays(true);
+            assertRuntimeTypeClone(kStruct, chameleon.deepClone(kStruct));
+        }
+
+        Chameleon chameleon = new Chameleon();
+        chameleon.setShareArrays(true);
+        KStruct clone = new KStruct();
+        new ReflectEnvironment(KStruct.class, KStruct.class, chameleon).transform(kStruct, clone, true, false);
+        assertRuntimeTypeClone(kStruct, clone);
+
+        Date date = new Date();
+        Assert.assertNotSame(date, chameleon.deepClone(date));
+        Assert.assertEquals(date, chameleon.deepClone(date));
+    }
+
+}
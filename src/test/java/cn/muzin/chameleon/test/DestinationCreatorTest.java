@@ -0,0 +1,86 @@
+package cn.muzin.chameleon.test;
+
+import cn.muzin.chameleon.Chameleon;
+import cn.muzin.chameleon.entity.AInnerStruct;
+import cn.muzin.chameleon.entity.LStruct;
+import cn.muzin.chameleon.entity.MStruct;
+import cn.muzin.chameleon.entity.NStruct;
+import cn.muzin.chameleon.entity.OStruct;
+import cn.muzin.chameleon.trainer.ReflectEnvironment;
+import cn.muzin.chameleon.trainer.code.CodeBackend;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 通过 构造函数、builder 创建 目标对象
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class DestinationCreatorTest {
+
+    private LStruct createLStruct(){
+        AInnerStruct inner = new AInnerStruct();
+        inner.setPpp("inner");
+
+        LStruct lStruct = new LStruct();
+        lStruct.setName("name");
+        lStruct.setAge(18);
+        lStruct.setInner(inner);
+        lStruct.setInners(Arrays.asList(inner));
+        lStruct.setPrice("2.50");
+        return lStruct;
+    }
+
+    private void assertMStruct(MStruct mStruct){
+        Assert.assertEquals("name", mStruct.getName());
+        Assert.assertEquals(18, mStruct.getAge());
+        Assert.assertEquals("inner", mStruct.getInner().getPpp());
+        Assert.assertEquals("inner", mStruct.getInners().get(0).getPpp());
+        Assert.assertEquals(new BigDecimal("2.50"), mStruct.getPrice());
+    }
+
+    @Test
+    public void destinationCreatorTest(){
+        for(CodeBackend codeBackend : CodeBackend.values()) {
+            Chameleon chameleon = new Chameleon();
+            chameleon.setCodeBackend(codeBackend);
+
+            LStruct lStruct = createLStruct();
+            assertMStruct(chameleon.transform(lStruct, MStruct.class, true));
+
+            // 不适配 结构不匹配 时，嵌套结构 为 null；基本类型 没有值 时 为 默认值
+            lStruct.setAge(null);
+            MStruct plain = chameleon.transform(lStruct, MStruct.class);
+            Assert.assertEquals(0, plain.getAge());
+            Assert.assertNull(plain.getInner());
+            Assert.assertNull(plain.getInners());
+
+            NStruct nStruct = chameleon.transform(createLStruct(), NStruct.class);
+            Assert.assertEquals("name", nStruct.getName());
+            Assert.assertEquals(18L, nStruct.getAge());
+
+            OStruct oStruct = chameleon.transform(createLStruct(), OStruct.class);
+            Assert.assertTrue(oStruct.isCreated());
+            Assert.assertEquals("name", oStruct.getName());
+            Assert.assertEquals(Integer.valueOf(18), oStruct.getAge());
+
+            Map<String, Object> map = new HashMap<>();
+            map.put("name", "map");
+            map.put("age", 20L);
+            MStruct fromMap = chameleon.transform(map, MStruct.class);
+            Assert.assertEquals("map", fromMap.getName());
+            Assert.assertEquals(20, fromMap.getAge());
+            Assert.assertNull(fromMap.getPrice());
+        }
+
+        assertMStruct((MStruct) new ReflectEnvironment(LStruct.class, MStruct.class, new Chameleon())
+                .transform(createLStruct(), true, false));
+    }
+
+}
@@ -4,12 +4,28 @@ import cn.muzin.chameleon.Chameleon;
 import cn.muzin.chameleon.Environment;
 import cn.muzin.chameleon.entity.AInnerStruct;
 import cn.muzin.chameleon.entity.AStruct;
+import cn.muzin.chameleon.entity.BInnerStruct;
 import cn.muzin.chameleon.entity.BStruct;
+import cn.muzin.chameleon.exception.ChameleonTrainException;
+import cn.muzin.chameleon.pair.TransformPair;
+import cn.muzin.chameleon.trainer.EnvironmentAdaptTrainer;
+import cn.muzin.chameleon.trainer.ReflectEnvironment;
+import cn.muzin.chameleon.trainer.TrainFailure;
+import cn.muzin.chameleon.trainer.code.CodeBackend;
+import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.io.File;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
 
 /**
  * @suthor sirius
@@ -115,6 +131,327 @@ public class EnvironmentAdaptTrainerTest {
 
     }
 
+    @Test
+    public void oneWayTest(){
+
+        Chameleon chameleon = new Chameleon();
+        chameleon.adapt(AStruct.class, BStruct.class, true);
+
+        Assert.assertNotNull(chameleon.getEnvironment(AStruct.class, BStruct.class));
+        Assert.assertNull(chameleon.getEnvironment(BStruct.class, AStruct.class));
+
+        AStruct aStruct = new AStruct();
+        aStruct.setName("23");
+        aStruct.setTtt(123);
+        BStruct bStruct = chameleon.transform(aStruct, BStruct.class);
+        Assert.assertEquals("23", bStruct.getName());
+        Assert.assertNull(chameleon.getEnvironment(BStruct.class, AStruct.class));
+
+        // 反方向 在第一次使用时 训练
+        AStruct newAStruct = chameleon.transform(bStruct, AStruct.class);
+        Assert.assertEquals("23", newAStruct.getName());
+        Assert.assertNotNull(chameleon.getEnvironment(BStruct.class, AStruct.class));
+
+    }
+
+    @Test
+    public void backgroundTrainTest(){
+
+        List<Runnable> trainTasks = new ArrayList<>();
+
+        Chameleon chameleon = new Chameleon();
+        chameleon.setBackgroundTrain(true);
+        chameleon.setTrainExecutor(trainTasks::add);
+
+        AStruct aStruct = new AStruct();
+        AInnerStruct aInnerStruct = new AInnerStruct();
+        aInnerStruct.setPpp("asdf");
+        aStruct.setName("23");
+        aStruct.setTtt(123);
+        aStruct.setInner(aInnerStruct);
+        List<Long> longs = new ArrayList<Long>();
+        longs.add(123L);
+        aStruct.setSignList(longs);
+        ArrayList<AInnerStruct> aInnerStructs = new ArrayList<>();
+        aInnerStructs.add(aInnerStruct);
+        aStruct.setInnerList(aInnerStructs);
+
+        // 训练完成前 使用 反射 进行转换
+        BStruct bStruct = chameleon.transform(aStruct, BStruct.class, true);
+        Assert.assertTrue(chameleon.getEnvironment(AStruct.class, BStruct.class) instanceof ReflectEnvironment);
+        Assert.assertEquals("23", bStruct.getName());
+        Assert.assertEquals("123", bStruct.getTtt());
+        Assert.assertEquals("asdf", bStruct.getInner().getPpp());
+        Assert.assertEquals("asdf", bStruct.getInnerList().get(0).getPpp());
+        Assert.assertEquals("123", bStruct.getSignList().get(0));
+
+        Map map = chameleon.transform(aStruct, Map.class, true);
+        Assert.assertEquals("asdf", ((Map) map.get("inner")).get("ppp"));
+        AStruct newAStruct = chameleon.transform(map, AStruct.class, true);
+        Assert.assertEquals("asdf", newAStruct.getInner().getPpp());
+        Assert.assertEquals(Integer.valueOf(123), newAStruct.getTtt());
+
+        for(int i = 0; i < trainTasks.size(); i++){
+            trainTasks.get(i).run();
+        }
+
+        // 训练完成后 切换为 生成的 Environment
+        Environment environment = chameleon.getEnvironment(AStruct.class, BStruct.class);
+        Assert.assertFalse(environment instanceof ReflectEnvironment);
+        bStruct = chameleon.transform(aStruct, BStruct.class, true);
+        Assert.assertEquals("asdf", bStruct.getInnerList().get(0).getPpp());
+
+    }
+
+    @Test
+    public void singleFlightTest() throws Exception {
+
+        Chameleon chameleon = new Chameleon();
+
+        int threadCount = 8;
+        CyclicBarrier barrier = new CyclicBarrier(threadCount);
+        Set<Environment> aToBEnvironments = Collections.newSetFromMap(Collections.synchronizedMap(new IdentityHashMap<>()));
+        Set<Environment> bToAEnvironments = Collections.newSetFromMap(Collections.synchronizedMap(new IdentityHashMap<>()));
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+
+        List<Thread> threads = new ArrayList<>();
+        for(int i = 0; i < threadCount; i++){
+            boolean aToB = i % 2 == 0;
+            Thread thread = new Thread(() -> {
+                try {
+                    barrier.await();
+                    if(aToB) {
+                        aToBEnvironments.add(chameleon.mapper(AStruct.class, BStruct.class).getEnvironment());
+                    }else{
+                        bToAEnvironments.add(chameleon.mapper(BStruct.class, AStruct.class).getEnvironment());
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for(Thread thread : threads){
+            thread.join();
+        }
+
+        Assert.assertTrue(errors.isEmpty());
+        // 并发的调用方 拿到的是 同一次训练的结果
+        Assert.assertEquals(1, aToBEnvironments.size());
+        Assert.assertEquals(1, bToAEnvironments.size());
+        Assert.assertSame(aToBEnvironments.iterator().next(), chameleon.getEnvironment(AStruct.class, BStruct.class));
+        Assert.assertSame(bToAEnvironments.iterator().next(), chameleon.getEnvironment(BStruct.class, AStruct.class));
+
+    }
+
+    @Test
+    public void retrainTest() throws Exception {
+
+        Chameleon chameleon = new Chameleon();
+        TransformPair transformPair = new TransformPair(AStruct.class, BStruct.class);
+        CompletableFuture<Environment> training = new CompletableFuture<>();
+        trainings(chameleon).put(transformPair, training);
+
+        // 重新训练 不加入 正在进行的 训练，等待 其结束 后 再 训练
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        Thread thread = new Thread(() -> {
+            try {
+                chameleon.readapt(AStruct.class, BStruct.class, true);
+            } catch (Throwable e) {
+                errors.add(e);
+            }
+        });
+        thread.start();
+        thread.join(200);
+        Assert.assertTrue(thread.isAlive());
+
+        Environment inFlight = new ReflectEnvironment(AStruct.class, BStruct.class, chameleon);
+        training.complete(inFlight);
+        trainings(chameleon).remove(transformPair, training);
+        thread.join();
+
+        Assert.assertTrue(errors.isEmpty());
+        Environment environment = chameleon.getEnvironment(AStruct.class, BStruct.class);
+        Assert.assertNotNull(environment);
+        Assert.assertNotSame(inFlight, environment);
+        Assert.assertFalse(environment instanceof ReflectEnvironment);
+
+    }
+
+    @Test
+    public void relinkTest() throws Exception {
+
+        // 外层 的 Environment 链接 嵌套结构 的 Environment，readapt 嵌套结构 后 使用 新的 Environment
+        Class[][] pairs = new Class[][]{
+                { AStruct.class, BStruct.class, AInnerStruct.class, BInnerStruct.class },
+                { AStruct.class, Map.class, AInnerStruct.class, Map.class },
+                { Map.class, AStruct.class, Map.class, AInnerStruct.class },
+        };
+        for(CodeBackend codeBackend : CodeBackend.values()) {
+            for(Class[] pair : pairs) {
+                Chameleon chameleon = new Chameleon();
+                chameleon.setCodeBackend(codeBackend);
+
+                Object source = pair[0] == Map.class ? chameleon.transform(createAStruct(), Map.class, true) : createAStruct();
+                chameleon.transform(source, pair[1], true);
+                Environment environment = chameleon.getEnvironment(source.getClass(), pair[1]);
+                Environment inner = chameleon.getEnvironment(pair[2], pair[3]);
+                Assert.assertSame(inner, linkedInnerEnvironment(environment));
+
+                chameleon.readapt(pair[2], pair[3], true);
+                Environment readaptInner = chameleon.getEnvironment(pair[2], pair[3]);
+                Assert.assertNotSame(inner, readaptInner);
+
+                Object dest = chameleon.transform(source, pair[1], true);
+                Assert.assertSame(environment, chameleon.getEnvironment(source.getClass(), pair[1]));
+                Assert.assertSame(codeBackend + " " + pair[1].getSimpleName(), readaptInner, linkedInnerEnvironment(environment));
+                if(dest instanceof Map){
+                    Assert.assertEquals("ppp", ((Map) ((Map) dest).get("inner")).get("ppp"));
+                }else if(dest instanceof BStruct){
+                    Assert.assertEquals("ppp", ((BStruct) dest).getInner().getPpp());
+                }else{
+                    Assert.assertEquals("ppp", ((AStruct) dest).getInner().getPpp());
+                }
+            }
+        }
+
+    }
+
+    private AStruct createAStruct(){
+        AInnerStruct inner = new AInnerStruct();
+        inner.setPpp("ppp");
+        AStruct aStruct = new AStruct();
+        aStruct.setName("name");
+        aStruct.setInner(inner);
+        return aStruct;
+    }
+
+    private Environment linkedInnerEnvironment(Environment environment) throws Exception {
+        Field environmentField = environment.getClass().getDeclaredField("innerEnvironment");
+        environmentField.setAccessible(true);
+        return (Environment) environmentField.get(environment);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<TransformPair, CompletableFuture<Environment>> trainings(Chameleon chameleon) throws Exception {
+        Field trainingsField = Chameleon.class.getDeclaredField("trainings");
+        trainingsField.setAccessible(true);
+        return (Map<TransformPair, CompletableFuture<Environment>>) trainingsField.get(chameleon);
+    }
+
+    @Test
+    public void closeTest() throws Exception {
+
+        Chameleon chameleon = new Chameleon();
+        chameleon.adapt(AStruct.class, BStruct.class);
+        Environment environment = chameleon.getEnvironment(AStruct.class, BStruct.class);
+        Assert.assertNotNull(environment);
+
+        // 每个 Chameleon 使用 单独的 ClassPool
+        Chameleon other = new Chameleon();
+        Assert.assertNotSame(trainerClassPool(chameleon), trainerClassPool(other));
+
+        Object classPool = trainerClassPool(chameleon);
+        chameleon.close();
+        Assert.assertNull(chameleon.getEnvironment(AStruct.class, BStruct.class));
+        Assert.assertNotSame(classPool, trainerClassPool(chameleon));
+
+        // 关闭后 再次转换 重新训练
+        AStruct aStruct = new AStruct();
+        aStruct.setName("name");
+        Assert.assertEquals("name", chameleon.transform(aStruct, BStruct.class).getName());
+        Assert.assertNotSame(environment, chameleon.getEnvironment(AStruct.class, BStruct.class));
+
+    }
+
+    @Test
+    public void closeDuringTrainingTest() throws Exception {
+
+        Chameleon chameleon = new Chameleon();
+        chameleon.addHotPair(AStruct.class, BStruct.class);
+        TransformPair transformPair = new TransformPair(AStruct.class, BStruct.class);
+        CompletableFuture<Environment> training = new CompletableFuture<>();
+        trainings(chameleon).put(transformPair, training);
+
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        Thread thread = new Thread(() -> {
+            try {
+                chameleon.readapt(AStruct.class, BStruct.class, true);
+            } catch (Throwable e) {
+                errors.add(e);
+            }
+        });
+        thread.start();
+        thread.join(200);
+
+        // 关闭 清除 正在进行的 训练 和 hot 转换对
+        chameleon.close();
+        Assert.assertTrue(trainings(chameleon).isEmpty());
+        Assert.assertTrue(chameleon.getHotPairs().isEmpty());
+
+        // 关闭 之前 开始的 训练 不再 写回 结果
+        training.complete(new ReflectEnvironment(AStruct.class, BStruct.class, chameleon));
+        thread.join();
+        Assert.assertTrue(errors.isEmpty());
+        Assert.assertNull(chameleon.getEnvironment(AStruct.class, BStruct.class));
+        Assert.assertTrue(trainings(chameleon).isEmpty());
+
+        // 关闭后 再次转换 重新训练
+        AStruct aStruct = new AStruct();
+        aStruct.setName("name");
+        Assert.assertEquals("name", chameleon.transform(aStruct, BStruct.class).getName());
+        Assert.assertNotNull(chameleon.getEnvironment(AStruct.class, BStruct.class));
+
+    }
+
+    private Object trainerClassPool(Chameleon chameleon) throws Exception {
+        Field trainerField = Chameleon.class.getDeclaredField("environmentAdaptTrainer");
+        trainerField.setAccessible(true);
+        return ((EnvironmentAdaptTrainer) trainerField.get(chameleon)).getClassPool();
+    }
+
+    @Test
+    public void trainFailureTest() throws Exception {
+
+        // 临时目录 是一个文件，写出 生成的类 时 训练失败
+        File tmpFile = File.createTempFile("chameleon", ".tmp");
+        tmpFile.deleteOnExit();
+
+        Chameleon chameleon = new Chameleon();
+        String tmpdir = chameleon.getTmpdir();
+        chameleon.setTmpdir(tmpFile.getAbsolutePath());
+
+        try {
+            chameleon.adapt(AStruct.class, BStruct.class, true);
+            Assert.fail();
+        } catch (ChameleonTrainException e) {
+            // ignore
+        }
+
+        TrainFailure trainFailure = chameleon.getTrainFailure(AStruct.class, BStruct.class);
+        Assert.assertNotNull(trainFailure);
+        Assert.assertEquals(1, chameleon.getTrainFailures().size());
+        Assert.assertEquals(1, trainFailure.getFailureCount());
+
+        // 不重试时 即使 原因 已经消除，也直接失败
+        chameleon.setTmpdir(tmpdir);
+        try {
+            chameleon.transform(new AStruct(), BStruct.class);
+            Assert.fail();
+        } catch (ChameleonTrainException e) {
+            Assert.assertSame(trainFailure.getCause(), e.getCause());
+        }
+        Assert.assertEquals(1, chameleon.getTrainFailure(AStruct.class, BStruct.class).getFailureCount());
+
+        // 到达 重试间隔 后 重新训练
+        chameleon.setTrainFailureRetryInterval(0);
+        chameleon.adapt(AStruct.class, BStruct.class, true);
+        Assert.assertNotNull(chameleon.getEnvironment(AStruct.class, BStruct.class));
+        Assert.assertTrue(chameleon.getTrainFailures().isEmpty());
+
+    }
+
     @Ignore
     @Test
     public void trainerCollectionTest(){
@@ -0,0 +1,117 @@
+package cn.muzin.chameleon.test;
+
+import cn.muzin.chameleon.Chameleon;
+import cn.muzin.chameleon.Environment;
+import cn.muzin.chameleon.entity.AInnerStruct;
+import cn.muzin.chameleon.entity.AStruct;
+import cn.muzin.chameleon.entity.BInnerStruct;
+import cn.muzin.chameleon.entity.BStruct;
+import cn.muzin.chameleon.registry.EnvironmentRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Environment 注册表：开放寻址表 的 增删改查、扩容，Chameleon 不 close 时 也能回收
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class EnvironmentRegistryTest {
+
+    private static final Class[] DEST_CLASSES = {
+            String.class, Integer.class, Long.class, Short.class, Byte.class, Double.class, Float.class,
+            Character.class, Boolean.class, Object.class, Number.class, StringBuilder.class,
+            AStruct.class, BStruct.class, AInnerStruct.class, BInnerStruct.class
+    };
+
+    private static class StubEnvironment implements Environment {
+
+        private Chameleon chameleon;
+        private Class sourceClass;
+        private Class destClass;
+
+        StubEnvironment(Class sourceClass, Class destClass){
+            this.sourceClass = sourceClass;
+            this.destClass = destClass;
+        }
+
+        public Chameleon getChameleon() { return chameleon; }
+
+        public void setChameleon(Chameleon chameleon) { this.chameleon = chameleon; }
+
+        public Class getSourceClass() { return sourceClass; }
+
+        public Class getDestClass() { return destClass; }
+
+        public void setSourceClass(Class sourceClass) { this.sourceClass = sourceClass; }
+
+        public void setDestClass(Class destClass) { this.destClass = destClass; }
+
+        public void transform(Object source, Object dest, boolean adaptationStructureMismatch, boolean skipNull) { }
+
+    }
+
+    @Test
+    public void registryTest(){
+        EnvironmentRegistry registry = new EnvironmentRegistry();
+        Assert.assertNull(registry.get(AStruct.class, BStruct.class));
+        Assert.assertNull(registry.remove(AStruct.class, BStruct.class));
+
+        // 超过 初始容量，扩容 后 仍然 都能找到
+        List<Environment> environments = new ArrayList<>();
+        for(Class destClass : DEST_CLASSES){
+            Environment environment = new StubEnvironment(AStruct.class, destClass);
+            environments.add(environment);
+            Assert.assertNull(registry.put(AStruct.class, destClass, environment));
+        }
+        for(int i = 0; i < DEST_CLASSES.length; i++){
+            Assert.assertSame(environments.get(i), registry.get(AStruct.class, DEST_CLASSES[i]));
+        }
+        Assert.assertNull(registry.get(BStruct.class, String.class));
+        Assert.assertEquals(new HashSet<>(environments), new HashSet<>(registry.values()));
+
+        // putIfAbsent 不覆盖，replace 只在 当前值 为 expect 时 替换
+        Environment other = new StubEnvironment(AStruct.class, String.class);
+        Assert.assertSame(environments.get(0), registry.putIfAbsent(AStruct.class, String.class, other));
+        Assert.assertFalse(registry.replace(AStruct.class, String.class, other, other));
+        Assert.assertTrue(registry.replace(AStruct.class, String.class, environments.get(0), other));
+        Assert.assertSame(other, registry.put(AStruct.class, String.class, environments.get(0)));
+
+        // 删除 后 线性探测 链上 其他 key 仍然 能找到
+        for(int i = 0; i < DEST_CLASSES.length; i += 2){
+            Assert.assertSame(environments.get(i), registry.remove(AStruct.class, DEST_CLASSES[i]));
+        }
+        for(int i = 0; i < DEST_CLASSES.length; i++){
+            Assert.assertSame(i % 2 == 0 ? null : environments.get(i), registry.get(AStruct.class, DEST_CLASSES[i]));
+        }
+
+        registry.clear();
+        Assert.assertTrue(registry.values().isEmpty());
+        Assert.assertFalse(registry.contains(AStruct.class, Integer.class));
+    }
+
+    @Test
+    public void releaseTest() throws InterruptedException {
+        List<WeakReference<Chameleon>> references = new ArrayList<>();
+        for(int i = 0; i < 50; i++){
+            Chameleon chameleon = new Chameleon();
+            AInnerStruct aInnerStruct = new AInnerStruct();
+            aInnerStruct.setPpp("ppp");
+            Assert.assertEquals("ppp", chameleon.transform(aInnerStruct, BInnerStruct.class).getPpp());
+            references.add(new WeakReference<>(chameleon));
+        }
+
+        // 没有 close 的 Chameleon 不再引用 后 可以被回收
+        for(int i = 0; i < 40 && references.stream().anyMatch(reference -> reference.get() != null); i++){
+            System.gc();
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(0, references.stream().filter(reference -> reference.get() != null).count());
+    }
+
+}
@@ -0,0 +1,278 @@
+package cn.muzin.chameleon.test;
+
+import cn.muzin.chameleon.Chameleon;
+import cn.muzin.chameleon.Environment;
+import cn.muzin.chameleon.Mapper;
+import cn.muzin.chameleon.entity.AInnerStruct;
+import cn.muzin.chameleon.entity.AStruct;
+import cn.muzin.chameleon.entity.BStruct;
+import cn.muzin.chameleon.entity.DStruct;
+import cn.muzin.chameleon.entity.RStruct;
+import cn.muzin.chameleon.trainer.ReflectEnvironment;
+import cn.muzin.chameleon.trainer.code.ClassReaderUtil;
+import cn.muzin.chameleon.trainer.code.CodeBackend;
+import cn.muzin.chameleon.trainer.code.TransformVariant;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class MapperTest {
+
+    private AStruct createAStruct(){
+        AStruct aStruct = new AStruct();
+        AInnerStruct aInnerStruct = new AInnerStruct();
+        aInnerStruct.setPpp("asdf");
+        aStruct.setName("name");
+        aStruct.setAge("23");
+        aStruct.setNamec("namec");
+        aStruct.setInner(aInnerStruct);
+        aStruct.setTtt(123);
+
+        List<Long> longs = new ArrayList<Long>();
+        longs.add(123L);
+        longs.add(127L);
+        aStruct.setSignList(longs);
+        aStruct.setStrList(longs);
+
+        ArrayList<AInnerStruct> aInnerStructs = new ArrayList<>();
+        aInnerStructs.add(aInnerStruct);
+        aStruct.setInnerList(aInnerStructs);
+
+        aStruct.setDecimal(new BigDecimal("3.1415926579"));
+        return aStruct;
+    }
+
+    @Test
+    public void mapperTest(){
+        Chameleon chameleon = new Chameleon();
+
+        Mapper<AStruct, BStruct> mapper = chameleon.mapper(AStruct.class, BStruct.class);
+
+        AStruct aStruct = createAStruct();
+        BStruct bStruct = mapper.transform(aStruct, true);
+
+        Assert.assertEquals("name", bStruct.getName());
+        Assert.assertEquals("23", bStruct.getAge());
+        Assert.assertEquals("namec", bStruct.getNamec());
+        Assert.assertEquals("123", bStruct.getTtt());
+        Assert.assertEquals("asdf", bStruct.getInner().getPpp());
+        Assert.assertEquals(1, bStruct.getInnerList().size());
+        Assert.assertEquals("asdf", bStruct.getInnerList().get(0).getPpp());
+        Assert.assertEquals("127", bStruct.getSignList().get(1));
+        Assert.assertEquals(aStruct.getDecimal(), bStruct.getDecimal());
+
+        Assert.assertNull(mapper.transform((AStruct) null));
+
+        List<AStruct> aStructs = new ArrayList<>();
+        aStructs.add(aStruct);
+        aStructs.add(createAStruct());
+        List<BStruct> bStructs = mapper.transform(aStructs);
+        Assert.assertEquals(2, bStructs.size());
+        Assert.assertEquals("name", bStructs.get(1).getName());
+    }
+
+    @Test
+    public void mapMapperTest(){
+        Chameleon chameleon = new Chameleon();
+
+        Mapper<AStruct, Map> toMapMapper = chameleon.mapper(AStruct.class, Map.class);
+        Mapper<Map, AStruct> fromMapMapper = chameleon.mapper(Map.class, AStruct.class);
+
+        Map map = toMapMapper.transform(createAStruct(), true);
+        Assert.assertEquals("name", map.get("name"));
+        Assert.assertEquals("namec", map.get("namec"));
+        Assert.assertEquals("asdf", ((Map) map.get("inner")).get("ppp"));
+        Assert.assertEquals("asdf", ((Map) ((List) map.get("innerList")).get(0)).get("ppp"));
+
+        AStruct aStruct = fromMapMapper.transform(map, true);
+        Assert.assertEquals("name", aStruct.getName());
+        Assert.assertEquals("asdf", aStruct.getInner().getPpp());
+        Assert.assertEquals("asdf", aStruct.getInnerList().get(0).getPpp());
+        Assert.assertEquals(Integer.valueOf(123), aStruct.getTtt());
+    }
+
+    @Test
+    public void reflectMatchesTrainedTest(){
+        // 嵌套结构 按 声明类型 转换，反射 回退 与 生成的代码 一致
+        RStruct inner = new RStruct();
+        inner.setPpp("asdf");
+        inner.setExtra("extra");
+        AStruct aStruct = createAStruct();
+        aStruct.setInner(inner);
+        aStruct.setInnerList(new ArrayList<>(Collections.singletonList(inner)));
+
+        Map reflectMap = new HashMap();
+        new ReflectEnvironment(AStruct.class, Map.class, new Chameleon()).transform(aStruct, reflectMap, true, false);
+        Assert.assertEquals(Collections.singletonMap("ppp", "asdf"), reflectMap.get("inner"));
+
+        for(CodeBackend codeBackend : CodeBackend.values()) {
+            Chameleon chameleon = new Chameleon();
+            chameleon.setCodeBackend(codeBackend);
+            Map map = chameleon.mapper(AStruct.class, Map.class).transform(aStruct, true);
+            Assert.assertEquals(reflectMap.get("inner"), map.get("inner"));
+            Assert.assertEquals(reflectMap.get("innerList"), map.get("innerList"));
+        }
+    }
+
+    @Test
+    public void createAndTransformTest() throws NoSuchMethodException {
+        Chameleon chameleon = new Chameleon();
+
+        Environment environment = chameleon.mapper(AStruct.class, BStruct.class).getEnvironment();
+        // 生成的 Environment 直接 new 出目标对象 并 填充
+        Assert.assertEquals(environment.getClass(),
+                environment.getClass().getMethod("transform", Object.class, boolean.class, boolean.class).getDeclaringClass());
+
+        BStruct bStruct = (BStruct) environment.transform(createAStruct(), true, false);
+        Assert.assertEquals("name", bStruct.getName());
+        Assert.assertEquals("asdf", bStruct.getInner().getPpp());
+
+        bStruct = chameleon.transform(createAStruct(), BStruct.class, true);
+        Assert.assertEquals("asdf", bStruct.getInnerList().get(0).getPpp());
+
+        List<AStruct> aStructs = new ArrayList<>();
+        aStructs.add(createAStruct());
+        aStructs.add(null);
+        List<BStruct> bStructs = chameleon.transform(aStructs, BStruct.class);
+        Assert.assertEquals("name", bStructs.get(0).getName());
+        Assert.assertNull(bStructs.get(1));
+
+        Map map = chameleon.transform(createAStruct(), Map.class, true);
+        Assert.assertEquals("asdf", ((Map) map.get("inner")).get("ppp"));
+    }
+
+    @Test
+    public void bytecodeBackendTest(){
+        Chameleon chameleon = new Chameleon();
+        chameleon.setCodeBackend(CodeBackend.BYTECODE);
+
+        Mapper<AStruct, BStruct> mapper = chameleon.mapper(AStruct.class, BStruct.class);
+        AStruct aStruct = createAStruct();
+        BStruct bStruct = mapper.transform(aStruct, true);
+        Assert.assertEquals("name", bStruct.getName());
+        Assert.assertEquals("namec", bStruct.getNamec());
+        Assert.assertEquals("123", bStruct.getTtt());
+        Assert.assertEquals("asdf", bStruct.getInner().getPpp());
+        Assert.assertEquals("asdf", bStruct.getInnerList().get(0).getPpp());
+        Assert.assertEquals("127", bStruct.getSignList().get(1));
+        Assert.assertEquals(aStruct.getDecimal(), bStruct.getDecimal());
+
+        // 不适配 结构不匹配 时 跳过 嵌套结构，跳过空值 时 保留 目标原值
+        BStruct dest = new BStruct();
+        dest.setName("keep");
+        aStruct.setName(null);
+        mapper.transform(aStruct, dest, false, true);
+        Assert.assertEquals("keep", dest.getName());
+        Assert.assertNull(dest.getInner());
+
+        Mapper<AStruct, Map> toMapMapper = chameleon.mapper(AStruct.class, Map.class);
+        Mapper<Map, AStruct> fromMapMapper = chameleon.mapper(Map.class, AStruct.class);
+
+        Map map = toMapMapper.transform(createAStruct(), true);
+        Assert.assertEquals("name", map.get("name"));
+        Assert.assertEquals("asdf", ((Map) map.get("inner")).get("ppp"));
+        Assert.assertEquals("asdf", ((Map) ((List) map.get("innerList")).get(0)).get("ppp"));
+
+        map.put("age", 23);
+        AStruct fromMap = fromMapMapper.transform(map, true);
+        Assert.assertEquals("name", fromMap.getName());
+        Assert.assertEquals("23", fromMap.getAge());
+        Assert.assertEquals("asdf", fromMap.getInner().getPpp());
+        Assert.assertEquals("asdf", fromMap.getInnerList().get(0).getPpp());
+        Assert.assertEquals(Integer.valueOf(123), fromMap.getTtt());
+    }
+
+    @Test
+    public void directFieldAccessTest() throws Exception {
+        // getter、setter 只是读写字段 时 直接访问，有其他逻辑 时 仍然使用 setter
+        Assert.assertTrue(ClassReaderUtil.isDirectlyReadable(DStruct.class.getField("name"), DStruct.class.getMethod("getName")));
+        Assert.assertTrue(ClassReaderUtil.isDirectlyWritable(DStruct.class.getField("name"), DStruct.class.getMethod("setName", String.class)));
+        Assert.assertFalse(ClassReaderUtil.isDirectlyWritable(DStruct.class.getField("namec"), DStruct.class.getMethod("setNamec", String.class)));
+
+        for(CodeBackend codeBackend : CodeBackend.values()) {
+            Chameleon chameleon = new Chameleon();
+            chameleon.setCodeBackend(codeBackend);
+            chameleon.setDirectFieldAccess(true);
+
+            AStruct aStruct = createAStruct();
+            aStruct.setNamec(" namec ");
+            DStruct dStruct = chameleon.mapper(AStruct.class, DStruct.class).transform(aStruct);
+            Assert.assertEquals("name", dStruct.name);
+            Assert.assertEquals("namec", dStruct.namec);
+            Assert.assertEquals(Integer.valueOf(123), dStruct.ttt);
+
+            AStruct fromDStruct = chameleon.mapper(DStruct.class, AStruct.class).transform(dStruct);
+            Assert.assertEquals("name", fromDStruct.getName());
+            Assert.assertEquals(Integer.valueOf(123), fromDStruct.getTtt());
+
+            Map map = chameleon.mapper(DStruct.class, Map.class).transform(dStruct);
+            Assert.assertEquals("name", map.get("name"));
+
+            DStruct fromMap = chameleon.mapper(Map.class, DStruct.class).transform(map);
+            Assert.assertEquals("name", fromMap.name);
+            Assert.assertEquals(Integer.valueOf(123), fromMap.ttt);
+        }
+    }
+
+    @Test
+    public void readOnceTest(){
+        // 生成的代码 每个属性 只读取一次 源值
+        Map<Object, Integer> readCounts = new HashMap<>();
+        Map source = new HashMap(new Chameleon().transform(createAStruct(), Map.class, true)){
+            @Override
+            public Object get(Object key) {
+                readCounts.merge(key, 1, Integer::sum);
+                return super.get(key);
+            }
+        };
+
+        for(boolean skipNull : new boolean[]{ false, true }) {
+            readCounts.clear();
+            AStruct aStruct = new Chameleon().mapper(Map.class, AStruct.class).transform(source, true, skipNull);
+            Assert.assertEquals("name", aStruct.getName());
+            Assert.assertEquals("asdf", aStruct.getInner().getPpp());
+            for (Integer readCount : readCounts.values()) {
+                Assert.assertEquals(Integer.valueOf(1), readCount);
+            }
+        }
+    }
+
+    @Test
+    public void transformVariantTest(){
+        for(CodeBackend codeBackend : CodeBackend.values()) {
+            Chameleon chameleon = new Chameleon();
+            chameleon.setCodeBackend(codeBackend);
+            Mapper<AStruct, BStruct> mapper = chameleon.mapper(AStruct.class, BStruct.class);
+
+            AStruct aStruct = createAStruct();
+            aStruct.setName(null);
+            for(TransformVariant transformVariant : TransformVariant.values()) {
+                BStruct bStruct = new BStruct();
+                bStruct.setName("keep");
+                mapper.transform(aStruct, bStruct,
+                        transformVariant.isAdaptationStructureMismatch(), transformVariant.isSkipNull());
+
+                Assert.assertEquals(transformVariant.isSkipNull() ? "keep" : null, bStruct.getName());
+                Assert.assertEquals("23", bStruct.getAge());
+                if(transformVariant.isAdaptationStructureMismatch()){
+                    Assert.assertEquals("asdf", bStruct.getInner().getPpp());
+                    Assert.assertEquals("127", bStruct.getSignList().get(1));
+                }else{
+                    Assert.assertNull(bStruct.getInner());
+                    Assert.assertNull(bStruct.getSignList());
+                }
+            }
+        }
+    }
+
+}
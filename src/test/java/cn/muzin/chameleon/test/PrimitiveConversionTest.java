@@ -0,0 +1,125 @@
+package cn.muzin.chameleon.test;
+
+import cn.muzin.chameleon.Chameleon;
+import cn.muzin.chameleon.entity.PStruct;
+import cn.muzin.chameleon.entity.QStruct;
+import cn.muzin.chameleon.exception.ChameleonTransformException;
+import cn.muzin.chameleon.trainer.ReflectEnvironment;
+import cn.muzin.chameleon.trainer.code.CodeBackend;
+import cn.muzin.chameleon.trainer.code.PrimitiveNullPolicy;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+/**
+ * 基本类型、包装类型 之间 的转换，以及 包装类型 为 null 时 的处理方式
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class PrimitiveConversionTest {
+
+    private PStruct createPStruct(){
+        PStruct pStruct = new PStruct();
+        pStruct.setCount(3);
+        pStruct.setTotal(5000000000L);
+        pStruct.setRatio(0.5D);
+        pStruct.setActive(true);
+        pStruct.setBoxed(7);
+        pStruct.setBig(9L);
+        pStruct.setRate(1.5F);
+        pStruct.setGrade('A');
+        pStruct.setAmount(11);
+        pStruct.setSame(13);
+        return pStruct;
+    }
+
+    private void assertQStruct(QStruct qStruct){
+        Assert.assertEquals(3L, qStruct.getCount());
+        Assert.assertEquals((int) 5000000000L, qStruct.getTotal());
+        Assert.assertEquals(0.5F, qStruct.getRatio(), 0F);
+        Assert.assertEquals(Boolean.TRUE, qStruct.getActive());
+        Assert.assertEquals(7L, qStruct.getBoxed());
+        Assert.assertEquals(Long.valueOf(9L), qStruct.getBig());
+        Assert.assertEquals(Double.valueOf(1.5D), qStruct.getRate());
+        Assert.assertEquals(Character.valueOf('A'), qStruct.getGrade());
+        Assert.assertEquals(Long.valueOf(11L), qStruct.getAmount());
+        Assert.assertEquals(13, qStruct.getSame());
+    }
+
+    @Test
+    public void primitiveConversionTest(){
+        for(CodeBackend codeBackend : CodeBackend.values()) {
+            Chameleon chameleon = new Chameleon();
+            chameleon.setCodeBackend(codeBackend);
+
+            QStruct qStruct = chameleon.transform(createPStruct(), QStruct.class);
+            assertQStruct(qStruct);
+
+            PStruct pStruct = chameleon.transform(qStruct, PStruct.class);
+            Assert.assertEquals(3, pStruct.getCount());
+            Assert.assertEquals(9L, pStruct.getBig());
+            Assert.assertEquals('A', pStruct.getGrade());
+            Assert.assertEquals(Integer.valueOf(11), pStruct.getAmount());
+
+            // 基本类型 装箱 后 放入 Map，Map 中的 数值 转换为 目标类型
+            Map map = chameleon.transform(createPStruct(), Map.class);
+            Assert.assertEquals(Integer.valueOf(3), map.get("count"));
+            Assert.assertEquals(Character.valueOf('A'), map.get("grade"));
+            assertQStruct(chameleon.transform(map, QStruct.class));
+
+            // 包装类型 转换为 包装类型，null 时 赋值为 null
+            QStruct nullAmount = new QStruct();
+            nullAmount.setAmount(1L);
+            chameleon.transform(new PStruct(), nullAmount);
+            Assert.assertNull(nullAmount.getAmount());
+        }
+    }
+
+    @Test
+    public void primitiveNullPolicyTest(){
+        for(CodeBackend codeBackend : CodeBackend.values()) {
+            for(PrimitiveNullPolicy primitiveNullPolicy : PrimitiveNullPolicy.values()) {
+                Chameleon chameleon = new Chameleon();
+                chameleon.setCodeBackend(codeBackend);
+                chameleon.setPrimitiveNullPolicy(primitiveNullPolicy);
+
+                PStruct pStruct = createPStruct();
+                Map map = chameleon.transform(pStruct, Map.class);
+
+                ReflectEnvironment reflectEnvironment = new ReflectEnvironment(PStruct.class, QStruct.class, chameleon);
+                assertPrimitiveNullPolicy(primitiveNullPolicy, qStruct -> chameleon.transform(pStruct, qStruct));
+                assertPrimitiveNullPolicy(primitiveNullPolicy, qStruct -> chameleon.transform(map, qStruct));
+                assertPrimitiveNullPolicy(primitiveNullPolicy, qStruct -> reflectEnvironment.transform(pStruct, qStruct, false, false));
+
+                // skipNull 时 总是 跳过
+                QStruct skipNull = keepMissing();
+                chameleon.transform(pStruct, skipNull, false, true);
+                Assert.assertEquals(-1, skipNull.getMissing());
+            }
+        }
+    }
+
+    private QStruct keepMissing(){
+        QStruct qStruct = new QStruct();
+        qStruct.setMissing(-1);
+        return qStruct;
+    }
+
+    private void assertPrimitiveNullPolicy(PrimitiveNullPolicy primitiveNullPolicy, TransformAction transformAction){
+        try {
+            QStruct qStruct = keepMissing();
+            transformAction.transform(qStruct);
+            Assert.assertNotEquals(PrimitiveNullPolicy.FAIL, primitiveNullPolicy);
+            Assert.assertEquals(primitiveNullPolicy == PrimitiveNullPolicy.SKIP ? -1 : 0, qStruct.getMissing());
+        }catch (ChameleonTransformException e){
+            Assert.assertEquals(PrimitiveNullPolicy.FAIL, primitiveNullPolicy);
+        }
+    }
+
+    private interface TransformAction {
+        void transform(QStruct qStruct);
+    }
+
+}
@@ -0,0 +1,137 @@
+package cn.muzin.chameleon.test;
+
+import cn.muzin.chameleon.Chameleon;
+import cn.muzin.chameleon.entity.AInnerStruct;
+import cn.muzin.chameleon.entity.AStruct;
+import cn.muzin.chameleon.entity.BInnerStruct;
+import cn.muzin.chameleon.entity.BStruct;
+import cn.muzin.chameleon.pair.StructPair;
+import cn.muzin.chameleon.pair.StructToMultiPair;
+import cn.muzin.chameleon.pair.StructToOnePair;
+import cn.muzin.chameleon.pair.TransformPair;
+import cn.muzin.chameleon.trainer.TrainReport;
+import cn.muzin.chameleon.trainer.TrainScheduler;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ready 并行训练：结构对 展开、去重，使用 指定的 Executor，报告 进度 和 耗时；readyAsync 优先训练 hot 转换对
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class TrainSchedulerTest {
+
+    private List<StructPair> structPairs(){
+        StructToMultiPair innerPair = new StructToMultiPair(AInnerStruct.class, true);
+        innerPair.addStruct(BInnerStruct.class);
+        innerPair.addStruct(AInnerStruct.class);
+        return Arrays.asList(
+                new StructToOnePair(AStruct.class, BStruct.class),
+                new StructToOnePair(BStruct.class, AStruct.class),
+                innerPair);
+    }
+
+    @Test
+    public void transformPairsTest(){
+        Set<TransformPair> transformPairs = TrainScheduler.transformPairs(structPairs());
+
+        // A、B 双向 和 B、A 双向 只有 两个方向；单向 和 同类型 只有 一个方向
+        Assert.assertEquals(new HashSet<>(Arrays.asList(
+                new TransformPair(AStruct.class, BStruct.class),
+                new TransformPair(BStruct.class, AStruct.class),
+                new TransformPair(AInnerStruct.class, BInnerStruct.class),
+                new TransformPair(AInnerStruct.class, AInnerStruct.class))), transformPairs);
+    }
+
+    @Test
+    public void readyTest(){
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Chameleon chameleon = new Chameleon();
+            chameleon.setReadyExecutor(executor);
+            chameleon.addEnvironmentAdaptSelector(this::structPairs);
+
+            AtomicInteger progress = new AtomicInteger();
+            List<String> threads = Collections.synchronizedList(new ArrayList<>());
+            chameleon.setTrainProgressListener((transformPair, completed, total) -> {
+                progress.incrementAndGet();
+                threads.add(Thread.currentThread().getName());
+                Assert.assertEquals(4, total);
+            });
+
+            TrainReport trainReport = chameleon.ready();
+            Assert.assertTrue(trainReport.isSuccess());
+            Assert.assertEquals(4, trainReport.getTotal());
+            Assert.assertEquals(4, trainReport.getTrained());
+            Assert.assertTrue(trainReport.getElapsedMillis() >= 0);
+            Assert.assertEquals(4, progress.get());
+            Assert.assertFalse(threads.contains(Thread.currentThread().getName()));
+
+            Assert.assertNotNull(chameleon.getEnvironment(AStruct.class, BStruct.class));
+            Assert.assertNotNull(chameleon.getEnvironment(BStruct.class, AStruct.class));
+            Assert.assertNotNull(chameleon.getEnvironment(AInnerStruct.class, BInnerStruct.class));
+            Assert.assertNotNull(chameleon.getEnvironment(AInnerStruct.class, AInnerStruct.class));
+            Assert.assertNull(chameleon.getEnvironment(BInnerStruct.class, AInnerStruct.class));
+
+            // 再次 ready 时 已经存在的 不再训练
+            Assert.assertEquals(4, chameleon.ready().getTrained());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void readyAsyncTest() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Chameleon chameleon = new Chameleon();
+            chameleon.setReadyExecutor(executor);
+            chameleon.addEnvironmentAdaptSelector(this::structPairs);
+            chameleon.addHotPair(AInnerStruct.class, AInnerStruct.class);
+
+            List<TransformPair> order = Collections.synchronizedList(new ArrayList<>());
+            chameleon.setTrainProgressListener((transformPair, completed, total) -> order.add(transformPair));
+
+            // 阻塞 Executor，readyAsync 不阻塞 调用方
+            CountDownLatch latch = new CountDownLatch(1);
+            executor.execute(() -> {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            CompletableFuture<TrainReport> future = chameleon.readyAsync();
+            Assert.assertFalse(future.isDone());
+
+            // 训练完成之前 转换，调用方 直接训练
+            AStruct aStruct = new AStruct();
+            aStruct.setName("hot");
+            BStruct bStruct = chameleon.transform(aStruct, BStruct.class);
+            Assert.assertEquals("hot", bStruct.getName());
+
+            latch.countDown();
+            TrainReport trainReport = future.join();
+            Assert.assertTrue(trainReport.isSuccess());
+            Assert.assertEquals(4, trainReport.getTotal());
+            Assert.assertEquals(new TransformPair(AInnerStruct.class, AInnerStruct.class), order.get(0));
+            Assert.assertNotNull(chameleon.getEnvironment(BStruct.class, AStruct.class));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
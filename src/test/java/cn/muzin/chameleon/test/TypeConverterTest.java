@@ -0,0 +1,101 @@
+package cn.muzin.chameleon.test;
+
+import cn.muzin.chameleon.Chameleon;
+import cn.muzin.chameleon.entity.XStruct;
+import cn.muzin.chameleon.entity.YStruct;
+import cn.muzin.chameleon.exception.ChameleonTrainException;
+import cn.muzin.chameleon.trainer.ReflectEnvironment;
+import cn.muzin.chameleon.trainer.code.CodeBackend;
+import cn.muzin.chameleon.trainer.code.ConverterLinker;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+/**
+ * 自定义转换：注册的 转换器 和 字段上 指定的 转换器
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class TypeConverterTest {
+
+    private XStruct createXStruct(){
+        XStruct xStruct = new XStruct();
+        xStruct.setStatus("on");
+        xStruct.setLevel(3);
+        xStruct.setName("sirius");
+        return xStruct;
+    }
+
+    private Chameleon createChameleon(){
+        Chameleon chameleon = new Chameleon();
+        // 优先于 内置的 String -> boolean 转换
+        chameleon.registerConverter(String.class, Boolean.class, "on"::equals);
+        chameleon.registerConverter(Integer.class, String.class, level -> "L" + level);
+        return chameleon;
+    }
+
+    @Test
+    public void typeConverterTest() throws Exception {
+        for(CodeBackend codeBackend : CodeBackend.values()) {
+            Chameleon chameleon = createChameleon();
+            chameleon.setCodeBackend(codeBackend);
+
+            YStruct yStruct = chameleon.transform(createXStruct(), YStruct.class);
+            assertYStruct(yStruct);
+
+            // null 不传入 转换器
+            YStruct nullName = chameleon.transform(new XStruct(), YStruct.class);
+            Assert.assertNull(nullName.getName());
+            Assert.assertFalse(nullName.isStatus());
+
+            // 转换器 保存在 生成的 Environment 的 static final 字段 中
+            Field converterField = chameleon.getEnvironment(XStruct.class, YStruct.class)
+                    .getClass().getDeclaredField("nameConverter");
+            Assert.assertTrue(Modifier.isStatic(converterField.getModifiers()));
+            Assert.assertTrue(Modifier.isFinal(converterField.getModifiers()));
+        }
+
+        YStruct yStruct = new YStruct();
+        new ReflectEnvironment(XStruct.class, YStruct.class, createChameleon())
+                .transform(createXStruct(), yStruct, false, false);
+        assertYStruct(yStruct);
+    }
+
+    @Test
+    public void releaseConverterTest() throws Exception {
+        // 训练 在 添加 转换器 字段 之后 失败（写入 class 文件 失败），暂存的 转换器 不能 留在 ConverterLinker 中
+        Field preparedConvertersField = ConverterLinker.class.getDeclaredField("PREPARED_CONVERTERS");
+        preparedConvertersField.setAccessible(true);
+        Map preparedConverters = (Map) preparedConvertersField.get(null);
+
+        File file = File.createTempFile("chameleon", ".tmp");
+        try {
+            for(CodeBackend codeBackend : CodeBackend.values()) {
+                Chameleon chameleon = createChameleon();
+                chameleon.setCodeBackend(codeBackend);
+                chameleon.setTmpdir(new File(file, "classes").getPath());
+
+                try {
+                    chameleon.transform(createXStruct(), YStruct.class);
+                    Assert.fail();
+                }catch (ChameleonTrainException e){
+                    Assert.assertTrue(preparedConverters.isEmpty());
+                }
+            }
+        }finally {
+            file.delete();
+        }
+    }
+
+    private void assertYStruct(YStruct yStruct){
+        Assert.assertTrue(yStruct.isStatus());
+        Assert.assertEquals("L3", yStruct.getLevel());
+        Assert.assertEquals("SIRIUS", yStruct.getName());
+    }
+
+}
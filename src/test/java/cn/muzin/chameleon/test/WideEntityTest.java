@@ -0,0 +1,115 @@
+package cn.muzin.chameleon.test;
+
+import cn.muzin.chameleon.Chameleon;
+import cn.muzin.chameleon.trainer.code.CodeBackend;
+import cn.muzin.chameleon.trainer.code.TransformMethodSplitter;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtNewMethod;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.MethodInfo;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 字段很多的类 生成的 transform 方法 需要拆分，每个方法 都小于 JIT 编译 的限制
+ *
+ * @author sirius
+ * @since 2026/10/18
+ */
+public class WideEntityTest {
+
+    private static final int FIELD_COUNT = 500;
+
+    /**
+     * 生成的 class 文件 写入 临时目录，测试结束 后 删除
+     */
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void wideEntityMethodSizeTest() throws Exception {
+        // 源 每隔一个字段 是 Integer，目标 都是 String，同时生成 直接赋值 和 toString 的代码
+        Class wideSourceClass = makeWideStruct("cn.muzin.chameleon.entity.WideSourceStruct", Integer.class);
+        Class wideDestClass = makeWideStruct("cn.muzin.chameleon.entity.WideDestStruct", String.class);
+
+        for(CodeBackend codeBackend : CodeBackend.values()) {
+            File tmpdir = temporaryFolder.newFolder();
+
+            Chameleon chameleon = new Chameleon();
+            chameleon.setCodeBackend(codeBackend);
+            chameleon.setTmpdir(tmpdir.getAbsolutePath());
+
+            Object source = wideSourceClass.newInstance();
+            for(int i = 0; i < FIELD_COUNT; i++){
+                wideSourceClass.getMethod("setField" + i, i % 2 == 0 ? String.class : Integer.class)
+                        .invoke(source, i % 2 == 0 ? "v" + i : Integer.valueOf(i));
+            }
+
+            Object dest = chameleon.transform(source, wideDestClass);
+            Assert.assertEquals("v0", wideDestClass.getMethod("getField0").invoke(dest));
+            Assert.assertEquals(String.valueOf(FIELD_COUNT - 1),
+                    wideDestClass.getMethod("getField" + (FIELD_COUNT - 1)).invoke(dest));
+
+            Map map = chameleon.transform(dest, Map.class);
+            Assert.assertEquals("v0", map.get("field0"));
+            Object fromMap = chameleon.transform(map, wideDestClass);
+            Assert.assertEquals(String.valueOf(FIELD_COUNT - 1),
+                    wideDestClass.getMethod("getField" + (FIELD_COUNT - 1)).invoke(fromMap));
+
+            boolean split = false;
+            for(File classFile : listClassFiles(tmpdir, new ArrayList<>())){
+                try(DataInputStream in = new DataInputStream(new FileInputStream(classFile))) {
+                    for(Object method : new ClassFile(in).getMethods()){
+                        MethodInfo methodInfo = (MethodInfo) method;
+                        CodeAttribute codeAttribute = methodInfo.getCodeAttribute();
+                        if(codeAttribute == null){ continue; }
+                        Assert.assertTrue(codeBackend + " " + classFile.getName() + "." + methodInfo.getName()
+                                        + " " + codeAttribute.getCodeLength(),
+                                codeAttribute.getCodeLength() < TransformMethodSplitter.HUGE_METHOD_LIMIT);
+                        split |= methodInfo.getName().contains("Part");
+                    }
+                }
+            }
+            Assert.assertTrue(split);
+        }
+    }
+
+    private Class makeWideStruct(String className, Class oddFieldType) throws Exception {
+        ClassPool pool = ClassPool.getDefault();
+        CtClass ctClass = pool.makeClass(className);
+        for(int i = 0; i < FIELD_COUNT; i++){
+            Class fieldType = i % 2 == 0 ? String.class : oddFieldType;
+            CtField ctField = new CtField(pool.get(fieldType.getName()), "field" + i, ctClass);
+            ctClass.addField(ctField);
+            ctClass.addMethod(CtNewMethod.getter("getField" + i, ctField));
+            ctClass.addMethod(CtNewMethod.setter("setField" + i, ctField));
+        }
+        return ctClass.toClass();
+    }
+
+    private List<File> listClassFiles(File dir, List<File> classFiles){
+        File[] files = dir.listFiles();
+        if(files == null){ return classFiles; }
+        for(File file : files){
+            if(file.isDirectory()){
+                listClassFiles(file, classFiles);
+            }else if(file.getName().endsWith(".class")){
+                classFiles.add(file);
+            }
+        }
+        return classFiles;
+    }
+
+}